@@ -1,6 +1,59 @@
 package com;
 
+import com.allert.*;
+import com.allert.io.*;
+import com.allert.server.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.file.*;
+
+/**
+ * Starts a local query server for one shared network.
+ * <p>
+ * Usage: {@code Main [--port 8080] [--threads 64] [--cache 10000] [--journal DIR] [--topology FILE]}.
+ * With {@code --journal} the network is recovered from and persisted to the directory; with
+ * {@code --topology} the file is loaded on startup.
+ */
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int threads = 64;
+        int cacheEntries = 10_000;
+        Path journal = null;
+        Path topology = null;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--cache" -> cacheEntries = Integer.parseInt(args[i + 1]);
+                case "--journal" -> journal = Path.of(args[i + 1]);
+                case "--topology" -> topology = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        ConcurrentAlertNetwork network = journal == null
+                ? new ConcurrentAlertNetwork()
+                : ConcurrentAlertNetwork.openJournaled(journal, Durability.GROUP_COMMIT);
+        if (topology != null) {
+            LoadStats stats = network.loadTopology(topology);
+            System.out.printf("Loaded %d services and %d dependencies in %d ms%n",
+                    stats.services(), stats.dependencies(), stats.nanos() / 1_000_000);
+        }
+        QueryServer server = QueryServer.start(network, new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                threads, cacheEntries);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            try {
+                network.closeJournal();
+            } catch (IOException e) {
+                System.err.println("Failed to close the journal: " + e.getMessage());
+            }
+        }));
+        System.out.printf("Serving %d services on http://localhost:%d%n", network.serviceCount(), server.port());
     }
 }
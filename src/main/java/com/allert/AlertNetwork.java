@@ -1,8 +1,13 @@
 package com.allert;
 
+import com.allert.graph.*;
+import com.allert.io.*;
 import javafx.util.*;
 
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.stream.*;
 
 /**
  * Interface representing a network of services with dependencies.
@@ -22,6 +27,41 @@ public interface AlertNetwork {
      */
     void addDependency(String fromService, String toService);
 
+    /**
+     * Adds a dependency, or updates an existing one, with propagation weights. Dependencies
+     * added without weights propagate with latency 1 and probability 1.
+     * @param fromService name of the dependent service
+     * @param toService name of the service being depended on
+     * @param latency time an alert takes to travel along the dependency, non-negative
+     * @param probability chance that an alert travels along the dependency, in (0, 1]
+     */
+    void addDependency(String fromService, String toService, double latency, double probability);
+
+    /**
+     * Removes a dependency and any propagation weights set on it.
+     * @param fromService name of the dependent service
+     * @param toService name of the service being depended on
+     * @return false if the dependency did not exist
+     */
+    boolean removeDependency(String fromService, String toService);
+
+    /**
+     * Removes a service together with every dependency into or out of it. The name may be
+     * added again later as a new, unconnected service.
+     * @param service name of the service to remove
+     */
+    void removeService(String service);
+
+    /**
+     * Creates a read-only view of the current network with some dependencies and services
+     * masked out, without copying the network. Later changes to the network do not affect
+     * the view, and any number of views can be queried in parallel.
+     * @param removedDependencies dependencies to mask, as (fromService, toService) pairs
+     * @param removedServices services to mask together with all of their dependencies
+     * @return overlay answering queries as if the masked elements had been removed
+     */
+    NetworkOverlay whatIf(Set<Pair<String, String>> removedDependencies, Set<String> removedServices);
+
     /**
      * Gets all dependencies of a service.
      * @param service name of the service
@@ -29,6 +69,13 @@ public interface AlertNetwork {
      */
     List<String> getDependencies(String service);
 
+    /**
+     * Checks whether a service has been added to the network.
+     * @param service name of the service
+     * @return true if the service exists
+     */
+    boolean containsService(String service);
+
     /**
      * Finds the shortest path of alert propagation from source to target service.
      * @param source name of the service where the alert originates
@@ -38,6 +85,23 @@ public interface AlertNetwork {
      */
     List<String> findAlertPropagationPath(String source, String target);
 
+    /**
+     * Finds the propagation path most likely to carry an alert from source to target, i.e.
+     * the one with the highest product of dependency probabilities.
+     * @param source name of the service where the alert originates
+     * @param target name of the service to which the alert should propagate
+     * @return list of service names along the path, or empty list if no path exists
+     */
+    List<String> findMostProbablePropagationPath(String source, String target);
+
+    /**
+     * Gets the earliest time at which an alert in the given service reaches each affected
+     * service, summing dependency latencies along the fastest path.
+     * @param source name of the service where the alert originates
+     * @return arrival time per affected service in ascending time order, source first at 0
+     */
+    Map<String, Double> findEarliestImpact(String source);
+
     /**
      * Gets all services that would be affected by an alert in the given service.
      * @param source name of the service where the alert originates
@@ -45,10 +109,150 @@ public interface AlertNetwork {
      */
     List<String> getAffectedServices(String source);
 
+    /**
+     * Gets all services that would be affected by an alert in the given service, using the
+     * given traversal strategy instead of the network's default.
+     * @param source name of the service where the alert originates
+     * @param mode traversal strategy for this call
+     * @return list of service names that would be affected by the alert
+     */
+    List<String> getAffectedServices(String source, TraversalMode mode);
+
+    /**
+     * Lazily streams the services that would be affected by an alert in the given service,
+     * in breadth-first order, source first. The traversal only advances as far as the stream
+     * is consumed, so {@code limit}, {@code takeWhile} or {@code anyMatch} end it early.
+     * @param source name of the service where the alert originates
+     * @return ordered stream of affected service names
+     */
+    Stream<String> streamAffectedServices(String source);
+
+    /**
+     * Lazily streams the services within the given number of dependency hops of the source,
+     * in breadth-first order, source first.
+     * @param source name of the service where the alert originates
+     * @param maxHops maximum number of dependency edges between source and a returned service
+     * @return ordered stream of affected service names
+     */
+    Stream<String> streamAffectedServices(String source, int maxHops);
+
+    /**
+     * Passes every service affected by an alert to a visitor in breadth-first order, like
+     * {@link #getAffectedServices(String)} but without building a list. With a warmed-up
+     * context the query allocates nothing. Always traverses, whatever index is enabled.
+     * @param source name of the service where the alert originates
+     * @param context scratch state reused between calls on one thread
+     * @param visitor receives each service and its hop count; returning false stops the query
+     * @return number of services visited
+     */
+    int visitAffectedServices(String source, TraversalContext context, ServiceVisitor visitor);
+
+    /**
+     * Passes every service whose alerts can reach the target to a visitor, nearest first,
+     * without building a list.
+     * @param target name of the service the alerts would reach
+     * @param context scratch state reused between calls on one thread
+     * @param visitor receives each service and its hop count; returning false stops the query
+     * @return number of services visited
+     */
+    int visitUpstreamServices(String target, TraversalContext context, ServiceVisitor visitor);
+
+    /**
+     * Passes the services on a shortest propagation path to a visitor, source first, without
+     * building a list. Uses a forward breadth-first search whatever the path search mode.
+     * @param source name of the service where the alert originates
+     * @param target name of the service to which the alert should propagate
+     * @param context scratch state reused between calls on one thread
+     * @param visitor receives each service on the path and its position
+     * @return number of services on the path, or 0 if no path exists
+     */
+    int visitAlertPropagationPath(String source, String target, TraversalContext context, ServiceVisitor visitor);
+
+    /**
+     * Gets all services whose alerts could propagate to the given service.
+     * @param target name of the alerting service
+     * @return list of service names that depend on target directly or transitively,
+     *         target included, nearest first
+     */
+    List<String> getUpstreamServices(String target);
+
+    /**
+     * Finds the shortest chain of dependencies through which an upstream service can raise
+     * an alert in the target service.
+     * @param target name of the alerting service
+     * @param upstream name of the suspected cause
+     * @return list of service names from target back to upstream,
+     *         or empty list if upstream cannot reach target
+     */
+    List<String> findUpstreamPath(String target, String upstream);
+
+    /**
+     * Gets the services affected by alerts in several services, computed in one shared
+     * traversal rather than one traversal per source.
+     * @param sources names of the services where alerts originate
+     * @return affected services per source, plus their union and intersection
+     */
+    ImpactAnalysis analyzeImpact(Set<String> sources);
+
+    /**
+     * Groups simultaneously alerting services by likely root cause. A service whose alert
+     * can be explained by another alerting service reaching it is attributed to its
+     * nearest unexplained alerting ancestor; services that reach each other form one group.
+     * @param alertingServices names of the alerting services; earlier services win ties
+     * @return alerting services per root cause, the root cause first in each list
+     */
+    Map<String, List<String>> groupByRootCause(Set<String> alertingServices);
+
     /**
      * Suggests edges that could be added to contain an alert within a specific service.
      * @param source name of the service where the alert originates
      * @return list of pairs of service names representing suggested containment edges
      */
     List<Pair<String, String>> suggestContainmentEdges(String source);
+
+    /**
+     * Ranks the dependencies that, if disabled, would cut services off from an alert.
+     * @param source name of the service where the alert originates
+     * @return edges whose removal leaves at least one service unreachable from source,
+     *         ordered by the number of services they isolate, largest first
+     */
+    List<ContainmentCandidate> rankContainmentEdges(String source);
+
+    /**
+     * Finds the smallest set of dependencies that, if disabled, stops an alert from reaching
+     * any of the protected services.
+     * @param source name of the service where the alert originates
+     * @param protectedServices names of the services to isolate from the alert
+     * @return minimum edge cut separating source from every protected service,
+     *         or empty list if none of them is reachable
+     */
+    List<Pair<String, String>> findMinimumContainmentCut(String source, Set<String> protectedServices);
+
+    /**
+     * Ranks every service by the number of services an alert in it would reach, estimated for
+     * all services at once rather than with one traversal each.
+     * <p>
+     * Blast radii small enough to count exactly within the memory of the estimate are exact;
+     * larger ones carry the requested relative standard error, and their bounds span two
+     * standard errors around the estimate.
+     * @param topK maximum number of services to return
+     * @param relativeError relative standard error of the estimates, in (0, 1); errors below
+     *                      about 0.004 are rounded up to it
+     * @return up to topK services with the largest estimated blast radius, largest first,
+     *         ties in insertion order
+     */
+    List<BlastRadius> rankBlastRadius(int topK, double relativeError);
+
+    /**
+     * Adds every service and dependency listed in a topology file.
+     * <p>
+     * Each line holds either a dependency {@code fromService,toService} or a single service
+     * name; tokens may be separated by commas, spaces or tabs. Blank lines and lines starting
+     * with {@code #} are ignored. Services named by a dependency are added automatically.
+     * @param file edge-list or two-column CSV file
+     * @return counts of newly added services and dependencies, and the load time
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line has more than two tokens
+     */
+    LoadStats loadTopology(Path file) throws IOException;
 } 
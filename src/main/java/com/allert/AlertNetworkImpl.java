@@ -1,30 +1,150 @@
 package com.allert;
 
+import com.allert.graph.*;
+import com.allert.io.*;
+import com.allert.metrics.*;
 import com.allert.validation.*;
 import javafx.util.*;
 import lombok.*;
 
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
 
 @RequiredArgsConstructor
-public class AlertNetworkImpl implements AlertNetwork {
-    private final Map<String, Set<String>> serviceDependencies = new HashMap<>();
-    private final ServiceValidator validator = new ServiceValidator(serviceDependencies);
+public class AlertNetworkImpl implements AlertNetwork, NetworkStatistics {
+    private final ServiceRegistry registry = new ServiceRegistry();
+    private final CompactGraph graph = new CompactGraph();
+    private final ServiceValidator validator = new ServiceValidator(registry);
+    private final ResultMapper mapper = new ResultMapper(registry);
+    private final GraphTraversal traversal = new GraphTraversal();
+    private EdgeWeights weights = new EdgeWeights();
+    private final PathSearchMode pathSearchMode;
+    private final TraversalMode traversalMode;
+    private ReachabilityIndex reachabilityIndex;
+    private DistanceLabelIndex distanceIndex;
+    private MutationJournal journal;
+
+    public AlertNetworkImpl() {
+        this(PathSearchMode.FORWARD);
+    }
+
+    public AlertNetworkImpl(PathSearchMode pathSearchMode) {
+        this(pathSearchMode, TraversalMode.SEQUENTIAL);
+    }
 
     @Override
     public void addService(String service) {
         validator.validateServiceName(service);
-        serviceDependencies.putIfAbsent(service, new HashSet<>());
+        if (!registry.contains(service)) {
+            registry.intern(service);
+            int id = graph.addNode();
+            if (reachabilityIndex != null) {
+                reachabilityIndex.addNode(id);
+            }
+            if (distanceIndex != null) {
+                distanceIndex.addNode(id);
+            }
+            if (journal != null) {
+                commit(journal.logAddService(service));
+            }
+        }
     }
 
     @Override
     public void addDependency(String fromService, String toService) {
+        if (link(fromService, toService) && journal != null) {
+            commit(journal.logAddDependency(registry.idOf(fromService), registry.idOf(toService)));
+        }
+    }
+
+    @Override
+    public void addDependency(String fromService, String toService, double latency, double probability) {
+        validator.validateEdgeWeights(latency, probability);
+        link(fromService, toService);
+        int from = registry.idOf(fromService);
+        int to = registry.idOf(toService);
+        weights.put(from, to, (float) latency, (float) probability);
+        if (journal != null) {
+            commit(journal.logAddDependency(from, to, (float) latency, (float) probability));
+        }
+    }
+
+    private boolean link(String fromService, String toService) {
         validator.validateServiceName(fromService);
         validator.validateServiceName(toService);
         validator.validateServiceExists(fromService);
         validator.validateServiceExists(toService);
 
-        serviceDependencies.get(fromService).add(toService);
+        int from = registry.idOf(fromService);
+        int to = registry.idOf(toService);
+        if (!graph.addEdge(from, to)) {
+            return false;
+        }
+        if (reachabilityIndex != null) {
+            reachabilityIndex.addEdge(from, to);
+        }
+        if (distanceIndex != null) {
+            distanceIndex.addEdge(graph.snapshot(), from, to);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeDependency(String fromService, String toService) {
+        validator.validateServiceName(fromService);
+        validator.validateServiceName(toService);
+        validator.validateServiceExists(fromService);
+        validator.validateServiceExists(toService);
+
+        int from = registry.idOf(fromService);
+        int to = registry.idOf(toService);
+        if (!graph.removeEdge(from, to)) {
+            return false;
+        }
+        weights.reset(from, to);
+        rebuildIndexes();
+        if (journal != null) {
+            commit(journal.logRemoveDependency(from, to));
+        }
+        return true;
+    }
+
+    @Override
+    public void removeService(String service) {
+        validator.validateServiceName(service);
+        validator.validateServiceExists(service);
+
+        int id = registry.idOf(service);
+        GraphSnapshot before = graph.snapshot();
+        for (EdgeCursor edges = before.cursor().of(id); edges.hasNext(); ) {
+            weights.reset(id, edges.next());
+        }
+        for (EdgeCursor edges = before.reverseCursor().of(id); edges.hasNext(); ) {
+            weights.reset(edges.next(), id);
+        }
+        graph.removeNode(id);
+        registry.remove(service);
+        rebuildIndexes();
+        if (journal != null) {
+            commit(journal.logRemoveService(id));
+        }
+    }
+
+    @Override
+    public NetworkOverlay whatIf(Set<Pair<String, String>> removedDependencies, Set<String> removedServices) {
+        validator.validateWhatIf(removedDependencies, removedServices);
+
+        int[] from = new int[removedDependencies.size()];
+        int[] to = new int[removedDependencies.size()];
+        int i = 0;
+        for (Pair<String, String> dependency : removedDependencies) {
+            from[i] = registry.idOf(dependency.getKey());
+            to[i++] = registry.idOf(dependency.getValue());
+        }
+        return new NetworkOverlay(registry, graph.snapshot().without(from, to, mapper.toIds(removedServices)));
     }
 
     @Override
@@ -32,7 +152,16 @@ public class AlertNetworkImpl implements AlertNetwork {
         validator.validateServiceName(service);
         validator.validateServiceExists(service);
 
-        return serviceDependencies.get(service).stream().toList();
+        List<String> dependencies = new ArrayList<>();
+        for (EdgeCursor edges = graph.snapshot().cursor().of(registry.idOf(service)); edges.hasNext(); ) {
+            dependencies.add(registry.nameOf(edges.next()));
+        }
+        return dependencies;
+    }
+
+    @Override
+    public boolean containsService(String service) {
+        return service != null && registry.contains(service);
     }
 
     @Override
@@ -42,50 +171,148 @@ public class AlertNetworkImpl implements AlertNetwork {
         validator.validateServiceExists(source);
         validator.validateServiceExists(target);
 
-        Map<String, String> previous = new HashMap<>();
-        Queue<String> queue = new LinkedList<>();
-        Set<String> visited = new HashSet<>();
+        GraphSnapshot snapshot = graph.snapshot();
+        int sourceId = registry.idOf(source);
+        int targetId = registry.idOf(target);
+        if (distanceIndex != null) {
+            return mapper.toNames(distanceIndex.path(snapshot, sourceId, targetId));
+        }
+        return mapper.toNames(pathSearchMode == PathSearchMode.BIDIRECTIONAL
+                ? traversal.bidirectionalShortestPath(snapshot, sourceId, targetId)
+                : traversal.shortestPath(snapshot, sourceId, targetId));
+    }
+
+    @Override
+    public List<String> findMostProbablePropagationPath(String source, String target) {
+        validator.validateServiceName(source);
+        validator.validateServiceName(target);
+        validator.validateServiceExists(source);
+        validator.validateServiceExists(target);
+
+        return mapper.toNames(WeightedTraversal.mostProbablePath(graph.snapshot(), weights,
+                registry.idOf(source), registry.idOf(target)));
+    }
 
-        queue.offer(source);
-        visited.add(source);
+    @Override
+    public Map<String, Double> findEarliestImpact(String source) {
+        validator.validateServiceName(source);
+        validator.validateServiceExists(source);
 
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
-            if (current.equals(target)) {
-                return reconstructPath(previous, target);
-            }
-            serviceDependencies.get(current).stream()
-                    .filter(dependency -> !visited.contains(dependency))
-                    .forEach(dependency -> {
-                        visited.add(dependency);
-                        previous.put(dependency, current);
-                        queue.offer(dependency);
-                    });
-        }
-        return Collections.emptyList();
+        return mapper.toArrivalTimes(WeightedTraversal.earliestImpact(graph.snapshot(), weights, registry.idOf(source)));
     }
 
     @Override
     public List<String> getAffectedServices(String source) {
+        return getAffectedServices(source, traversalMode);
+    }
+
+    @Override
+    public List<String> getAffectedServices(String source, TraversalMode mode) {
+        validator.validateServiceName(source);
+        validator.validateServiceExists(source);
+
+        int sourceId = registry.idOf(source);
+        if (reachabilityIndex != null) {
+            return mapper.toNames(reachabilityIndex.reachable(sourceId));
+        }
+        return mapper.toNames(mode == TraversalMode.PARALLEL
+                ? ParallelReachability.reachable(graph.snapshot(), sourceId, ForkJoinPool.commonPool())
+                : traversal.reachable(graph.snapshot(), sourceId));
+    }
+
+    @Override
+    public Stream<String> streamAffectedServices(String source) {
+        return streamAffectedServices(source, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Stream<String> streamAffectedServices(String source, int maxHops) {
         validator.validateServiceName(source);
         validator.validateServiceExists(source);
+        validator.validateHopLimit(maxHops);
+
+        return mapper.toNameStream(BreadthFirstIterator.downstream(graph.snapshot(), registry.idOf(source), maxHops));
+    }
+
+    @Override
+    public int visitAffectedServices(String source, TraversalContext context, ServiceVisitor visitor) {
+        validator.validateServiceName(source);
+        validator.validateServiceExists(source);
+
+        return context.visitReachable(graph.snapshot(), registry, registry.idOf(source), visitor);
+    }
+
+    @Override
+    public int visitUpstreamServices(String target, TraversalContext context, ServiceVisitor visitor) {
+        validator.validateServiceName(target);
+        validator.validateServiceExists(target);
+
+        return context.visitReachableUpstream(graph.snapshot(), registry, registry.idOf(target), visitor);
+    }
+
+    @Override
+    public int visitAlertPropagationPath(String source, String target, TraversalContext context,
+                                         ServiceVisitor visitor) {
+        validator.validateServiceName(source);
+        validator.validateServiceName(target);
+        validator.validateServiceExists(source);
+        validator.validateServiceExists(target);
+
+        return context.visitShortestPath(graph.snapshot(), registry, registry.idOf(source), registry.idOf(target),
+                visitor);
+    }
+
+    @Override
+    public List<String> getUpstreamServices(String target) {
+        validator.validateServiceName(target);
+        validator.validateServiceExists(target);
 
-        Set<String> visited = new HashSet<>();
-        Deque<String> stack = new ArrayDeque<>();
+        return mapper.toNames(traversal.reachableUpstream(graph.snapshot(), registry.idOf(target)));
+    }
 
-        stack.push(source);
-        visited.add(source);
+    @Override
+    public List<String> findUpstreamPath(String target, String upstream) {
+        validator.validateServiceName(target);
+        validator.validateServiceName(upstream);
+        validator.validateServiceExists(target);
+        validator.validateServiceExists(upstream);
 
-        while (!stack.isEmpty()) {
-            String current = stack.pop();
-            serviceDependencies.get(current).stream()
-                    .filter(dependency -> !visited.contains(dependency)).forEach(dependency -> {
-                        visited.add(dependency);
-                        stack.push(dependency);
-                    });
+        GraphSnapshot snapshot = graph.snapshot();
+        int targetId = registry.idOf(target);
+        int upstreamId = registry.idOf(upstream);
+        if (distanceIndex != null || pathSearchMode == PathSearchMode.BIDIRECTIONAL) {
+            List<String> path = mapper.toNames(distanceIndex != null
+                    ? distanceIndex.path(snapshot, upstreamId, targetId)
+                    : traversal.bidirectionalShortestPath(snapshot, upstreamId, targetId));
+            Collections.reverse(path);
+            return path;
         }
+        return mapper.toNames(traversal.shortestPathUpstream(snapshot, targetId, upstreamId));
+    }
 
-        return visited.stream().toList();
+    @Override
+    public ImpactAnalysis analyzeImpact(Set<String> sources) {
+        validator.validateServicesSet(sources);
+
+        List<String> sourceList = List.copyOf(sources);
+        int[] sourceIds = mapper.toIds(sourceList);
+        MultiSourceReachability reachability = MultiSourceReachability.compute(graph.snapshot(), sourceIds);
+
+        Map<String, List<String>> affectedBySource = new LinkedHashMap<>();
+        for (int i = 0; i < sourceIds.length; i++) {
+            affectedBySource.put(sourceList.get(i), mapper.toNames(reachability.reachable(i)));
+        }
+        return new ImpactAnalysis(affectedBySource,
+                mapper.toNames(reachability.union()), mapper.toNames(reachability.intersection()));
+    }
+
+    @Override
+    public Map<String, List<String>> groupByRootCause(Set<String> alertingServices) {
+        validator.validateServicesSet(alertingServices);
+
+        List<String> alerting = List.copyOf(alertingServices);
+        int[] rootOf = RootCauses.assign(graph.snapshot(), mapper.toIds(alerting));
+        return mapper.toRootCauseGroups(alerting, rootOf);
     }
 
     @Override
@@ -93,53 +320,231 @@ public class AlertNetworkImpl implements AlertNetwork {
         validator.validateServiceName(source);
         validator.validateServiceExists(source);
 
-        Map<Pair<String, String>, Integer> edgeDownstreamCount = new HashMap<>();
-        Set<String> visited = new HashSet<>();
-        Deque<String> stack = new ArrayDeque<>();
-        stack.push(source);
-
-        while (!stack.isEmpty()) {
-            String current = stack.pop();
-            if (!visited.add(current)) continue;
-
-            serviceDependencies.get(current).forEach(dep -> {
-                // Skip edges directly connected to source
-                if (!current.equals(source)) {
-                    // Count downstream systems
-                    Set<String> downstream = new HashSet<>();
-                    Deque<String> downstreamStack = new ArrayDeque<>();
-                    downstreamStack.push(dep);
-
-                    while (!downstreamStack.isEmpty()) {
-                        String downstreamService = downstreamStack.pop();
-                        if (downstream.add(downstreamService)) {
-                            serviceDependencies.get(downstreamService).forEach(downstreamStack::push);
-                        }
-                    }
-
-                    edgeDownstreamCount.put(new Pair<>(current, dep), downstream.size());
-                }
-                stack.push(dep);
-            });
-        }
-
-        return edgeDownstreamCount.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(maxEntry -> edgeDownstreamCount.entrySet().stream()
-                        .filter(entry -> entry.getValue().equals(maxEntry.getValue()))
-                        .map(Map.Entry::getKey)
-                        .toList())
-                .orElse(List.of());
-    }
-
-    private List<String> reconstructPath(Map<String, String> previous, String target) {
-        List<String> path = new ArrayList<>();
-        String current = target;
-        while (current != null) {
-            path.add(current);
-            current = previous.get(current);
-        }
-        Collections.reverse(path);
-        return path;
-    }
-} 
+        return mapper.toEdges(traversal.containmentEdges(graph.snapshot(), registry.idOf(source)));
+    }
+
+    @Override
+    public List<ContainmentCandidate> rankContainmentEdges(String source) {
+        validator.validateServiceName(source);
+        validator.validateServiceExists(source);
+
+        return mapper.toCandidates(DominatorTree.build(graph.snapshot(), registry.idOf(source)).rankedCutEdges());
+    }
+
+    @Override
+    public List<Pair<String, String>> findMinimumContainmentCut(String source, Set<String> protectedServices) {
+        validator.validateServiceName(source);
+        validator.validateServiceExists(source);
+        validator.validateServicesSet(protectedServices);
+
+        return mapper.toEdges(MinimumCut.compute(graph.snapshot(), registry.idOf(source), mapper.toIds(protectedServices)));
+    }
+
+    @Override
+    public List<BlastRadius> rankBlastRadius(int topK, double relativeError) {
+        validator.validateBlastRadiusQuery(topK, relativeError);
+
+        return mapper.toBlastRadii(BlastRadiusEstimator.estimate(graph.snapshot(), registry::isLive, relativeError,
+                ForkJoinPool.commonPool()), topK);
+    }
+
+    @Override
+    public LoadStats loadTopology(Path file) throws IOException {
+        LoadStats stats = new TopologyLoader(registry, graph, validator)
+                .load(file, Runtime.getRuntime().availableProcessors());
+        if (stats.services() > 0 || stats.dependencies() > 0) {
+            rebuildIndexes();
+            if (journal != null) {
+                compactJournal();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Writes the network, including edge weights and the reachability index if enabled, to a
+     * binary snapshot file that {@link #load(Path)} maps back in without replaying any additions.
+     */
+    public void save(Path file) throws IOException {
+        SnapshotFile.write(file, registry, graph.snapshot(), weights, reachabilityIndex);
+    }
+
+    public static AlertNetworkImpl load(Path file) throws IOException {
+        return load(file, PathSearchMode.FORWARD);
+    }
+
+    /**
+     * Restores a network saved with {@link #save(Path)}. A reachability index stored in the
+     * file is enabled again without being rebuilt.
+     */
+    public static AlertNetworkImpl load(Path file, PathSearchMode pathSearchMode) throws IOException {
+        return restore(SnapshotFile.read(file), pathSearchMode, file);
+    }
+
+    public static AlertNetworkImpl openJournaled(Path directory, Durability durability) throws IOException {
+        return openJournaled(directory, durability, PathSearchMode.FORWARD);
+    }
+
+    /**
+     * Recovers the network kept in a journal directory from its latest snapshot and the
+     * mutations logged since, or starts an empty one, and journals every later mutation
+     * there. Each mutation returns once it is as durable as requested; a journal write
+     * failure surfaces as an {@link UncheckedIOException}. The log is compacted into a new
+     * snapshot once it grows past {@link MutationJournal#DEFAULT_COMPACTION_BYTES}, and
+     * after every topology load.
+     */
+    public static AlertNetworkImpl openJournaled(Path directory, Durability durability,
+                                                 PathSearchMode pathSearchMode) throws IOException {
+        MutationJournal journal = MutationJournal.open(directory, durability);
+        try {
+            SnapshotFile.Contents contents = journal.readSnapshot();
+            AlertNetworkImpl network = contents != null
+                    ? restore(contents, pathSearchMode, directory)
+                    : new AlertNetworkImpl(pathSearchMode);
+            journal.replay(network.registry, network.graph, network.weights);
+            network.journal = journal;
+            return network;
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the journal's log with a snapshot of the current network.
+     */
+    public void compactJournal() throws IOException {
+        if (journal == null) {
+            throw new IllegalStateException("The network is not journaled");
+        }
+        journal.compact(registry, graph.snapshot(), weights);
+    }
+
+    /**
+     * Forces every journaled mutation to disk and stops journaling.
+     */
+    public void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private static AlertNetworkImpl restore(SnapshotFile.Contents contents, PathSearchMode pathSearchMode,
+                                            Path file) throws IOException {
+        AlertNetworkImpl network = new AlertNetworkImpl(pathSearchMode);
+        for (String name : contents.names()) {
+            if (name != null) {
+                network.registry.intern(name);
+            } else {
+                network.registry.reserve();
+            }
+        }
+        if (network.registry.size() != contents.names().length) {
+            throw new IOException("Corrupt snapshot " + file + ": duplicate service names");
+        }
+        network.graph.restore(contents.successors(), contents.predecessors());
+        network.weights = contents.edgeWeights();
+        network.reachabilityIndex = contents.reachabilityIndex();
+        return network;
+    }
+
+    /**
+     * Builds a transitive-closure index over the strongly connected components of the
+     * network. While enabled, {@link #getAffectedServices(String)} answers from the index
+     * (grouped by component rather than in breadth-first order) regardless of the traversal
+     * mode, and every addition keeps the index up to date. Removals rebuild it.
+     * @return memory footprint and build time of the index
+     */
+    public IndexStats enableReachabilityIndex() {
+        reachabilityIndex = ReachabilityIndex.build(graph.snapshot());
+        return reachabilityIndex.stats();
+    }
+
+    public void disableReachabilityIndex() {
+        reachabilityIndex = null;
+    }
+
+    public Optional<IndexStats> reachabilityIndexStats() {
+        return Optional.ofNullable(reachabilityIndex).map(ReachabilityIndex::stats);
+    }
+
+    /**
+     * Builds a pruned-landmark distance index. While enabled, propagation paths in either
+     * direction are rebuilt from the index regardless of the path search mode, additions
+     * update it incrementally and removals or topology loads rebuild it.
+     * @return memory footprint, build time and label count of the index
+     */
+    public IndexStats enableDistanceIndex() {
+        distanceIndex = DistanceLabelIndex.build(graph.snapshot());
+        return distanceIndex.stats();
+    }
+
+    public void disableDistanceIndex() {
+        distanceIndex = null;
+    }
+
+    public Optional<IndexStats> distanceIndexStats() {
+        return Optional.ofNullable(distanceIndex).map(DistanceLabelIndex::stats);
+    }
+
+    /**
+     * Returns the number of hops on a shortest propagation path, answered from the distance
+     * index when it is enabled.
+     * @return hop count, or empty if no alert from source can reach target
+     */
+    public OptionalInt findPropagationDistance(String source, String target) {
+        validator.validateServiceName(source);
+        validator.validateServiceName(target);
+        validator.validateServiceExists(source);
+        validator.validateServiceExists(target);
+
+        int sourceId = registry.idOf(source);
+        int targetId = registry.idOf(target);
+        int distance = distanceIndex != null
+                ? distanceIndex.distance(sourceId, targetId)
+                : traversal.shortestPath(graph.snapshot(), sourceId, targetId).length - 1;
+        return distance >= 0 ? OptionalInt.of(distance) : OptionalInt.empty();
+    }
+
+    private void commit(long sequence) {
+        try {
+            journal.commit(sequence);
+            if (journal.needsCompaction()) {
+                compactJournal();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Neither index supports removals, so they and bulk loads rebuild enabled indexes from scratch.
+    private void rebuildIndexes() {
+        if (reachabilityIndex != null) {
+            reachabilityIndex = ReachabilityIndex.build(graph.snapshot());
+        }
+        if (distanceIndex != null) {
+            distanceIndex = DistanceLabelIndex.build(graph.snapshot());
+        }
+    }
+
+    @Override
+    public int serviceCount() {
+        return registry.liveCount();
+    }
+
+    @Override
+    public int dependencyCount() {
+        return graph.edgeCount();
+    }
+
+    @Override
+    public long nodesVisited() {
+        return traversal.totalVisited();
+    }
+
+    @Override
+    public long edgesScanned() {
+        return traversal.totalScanned();
+    }
+}
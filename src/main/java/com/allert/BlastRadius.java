@@ -0,0 +1,12 @@
+package com.allert;
+
+/**
+ * Estimated number of services an alert in one service reaches.
+ * @param service service the alert originates in
+ * @param estimatedServices estimated number of affected services, the service itself included
+ * @param lowerBound lower end of the estimate's confidence interval
+ * @param upperBound upper end of the estimate's confidence interval; equal to the lower end
+ *                   when the count is exact
+ */
+public record BlastRadius(String service, int estimatedServices, int lowerBound, int upperBound) {
+}
@@ -0,0 +1,515 @@
+package com.allert;
+
+import com.allert.graph.*;
+import com.allert.io.*;
+import com.allert.metrics.*;
+import com.allert.validation.*;
+import javafx.util.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Thread-safe {@link AlertNetwork}. Writers are serialized and publish an immutable,
+ * versioned {@link GraphSnapshot} after every mutation; readers traverse the latest
+ * published snapshot without taking any lock.
+ */
+public class ConcurrentAlertNetwork implements AlertNetwork, NetworkStatistics {
+    private final ServiceRegistry registry = new ServiceRegistry();
+    private final CompactGraph graph = new CompactGraph();
+    private final ServiceValidator validator = new ServiceValidator(registry);
+    private final ResultMapper mapper = new ResultMapper(registry);
+    private final ThreadLocal<GraphTraversal> traversals = ThreadLocal.withInitial(GraphTraversal::new);
+    private EdgeWeights weights = new EdgeWeights();
+    private final Object writeLock = new Object();
+    private final PathSearchMode pathSearchMode;
+    private final TraversalMode traversalMode;
+    private volatile GraphSnapshot snapshot = graph.snapshot();
+    private volatile MutationJournal journal;
+
+    public ConcurrentAlertNetwork() {
+        this(PathSearchMode.FORWARD);
+    }
+
+    public ConcurrentAlertNetwork(PathSearchMode pathSearchMode) {
+        this(pathSearchMode, TraversalMode.SEQUENTIAL);
+    }
+
+    public ConcurrentAlertNetwork(PathSearchMode pathSearchMode, TraversalMode traversalMode) {
+        this.pathSearchMode = pathSearchMode;
+        this.traversalMode = traversalMode;
+    }
+
+    @Override
+    public void addService(String service) {
+        validator.validateServiceName(service);
+        long sequence = 0;
+        synchronized (writeLock) {
+            if (!registry.contains(service)) {
+                registry.intern(service);
+                graph.addNode();
+                snapshot = graph.snapshot();
+                if (journal != null) {
+                    sequence = journal.logAddService(service);
+                }
+            }
+        }
+        commit(sequence);
+    }
+
+    @Override
+    public void addDependency(String fromService, String toService) {
+        validator.validateServiceName(fromService);
+        validator.validateServiceName(toService);
+        long sequence = 0;
+        synchronized (writeLock) {
+            validator.validateServiceExists(fromService);
+            validator.validateServiceExists(toService);
+
+            int from = registry.idOf(fromService);
+            int to = registry.idOf(toService);
+            if (graph.addEdge(from, to)) {
+                snapshot = graph.snapshot();
+                if (journal != null) {
+                    sequence = journal.logAddDependency(from, to);
+                }
+            }
+        }
+        commit(sequence);
+    }
+
+    @Override
+    public void addDependency(String fromService, String toService, double latency, double probability) {
+        validator.validateServiceName(fromService);
+        validator.validateServiceName(toService);
+        validator.validateEdgeWeights(latency, probability);
+        long sequence = 0;
+        synchronized (writeLock) {
+            validator.validateServiceExists(fromService);
+            validator.validateServiceExists(toService);
+
+            // Weights go in first so readers of the snapshot that adds the edge see them.
+            int from = registry.idOf(fromService);
+            int to = registry.idOf(toService);
+            weights.put(from, to, (float) latency, (float) probability);
+            if (!graph.addEdge(from, to)) {
+                // Re-weighting an existing edge still has to advance the version readers see.
+                graph.touch();
+            }
+            snapshot = graph.snapshot();
+            if (journal != null) {
+                sequence = journal.logAddDependency(from, to, (float) latency, (float) probability);
+            }
+        }
+        commit(sequence);
+    }
+
+    @Override
+    public boolean removeDependency(String fromService, String toService) {
+        validator.validateServiceName(fromService);
+        validator.validateServiceName(toService);
+        long sequence = 0;
+        synchronized (writeLock) {
+            validator.validateServiceExists(fromService);
+            validator.validateServiceExists(toService);
+
+            int from = registry.idOf(fromService);
+            int to = registry.idOf(toService);
+            if (!graph.removeEdge(from, to)) {
+                return false;
+            }
+            snapshot = graph.snapshot();
+            weights.reset(from, to);
+            if (journal != null) {
+                sequence = journal.logRemoveDependency(from, to);
+            }
+        }
+        commit(sequence);
+        return true;
+    }
+
+    @Override
+    public void removeService(String service) {
+        validator.validateServiceName(service);
+        long sequence = 0;
+        synchronized (writeLock) {
+            validator.validateServiceExists(service);
+
+            int id = registry.idOf(service);
+            GraphSnapshot before = snapshot;
+            graph.removeNode(id);
+            snapshot = graph.snapshot();
+            registry.remove(service);
+            for (EdgeCursor edges = before.cursor().of(id); edges.hasNext(); ) {
+                weights.reset(id, edges.next());
+            }
+            for (EdgeCursor edges = before.reverseCursor().of(id); edges.hasNext(); ) {
+                weights.reset(edges.next(), id);
+            }
+            if (journal != null) {
+                sequence = journal.logRemoveService(id);
+            }
+        }
+        commit(sequence);
+    }
+
+    @Override
+    public NetworkOverlay whatIf(Set<Pair<String, String>> removedDependencies, Set<String> removedServices) {
+        GraphSnapshot current = snapshot;
+        validator.validateWhatIf(removedDependencies, removedServices);
+        int[] removedIds = validator.resolveExisting(removedServices, current);
+
+        int[] from = new int[removedDependencies.size()];
+        int[] to = new int[removedDependencies.size()];
+        int i = 0;
+        for (Pair<String, String> dependency : removedDependencies) {
+            from[i] = validator.resolveExisting(dependency.getKey(), current);
+            to[i++] = validator.resolveExisting(dependency.getValue(), current);
+        }
+        return new NetworkOverlay(registry, current.without(from, to, removedIds));
+    }
+
+    @Override
+    public List<String> getDependencies(String service) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(service);
+        int serviceId = validator.resolveExisting(service, current);
+
+        List<String> dependencies = new ArrayList<>();
+        for (EdgeCursor edges = current.cursor().of(serviceId); edges.hasNext(); ) {
+            dependencies.add(registry.nameOf(edges.next()));
+        }
+        return dependencies;
+    }
+
+    @Override
+    public boolean containsService(String service) {
+        if (service == null) {
+            return false;
+        }
+        int id = registry.idOf(service);
+        return id >= 0 && id < snapshot.nodeCount();
+    }
+
+    @Override
+    public List<String> findAlertPropagationPath(String source, String target) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        validator.validateServiceName(target);
+        int sourceId = validator.resolveExisting(source, current);
+        int targetId = validator.resolveExisting(target, current);
+
+        GraphTraversal traversal = traversals.get();
+        return mapper.toNames(pathSearchMode == PathSearchMode.BIDIRECTIONAL
+                ? traversal.bidirectionalShortestPath(current, sourceId, targetId)
+                : traversal.shortestPath(current, sourceId, targetId));
+    }
+
+    @Override
+    public List<String> findMostProbablePropagationPath(String source, String target) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        validator.validateServiceName(target);
+        int sourceId = validator.resolveExisting(source, current);
+        int targetId = validator.resolveExisting(target, current);
+
+        return mapper.toNames(WeightedTraversal.mostProbablePath(current, weights,
+                sourceId, targetId));
+    }
+
+    @Override
+    public Map<String, Double> findEarliestImpact(String source) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, current);
+
+        return mapper.toArrivalTimes(WeightedTraversal.earliestImpact(current, weights, sourceId));
+    }
+
+    @Override
+    public List<String> getAffectedServices(String source) {
+        return getAffectedServices(source, traversalMode);
+    }
+
+    @Override
+    public List<String> getAffectedServices(String source, TraversalMode mode) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, current);
+        return mapper.toNames(mode == TraversalMode.PARALLEL
+                ? ParallelReachability.reachable(current, sourceId, ForkJoinPool.commonPool())
+                : traversals.get().reachable(current, sourceId));
+    }
+
+    @Override
+    public Stream<String> streamAffectedServices(String source) {
+        return streamAffectedServices(source, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Stream<String> streamAffectedServices(String source, int maxHops) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, current);
+        validator.validateHopLimit(maxHops);
+
+        return mapper.toNameStream(BreadthFirstIterator.downstream(current, sourceId, maxHops));
+    }
+
+    @Override
+    public int visitAffectedServices(String source, TraversalContext context, ServiceVisitor visitor) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, current);
+
+        return context.visitReachable(current, registry, sourceId, visitor);
+    }
+
+    @Override
+    public int visitUpstreamServices(String target, TraversalContext context, ServiceVisitor visitor) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(target);
+        int targetId = validator.resolveExisting(target, current);
+
+        return context.visitReachableUpstream(current, registry, targetId, visitor);
+    }
+
+    @Override
+    public int visitAlertPropagationPath(String source, String target, TraversalContext context,
+                                         ServiceVisitor visitor) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        validator.validateServiceName(target);
+        int sourceId = validator.resolveExisting(source, current);
+        int targetId = validator.resolveExisting(target, current);
+
+        return context.visitShortestPath(current, registry, sourceId, targetId, visitor);
+    }
+
+    @Override
+    public List<String> getUpstreamServices(String target) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(target);
+        int targetId = validator.resolveExisting(target, current);
+
+        return mapper.toNames(traversals.get().reachableUpstream(current, targetId));
+    }
+
+    @Override
+    public List<String> findUpstreamPath(String target, String upstream) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(target);
+        validator.validateServiceName(upstream);
+        int targetId = validator.resolveExisting(target, current);
+        int upstreamId = validator.resolveExisting(upstream, current);
+
+        GraphTraversal traversal = traversals.get();
+        if (pathSearchMode == PathSearchMode.BIDIRECTIONAL) {
+            List<String> path = mapper.toNames(traversal.bidirectionalShortestPath(current, upstreamId, targetId));
+            Collections.reverse(path);
+            return path;
+        }
+        return mapper.toNames(traversal.shortestPathUpstream(current, targetId, upstreamId));
+    }
+
+    @Override
+    public ImpactAnalysis analyzeImpact(Set<String> sources) {
+        GraphSnapshot current = snapshot;
+        validator.validateServicesSet(sources);
+
+        List<String> sourceList = List.copyOf(sources);
+        int[] sourceIds = validator.resolveExisting(sourceList, current);
+        MultiSourceReachability reachability = MultiSourceReachability.compute(current, sourceIds);
+
+        Map<String, List<String>> affectedBySource = new LinkedHashMap<>();
+        for (int i = 0; i < sourceIds.length; i++) {
+            affectedBySource.put(sourceList.get(i), mapper.toNames(reachability.reachable(i)));
+        }
+        return new ImpactAnalysis(affectedBySource,
+                mapper.toNames(reachability.union()), mapper.toNames(reachability.intersection()));
+    }
+
+    @Override
+    public Map<String, List<String>> groupByRootCause(Set<String> alertingServices) {
+        GraphSnapshot current = snapshot;
+        validator.validateServicesSet(alertingServices);
+
+        List<String> alerting = List.copyOf(alertingServices);
+        int[] rootOf = RootCauses.assign(current, validator.resolveExisting(alerting, current));
+        return mapper.toRootCauseGroups(alerting, rootOf);
+    }
+
+    @Override
+    public List<Pair<String, String>> suggestContainmentEdges(String source) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, current);
+
+        return mapper.toEdges(traversals.get().containmentEdges(current, sourceId));
+    }
+
+    @Override
+    public List<ContainmentCandidate> rankContainmentEdges(String source) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, current);
+
+        return mapper.toCandidates(DominatorTree.build(current, sourceId).rankedCutEdges());
+    }
+
+    @Override
+    public List<Pair<String, String>> findMinimumContainmentCut(String source, Set<String> protectedServices) {
+        GraphSnapshot current = snapshot;
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, current);
+        validator.validateServicesSet(protectedServices);
+        int[] protectedIds = validator.resolveExisting(protectedServices, current);
+
+        return mapper.toEdges(MinimumCut.compute(current, sourceId, protectedIds));
+    }
+
+    @Override
+    public List<BlastRadius> rankBlastRadius(int topK, double relativeError) {
+        GraphSnapshot current = snapshot;
+        validator.validateBlastRadiusQuery(topK, relativeError);
+
+        // Retired ids and ids reserved by a restore stay in the snapshot as isolated nodes.
+        IntPredicate live = id -> id < current.nodeCount() && registry.isLive(id);
+        return mapper.toBlastRadii(BlastRadiusEstimator.estimate(current, live, relativeError,
+                ForkJoinPool.commonPool()), topK);
+    }
+
+    @Override
+    public LoadStats loadTopology(Path file) throws IOException {
+        synchronized (writeLock) {
+            LoadStats stats = new TopologyLoader(registry, graph, validator)
+                    .load(file, Runtime.getRuntime().availableProcessors());
+            if (stats.services() > 0 || stats.dependencies() > 0) {
+                snapshot = graph.snapshot();
+                if (journal != null) {
+                    journal.compact(registry, snapshot, weights);
+                }
+            }
+            return stats;
+        }
+    }
+
+    public static ConcurrentAlertNetwork openJournaled(Path directory, Durability durability) throws IOException {
+        return openJournaled(directory, durability, PathSearchMode.FORWARD, TraversalMode.SEQUENTIAL);
+    }
+
+    /**
+     * Recovers the network kept in a journal directory, or starts an empty one, and journals
+     * every later mutation there. Mutations are logged in the order they are applied, under
+     * the write lock, but wait for durability outside it, so with
+     * {@link Durability#GROUP_COMMIT} concurrent writers share forces. A mutation is visible
+     * to readers before it is durable; the call that made it returns after.
+     * @see AlertNetworkImpl#openJournaled(Path, Durability, PathSearchMode)
+     */
+    public static ConcurrentAlertNetwork openJournaled(Path directory, Durability durability,
+                                                       PathSearchMode pathSearchMode, TraversalMode traversalMode)
+            throws IOException {
+        MutationJournal journal = MutationJournal.open(directory, durability);
+        try {
+            ConcurrentAlertNetwork network = new ConcurrentAlertNetwork(pathSearchMode, traversalMode);
+            SnapshotFile.Contents contents = journal.readSnapshot();
+            if (contents != null) {
+                for (String name : contents.names()) {
+                    if (name != null) {
+                        network.registry.intern(name);
+                    } else {
+                        network.registry.reserve();
+                    }
+                }
+                if (network.registry.size() != contents.names().length) {
+                    throw new IOException("Corrupt snapshot in " + directory + ": duplicate service names");
+                }
+                network.graph.restore(contents.successors(), contents.predecessors());
+                network.weights = contents.edgeWeights();
+            }
+            journal.replay(network.registry, network.graph, network.weights);
+            network.snapshot = network.graph.snapshot();
+            network.journal = journal;
+            return network;
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the journal's log with a snapshot of the current network.
+     */
+    public void compactJournal() throws IOException {
+        synchronized (writeLock) {
+            if (journal == null) {
+                throw new IllegalStateException("The network is not journaled");
+            }
+            journal.compact(registry, snapshot, weights);
+        }
+    }
+
+    /**
+     * Forces every journaled mutation to disk and stops journaling.
+     */
+    public void closeJournal() throws IOException {
+        synchronized (writeLock) {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the version of the snapshot that reads currently observe. Every mutation,
+     * including a weight change on an existing dependency, advances it.
+     */
+    public long version() {
+        return snapshot.version();
+    }
+
+    @Override
+    public int serviceCount() {
+        return registry.liveCount();
+    }
+
+    @Override
+    public int dependencyCount() {
+        return snapshot.edgeCount();
+    }
+
+    @Override
+    public long nodesVisited() {
+        return traversals.get().totalVisited();
+    }
+
+    @Override
+    public long edgesScanned() {
+        return traversals.get().totalScanned();
+    }
+
+    // Waits outside the write lock, so writers queue up behind one force and share the next.
+    private void commit(long sequence) {
+        MutationJournal current = journal;
+        if (sequence == 0 || current == null) {
+            return;
+        }
+        try {
+            current.commit(sequence);
+            if (current.needsCompaction()) {
+                synchronized (writeLock) {
+                    if (current == journal && current.needsCompaction()) {
+                        current.compact(registry, snapshot, weights);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.allert;
+
+/**
+ * A dependency whose removal would stop an alert from reaching some services.
+ * @param fromService service the dependency starts at
+ * @param toService service the dependency points to
+ * @param isolatedServices number of services that become unreachable from the alert source
+ */
+public record ContainmentCandidate(String fromService, String toService, int isolatedServices) {
+}
@@ -0,0 +1,14 @@
+package com.allert;
+
+import java.util.*;
+
+/**
+ * Impact of alerts raised by several services at once.
+ * @param affectedBySource services affected by each alerting service, the service itself included
+ * @param union services affected by at least one of the alerts
+ * @param intersection services affected by every one of the alerts
+ */
+public record ImpactAnalysis(Map<String, List<String>> affectedBySource,
+                             List<String> union,
+                             List<String> intersection) {
+}
@@ -0,0 +1,234 @@
+package com.allert;
+
+import com.allert.graph.*;
+import com.allert.io.*;
+import com.allert.metrics.*;
+import javafx.util.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Opt-in instrumentation around any {@link AlertNetwork}. Every call is timed into a
+ * {@link MetricsSink} together with its result size and, when the delegate implements
+ * {@link NetworkStatistics}, the nodes visited and edges scanned by its traversals.
+ * Networks that are not wrapped carry no instrumentation code at all. Lazy streams are
+ * timed up to the point they are returned; traversal done while consuming them is not, and
+ * neither are queries on the {@link NetworkOverlay} returned by {@code whatIf}. The visitor
+ * queries allocate when instrumented, to capture the call and box its result.
+ */
+public class InstrumentedAlertNetwork implements AlertNetwork {
+    private final AlertNetwork delegate;
+    private final MetricsSink sink;
+    private final NetworkStatistics statistics;
+
+    public InstrumentedAlertNetwork(AlertNetwork delegate, MetricsSink sink) {
+        this.delegate = delegate;
+        this.sink = sink;
+        this.statistics = delegate instanceof NetworkStatistics stats ? stats : null;
+        if (statistics != null) {
+            sink.registerGauges(statistics);
+        }
+    }
+
+    /**
+     * Wraps the delegate with a {@link JmxMetricsSink} registered under the given name.
+     */
+    public static InstrumentedAlertNetwork withJmx(AlertNetwork delegate, String name) {
+        return new InstrumentedAlertNetwork(delegate, new JmxMetricsSink(name));
+    }
+
+    public MetricsSink sink() {
+        return sink;
+    }
+
+    @Override
+    public void addService(String service) {
+        measure(Operation.ADD_SERVICE, () -> {
+            delegate.addService(service);
+            return null;
+        }, result -> 0);
+    }
+
+    @Override
+    public void addDependency(String fromService, String toService) {
+        measure(Operation.ADD_DEPENDENCY, () -> {
+            delegate.addDependency(fromService, toService);
+            return null;
+        }, result -> 0);
+    }
+
+    @Override
+    public void addDependency(String fromService, String toService, double latency, double probability) {
+        measure(Operation.ADD_DEPENDENCY, () -> {
+            delegate.addDependency(fromService, toService, latency, probability);
+            return null;
+        }, result -> 0);
+    }
+
+    @Override
+    public boolean removeDependency(String fromService, String toService) {
+        return measure(Operation.REMOVE_DEPENDENCY, () -> delegate.removeDependency(fromService, toService),
+                removed -> 0);
+    }
+
+    @Override
+    public void removeService(String service) {
+        measure(Operation.REMOVE_SERVICE, () -> {
+            delegate.removeService(service);
+            return null;
+        }, result -> 0);
+    }
+
+    @Override
+    public NetworkOverlay whatIf(Set<Pair<String, String>> removedDependencies, Set<String> removedServices) {
+        return measure(Operation.WHAT_IF, () -> delegate.whatIf(removedDependencies, removedServices),
+                overlay -> 0);
+    }
+
+    @Override
+    public List<String> getDependencies(String service) {
+        return measure(Operation.GET_DEPENDENCIES, () -> delegate.getDependencies(service), List::size);
+    }
+
+    @Override
+    public boolean containsService(String service) {
+        return measure(Operation.CONTAINS_SERVICE, () -> delegate.containsService(service), contains -> 0);
+    }
+
+    @Override
+    public List<String> findAlertPropagationPath(String source, String target) {
+        return measure(Operation.FIND_ALERT_PROPAGATION_PATH,
+                () -> delegate.findAlertPropagationPath(source, target), List::size);
+    }
+
+    @Override
+    public List<String> findMostProbablePropagationPath(String source, String target) {
+        return measure(Operation.FIND_MOST_PROBABLE_PROPAGATION_PATH,
+                () -> delegate.findMostProbablePropagationPath(source, target), List::size);
+    }
+
+    @Override
+    public Map<String, Double> findEarliestImpact(String source) {
+        return measure(Operation.FIND_EARLIEST_IMPACT, () -> delegate.findEarliestImpact(source), Map::size);
+    }
+
+    @Override
+    public List<String> getAffectedServices(String source) {
+        return measure(Operation.GET_AFFECTED_SERVICES, () -> delegate.getAffectedServices(source), List::size);
+    }
+
+    @Override
+    public List<String> getAffectedServices(String source, TraversalMode mode) {
+        return measure(Operation.GET_AFFECTED_SERVICES, () -> delegate.getAffectedServices(source, mode), List::size);
+    }
+
+    @Override
+    public Stream<String> streamAffectedServices(String source) {
+        return measure(Operation.STREAM_AFFECTED_SERVICES, () -> delegate.streamAffectedServices(source), stream -> 0);
+    }
+
+    @Override
+    public Stream<String> streamAffectedServices(String source, int maxHops) {
+        return measure(Operation.STREAM_AFFECTED_SERVICES,
+                () -> delegate.streamAffectedServices(source, maxHops), stream -> 0);
+    }
+
+    @Override
+    public int visitAffectedServices(String source, TraversalContext context, ServiceVisitor visitor) {
+        return measure(Operation.VISIT_AFFECTED_SERVICES,
+                () -> delegate.visitAffectedServices(source, context, visitor), Integer::intValue);
+    }
+
+    @Override
+    public int visitUpstreamServices(String target, TraversalContext context, ServiceVisitor visitor) {
+        return measure(Operation.VISIT_UPSTREAM_SERVICES,
+                () -> delegate.visitUpstreamServices(target, context, visitor), Integer::intValue);
+    }
+
+    @Override
+    public int visitAlertPropagationPath(String source, String target, TraversalContext context,
+                                         ServiceVisitor visitor) {
+        return measure(Operation.VISIT_ALERT_PROPAGATION_PATH,
+                () -> delegate.visitAlertPropagationPath(source, target, context, visitor), Integer::intValue);
+    }
+
+    @Override
+    public List<String> getUpstreamServices(String target) {
+        return measure(Operation.GET_UPSTREAM_SERVICES, () -> delegate.getUpstreamServices(target), List::size);
+    }
+
+    @Override
+    public List<String> findUpstreamPath(String target, String upstream) {
+        return measure(Operation.FIND_UPSTREAM_PATH, () -> delegate.findUpstreamPath(target, upstream), List::size);
+    }
+
+    @Override
+    public ImpactAnalysis analyzeImpact(Set<String> sources) {
+        return measure(Operation.ANALYZE_IMPACT, () -> delegate.analyzeImpact(sources),
+                impact -> impact.union().size());
+    }
+
+    @Override
+    public Map<String, List<String>> groupByRootCause(Set<String> alertingServices) {
+        return measure(Operation.GROUP_BY_ROOT_CAUSE, () -> delegate.groupByRootCause(alertingServices), Map::size);
+    }
+
+    @Override
+    public List<Pair<String, String>> suggestContainmentEdges(String source) {
+        return measure(Operation.SUGGEST_CONTAINMENT_EDGES,
+                () -> delegate.suggestContainmentEdges(source), List::size);
+    }
+
+    @Override
+    public List<ContainmentCandidate> rankContainmentEdges(String source) {
+        return measure(Operation.RANK_CONTAINMENT_EDGES, () -> delegate.rankContainmentEdges(source), List::size);
+    }
+
+    @Override
+    public List<Pair<String, String>> findMinimumContainmentCut(String source, Set<String> protectedServices) {
+        return measure(Operation.FIND_MINIMUM_CONTAINMENT_CUT,
+                () -> delegate.findMinimumContainmentCut(source, protectedServices), List::size);
+    }
+
+    @Override
+    public List<BlastRadius> rankBlastRadius(int topK, double relativeError) {
+        return measure(Operation.RANK_BLAST_RADIUS, () -> delegate.rankBlastRadius(topK, relativeError), List::size);
+    }
+
+    @Override
+    public LoadStats loadTopology(Path file) throws IOException {
+        long start = System.nanoTime();
+        try {
+            LoadStats stats = delegate.loadTopology(file);
+            sink.record(Operation.LOAD_TOPOLOGY, System.nanoTime() - start, 0, 0, stats.dependencies());
+            return stats;
+        } catch (IOException | RuntimeException e) {
+            sink.recordFailure(Operation.LOAD_TOPOLOGY);
+            throw e;
+        }
+    }
+
+    private <T> T measure(Operation operation, Supplier<T> call, ToIntFunction<T> resultSize) {
+        long visited = statistics != null ? statistics.nodesVisited() : 0;
+        long scanned = statistics != null ? statistics.edgesScanned() : 0;
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            sink.recordFailure(operation);
+            throw e;
+        }
+        long nanos = System.nanoTime() - start;
+        if (statistics != null) {
+            visited = statistics.nodesVisited() - visited;
+            scanned = statistics.edgesScanned() - scanned;
+        }
+        sink.record(operation, nanos, visited, scanned, resultSize.applyAsInt(result));
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package com.allert;
+
+import com.allert.graph.*;
+import com.allert.validation.*;
+import javafx.util.*;
+
+import java.util.*;
+
+/**
+ * Read-only what-if view of an {@link AlertNetwork} with some dependencies and services
+ * masked out, created by {@link AlertNetwork#whatIf(Set, Set)}.
+ * <p>
+ * The overlay shares the network's graph snapshot and stores only the masked edges, so it
+ * costs memory in proportion to what it masks. Traversals skip masked edges as they go;
+ * containment queries work on a filtered copy of the adjacency built once per overlay.
+ * Overlays are immutable and safe to query from any number of threads. Service names are
+ * resolved against the live network, so a service removed after the overlay was created
+ * can no longer be queried through it.
+ */
+public final class NetworkOverlay {
+    private static final ThreadLocal<GraphTraversal> TRAVERSALS = ThreadLocal.withInitial(GraphTraversal::new);
+
+    private final ServiceRegistry registry;
+    private final GraphSnapshot graph;
+    private final ServiceValidator validator;
+    private final ResultMapper mapper;
+
+    NetworkOverlay(ServiceRegistry registry, GraphSnapshot graph) {
+        this.registry = registry;
+        this.graph = graph;
+        this.validator = new ServiceValidator(registry);
+        this.mapper = new ResultMapper(registry);
+    }
+
+    /**
+     * @see AlertNetwork#getDependencies(String)
+     */
+    public List<String> getDependencies(String service) {
+        validator.validateServiceName(service);
+        int serviceId = validator.resolveExisting(service, graph);
+
+        List<String> dependencies = new ArrayList<>();
+        for (EdgeCursor edges = graph.cursor().of(serviceId); edges.hasNext(); ) {
+            dependencies.add(registry.nameOf(edges.next()));
+        }
+        return dependencies;
+    }
+
+    /**
+     * @see AlertNetwork#getAffectedServices(String)
+     */
+    public List<String> getAffectedServices(String source) {
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, graph);
+
+        return mapper.toNames(TRAVERSALS.get().reachable(graph, sourceId));
+    }
+
+    /**
+     * @see AlertNetwork#getUpstreamServices(String)
+     */
+    public List<String> getUpstreamServices(String target) {
+        validator.validateServiceName(target);
+        int targetId = validator.resolveExisting(target, graph);
+
+        return mapper.toNames(TRAVERSALS.get().reachableUpstream(graph, targetId));
+    }
+
+    /**
+     * @see AlertNetwork#findAlertPropagationPath(String, String)
+     */
+    public List<String> findAlertPropagationPath(String source, String target) {
+        validator.validateServiceName(source);
+        validator.validateServiceName(target);
+        int sourceId = validator.resolveExisting(source, graph);
+        int targetId = validator.resolveExisting(target, graph);
+
+        return mapper.toNames(TRAVERSALS.get().shortestPath(graph, sourceId, targetId));
+    }
+
+    /**
+     * @see AlertNetwork#suggestContainmentEdges(String)
+     */
+    public List<Pair<String, String>> suggestContainmentEdges(String source) {
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, graph);
+
+        return mapper.toEdges(TRAVERSALS.get().containmentEdges(graph, sourceId));
+    }
+
+    /**
+     * @see AlertNetwork#rankContainmentEdges(String)
+     */
+    public List<ContainmentCandidate> rankContainmentEdges(String source) {
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, graph);
+
+        return mapper.toCandidates(DominatorTree.build(graph, sourceId).rankedCutEdges());
+    }
+
+    /**
+     * @see AlertNetwork#findMinimumContainmentCut(String, Set)
+     */
+    public List<Pair<String, String>> findMinimumContainmentCut(String source, Set<String> protectedServices) {
+        validator.validateServiceName(source);
+        int sourceId = validator.resolveExisting(source, graph);
+        validator.validateServicesSet(protectedServices);
+        int[] protectedIds = validator.resolveExisting(protectedServices, graph);
+
+        return mapper.toEdges(MinimumCut.compute(graph, sourceId, protectedIds));
+    }
+
+    /**
+     * Returns the number of dependencies left visible by the overlay.
+     */
+    public int dependencyCount() {
+        return graph.edgeCount();
+    }
+}
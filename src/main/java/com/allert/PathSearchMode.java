@@ -0,0 +1,16 @@
+package com.allert;
+
+/**
+ * Strategy used by {@link AlertNetwork#findAlertPropagationPath(String, String)}.
+ */
+public enum PathSearchMode {
+    /**
+     * Breadth-first search from the source until the target is dequeued.
+     */
+    FORWARD,
+    /**
+     * Breadth-first search from both ends over the reverse adjacency index, expanding the
+     * smaller frontier first. Visits far fewer nodes on wide, high fan-out graphs.
+     */
+    BIDIRECTIONAL
+}
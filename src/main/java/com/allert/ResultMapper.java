@@ -0,0 +1,87 @@
+package com.allert;
+
+import com.allert.graph.*;
+import javafx.util.*;
+import lombok.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * Translates the id-based results of the graph algorithms back into service names, shared by
+ * every {@link AlertNetwork} implementation over the same registry.
+ */
+@RequiredArgsConstructor
+class ResultMapper {
+    private final ServiceRegistry registry;
+
+    List<String> toNames(int[] ids) {
+        List<String> names = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            names.add(registry.nameOf(id));
+        }
+        return names;
+    }
+
+    Map<String, Double> toArrivalTimes(WeightedTraversal.Arrivals arrivals) {
+        Map<String, Double> times = new LinkedHashMap<>();
+        for (int i = 0; i < arrivals.nodes().length; i++) {
+            times.put(registry.nameOf(arrivals.nodes()[i]), arrivals.times()[i]);
+        }
+        return times;
+    }
+
+    Stream<String> toNameStream(PrimitiveIterator.OfInt ids) {
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(ids,
+                        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false)
+                .mapToObj(registry::nameOf);
+    }
+
+    int[] toIds(Collection<String> services) {
+        return services.stream().mapToInt(registry::idOf).toArray();
+    }
+
+    List<Pair<String, String>> toEdges(int[] flattened) {
+        List<Pair<String, String>> edges = new ArrayList<>(flattened.length / 2);
+        for (int i = 0; i < flattened.length; i += 2) {
+            edges.add(new Pair<>(registry.nameOf(flattened[i]), registry.nameOf(flattened[i + 1])));
+        }
+        return edges;
+    }
+
+    List<ContainmentCandidate> toCandidates(int[] ranked) {
+        List<ContainmentCandidate> candidates = new ArrayList<>(ranked.length / 3);
+        for (int i = 0; i < ranked.length; i += 3) {
+            candidates.add(new ContainmentCandidate(
+                    registry.nameOf(ranked[i]), registry.nameOf(ranked[i + 1]), ranked[i + 2]));
+        }
+        return candidates;
+    }
+
+    List<BlastRadius> toBlastRadii(BlastRadiusEstimator.Estimates estimates, int topK) {
+        List<BlastRadius> ranked = new ArrayList<>(topK);
+        for (int id : estimates.top(topK)) {
+            ranked.add(new BlastRadius(registry.nameOf(id), estimates.rounded(id),
+                    estimates.lowerBound(id), estimates.upperBound(id)));
+        }
+        return ranked;
+    }
+
+    /**
+     * Groups alerting services by the index of their root cause, each root cause first.
+     */
+    Map<String, List<String>> toRootCauseGroups(List<String> alerting, int[] rootOf) {
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < rootOf.length; i++) {
+            if (rootOf[i] == i) {
+                groups.put(alerting.get(i), new ArrayList<>(List.of(alerting.get(i))));
+            }
+        }
+        for (int i = 0; i < rootOf.length; i++) {
+            if (rootOf[i] != i) {
+                groups.get(alerting.get(rootOf[i])).add(alerting.get(i));
+            }
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,18 @@
+package com.allert;
+
+/**
+ * Execution strategy used by {@link AlertNetwork#getAffectedServices(String)}.
+ */
+public enum TraversalMode {
+    /**
+     * Single-threaded breadth-first search. Cheapest for small or shallow blast radii.
+     */
+    SEQUENTIAL,
+    /**
+     * Level-synchronous breadth-first search on the common fork-join pool, switching
+     * between top-down and bottom-up steps by frontier size. Pays off when a query reaches
+     * a large share of a big graph. Services are grouped by distance from the source and
+     * ordered by registration within each distance.
+     */
+    PARALLEL
+}
@@ -0,0 +1,258 @@
+package com.allert.correlation;
+
+import com.allert.*;
+import com.allert.metrics.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Ingestion pipeline that turns a stream of alert events into correlated incidents.
+ * <p>
+ * Producers submit batches; a single worker thread assigns events to tumbling event-time
+ * windows, deduplicates them per service, and once the watermark (the highest timestamp
+ * seen) passes a window's end plus the allowed lateness, groups the window with an
+ * {@link IncidentGrouper} and hands each incident to the listener. Events for windows that
+ * are already closed are counted as late and dropped.
+ * <p>
+ * At most {@code capacity} submitted events are queued at any time: {@link #submit} blocks
+ * and {@link #trySubmit} times out until the worker catches up. Open windows hold one entry
+ * per distinct alerting service, and only windows within the allowed lateness stay open.
+ */
+public class AlertCorrelator implements AutoCloseable {
+    private static final Batch POISON = new Batch(List.of(), null);
+
+    private final IncidentGrouper grouper;
+    private final long windowMillis;
+    private final long latenessMillis;
+    private final int capacity;
+    private final Consumer<Incident> listener;
+    private final BiConsumer<Long, RuntimeException> errorHandler;
+    private final Semaphore permits;
+    private final BlockingQueue<Batch> queue = new LinkedBlockingQueue<>();
+    // Guards closed together with every add to the queue, so nothing is queued behind POISON.
+    private final Object queueLock = new Object();
+    private final Thread worker;
+    private final LatencyHistogram groupingLatency = new LatencyHistogram();
+    private final LongAdder acceptedEvents = new LongAdder();
+    private final LongAdder duplicateEvents = new LongAdder();
+    private final LongAdder lateEvents = new LongAdder();
+    private final LongAdder emittedIncidents = new LongAdder();
+    private final LongAdder failedWindows = new LongAdder();
+    private volatile RuntimeException lastFailure;
+    private final TreeMap<Long, Map<String, Integer>> openWindows = new TreeMap<>();
+    private long watermark = Long.MIN_VALUE;
+    private long closedBefore = Long.MIN_VALUE;
+    private boolean closed;
+
+    private record Batch(List<AlertEvent> events, CountDownLatch flushed) {
+    }
+
+    /**
+     * @param network dependency graph used for correlation; should be thread-safe if it is
+     *                modified while the correlator runs
+     * @param window length of each tumbling window
+     * @param allowedLateness how long a window stays open after the watermark passes its end
+     * @param capacity maximum number of submitted events waiting to be processed
+     * @param listener receives incidents on the worker thread
+     */
+    public AlertCorrelator(AlertNetwork network, Duration window, Duration allowedLateness, int capacity,
+                           Consumer<Incident> listener) {
+        this(network, window, allowedLateness, capacity, listener, (windowStart, failure) -> { });
+    }
+
+    /**
+     * @param errorHandler receives, on the worker thread, the start of every window whose
+     *                     grouping or listener threw and the exception it threw
+     * @see #AlertCorrelator(AlertNetwork, Duration, Duration, int, Consumer)
+     */
+    public AlertCorrelator(AlertNetwork network, Duration window, Duration allowedLateness, int capacity,
+                           Consumer<Incident> listener, BiConsumer<Long, RuntimeException> errorHandler) {
+        if (window.toMillis() <= 0 || allowedLateness.isNegative() || capacity <= 0) {
+            throw new IllegalArgumentException("Window and capacity must be positive, lateness non-negative");
+        }
+        this.grouper = new IncidentGrouper(network);
+        this.windowMillis = window.toMillis();
+        this.latenessMillis = allowedLateness.toMillis();
+        this.capacity = capacity;
+        this.listener = listener;
+        this.errorHandler = errorHandler;
+        this.permits = new Semaphore(capacity);
+        this.worker = new Thread(this::run, "alert-correlator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Queues a batch of events, blocking while the pipeline is full.
+     */
+    public void submit(Collection<AlertEvent> events) throws InterruptedException {
+        checkBatch(events);
+        permits.acquire(events.size());
+        enqueue(new Batch(List.copyOf(events), null));
+    }
+
+    /**
+     * Queues a batch of events, waiting at most the given time for room in the pipeline.
+     * @return false if the batch was not accepted because the pipeline stayed full
+     */
+    public boolean trySubmit(Collection<AlertEvent> events, long timeout, TimeUnit unit) throws InterruptedException {
+        checkBatch(events);
+        if (!permits.tryAcquire(events.size(), timeout, unit)) {
+            return false;
+        }
+        enqueue(new Batch(List.copyOf(events), null));
+        return true;
+    }
+
+    /**
+     * Waits until every batch submitted before this call has been processed, then closes
+     * all open windows regardless of the watermark.
+     */
+    public void flush() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(1);
+        enqueue(new Batch(List.of(), flushed));
+        flushed.await();
+    }
+
+    /**
+     * Processes everything already submitted, closes all open windows and stops the worker.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (queueLock) {
+            if (!closed) {
+                closed = true;
+                queue.add(POISON);
+            }
+        }
+        worker.join();
+    }
+
+    /**
+     * Returns the time taken to group each closed window, in nanoseconds.
+     */
+    public LatencyHistogram groupingLatency() {
+        return groupingLatency;
+    }
+
+    public long acceptedEvents() {
+        return acceptedEvents.sum();
+    }
+
+    public long duplicateEvents() {
+        return duplicateEvents.sum();
+    }
+
+    public long lateEvents() {
+        return lateEvents.sum();
+    }
+
+    public long emittedIncidents() {
+        return emittedIncidents.sum();
+    }
+
+    /**
+     * Returns the number of windows whose grouping or listener threw; their incidents are lost.
+     */
+    public long failedWindows() {
+        return failedWindows.sum();
+    }
+
+    /**
+     * Returns the exception thrown by the most recent failed window, or null if none failed.
+     */
+    public RuntimeException lastFailure() {
+        return lastFailure;
+    }
+
+    private void checkBatch(Collection<AlertEvent> events) {
+        if (events.size() > capacity) {
+            throw new IllegalArgumentException("Batch of " + events.size() + " events exceeds capacity " + capacity);
+        }
+    }
+
+    private void enqueue(Batch batch) {
+        synchronized (queueLock) {
+            if (closed) {
+                permits.release(batch.events().size());
+                throw new IllegalStateException("Correlator is closed");
+            }
+            queue.add(batch);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Batch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (batch == POISON) {
+                closeWindows(Long.MAX_VALUE);
+                return;
+            }
+            try {
+                for (AlertEvent event : batch.events()) {
+                    ingest(event);
+                }
+                closeWindows(watermark == Long.MIN_VALUE ? Long.MIN_VALUE : watermark - latenessMillis - windowMillis);
+                if (batch.flushed() != null) {
+                    closeWindows(Long.MAX_VALUE);
+                }
+            } finally {
+                permits.release(batch.events().size());
+                if (batch.flushed() != null) {
+                    batch.flushed().countDown();
+                }
+            }
+        }
+    }
+
+    private void ingest(AlertEvent event) {
+        long windowStart = Math.floorDiv(event.timestamp(), windowMillis) * windowMillis;
+        if (windowStart < closedBefore) {
+            lateEvents.increment();
+            return;
+        }
+        Map<String, Integer> alertCounts = openWindows.computeIfAbsent(windowStart, start -> new HashMap<>());
+        if (alertCounts.merge(event.service(), 1, Integer::sum) > 1) {
+            duplicateEvents.increment();
+        }
+        acceptedEvents.increment();
+        watermark = Math.max(watermark, event.timestamp());
+    }
+
+    private void reportFailure(long windowStart, RuntimeException failure) {
+        try {
+            errorHandler.accept(windowStart, failure);
+        } catch (RuntimeException e) {
+            // A failing handler must not stop the worker; the failure is still kept as lastFailure.
+            failure.addSuppressed(e);
+        }
+    }
+
+    // Closes every open window starting at or before the given time.
+    private void closeWindows(long lastStart) {
+        while (!openWindows.isEmpty() && openWindows.firstKey() <= lastStart) {
+            Map.Entry<Long, Map<String, Integer>> window = openWindows.pollFirstEntry();
+            closedBefore = Math.max(closedBefore, window.getKey() + windowMillis);
+            long start = System.nanoTime();
+            try {
+                List<Incident> incidents = grouper.group(window.getKey(), window.getValue());
+                groupingLatency.record(System.nanoTime() - start);
+                incidents.forEach(listener);
+                emittedIncidents.add(incidents.size());
+            } catch (RuntimeException e) {
+                failedWindows.increment();
+                lastFailure = e;
+                reportFailure(window.getKey(), e);
+            }
+        }
+    }
+}
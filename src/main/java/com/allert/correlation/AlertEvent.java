@@ -0,0 +1,9 @@
+package com.allert.correlation;
+
+/**
+ * A single alert raised by a service.
+ * @param service name of the alerting service
+ * @param timestamp event time in epoch milliseconds
+ */
+public record AlertEvent(String service, long timestamp) {
+}
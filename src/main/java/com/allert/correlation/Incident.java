@@ -0,0 +1,21 @@
+package com.allert.correlation;
+
+import java.util.*;
+
+/**
+ * Alerts of one correlation window attributed to a single likely root cause.
+ * @param rootCause alerting service that no other alerting service explains
+ * @param services alerting services explained by the root cause, root cause first
+ * @param windowStart start of the window in epoch milliseconds
+ * @param alertCount number of events received for these services in the window,
+ *                   duplicates included
+ */
+public record Incident(String rootCause, List<String> services, long windowStart, int alertCount) {
+
+    /**
+     * Returns the alerting services whose alerts the root cause explains.
+     */
+    public List<String> suppressed() {
+        return services.subList(1, services.size());
+    }
+}
@@ -0,0 +1,49 @@
+package com.allert.correlation;
+
+import com.allert.*;
+import lombok.*;
+
+import java.util.*;
+
+/**
+ * Groups the distinct services alerting in one window by likely root cause.
+ * <p>
+ * A service is explained when another alerting service reaches it through the dependency
+ * graph, i.e. its alert could be a consequence of that service's failure. Services that no
+ * other alerting service explains become root causes, and every explained service joins the
+ * incident of its nearest root cause. Alphabetical order breaks ties, including the choice
+ * of root among alerting services that reach each other. Services unknown to the network
+ * cannot be correlated and become incidents of their own.
+ */
+@RequiredArgsConstructor
+public class IncidentGrouper {
+    private final AlertNetwork network;
+
+    /**
+     * @param windowStart start of the window in epoch milliseconds
+     * @param alertCounts number of events per distinct alerting service
+     * @return incidents ordered by root cause
+     */
+    public List<Incident> group(long windowStart, Map<String, Integer> alertCounts) {
+        Set<String> known = new TreeSet<>();
+        List<Incident> incidents = new ArrayList<>();
+        for (Map.Entry<String, Integer> alert : alertCounts.entrySet()) {
+            if (network.containsService(alert.getKey())) {
+                known.add(alert.getKey());
+            } else {
+                incidents.add(new Incident(alert.getKey(), List.of(alert.getKey()), windowStart, alert.getValue()));
+            }
+        }
+        if (!known.isEmpty()) {
+            for (List<String> services : network.groupByRootCause(new LinkedHashSet<>(known)).values()) {
+                int alertCount = 0;
+                for (String service : services) {
+                    alertCount += alertCounts.get(service);
+                }
+                incidents.add(new Incident(services.get(0), List.copyOf(services), windowStart, alertCount));
+            }
+        }
+        incidents.sort(Comparator.comparing(Incident::rootCause));
+        return incidents;
+    }
+}
@@ -0,0 +1,104 @@
+package com.allert.graph;
+
+import java.util.concurrent.*;
+
+/**
+ * One direction of a {@link CompactGraph}: an immutable {@link Csr} plus an {@link EdgeLog}
+ * of recent additions, merged into a fresh CSR on a background thread once the log grows
+ * past a quarter of the base.
+ */
+final class Adjacency {
+    private static final int MIN_COMPACTION_EDGES = 4096;
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "csr-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Csr base = Csr.EMPTY;
+    private EdgeLog delta = new EdgeLog();
+    private Future<Csr> pending;
+    private int pendingCut;
+
+    void append(int from, int to, int nodeCount) {
+        delta.append(from, to);
+        if (pending == null && delta.size() >= Math.max(MIN_COMPACTION_EDGES, base.edgeCount() / 4)) {
+            scheduleCompaction(nodeCount);
+        }
+    }
+
+    /**
+     * Merges the buffered log and the given edges straight into a new base CSR.
+     */
+    void appendAll(int[] from, int[] to, int count, int nodeCount) {
+        compact(nodeCount);
+        base = Csr.merge(base, from, to, count, nodeCount);
+    }
+
+    /**
+     * Replaces everything held so far with the given CSR.
+     */
+    void restore(Csr csr) {
+        install(true);
+        base = csr;
+        delta = new EdgeLog();
+    }
+
+    AdjacencyView view() {
+        return new AdjacencyView(base, delta);
+    }
+
+    /**
+     * Swaps in a finished background compaction.
+     * @param wait whether to block until a running compaction completes
+     * @return true if the base CSR was replaced
+     */
+    boolean install(boolean wait) {
+        if (pending == null || (!wait && !pending.isDone())) {
+            return false;
+        }
+        try {
+            base = pending.get();
+            delta = delta.suffix(pendingCut);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while compacting graph", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Graph compaction failed", e.getCause());
+        } finally {
+            pending = null;
+        }
+    }
+
+    /**
+     * Merges all buffered edges into the CSR synchronously.
+     * @return true if the base CSR was replaced
+     */
+    boolean compact(int nodeCount) {
+        install(true);
+        if (delta.size() == 0 && base.nodeCount() >= nodeCount) {
+            return false;
+        }
+        base = Csr.merge(base, delta.sources(), delta.targets(), delta.size(), nodeCount);
+        delta = new EdgeLog();
+        return true;
+    }
+
+    /**
+     * Compacts synchronously and drops the edges the mask hides from the new base.
+     */
+    void purge(int nodeCount, GraphMask mask, boolean reversed) {
+        compact(nodeCount);
+        base = base.without(mask, reversed);
+    }
+
+    private void scheduleCompaction(int nodeCount) {
+        Csr current = base;
+        int[] from = delta.sources();
+        int[] to = delta.targets();
+        int cut = delta.size();
+        pendingCut = cut;
+        pending = COMPACTOR.submit(() -> Csr.merge(current, from, to, cut, nodeCount));
+    }
+}
@@ -0,0 +1,39 @@
+package com.allert.graph;
+
+/**
+ * Immutable view of one {@link Adjacency} direction. Log entries at or beyond
+ * {@link #logSize} were appended after the view was taken and are ignored.
+ */
+final class AdjacencyView {
+    static final AdjacencyView EMPTY = new AdjacencyView(Csr.EMPTY, new EdgeLog());
+
+    final Csr base;
+    final int[] logSources;
+    final int[] logTargets;
+    final int[] logNext;
+    final int[] logHeads;
+    final int logSize;
+
+    AdjacencyView(Csr base, EdgeLog log) {
+        this.base = base;
+        this.logSources = log.sources();
+        this.logTargets = log.targets();
+        this.logNext = log.nextLinks();
+        this.logHeads = log.heads();
+        this.logSize = log.size();
+    }
+
+    /**
+     * Returns this view as a single CSR, merging the buffered log entries if there are any.
+     */
+    Csr toCsr(int nodeCount) {
+        if (logSize == 0 && base.nodeCount() == nodeCount) {
+            return base;
+        }
+        return Csr.merge(base, logSources, logTargets, logSize, nodeCount);
+    }
+
+    int logHead(int node) {
+        return node < logHeads.length ? logHeads[node] : -1;
+    }
+}
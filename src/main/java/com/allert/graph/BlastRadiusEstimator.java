@@ -0,0 +1,423 @@
+package com.allert.graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Estimates the number of nodes every node reaches, itself included, in one pass over the
+ * condensation of the graph instead of one traversal per node.
+ * <p>
+ * Every strongly connected component gets a cardinality sketch of its members and is then
+ * merged with the sketches of its successor components, sinks first. A sketch is an exact
+ * sorted set of node ids until it outgrows the memory of a HyperLogLog with {@code m}
+ * registers, and a HyperLogLog after that, so small blast radii are counted exactly and
+ * large ones with a relative standard error of {@code 1.04 / sqrt(m)}. Components are
+ * grouped by their height in the condensation, and the components of one height are merged
+ * in parallel. A sketch is dropped as soon as every predecessor has merged it, so only the
+ * frontier of the condensation is held in memory.
+ */
+public final class BlastRadiusEstimator {
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 16;
+    private static final int CHUNK = 64;
+
+    private BlastRadiusEstimator() {
+    }
+
+    /**
+     * Estimated reach of every node.
+     * @param sizes estimated number of counted nodes each node reaches, 0 for nodes that are
+     *              not counted themselves
+     * @param exact nodes whose estimate is an exact count
+     * @param standardError relative standard error of the estimates that are not exact
+     * @param countedNodes number of counted nodes, the largest possible reach
+     */
+    public record Estimates(double[] sizes, BitSet exact, double standardError, int countedNodes) {
+
+        /**
+         * Returns the estimate of a node rounded to a count within its bounds.
+         */
+        public int rounded(int node) {
+            return (int) Math.max(lowerBound(node), Math.min(upperBound(node), Math.round(sizes[node])));
+        }
+
+        /**
+         * Returns the lower end of the two standard error interval around the estimate, the
+         * exact count if there is one.
+         */
+        public int lowerBound(int node) {
+            return exact.get(node)
+                    ? (int) sizes[node]
+                    : (int) Math.min(countedNodes, Math.max(1, Math.floor(sizes[node] * (1 - 2 * standardError))));
+        }
+
+        /**
+         * Returns the upper end of the two standard error interval around the estimate, the
+         * exact count if there is one.
+         */
+        public int upperBound(int node) {
+            return exact.get(node)
+                    ? (int) sizes[node]
+                    : (int) Math.min(countedNodes, Math.ceil(sizes[node] * (1 + 2 * standardError)));
+        }
+
+        /**
+         * Returns up to k counted nodes with the largest estimates, largest first, ties by id.
+         */
+        public int[] top(int k) {
+            PriorityQueue<Integer> smallest = new PriorityQueue<>(Comparator.comparingDouble((Integer node) -> sizes[node])
+                    .thenComparing(Comparator.reverseOrder()));
+            for (int node = 0; node < sizes.length; node++) {
+                if (sizes[node] <= 0) {
+                    continue;
+                }
+                if (smallest.size() < k) {
+                    smallest.add(node);
+                } else if (k > 0 && sizes[node] > sizes[smallest.peek()]) {
+                    smallest.poll();
+                    smallest.add(node);
+                }
+            }
+            int[] top = new int[smallest.size()];
+            for (int i = top.length - 1; i >= 0; i--) {
+                top[i] = smallest.poll();
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Returns the number of HyperLogLog registers that reaches the given relative standard
+     * error, between 16 and 65536.
+     */
+    public static int registersFor(double relativeError) {
+        double needed = Math.pow(1.04 / relativeError, 2);
+        int precision = 64 - Long.numberOfLeadingZeros((long) Math.ceil(needed) - 1);
+        return 1 << Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision));
+    }
+
+    /**
+     * @param counted nodes that count towards a blast radius; others are still traversed
+     * @param relativeError target relative standard error, see {@link #registersFor(double)}
+     */
+    public static Estimates estimate(GraphSnapshot graph, IntPredicate counted, double relativeError,
+                                     ForkJoinPool pool) {
+        Csr csr = graph.forwardCsr();
+        int nodeCount = graph.nodeCount();
+        int registers = registersFor(relativeError);
+        Condensation condensation = new Condensation(csr, StronglyConnectedComponents.of(csr),
+                node -> counted.test(node) && !graph.hidesNode(node));
+        double[] componentSizes = condensation.propagate(registers, pool);
+
+        double[] sizes = new double[nodeCount];
+        BitSet exact = new BitSet(nodeCount);
+        int countedNodes = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            int component = condensation.componentOf[node];
+            if (condensation.counted.test(node)) {
+                countedNodes++;
+                sizes[node] = Math.abs(componentSizes[component]);
+                if (componentSizes[component] > 0) {
+                    exact.set(node);
+                }
+            }
+        }
+        return new Estimates(sizes, exact, 1.04 / Math.sqrt(registers), countedNodes);
+    }
+
+    /**
+     * Components as a DAG in compressed rows, with their counted members.
+     */
+    private static final class Condensation {
+        final int[] componentOf;
+        final IntPredicate counted;
+        final int componentCount;
+        final int[] memberStart;
+        final int[] members;
+        int[] successorStart;
+        int[] successors;
+        final int[] height;
+
+        Condensation(Csr csr, int[] componentOf, IntPredicate counted) {
+            this.componentOf = componentOf;
+            this.counted = counted;
+            int nodeCount = componentOf.length;
+            int components = 0;
+            for (int component : componentOf) {
+                components = Math.max(components, component + 1);
+            }
+            this.componentCount = components;
+
+            memberStart = new int[components + 1];
+            for (int node = 0; node < nodeCount; node++) {
+                memberStart[componentOf[node] + 1]++;
+            }
+            for (int component = 0; component < components; component++) {
+                memberStart[component + 1] += memberStart[component];
+            }
+            members = new int[nodeCount];
+            int[] fill = Arrays.copyOf(memberStart, components);
+            for (int node = 0; node < nodeCount; node++) {
+                members[fill[componentOf[node]]++] = node;
+            }
+
+            // Ids are in reverse topological order, so successors always have lower ids and
+            // their heights are known by the time a component is reached.
+            successorStart = new int[components + 1];
+            successors = new int[Math.max(16, csr.edgeCount() / 4)];
+            height = new int[components];
+            int[] seenBy = new int[components];
+            Arrays.fill(seenBy, -1);
+            int edges = 0;
+            for (int component = 0; component < components; component++) {
+                for (int i = memberStart[component]; i < memberStart[component + 1]; i++) {
+                    int node = members[i];
+                    for (int edge = csr.start(node), end = csr.end(node); edge < end; edge++) {
+                        int target = componentOf[csr.target(edge)];
+                        if (target != component && seenBy[target] != component) {
+                            seenBy[target] = component;
+                            if (edges == successors.length) {
+                                successors = Arrays.copyOf(successors, edges * 2);
+                            }
+                            successors[edges++] = target;
+                            height[component] = Math.max(height[component], height[target] + 1);
+                        }
+                    }
+                }
+                successorStart[component + 1] = edges;
+            }
+        }
+
+        // Returns each component's estimate, negated when it is not exact.
+        double[] propagate(int registers, ForkJoinPool pool) {
+            int[] byHeight = sortedByHeight();
+            AtomicIntegerArray pendingPredecessors = new AtomicIntegerArray(componentCount);
+            for (int edge = 0; edge < successorStart[componentCount]; edge++) {
+                pendingPredecessors.incrementAndGet(successors[edge]);
+            }
+            Sketch[] sketches = new Sketch[componentCount];
+            double[] estimates = new double[componentCount];
+
+            for (int level = 0, start = 0; start < componentCount; level++) {
+                int end = start;
+                while (end < componentCount && height[byHeight[end]] == level) {
+                    end++;
+                }
+                int from = start;
+                int to = end;
+                int chunks = (end - start + CHUNK - 1) / CHUNK;
+                IntConsumer mergeChunk = chunk -> {
+                    for (int i = from + chunk * CHUNK, last = Math.min(i + CHUNK, to); i < last; i++) {
+                        int component = byHeight[i];
+                        Sketch sketch = new Sketch(registers);
+                        for (int member = memberStart[component]; member < memberStart[component + 1]; member++) {
+                            if (counted.test(members[member])) {
+                                sketch.add(members[member]);
+                            }
+                        }
+                        for (int edge = successorStart[component]; edge < successorStart[component + 1]; edge++) {
+                            int successor = successors[edge];
+                            sketch.merge(sketches[successor]);
+                            if (pendingPredecessors.decrementAndGet(successor) == 0) {
+                                sketches[successor] = null;
+                            }
+                        }
+                        estimates[component] = sketch.isExact() ? sketch.estimate() : -sketch.estimate();
+                        sketches[component] = pendingPredecessors.get(component) > 0 ? sketch : null;
+                    }
+                };
+                if (chunks == 1) {
+                    mergeChunk.accept(0);
+                } else {
+                    pool.invoke(new ChunkRange(mergeChunk, 0, chunks));
+                }
+                start = end;
+            }
+            return estimates;
+        }
+
+        private int[] sortedByHeight() {
+            int maxHeight = 0;
+            for (int value : height) {
+                maxHeight = Math.max(maxHeight, value);
+            }
+            int[] start = new int[maxHeight + 2];
+            for (int value : height) {
+                start[value + 1]++;
+            }
+            for (int level = 0; level <= maxHeight; level++) {
+                start[level + 1] += start[level];
+            }
+            int[] sorted = new int[componentCount];
+            for (int component = 0; component < componentCount; component++) {
+                sorted[start[height[component]]++] = component;
+            }
+            return sorted;
+        }
+    }
+
+    /**
+     * Sorted set of node ids that turns into HyperLogLog registers once it would take more
+     * memory than they do.
+     */
+    private static final class Sketch {
+        private static final int[] EMPTY = new int[0];
+        private static final double[] INVERSE_POWERS = new double[66];
+
+        static {
+            for (int rank = 0; rank < INVERSE_POWERS.length; rank++) {
+                INVERSE_POWERS[rank] = Math.scalb(1.0, -rank);
+            }
+        }
+
+        private final int registerCount;
+        private final int precision;
+        private int[] exact = EMPTY;
+        private int exactSize;
+        private byte[] registers;
+
+        Sketch(int registerCount) {
+            this.registerCount = registerCount;
+            this.precision = Integer.numberOfTrailingZeros(registerCount);
+        }
+
+        boolean isExact() {
+            return registers == null;
+        }
+
+        // Members arrive in ascending id order.
+        void add(int node) {
+            if (registers != null) {
+                insert(node);
+                return;
+            }
+            if (exactSize == exact.length) {
+                exact = Arrays.copyOf(exact, Math.max(4, exactSize * 2));
+            }
+            exact[exactSize++] = node;
+            if (exactSize > registerCount / 4) {
+                densify();
+            }
+        }
+
+        void merge(Sketch other) {
+            if (other.registers != null) {
+                if (registers == null) {
+                    densify();
+                }
+                byte[] mine = registers;
+                byte[] theirs = other.registers;
+                // Branch-free so the loop vectorizes.
+                for (int i = 0; i < registerCount; i++) {
+                    mine[i] = (byte) Math.max(mine[i], theirs[i]);
+                }
+            } else if (registers != null) {
+                for (int i = 0; i < other.exactSize; i++) {
+                    insert(other.exact[i]);
+                }
+            } else {
+                mergeExact(other);
+            }
+        }
+
+        double estimate() {
+            if (registers == null) {
+                return exactSize;
+            }
+            double sum = 0;
+            int zeros = 0;
+            for (byte register : registers) {
+                sum += INVERSE_POWERS[register];
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+            double alpha = switch (registerCount) {
+                case 16 -> 0.673;
+                case 32 -> 0.697;
+                case 64 -> 0.709;
+                default -> 0.7213 / (1 + 1.079 / registerCount);
+            };
+            double estimate = alpha * registerCount * registerCount / sum;
+            return estimate <= 2.5 * registerCount && zeros > 0
+                    ? registerCount * Math.log((double) registerCount / zeros)
+                    : estimate;
+        }
+
+        private void mergeExact(Sketch other) {
+            int[] union = new int[exactSize + other.exactSize];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < exactSize && j < other.exactSize) {
+                int mine = exact[i];
+                int theirs = other.exact[j];
+                union[size++] = Math.min(mine, theirs);
+                i += mine <= theirs ? 1 : 0;
+                j += theirs <= mine ? 1 : 0;
+            }
+            while (i < exactSize) {
+                union[size++] = exact[i++];
+            }
+            while (j < other.exactSize) {
+                union[size++] = other.exact[j++];
+            }
+            exact = union;
+            exactSize = size;
+            if (exactSize > registerCount / 4) {
+                densify();
+            }
+        }
+
+        private void densify() {
+            registers = new byte[registerCount];
+            for (int i = 0; i < exactSize; i++) {
+                insert(exact[i]);
+            }
+            exact = EMPTY;
+            exactSize = 0;
+        }
+
+        private void insert(int node) {
+            long hash = mix(node);
+            int register = (int) (hash >>> (64 - precision));
+            long rest = hash << precision;
+            byte rank = (byte) (rest == 0 ? 64 - precision + 1 : Long.numberOfLeadingZeros(rest) + 1);
+            if (rank > registers[register]) {
+                registers[register] = rank;
+            }
+        }
+
+        // SplitMix64 finalizer.
+        private static long mix(long value) {
+            long z = value + 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+
+    private static final class ChunkRange extends RecursiveAction {
+        private final IntConsumer action;
+        private final int from;
+        private final int to;
+
+        ChunkRange(IntConsumer action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkRange(action, from, middle), new ChunkRange(action, middle, to));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Lazy breadth-first traversal. Each {@link #nextInt()} dequeues one node and only then
+ * expands its edges, so a caller that stops early pays for the nodes it consumed and their
+ * out-edges, not for the whole reachable set. Holds its own visited set and queue and can
+ * outlive the call that created it; the snapshot it walks never changes.
+ */
+public final class BreadthFirstIterator implements PrimitiveIterator.OfInt {
+    private final EdgeCursor edges;
+    private final int maxDepth;
+    private final BitSet visited = new BitSet();
+    private int[] queue = new int[16];
+    private int head;
+    private int tail;
+    private int levelEnd;
+    private int depth;
+
+    private BreadthFirstIterator(EdgeCursor edges, int source, int maxDepth) {
+        this.edges = edges;
+        this.maxDepth = maxDepth;
+        queue[tail++] = source;
+        visited.set(source);
+        levelEnd = tail;
+    }
+
+    /**
+     * Walks the nodes reachable from source, source first, no further than maxDepth edges.
+     */
+    public static BreadthFirstIterator downstream(GraphSnapshot graph, int source, int maxDepth) {
+        return new BreadthFirstIterator(graph.cursor(), source, maxDepth);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return head < tail;
+    }
+
+    @Override
+    public int nextInt() {
+        if (head == tail) {
+            throw new NoSuchElementException();
+        }
+        if (head == levelEnd) {
+            depth++;
+            levelEnd = tail;
+        }
+        int current = queue[head++];
+        if (depth < maxDepth) {
+            for (edges.of(current); edges.hasNext(); ) {
+                int next = edges.next();
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, tail * 2);
+                    }
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the distance from the start node of the node most recently returned.
+     */
+    public int depth() {
+        return depth;
+    }
+}
@@ -0,0 +1,285 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Directed graph over dense int node ids. Successors and predecessors are each kept in an
+ * {@link Adjacency}: an immutable CSR plus a small log of recent additions that is merged
+ * into a fresh CSR on a background thread and swapped in on the next access.
+ * <p>
+ * Removed edges are tombstoned in a {@link GraphMask} that snapshots and cursors skip, and
+ * are dropped from the CSR once enough of them pile up. Node ids are never reused.
+ * <p>
+ * Mutations must come from one thread at a time; {@link #snapshot()} views may be read
+ * concurrently from any thread.
+ */
+public class CompactGraph {
+    private static final int MIN_PURGE_TOMBSTONES = 4096;
+
+    private final Adjacency forward = new Adjacency();
+    private final Adjacency reverse = new Adjacency();
+    private LongHashSet edges = new LongHashSet();
+    private int nodeCount;
+    private int edgeCount;
+    private long version;
+    private GraphSnapshot snapshot = GraphSnapshot.EMPTY;
+    private GraphMask removed;
+    private boolean removedShared;
+
+    public int addNode() {
+        version++;
+        snapshot = null;
+        return nodeCount++;
+    }
+
+    /**
+     * Adds the edge {@code from -> to}.
+     * @return false if the edge was already present
+     */
+    public boolean addEdge(int from, int to) {
+        install(false);
+        if (!edges().add(edgeKey(from, to))) {
+            return false;
+        }
+        if (removed != null && removed.hidesEdge(from, to)) {
+            editableTombstones().reveal(from, to);
+        } else {
+            forward.append(from, to, nodeCount);
+            reverse.append(to, from, nodeCount);
+        }
+        edgeCount++;
+        version++;
+        snapshot = null;
+        return true;
+    }
+
+    /**
+     * Adds many nodes at once.
+     * @return id of the first new node
+     */
+    public int addNodes(int count) {
+        int first = nodeCount;
+        nodeCount += count;
+        version++;
+        snapshot = null;
+        return first;
+    }
+
+    /**
+     * Adds the first {@code count} edges {@code from[i] -> to[i]}, skipping duplicates, and
+     * builds the CSR rows for them directly instead of going through the edge log. The
+     * arrays are compacted in place.
+     * @return number of edges that were not already present
+     */
+    public int addEdges(int[] from, int[] to, int count) {
+        install(false);
+        LongHashSet present = edges();
+        present.ensureCapacity(edgeCount + count);
+        int added = 0;
+        int revealed = 0;
+        for (int i = 0; i < count; i++) {
+            if (!present.add(edgeKey(from[i], to[i]))) {
+                continue;
+            }
+            if (removed != null && removed.hidesEdge(from[i], to[i])) {
+                editableTombstones().reveal(from[i], to[i]);
+                revealed++;
+            } else {
+                from[added] = from[i];
+                to[added] = to[i];
+                added++;
+            }
+        }
+        if (added > 0) {
+            forward.appendAll(from, to, added, nodeCount);
+            reverse.appendAll(to, from, added, nodeCount);
+        }
+        if (added + revealed > 0) {
+            edgeCount += added + revealed;
+            version++;
+            snapshot = null;
+        }
+        return added + revealed;
+    }
+
+    /**
+     * Removes the edge {@code from -> to}. Snapshots taken earlier still see it.
+     * @return false if the edge was not present
+     */
+    public boolean removeEdge(int from, int to) {
+        return removeEdges(new int[]{from}, new int[]{to}, 1) == 1;
+    }
+
+    /**
+     * Removes the first {@code count} edges {@code from[i] -> to[i]}, skipping absent ones.
+     * @return number of edges that were present
+     */
+    public int removeEdges(int[] from, int[] to, int count) {
+        install(false);
+        LongHashSet present = edges();
+        int removedCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (present.remove(edgeKey(from[i], to[i]))) {
+                editableTombstones().hide(from[i], to[i]);
+                removedCount++;
+            }
+        }
+        if (removedCount > 0) {
+            edgeCount -= removedCount;
+            version++;
+            snapshot = null;
+            if (removed.ownEdgeCount() >= Math.max(MIN_PURGE_TOMBSTONES, edgeCount / 16)) {
+                purge();
+            }
+        }
+        return removedCount;
+    }
+
+    /**
+     * Removes every edge into or out of the node. The id itself stays allocated.
+     * @return number of edges removed
+     */
+    public int removeNode(int node) {
+        GraphSnapshot current = snapshot();
+        int[] from = new int[16];
+        int[] to = new int[16];
+        int count = 0;
+        EdgeCursor successors = current.cursor().of(node);
+        EdgeCursor predecessors = current.reverseCursor().of(node);
+        while (successors.hasNext() || predecessors.hasNext()) {
+            if (count == from.length) {
+                from = Arrays.copyOf(from, count * 2);
+                to = Arrays.copyOf(to, count * 2);
+            }
+            if (successors.hasNext()) {
+                from[count] = node;
+                to[count++] = successors.next();
+            } else {
+                from[count] = predecessors.next();
+                to[count++] = node;
+            }
+        }
+        return removeEdges(from, to, count);
+    }
+
+    /**
+     * Fills an empty graph with prebuilt successor and predecessor lists, e.g. read from a
+     * snapshot file. The duplicate-edge set is only rebuilt on the first edge lookup or
+     * mutation, so a restored graph can answer traversals immediately.
+     */
+    public void restore(Csr successors, Csr predecessors) {
+        if (nodeCount != 0) {
+            throw new IllegalStateException("Only an empty graph can be restored");
+        }
+        forward.restore(successors);
+        reverse.restore(predecessors);
+        nodeCount = successors.nodeCount();
+        edgeCount = successors.edgeCount();
+        edges = null;
+        version++;
+        snapshot = null;
+    }
+
+    public boolean hasEdge(int from, int to) {
+        return edges().contains(edgeKey(from, to));
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Advances the version without changing the structure, for data kept beside the graph
+     * such as edge weights, so that the next snapshot tells readers something changed.
+     */
+    public void touch() {
+        version++;
+        snapshot = null;
+    }
+
+    /**
+     * Returns an immutable view of the graph as of the latest mutation. Repeated calls
+     * without intervening mutations return the same instance.
+     */
+    public GraphSnapshot snapshot() {
+        install(false);
+        if (snapshot == null) {
+            snapshot = new GraphSnapshot(version, forward.view(), reverse.view(), nodeCount, edgeCount, removed);
+            removedShared = removed != null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Merges all buffered edges into the CSR, waiting for any background compaction first.
+     */
+    public void compact() {
+        if (forward.compact(nodeCount) | reverse.compact(nodeCount)) {
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Drops every tombstoned edge from the CSR, compacting synchronously.
+     */
+    public void purge() {
+        if (removed == null) {
+            return;
+        }
+        forward.purge(nodeCount, removed, false);
+        reverse.purge(nodeCount, removed, true);
+        removed = null;
+        removedShared = false;
+        snapshot = null;
+    }
+
+    /**
+     * Returns the number of removed edges still held in the CSR or edge log.
+     */
+    public int tombstoneCount() {
+        return removed == null ? 0 : removed.ownEdgeCount();
+    }
+
+    // The tombstone mask may only be edited in place until a snapshot has published it.
+    private GraphMask editableTombstones() {
+        if (removed == null) {
+            removed = GraphMask.of(null, new int[0], new int[0], 0, new int[0]);
+        } else if (removedShared) {
+            removed = removed.copy();
+        }
+        removedShared = false;
+        return removed;
+    }
+
+    private LongHashSet edges() {
+        if (edges == null) {
+            Csr successors = snapshot().forwardCsr();
+            edges = new LongHashSet();
+            edges.ensureCapacity(successors.edgeCount());
+            for (int node = 0; node < nodeCount; node++) {
+                for (int edge = successors.start(node); edge < successors.end(node); edge++) {
+                    edges.add(edgeKey(node, successors.target(edge)));
+                }
+            }
+        }
+        return edges;
+    }
+
+    private void install(boolean wait) {
+        if (forward.install(wait) | reverse.install(wait)) {
+            snapshot = null;
+        }
+    }
+
+    static long edgeKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+}
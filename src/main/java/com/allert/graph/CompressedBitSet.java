@@ -0,0 +1,137 @@
+package com.allert.graph;
+
+import java.nio.*;
+
+import java.util.*;
+
+/**
+ * Immutable set of non-negative ints stored either as a sorted {@code int[]} or as a plain
+ * bitmap, whichever is smaller for its contents.
+ */
+public final class CompressedBitSet {
+    private static final int[] NO_VALUES = new int[0];
+
+    private final int[] sorted;
+    private final long[] words;
+    private final int cardinality;
+
+    private CompressedBitSet(int[] sorted, long[] words, int cardinality) {
+        this.sorted = sorted;
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    public static CompressedBitSet of(BitSet bits) {
+        int cardinality = bits.cardinality();
+        long bitmapBytes = 8L * ((bits.length() + 63) / 64);
+        if (4L * cardinality <= bitmapBytes) {
+            int[] sorted = new int[cardinality];
+            int i = 0;
+            for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+                sorted[i++] = bit;
+            }
+            return new CompressedBitSet(sorted, null, cardinality);
+        }
+        return new CompressedBitSet(null, bits.toLongArray(), cardinality);
+    }
+
+    public static CompressedBitSet singleton(int value) {
+        return new CompressedBitSet(new int[]{value}, null, 1);
+    }
+
+    public boolean contains(int value) {
+        if (sorted != null) {
+            return Arrays.binarySearch(sorted, value) >= 0;
+        }
+        int word = value >>> 6;
+        return word < words.length && (words[word] & (1L << value)) != 0;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Sets every member of this set in {@code target}.
+     */
+    public void addTo(BitSet target) {
+        if (sorted != null) {
+            for (int value : sorted) {
+                target.set(value);
+            }
+            return;
+        }
+        target.or(BitSet.valueOf(words));
+    }
+
+    /**
+     * Returns the members in ascending order.
+     */
+    public int[] toArray() {
+        if (sorted != null) {
+            return sorted.length == 0 ? NO_VALUES : sorted.clone();
+        }
+        int[] values = new int[cardinality];
+        int i = 0;
+        for (int word = 0; word < words.length; word++) {
+            for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                values[i++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return values;
+    }
+
+    public CompressedBitSet union(CompressedBitSet other) {
+        BitSet bits = new BitSet();
+        addTo(bits);
+        other.addTo(bits);
+        return of(bits);
+    }
+
+    /**
+     * Approximate heap footprint, including the object header.
+     */
+    public long memoryBytes() {
+        long payload = sorted != null ? 16L + 4L * sorted.length : 16L + 8L * words.length;
+        return 24 + payload;
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} produces.
+     */
+    public int serializedBytes() {
+        return 8 + (sorted != null ? 4 * sorted.length : 8 * words.length);
+    }
+
+    /**
+     * Writes the representation tag (array length, negated for bitmaps), the cardinality and
+     * the raw values in the buffer's byte order.
+     */
+    public void writeTo(ByteBuffer out) {
+        if (sorted != null) {
+            out.putInt(sorted.length).putInt(cardinality);
+            out.asIntBuffer().put(sorted);
+        } else {
+            out.putInt(-words.length).putInt(cardinality);
+            out.asLongBuffer().put(words);
+        }
+        out.position(out.position() + serializedBytes() - 8);
+    }
+
+    public static CompressedBitSet readFrom(ByteBuffer in) {
+        int length = in.getInt();
+        int cardinality = in.getInt();
+        CompressedBitSet set;
+        if (length >= 0) {
+            int[] sorted = new int[length];
+            in.asIntBuffer().get(sorted);
+            set = new CompressedBitSet(sorted, null, cardinality);
+        } else {
+            long[] words = new long[-length];
+            in.asLongBuffer().get(words);
+            set = new CompressedBitSet(null, words, cardinality);
+        }
+        in.position(in.position() + set.serializedBytes() - 8);
+        return set;
+    }
+}
@@ -0,0 +1,126 @@
+package com.allert.graph;
+
+import java.nio.*;
+
+/**
+ * Immutable compressed-sparse-row adjacency: the successors of node {@code u} are
+ * {@code targets[offsets[u]] .. targets[offsets[u + 1] - 1]}, in insertion order.
+ */
+public final class Csr {
+    static final Csr EMPTY = new Csr(new int[]{0}, new int[0]);
+
+    final int[] offsets;
+    final int[] targets;
+
+    Csr(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public int nodeCount() {
+        return offsets.length - 1;
+    }
+
+    public int edgeCount() {
+        return offsets[offsets.length - 1];
+    }
+
+    public int start(int node) {
+        return node < nodeCount() ? offsets[node] : 0;
+    }
+
+    public int end(int node) {
+        return node < nodeCount() ? offsets[node + 1] : 0;
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} produces.
+     */
+    public long serializedBytes() {
+        return 4L * (offsets.length + edgeCount());
+    }
+
+    /**
+     * Writes the offsets followed by the targets as raw ints in the buffer's byte order.
+     */
+    public void writeTo(ByteBuffer out) {
+        out.asIntBuffer().put(offsets).put(targets, 0, edgeCount());
+        out.position(out.position() + (int) serializedBytes());
+    }
+
+    /**
+     * Reads a CSR written by {@link #writeTo(ByteBuffer)} with two bulk copies.
+     */
+    public static Csr readFrom(ByteBuffer in, int nodeCount) {
+        IntBuffer ints = in.asIntBuffer();
+        int[] offsets = new int[nodeCount + 1];
+        ints.get(offsets);
+        int[] targets = new int[offsets[nodeCount]];
+        ints.get(targets);
+        Csr csr = new Csr(offsets, targets);
+        in.position(in.position() + (int) csr.serializedBytes());
+        return csr;
+    }
+
+    /**
+     * Builds a new CSR holding the rows of {@code base} followed by the first {@code count}
+     * logged edges, for {@code nodeCount} nodes.
+     */
+    static Csr merge(Csr base, int[] from, int[] to, int count, int nodeCount) {
+        int[] offsets = new int[nodeCount + 1];
+        for (int node = 0; node < base.nodeCount(); node++) {
+            offsets[node + 1] = base.offsets[node + 1] - base.offsets[node];
+        }
+        for (int i = 0; i < count; i++) {
+            offsets[from[i] + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+
+        int[] targets = new int[offsets[nodeCount]];
+        int[] cursor = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            int start = base.start(node);
+            int length = base.end(node) - start;
+            System.arraycopy(base.targets, start, targets, offsets[node], length);
+            cursor[node] = offsets[node] + length;
+        }
+        for (int i = 0; i < count; i++) {
+            targets[cursor[from[i]]++] = to[i];
+        }
+        return new Csr(offsets, targets);
+    }
+
+    /**
+     * Returns a copy without the edges the mask hides, or this CSR if the mask hides none
+     * of them. Rows the mask does not flag are copied wholesale.
+     */
+    Csr without(GraphMask mask, boolean reversed) {
+        int nodeCount = nodeCount();
+        int[] keptOffsets = new int[nodeCount + 1];
+        int[] keptTargets = new int[edgeCount()];
+        int kept = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            int start = offsets[node];
+            int end = offsets[node + 1];
+            if (mask.filtersRow(node, reversed)) {
+                for (int edge = start; edge < end; edge++) {
+                    int target = targets[edge];
+                    if (!(reversed ? mask.hidesEdge(target, node) : mask.hidesEdge(node, target))) {
+                        keptTargets[kept++] = target;
+                    }
+                }
+            } else {
+                System.arraycopy(targets, start, keptTargets, kept, end - start);
+                kept += end - start;
+            }
+            keptOffsets[node + 1] = kept;
+        }
+        return kept == edgeCount() ? this : new Csr(keptOffsets, keptTargets);
+    }
+}
@@ -0,0 +1,337 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Exact hop-distance index built by pruned landmark labeling (Akiba, Iwata and Yoshida).
+ * Nodes are ranked by total degree, highest first, and each node keeps two labels: the
+ * higher-ranked hubs it reaches and the hubs that reach it, each with the hop distance. The
+ * distance from s to t is the minimum over the hubs common to s's out-label and t's
+ * in-label, found by merging the two rank-sorted lists, so reachability and distance need no
+ * traversal at all. Labels are built by one breadth-first search per hub that stops at every
+ * node whose distance the labels of earlier hubs already cover, which keeps them small on
+ * graphs with a few high-degree hubs.
+ * <p>
+ * {@link #addNode(int)} and {@link #addEdge(int, int)} keep the index exact by resuming the
+ * pruned searches of the hubs affected by a new edge; labels may then hold a few redundant
+ * entries. Removals are not supported incrementally and require a {@link #build}.
+ * Not thread-safe.
+ */
+public class DistanceLabelIndex {
+    private static final int UNREACHED = -1;
+
+    private final Labels out = new Labels();
+    private final Labels in = new Labels();
+    private int[] rankOf;
+    private int[] nodeAt;
+    private int nodeCount;
+    private long buildNanos;
+    private int[] hubDistance;
+    private int[] searchDistance;
+    private int[] queue;
+
+    private DistanceLabelIndex(int nodeCount) {
+        this.nodeCount = nodeCount;
+        this.rankOf = new int[Math.max(16, nodeCount)];
+        this.nodeAt = new int[rankOf.length];
+        this.hubDistance = new int[rankOf.length];
+        this.searchDistance = new int[rankOf.length];
+        this.queue = new int[rankOf.length];
+        Arrays.fill(hubDistance, Integer.MAX_VALUE);
+        Arrays.fill(searchDistance, UNREACHED);
+        out.grow(rankOf.length);
+        in.grow(rankOf.length);
+    }
+
+    public static DistanceLabelIndex build(GraphSnapshot graph) {
+        long start = System.nanoTime();
+        Csr successors = graph.forwardCsr();
+        Csr predecessors = graph.reverseCsr();
+        int nodeCount = graph.nodeCount();
+        DistanceLabelIndex index = new DistanceLabelIndex(nodeCount);
+
+        Integer[] byDegree = new Integer[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            byDegree[node] = node;
+        }
+        Arrays.sort(byDegree, Comparator.comparingInt((Integer node) -> -(degree(successors, node)
+                + degree(predecessors, node))).thenComparingInt(node -> node));
+        for (int rank = 0; rank < nodeCount; rank++) {
+            index.nodeAt[rank] = byDegree[rank];
+            index.rankOf[byDegree[rank]] = rank;
+        }
+        for (int rank = 0; rank < nodeCount; rank++) {
+            int hub = index.nodeAt[rank];
+            index.search(successors, hub, hub, 0, true);
+            index.search(predecessors, hub, hub, 0, false);
+        }
+        index.buildNanos = System.nanoTime() - start;
+        return index;
+    }
+
+    /**
+     * Registers a new node, which must be the next id after the last known node. It ranks
+     * below every existing node.
+     */
+    public void addNode(int node) {
+        if (node != nodeCount) {
+            throw new IllegalArgumentException("Expected node " + nodeCount + " but got " + node);
+        }
+        if (nodeCount == rankOf.length) {
+            int capacity = nodeCount * 2;
+            rankOf = Arrays.copyOf(rankOf, capacity);
+            nodeAt = Arrays.copyOf(nodeAt, capacity);
+            hubDistance = Arrays.copyOf(hubDistance, capacity);
+            searchDistance = Arrays.copyOf(searchDistance, capacity);
+            queue = Arrays.copyOf(queue, capacity);
+            Arrays.fill(hubDistance, nodeCount, capacity, Integer.MAX_VALUE);
+            Arrays.fill(searchDistance, nodeCount, capacity, UNREACHED);
+            out.grow(capacity);
+            in.grow(capacity);
+        }
+        rankOf[node] = node;
+        nodeAt[node] = node;
+        out.put(node, node, 0);
+        in.put(node, node, 0);
+        nodeCount++;
+    }
+
+    /**
+     * Updates the labels for a new edge {@code from -> to}, which must already be part of
+     * the given graph.
+     */
+    public void addEdge(GraphSnapshot graph, int from, int to) {
+        int[] hubs = Arrays.copyOf(in.hubs[from], in.count[from]);
+        int[] distances = Arrays.copyOf(in.distances[from], in.count[from]);
+        for (int i = 0; i < hubs.length; i++) {
+            searchFrom(graph, nodeAt[hubs[i]], to, distances[i] + 1, true);
+        }
+        hubs = Arrays.copyOf(out.hubs[to], out.count[to]);
+        distances = Arrays.copyOf(out.distances[to], out.count[to]);
+        for (int i = 0; i < hubs.length; i++) {
+            searchFrom(graph, nodeAt[hubs[i]], from, distances[i] + 1, false);
+        }
+    }
+
+    /**
+     * Returns the number of hops on a shortest path from source to target, or -1 if target
+     * is unreachable.
+     */
+    public int distance(int source, int target) {
+        if (source == target) {
+            return 0;
+        }
+        int[] outHubs = out.hubs[source];
+        int[] outDistances = out.distances[source];
+        int[] inHubs = in.hubs[target];
+        int[] inDistances = in.distances[target];
+        int best = Integer.MAX_VALUE;
+        for (int i = 0, j = 0, outEnd = out.count[source], inEnd = in.count[target]; i < outEnd && j < inEnd; ) {
+            if (outHubs[i] < inHubs[j]) {
+                i++;
+            } else if (outHubs[i] > inHubs[j]) {
+                j++;
+            } else {
+                best = Math.min(best, outDistances[i++] + inDistances[j++]);
+            }
+        }
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    public boolean reaches(int source, int target) {
+        return distance(source, target) >= 0;
+    }
+
+    /**
+     * Rebuilds a shortest path by repeatedly stepping to a successor one hop closer to the
+     * target. Ties go to the successor visited first, so the path may differ from the one a
+     * breadth-first search would return.
+     * @return node ids from source to target, or an empty array if target is unreachable
+     */
+    public int[] path(GraphSnapshot graph, int source, int target) {
+        int remaining = distance(source, target);
+        if (remaining < 0) {
+            return new int[0];
+        }
+        int[] path = new int[remaining + 1];
+        path[0] = source;
+        EdgeCursor edges = graph.cursor();
+        for (int step = 1; step < path.length; step++) {
+            remaining--;
+            int next = -1;
+            for (edges.of(path[step - 1]); next < 0 && edges.hasNext(); ) {
+                int candidate = edges.next();
+                if (distance(candidate, target) == remaining) {
+                    next = candidate;
+                }
+            }
+            path[step] = next;
+        }
+        return path;
+    }
+
+    public IndexStats stats() {
+        long bytes = 16L + 4L * rankOf.length + 16L + 4L * nodeAt.length + out.memoryBytes() + in.memoryBytes();
+        return new IndexStats(bytes, buildNanos, (int) Math.min(Integer.MAX_VALUE, out.size() + in.size()));
+    }
+
+    private void searchFrom(GraphSnapshot graph, int hub, int start, int startDistance, boolean forward) {
+        loadHub(hub, forward);
+        Labels filled = forward ? in : out;
+        int rank = rankOf[hub];
+        EdgeCursor edges = forward ? graph.cursor() : graph.reverseCursor();
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        searchDistance[start] = startDistance;
+        while (head < tail) {
+            int node = queue[head++];
+            int distance = searchDistance[node];
+            if (covered(filled, node, distance)) {
+                continue;
+            }
+            filled.put(node, rank, distance);
+            for (edges.of(node); edges.hasNext(); ) {
+                int next = edges.next();
+                if (searchDistance[next] == UNREACHED) {
+                    searchDistance[next] = distance + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        reset(tail);
+        unloadHub(hub, forward);
+    }
+
+    // One pruned search of a full build. Ranks only grow, so labels stay sorted by appending.
+    private void search(Csr edges, int hub, int start, int startDistance, boolean forward) {
+        loadHub(hub, forward);
+        Labels filled = forward ? in : out;
+        int rank = rankOf[hub];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        searchDistance[start] = startDistance;
+        while (head < tail) {
+            int node = queue[head++];
+            int distance = searchDistance[node];
+            if (rankOf[node] < rank || covered(filled, node, distance)) {
+                continue;
+            }
+            filled.append(node, rank, distance);
+            for (int edge = edges.start(node), end = edges.end(node); edge < end; edge++) {
+                int next = edges.target(edge);
+                if (searchDistance[next] == UNREACHED) {
+                    searchDistance[next] = distance + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        reset(tail);
+        unloadHub(hub, forward);
+    }
+
+    // Whether the hubs loaded into hubDistance already give a path of at most this length.
+    private boolean covered(Labels filled, int node, int distance) {
+        int[] hubs = filled.hubs[node];
+        int[] distances = filled.distances[node];
+        for (int i = 0, end = filled.count[node]; i < end; i++) {
+            int viaHub = hubDistance[hubs[i]];
+            if (viaHub != Integer.MAX_VALUE && viaHub + distances[i] <= distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void loadHub(int hub, boolean forward) {
+        Labels own = forward ? out : in;
+        for (int i = 0; i < own.count[hub]; i++) {
+            hubDistance[own.hubs[hub][i]] = own.distances[hub][i];
+        }
+    }
+
+    private void unloadHub(int hub, boolean forward) {
+        Labels own = forward ? out : in;
+        for (int i = 0; i < own.count[hub]; i++) {
+            hubDistance[own.hubs[hub][i]] = Integer.MAX_VALUE;
+        }
+    }
+
+    private void reset(int visited) {
+        for (int i = 0; i < visited; i++) {
+            searchDistance[queue[i]] = UNREACHED;
+        }
+    }
+
+    private static int degree(Csr csr, int node) {
+        return csr.end(node) - csr.start(node);
+    }
+
+    /**
+     * One direction of labels: per node, hub ranks in ascending order with their distances.
+     */
+    private static final class Labels {
+        private static final int[] EMPTY = new int[0];
+
+        int[][] hubs = new int[0][];
+        int[][] distances = new int[0][];
+        int[] count = new int[0];
+
+        void grow(int capacity) {
+            int old = hubs.length;
+            hubs = Arrays.copyOf(hubs, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+            count = Arrays.copyOf(count, capacity);
+            Arrays.fill(hubs, old, capacity, EMPTY);
+            Arrays.fill(distances, old, capacity, EMPTY);
+        }
+
+        void append(int node, int rank, int distance) {
+            ensureRoom(node);
+            hubs[node][count[node]] = rank;
+            distances[node][count[node]++] = distance;
+        }
+
+        // Inserts in rank order, or lowers the distance of an existing entry.
+        void put(int node, int rank, int distance) {
+            int position = Arrays.binarySearch(hubs[node], 0, count[node], rank);
+            if (position >= 0) {
+                distances[node][position] = Math.min(distances[node][position], distance);
+                return;
+            }
+            position = -position - 1;
+            ensureRoom(node);
+            int moved = count[node] - position;
+            System.arraycopy(hubs[node], position, hubs[node], position + 1, moved);
+            System.arraycopy(distances[node], position, distances[node], position + 1, moved);
+            hubs[node][position] = rank;
+            distances[node][position] = distance;
+            count[node]++;
+        }
+
+        long size() {
+            long size = 0;
+            for (int labels : count) {
+                size += labels;
+            }
+            return size;
+        }
+
+        long memoryBytes() {
+            long bytes = 3 * (16L + 8L * hubs.length);
+            for (int[] labels : hubs) {
+                bytes += 2 * (16L + 4L * labels.length);
+            }
+            return bytes;
+        }
+
+        private void ensureRoom(int node) {
+            if (count[node] == hubs[node].length) {
+                int capacity = Math.max(4, count[node] * 2);
+                hubs[node] = Arrays.copyOf(hubs[node], capacity);
+                distances[node] = Arrays.copyOf(distances[node], capacity);
+            }
+        }
+    }
+}
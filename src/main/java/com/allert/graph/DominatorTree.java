@@ -0,0 +1,254 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Dominator tree of the subgraph reachable from one source, built with the
+ * Lengauer–Tarjan algorithm (path compression, iterative DFS). All node arguments and
+ * results use graph node ids; unreachable nodes have no immediate dominator.
+ */
+public final class DominatorTree {
+    private final Csr successors;
+    private final Csr predecessors;
+    private final int source;
+    private final int[] order;
+    private final int[] number;
+    private final int[] idom;
+    private final int[] subtreeSize;
+    private final int[] enter;
+    private final int[] exit;
+
+    private DominatorTree(GraphSnapshot graph, int source) {
+        this.successors = graph.forwardCsr();
+        this.predecessors = graph.reverseCsr();
+        this.source = source;
+        this.number = new int[graph.nodeCount()];
+        Arrays.fill(number, -1);
+        int[] parent = new int[graph.nodeCount()];
+        this.order = depthFirstOrder(parent);
+        int reachable = order.length;
+
+        // Everything below works on DFS numbers rather than node ids.
+        int[] semi = new int[reachable];
+        int[] dominator = new int[reachable];
+        int[] ancestor = new int[reachable];
+        int[] label = new int[reachable];
+        int[] bucketHead = new int[reachable];
+        int[] bucketNext = new int[reachable];
+        int[] path = new int[reachable];
+        Arrays.fill(ancestor, -1);
+        Arrays.fill(bucketHead, -1);
+        for (int i = 0; i < reachable; i++) {
+            semi[i] = i;
+            label[i] = i;
+        }
+
+        for (int w = reachable - 1; w > 0; w--) {
+            int node = order[w];
+            for (int edge = predecessors.start(node); edge < predecessors.end(node); edge++) {
+                int v = number[predecessors.target(edge)];
+                if (v < 0) {
+                    continue;
+                }
+                int u = eval(v, ancestor, label, semi, path);
+                if (semi[u] < semi[w]) {
+                    semi[w] = semi[u];
+                }
+            }
+            bucketNext[w] = bucketHead[semi[w]];
+            bucketHead[semi[w]] = w;
+            int p = number[parent[node]];
+            ancestor[w] = p;
+            for (int v = bucketHead[p]; v >= 0; v = bucketNext[v]) {
+                int u = eval(v, ancestor, label, semi, path);
+                dominator[v] = semi[u] < semi[v] ? u : p;
+            }
+            bucketHead[p] = -1;
+        }
+        for (int w = 1; w < reachable; w++) {
+            if (dominator[w] != semi[w]) {
+                dominator[w] = dominator[dominator[w]];
+            }
+        }
+
+        this.idom = new int[graph.nodeCount()];
+        Arrays.fill(idom, -1);
+        for (int w = 1; w < reachable; w++) {
+            idom[order[w]] = order[dominator[w]];
+        }
+        this.subtreeSize = new int[reachable];
+        this.enter = new int[reachable];
+        this.exit = new int[reachable];
+        numberTree(dominator);
+    }
+
+    public static DominatorTree build(GraphSnapshot graph, int source) {
+        return new DominatorTree(graph, source);
+    }
+
+    public int source() {
+        return source;
+    }
+
+    /**
+     * Returns the number of nodes reachable from the source, source included.
+     */
+    public int reachableCount() {
+        return order.length;
+    }
+
+    /**
+     * Returns the immediate dominator of node, or -1 for the source and unreachable nodes.
+     */
+    public int idom(int node) {
+        return idom[node];
+    }
+
+    /**
+     * Returns how many nodes the given node dominates, itself included; 0 if unreachable.
+     */
+    public int dominatedCount(int node) {
+        return number[node] < 0 ? 0 : subtreeSize[number[node]];
+    }
+
+    public boolean dominates(int dominator, int node) {
+        int a = number[dominator];
+        int b = number[node];
+        return a >= 0 && b >= 0 && enter[a] <= enter[b] && exit[b] <= exit[a];
+    }
+
+    /**
+     * Returns the edges whose removal disconnects at least one node from the source,
+     * flattened as {@code [from, to, isolated, ...]} and ordered by the number of isolated
+     * nodes, largest first.
+     * <p>
+     * Cutting {@code u -> v} isolates exactly the nodes dominated by v when every path to v
+     * ends with that edge, i.e. u is the immediate dominator of v and every other reachable
+     * predecessor of v is itself dominated by v; any other edge isolates nothing.
+     */
+    public int[] rankedCutEdges() {
+        int[] candidates = new int[16];
+        int count = 0;
+        for (int w = 1; w < order.length; w++) {
+            int node = order[w];
+            if (isSoleEntry(idom[node], node)) {
+                if (3 * count + 3 > candidates.length) {
+                    candidates = Arrays.copyOf(candidates, candidates.length * 2);
+                }
+                candidates[3 * count] = idom[node];
+                candidates[3 * count + 1] = node;
+                candidates[3 * count + 2] = subtreeSize[w];
+                count++;
+            }
+        }
+
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) (Integer.MAX_VALUE - candidates[3 * i + 2]) << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] ranked = new int[3 * count];
+        for (int i = 0; i < count; i++) {
+            int candidate = (int) keys[i];
+            System.arraycopy(candidates, 3 * candidate, ranked, 3 * i, 3);
+        }
+        return ranked;
+    }
+
+    private boolean isSoleEntry(int from, int node) {
+        boolean hasEdge = false;
+        for (int edge = predecessors.start(node); edge < predecessors.end(node); edge++) {
+            int predecessor = predecessors.target(edge);
+            if (predecessor == from) {
+                hasEdge = true;
+            } else if (number[predecessor] >= 0 && !dominates(node, predecessor)) {
+                return false;
+            }
+        }
+        return hasEdge;
+    }
+
+    private int[] depthFirstOrder(int[] parent) {
+        int[] order = new int[number.length];
+        int[] stack = new int[number.length];
+        int[] position = new int[number.length];
+        int size = 0;
+        int depth = 0;
+        number[source] = size;
+        order[size++] = source;
+        parent[source] = source;
+        stack[depth] = source;
+        position[depth++] = successors.start(source);
+
+        while (depth > 0) {
+            int node = stack[depth - 1];
+            if (position[depth - 1] == successors.end(node)) {
+                depth--;
+                continue;
+            }
+            int next = successors.target(position[depth - 1]++);
+            if (number[next] < 0) {
+                number[next] = size;
+                order[size++] = next;
+                parent[next] = node;
+                stack[depth] = next;
+                position[depth++] = successors.start(next);
+            }
+        }
+        return Arrays.copyOf(order, size);
+    }
+
+    private static int eval(int v, int[] ancestor, int[] label, int[] semi, int[] path) {
+        if (ancestor[v] < 0) {
+            return v;
+        }
+        int length = 0;
+        for (int x = v; ancestor[ancestor[x]] >= 0; x = ancestor[x]) {
+            path[length++] = x;
+        }
+        while (length > 0) {
+            int x = path[--length];
+            int a = ancestor[x];
+            if (semi[label[a]] < semi[label[x]]) {
+                label[x] = label[a];
+            }
+            ancestor[x] = ancestor[a];
+        }
+        return label[v];
+    }
+
+    // Immediate dominators always precede their children in DFS order, so sizes can be
+    // accumulated bottom-up and entry/exit times assigned with an explicit child list.
+    private void numberTree(int[] dominator) {
+        int reachable = order.length;
+        Arrays.fill(subtreeSize, 1);
+        for (int w = reachable - 1; w > 0; w--) {
+            subtreeSize[dominator[w]] += subtreeSize[w];
+        }
+        int[] childHead = new int[reachable];
+        int[] childNext = new int[reachable];
+        Arrays.fill(childHead, -1);
+        for (int w = reachable - 1; w > 0; w--) {
+            childNext[w] = childHead[dominator[w]];
+            childHead[dominator[w]] = w;
+        }
+        int[] stack = new int[reachable];
+        int[] cursor = new int[reachable];
+        int depth = 0;
+        int clock = 0;
+        stack[depth] = 0;
+        cursor[depth++] = childHead[0];
+        enter[0] = clock++;
+        while (depth > 0) {
+            int child = cursor[depth - 1];
+            if (child < 0) {
+                exit[stack[--depth]] = clock++;
+                continue;
+            }
+            cursor[depth - 1] = childNext[child];
+            enter[child] = clock++;
+            stack[depth] = child;
+            cursor[depth++] = childHead[child];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.allert.graph;
+
+/**
+ * Reusable iterator over the neighbours of one node in one direction: first the compacted
+ * CSR row, then any edges still buffered in the log. Log entries appended after the
+ * snapshot was taken are never visited, and neither are edges hidden by the snapshot's
+ * {@link GraphMask}.
+ */
+public final class EdgeCursor {
+    private final AdjacencyView adjacency;
+    private final int[] targets;
+    private final GraphMask mask;
+    private final boolean reversed;
+    private int node;
+    private boolean filtered;
+    private int position;
+    private int end;
+    private int logEdge = -1;
+
+    EdgeCursor(AdjacencyView adjacency, GraphMask mask, boolean reversed) {
+        this.adjacency = adjacency;
+        this.targets = adjacency.base.targets;
+        this.mask = mask;
+        this.reversed = reversed;
+    }
+
+    public EdgeCursor of(int node) {
+        this.node = node;
+        position = adjacency.base.start(node);
+        end = adjacency.base.end(node);
+        logEdge = adjacency.logHead(node);
+        filtered = mask != null && mask.filtersRow(node, reversed);
+        return this;
+    }
+
+    public boolean hasNext() {
+        if (filtered) {
+            skipHidden();
+        }
+        return position < end || (logEdge >= 0 && logEdge < adjacency.logSize);
+    }
+
+    public int next() {
+        if (position < end) {
+            return targets[position++];
+        }
+        int target = adjacency.logTargets[logEdge];
+        logEdge = adjacency.logNext[logEdge];
+        return target;
+    }
+
+    private void skipHidden() {
+        while (true) {
+            int target;
+            if (position < end) {
+                target = targets[position];
+            } else if (logEdge >= 0 && logEdge < adjacency.logSize) {
+                target = adjacency.logTargets[logEdge];
+            } else {
+                return;
+            }
+            if (!(reversed ? mask.hidesEdge(target, node) : mask.hidesEdge(node, target))) {
+                return;
+            }
+            next();
+        }
+    }
+}
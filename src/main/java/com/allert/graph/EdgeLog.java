@@ -0,0 +1,73 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Append-only buffer of edges added since the last compaction. Each node's edges are
+ * chained in insertion order so they can be walked without scanning the whole log.
+ */
+final class EdgeLog {
+    private int[] from = new int[16];
+    private int[] to = new int[16];
+    private int[] next = new int[16];
+    private int[] head = new int[0];
+    private int[] tail = new int[0];
+    private int size;
+
+    void append(int source, int target) {
+        if (size == from.length) {
+            from = Arrays.copyOf(from, size * 2);
+            to = Arrays.copyOf(to, size * 2);
+            next = Arrays.copyOf(next, size * 2);
+        }
+        if (source >= head.length) {
+            int length = Math.max(source + 1, head.length * 2);
+            int oldLength = head.length;
+            head = Arrays.copyOf(head, length);
+            tail = Arrays.copyOf(tail, length);
+            Arrays.fill(head, oldLength, length, -1);
+            Arrays.fill(tail, oldLength, length, -1);
+        }
+        from[size] = source;
+        to[size] = target;
+        next[size] = -1;
+        if (tail[source] < 0) {
+            head[source] = size;
+        } else {
+            next[tail[source]] = size;
+        }
+        tail[source] = size;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] sources() {
+        return from;
+    }
+
+    int[] targets() {
+        return to;
+    }
+
+    int[] nextLinks() {
+        return next;
+    }
+
+    int[] heads() {
+        return head;
+    }
+
+    /**
+     * Returns a new log holding only the entries from {@code fromIndex} onwards.
+     */
+    EdgeLog suffix(int fromIndex) {
+        EdgeLog suffix = new EdgeLog();
+        for (int i = fromIndex; i < size; i++) {
+            suffix.append(from[i], to[i]);
+        }
+        return suffix;
+    }
+}
@@ -0,0 +1,154 @@
+package com.allert.graph;
+
+import java.nio.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Optional propagation latency and probability per edge, keyed by (from, to). Edges without
+ * explicit weights propagate with latency 1 and probability 1, so weighted queries on an
+ * unweighted graph count hops.
+ * <p>
+ * Writers must be serialized; readers may look weights up concurrently. Both weights are
+ * packed as floats into one long slot, and a slot's key is published after its value, so a
+ * reader sees either the old or the new pair, never half of each. Weights are not versioned
+ * with graph snapshots: a reader sees the latest value written.
+ */
+public final class EdgeWeights {
+    private static final long DEFAULT = pack(1f, 1f);
+
+    private volatile Table table = new Table(16);
+    private int size;
+
+    private static final class Table {
+        final AtomicLongArray keys;
+        final AtomicLongArray values;
+
+        Table(int capacity) {
+            keys = new AtomicLongArray(capacity);
+            values = new AtomicLongArray(capacity);
+        }
+    }
+
+    public void put(int from, int to, float latency, float probability) {
+        long key = key(from, to);
+        long value = pack(latency, probability);
+        Table current = table;
+        int slot = find(current, key);
+        if (current.keys.get(slot) == key) {
+            current.values.set(slot, value);
+            return;
+        }
+        if ((size + 1) * 2 > current.keys.length()) {
+            current = resize(current.keys.length() * 2);
+            slot = find(current, key);
+        }
+        current.values.set(slot, value);
+        current.keys.set(slot, key);
+        size++;
+    }
+
+    /**
+     * Restores the default weights of a removed edge. The slot is kept rather than deleted,
+     * so concurrent readers probing past it still find their keys.
+     */
+    public void reset(int from, int to) {
+        Table current = table;
+        long key = key(from, to);
+        int slot = find(current, key);
+        if (current.keys.get(slot) == key) {
+            current.values.set(slot, DEFAULT);
+        }
+    }
+
+    /**
+     * Returns the packed weights of the edge, or the defaults if none were set.
+     */
+    public long get(int from, int to) {
+        Table current = table;
+        long key = key(from, to);
+        int slot = find(current, key);
+        return current.keys.get(slot) == key ? current.values.get(slot) : DEFAULT;
+    }
+
+    public static float latency(long packed) {
+        return Float.intBitsToFloat((int) (packed >>> 32));
+    }
+
+    public static float probability(long packed) {
+        return Float.intBitsToFloat((int) packed);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} produces.
+     */
+    public long serializedBytes() {
+        return 4 + 16L * size;
+    }
+
+    /**
+     * Writes the entry count followed by (from, to, latency, probability) entries.
+     */
+    public void writeTo(ByteBuffer out) {
+        Table current = table;
+        out.putInt(size);
+        for (int slot = 0; slot < current.keys.length(); slot++) {
+            long key = current.keys.get(slot);
+            if (key != 0) {
+                long value = current.values.get(slot);
+                out.putInt((int) ((key - 1) >>> 32)).putInt((int) (key - 1))
+                        .putFloat(latency(value)).putFloat(probability(value));
+            }
+        }
+    }
+
+    public static EdgeWeights readFrom(ByteBuffer in) {
+        EdgeWeights weights = new EdgeWeights();
+        int count = in.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative edge weight count " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            weights.put(in.getInt(), in.getInt(), in.getFloat(), in.getFloat());
+        }
+        return weights;
+    }
+
+    private Table resize(int capacity) {
+        Table old = table;
+        Table resized = new Table(capacity);
+        for (int slot = 0; slot < old.keys.length(); slot++) {
+            long key = old.keys.get(slot);
+            if (key != 0) {
+                int target = find(resized, key);
+                resized.values.set(target, old.values.get(slot));
+                resized.keys.set(target, key);
+            }
+        }
+        table = resized;
+        return resized;
+    }
+
+    // Returns the slot holding key, or the empty slot where it would be inserted.
+    private static int find(Table table, long key) {
+        int mask = table.keys.length() - 1;
+        long h = key * 0x9E3779B97F4A7C15L;
+        for (int slot = (int) (h ^ (h >>> 32)) & mask; ; slot = (slot + 1) & mask) {
+            long existing = table.keys.get(slot);
+            if (existing == 0 || existing == key) {
+                return slot;
+            }
+        }
+    }
+
+    private static long key(int from, int to) {
+        return ((long) from << 32 | to) + 1;
+    }
+
+    private static long pack(float latency, float probability) {
+        return (long) Float.floatToRawIntBits(latency) << 32 | Float.floatToRawIntBits(probability) & 0xFFFFFFFFL;
+    }
+}
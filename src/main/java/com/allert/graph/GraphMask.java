@@ -0,0 +1,95 @@
+package com.allert.graph;
+
+/**
+ * Set of hidden edges and nodes layered over a graph, used both for edges removed since the
+ * last compaction and for what-if overlays. Besides the edge keys it records which successor
+ * and predecessor rows contain a hidden edge, so cursors only check edges in those rows and
+ * every other row is walked at full speed. A mask may extend a parent mask without copying
+ * it; its memory is proportional to what it adds.
+ * <p>
+ * A mask must not change once a snapshot holds it: {@link CompactGraph} edits its tombstone
+ * mask in place only until the next snapshot and copies it after that.
+ */
+final class GraphMask {
+    private final GraphMask parent;
+    private final LongHashSet edges;
+    private final LongHashSet sources;
+    private final LongHashSet targets;
+    private final LongHashSet nodes;
+
+    private GraphMask(GraphMask parent, LongHashSet edges, LongHashSet sources, LongHashSet targets,
+                      LongHashSet nodes) {
+        this.parent = parent;
+        this.edges = edges;
+        this.sources = sources;
+        this.targets = targets;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Returns a mask hiding everything {@code parent} hides (which may be null) plus the
+     * given edges and nodes. Hiding a node also hides its edges; callers pass those
+     * explicitly in {@code from}/{@code to}.
+     */
+    static GraphMask of(GraphMask parent, int[] from, int[] to, int edgeCount, int[] hiddenNodes) {
+        GraphMask mask = new GraphMask(parent, new LongHashSet(), new LongHashSet(), new LongHashSet(),
+                new LongHashSet());
+        mask.addEdges(from, to, edgeCount);
+        for (int node : hiddenNodes) {
+            mask.nodes.add(node);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns a copy of this mask that shares its parent.
+     */
+    GraphMask copy() {
+        return new GraphMask(parent, new LongHashSet(edges), new LongHashSet(sources), new LongHashSet(targets),
+                new LongHashSet(nodes));
+    }
+
+    void hide(int from, int to) {
+        edges.add(CompactGraph.edgeKey(from, to));
+        sources.add(from);
+        targets.add(to);
+    }
+
+    /**
+     * Stops hiding the given edge. Its rows stay flagged until the mask is discarded.
+     * @return false if the edge was not hidden by this mask itself
+     */
+    boolean reveal(int from, int to) {
+        return edges.remove(CompactGraph.edgeKey(from, to));
+    }
+
+    boolean hidesEdge(int from, int to) {
+        return edges.contains(CompactGraph.edgeKey(from, to)) || (parent != null && parent.hidesEdge(from, to));
+    }
+
+    boolean hidesNode(int node) {
+        return nodes.contains(node) || (parent != null && parent.hidesNode(node));
+    }
+
+    /**
+     * Returns whether the successor row (or predecessor row, if reversed) of node may
+     * contain a hidden edge.
+     */
+    boolean filtersRow(int node, boolean reversed) {
+        return (reversed ? targets : sources).contains(node) || (parent != null && parent.filtersRow(node, reversed));
+    }
+
+    /**
+     * Returns the number of edges hidden by this mask itself, excluding its parents.
+     */
+    int ownEdgeCount() {
+        return edges.size();
+    }
+
+    private void addEdges(int[] from, int[] to, int count) {
+        edges.ensureCapacity(edges.size() + count);
+        for (int i = 0; i < count; i++) {
+            hide(from[i], to[i]);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Immutable, versioned view of a {@link CompactGraph}. A snapshot only sees the nodes and
+ * edges that existed when it was taken, so it can be traversed by any number of threads
+ * without locking while the owning graph keeps growing.
+ * <p>
+ * A snapshot may carry a {@link GraphMask} of edges removed since the last compaction or
+ * hidden by a what-if overlay from {@link #without}. Cursors skip hidden edges in place;
+ * the CSR accessors build a filtered copy once per snapshot.
+ */
+public final class GraphSnapshot {
+    static final GraphSnapshot EMPTY = new GraphSnapshot(0, AdjacencyView.EMPTY, AdjacencyView.EMPTY, 0, 0, null);
+
+    private final long version;
+    private final int nodeCount;
+    private final AdjacencyView forward;
+    private final AdjacencyView reverse;
+    private final GraphMask mask;
+    private volatile int edgeCount;
+    private volatile Csr forwardCsr;
+    private volatile Csr reverseCsr;
+
+    /**
+     * @param edgeCount number of visible edges, or -1 to count them on first use
+     */
+    GraphSnapshot(long version, AdjacencyView forward, AdjacencyView reverse, int nodeCount, int edgeCount,
+                  GraphMask mask) {
+        this.version = version;
+        this.forward = forward;
+        this.reverse = reverse;
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.mask = mask;
+    }
+
+    /**
+     * Returns a view of this snapshot in which the given edges, and every edge touching the
+     * given nodes, are hidden. Nothing is copied: the view shares this snapshot's adjacency
+     * and only stores the hidden edges.
+     */
+    public GraphSnapshot without(int[] from, int[] to, int[] nodes) {
+        int count = from.length;
+        int[] hiddenFrom = Arrays.copyOf(from, count);
+        int[] hiddenTo = Arrays.copyOf(to, count);
+        EdgeCursor successors = cursor();
+        EdgeCursor predecessors = reverseCursor();
+        for (int node : nodes) {
+            for (EdgeCursor edges : new EdgeCursor[]{successors.of(node), predecessors.of(node)}) {
+                while (edges.hasNext()) {
+                    int other = edges.next();
+                    if (count == hiddenFrom.length) {
+                        hiddenFrom = Arrays.copyOf(hiddenFrom, Math.max(16, count * 2));
+                        hiddenTo = Arrays.copyOf(hiddenTo, Math.max(16, count * 2));
+                    }
+                    hiddenFrom[count] = edges == successors ? node : other;
+                    hiddenTo[count++] = edges == successors ? other : node;
+                }
+            }
+        }
+        GraphMask overlay = GraphMask.of(mask, hiddenFrom, hiddenTo, count, nodes);
+        return new GraphSnapshot(version, forward, reverse, nodeCount, -1, overlay);
+    }
+
+    /**
+     * Returns whether a what-if overlay hides the node itself.
+     */
+    public boolean hidesNode(int node) {
+        return mask != null && mask.hidesNode(node);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        int count = edgeCount;
+        if (count < 0) {
+            count = forwardCsr().edgeCount();
+            edgeCount = count;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a reusable cursor over successors (dependencies) of nodes.
+     */
+    public EdgeCursor cursor() {
+        return new EdgeCursor(forward, mask, false);
+    }
+
+    /**
+     * Returns the successor lists as one flat CSR, built on first use and cached.
+     */
+    public Csr forwardCsr() {
+        Csr csr = forwardCsr;
+        if (csr == null) {
+            csr = forward.toCsr(nodeCount);
+            if (mask != null) {
+                csr = csr.without(mask, false);
+            }
+            forwardCsr = csr;
+        }
+        return csr;
+    }
+
+    /**
+     * Returns the predecessor lists as one flat CSR, built on first use and cached.
+     */
+    public Csr reverseCsr() {
+        Csr csr = reverseCsr;
+        if (csr == null) {
+            csr = reverse.toCsr(nodeCount);
+            if (mask != null) {
+                csr = csr.without(mask, true);
+            }
+            reverseCsr = csr;
+        }
+        return csr;
+    }
+
+    /**
+     * Returns a reusable cursor over predecessors (dependents) of nodes.
+     */
+    public EdgeCursor reverseCursor() {
+        return new EdgeCursor(reverse, mask, true);
+    }
+}
@@ -0,0 +1,324 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Breadth- and depth-first queries over a {@link GraphSnapshot}. Holds reusable scratch
+ * buffers, so one instance must not be shared between threads.
+ */
+public class GraphTraversal {
+    private static final int[] NO_PATH = new int[0];
+
+    private final BitSet visited = new BitSet();
+    private final BitSet downstream = new BitSet();
+    private final BitSet visitedBackward = new BitSet();
+    private final BitSet counted = new BitSet();
+    private int[] queue = new int[16];
+    private int[] stack = new int[16];
+    private int[] previous = new int[16];
+    private int[] backwardQueue = new int[16];
+    private int[] successor = new int[16];
+    private int[] downstreamCount = new int[16];
+    private int visitedCount;
+    private long totalVisited;
+    private long totalScanned;
+
+    /**
+     * Returns how many nodes the most recent path or reachability query marked as visited.
+     */
+    public int lastVisitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * Returns the number of nodes visited by all path and reachability queries so far.
+     */
+    public long totalVisited() {
+        return totalVisited;
+    }
+
+    /**
+     * Returns the number of edges examined by all path and reachability queries so far.
+     */
+    public long totalScanned() {
+        return totalScanned;
+    }
+
+    /**
+     * Returns the node ids along a shortest path from source to target, or an empty array
+     * if target is unreachable.
+     */
+    public int[] shortestPath(GraphSnapshot graph, int source, int target) {
+        return shortestPath(graph.cursor(), graph.nodeCount(), source, target);
+    }
+
+    /**
+     * Returns the node ids along a shortest path that follows edges backwards from target to
+     * source, i.e. the reverse of a shortest path from source to target, or an empty array
+     * if source cannot reach target.
+     */
+    public int[] shortestPathUpstream(GraphSnapshot graph, int target, int source) {
+        return shortestPath(graph.reverseCursor(), graph.nodeCount(), target, source);
+    }
+
+    /**
+     * Same contract as {@link #shortestPath}, but grows a forward frontier from source and a
+     * backward frontier from target, always expanding whole levels of the smaller one, and
+     * stops as soon as the two meet.
+     */
+    public int[] bidirectionalShortestPath(GraphSnapshot graph, int source, int target) {
+        if (source == target) {
+            finish(1, 0);
+            return new int[]{source};
+        }
+        ensureCapacity(graph.nodeCount());
+        visited.clear();
+        visitedBackward.clear();
+
+        EdgeCursor dependencies = graph.cursor();
+        EdgeCursor dependents = graph.reverseCursor();
+        int forwardHead = 0;
+        int forwardTail = 0;
+        int backwardHead = 0;
+        int backwardTail = 0;
+        queue[forwardTail++] = source;
+        visited.set(source);
+        previous[source] = -1;
+        backwardQueue[backwardTail++] = target;
+        visitedBackward.set(target);
+        successor[target] = -1;
+        int scanned = 0;
+
+        // The first node seen by both searches lies on a shortest path: the visited sets were
+        // disjoint before this level, so no path can be shorter than the one through it.
+        while (forwardHead < forwardTail && backwardHead < backwardTail) {
+            if (forwardTail - forwardHead <= backwardTail - backwardHead) {
+                for (int levelEnd = forwardTail; forwardHead < levelEnd; ) {
+                    int current = queue[forwardHead++];
+                    for (dependencies.of(current); dependencies.hasNext(); ) {
+                        int next = dependencies.next();
+                        scanned++;
+                        if (visited.get(next)) {
+                            continue;
+                        }
+                        visited.set(next);
+                        previous[next] = current;
+                        queue[forwardTail++] = next;
+                        if (visitedBackward.get(next)) {
+                            finish(forwardTail + backwardTail, scanned);
+                            return joinPath(next);
+                        }
+                    }
+                }
+            } else {
+                for (int levelEnd = backwardTail; backwardHead < levelEnd; ) {
+                    int current = backwardQueue[backwardHead++];
+                    for (dependents.of(current); dependents.hasNext(); ) {
+                        int next = dependents.next();
+                        scanned++;
+                        if (visitedBackward.get(next)) {
+                            continue;
+                        }
+                        visitedBackward.set(next);
+                        successor[next] = current;
+                        backwardQueue[backwardTail++] = next;
+                        if (visited.get(next)) {
+                            finish(forwardTail + backwardTail, scanned);
+                            return joinPath(next);
+                        }
+                    }
+                }
+            }
+        }
+        finish(forwardTail + backwardTail, scanned);
+        return NO_PATH;
+    }
+
+    /**
+     * Returns every node reachable from source, source included, in breadth-first order.
+     */
+    public int[] reachable(GraphSnapshot graph, int source) {
+        return reachable(graph.cursor(), graph.nodeCount(), source);
+    }
+
+    /**
+     * Returns every node that can reach target, target included, in breadth-first order
+     * over the reversed edges.
+     */
+    public int[] reachableUpstream(GraphSnapshot graph, int target) {
+        return reachable(graph.reverseCursor(), graph.nodeCount(), target);
+    }
+
+    /**
+     * Returns the edges reachable from source (excluding those leaving source itself) whose
+     * target has the largest downstream reach, flattened as {@code [from0, to0, from1, to1, ...]}.
+     * The reach of each target is computed once and shared by all edges pointing at it.
+     */
+    public int[] containmentEdges(GraphSnapshot graph, int source) {
+        ensureCapacity(graph.nodeCount());
+        visited.clear();
+        counted.clear();
+
+        EdgeCursor edges = graph.cursor();
+        EdgeCursor downstreamEdges = graph.cursor();
+        int[] bestEdges = new int[8];
+        int bestSize = 0;
+        int bestCount = -1;
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        visited.set(source);
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (edges.of(current); edges.hasNext(); ) {
+                int dependency = edges.next();
+                // Skip edges directly connected to source
+                if (current != source) {
+                    if (!counted.get(dependency)) {
+                        downstreamCount[dependency] = countDownstream(dependency, downstreamEdges);
+                        counted.set(dependency);
+                    }
+                    int count = downstreamCount[dependency];
+                    if (count > bestCount) {
+                        bestCount = count;
+                        bestSize = 0;
+                    }
+                    if (count == bestCount) {
+                        if (bestSize + 2 > bestEdges.length) {
+                            bestEdges = Arrays.copyOf(bestEdges, bestEdges.length * 2);
+                        }
+                        bestEdges[bestSize++] = current;
+                        bestEdges[bestSize++] = dependency;
+                    }
+                }
+                if (!visited.get(dependency)) {
+                    visited.set(dependency);
+                    queue[tail++] = dependency;
+                }
+            }
+        }
+        return Arrays.copyOf(bestEdges, bestSize);
+    }
+
+    private int[] shortestPath(EdgeCursor edges, int nodeCount, int source, int target) {
+        ensureCapacity(nodeCount);
+        visited.clear();
+
+        int head = 0;
+        int tail = 0;
+        int scanned = 0;
+        queue[tail++] = source;
+        visited.set(source);
+        previous[source] = -1;
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == target) {
+                finish(tail, scanned);
+                return reconstructPath(target);
+            }
+            for (edges.of(current); edges.hasNext(); ) {
+                int next = edges.next();
+                scanned++;
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    previous[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        finish(tail, scanned);
+        return NO_PATH;
+    }
+
+    private int[] reachable(EdgeCursor edges, int nodeCount, int source) {
+        ensureCapacity(nodeCount);
+        visited.clear();
+
+        int head = 0;
+        int tail = 0;
+        int scanned = 0;
+        queue[tail++] = source;
+        visited.set(source);
+
+        while (head < tail) {
+            for (edges.of(queue[head++]); edges.hasNext(); ) {
+                int next = edges.next();
+                scanned++;
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    queue[tail++] = next;
+                }
+            }
+        }
+        finish(tail, scanned);
+        return Arrays.copyOf(queue, tail);
+    }
+
+    private int countDownstream(int start, EdgeCursor edges) {
+        downstream.clear();
+        int top = 0;
+        stack[top++] = start;
+        downstream.set(start);
+        int count = 0;
+
+        while (top > 0) {
+            int current = stack[--top];
+            count++;
+            for (edges.of(current); edges.hasNext(); ) {
+                int dependency = edges.next();
+                if (!downstream.get(dependency)) {
+                    downstream.set(dependency);
+                    stack[top++] = dependency;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void finish(int visitedNodes, int scannedEdges) {
+        visitedCount = visitedNodes;
+        totalVisited += visitedNodes;
+        totalScanned += scannedEdges;
+    }
+
+    private void ensureCapacity(int nodeCount) {
+        if (queue.length < nodeCount) {
+            int capacity = Math.max(nodeCount, queue.length * 2);
+            queue = new int[capacity];
+            stack = new int[capacity];
+            previous = new int[capacity];
+            backwardQueue = new int[capacity];
+            successor = new int[capacity];
+            downstreamCount = new int[capacity];
+        }
+    }
+
+    private int[] reconstructPath(int target) {
+        int length = 0;
+        for (int current = target; current >= 0; current = previous[current]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int current = target; current >= 0; current = previous[current]) {
+            path[--length] = current;
+        }
+        return path;
+    }
+
+    private int[] joinPath(int meeting) {
+        int[] head = reconstructPath(meeting);
+        int length = head.length;
+        for (int current = successor[meeting]; current >= 0; current = successor[current]) {
+            length++;
+        }
+        int[] path = Arrays.copyOf(head, length);
+        int index = head.length;
+        for (int current = successor[meeting]; current >= 0; current = successor[current]) {
+            path[index++] = current;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,10 @@
+package com.allert.graph;
+
+/**
+ * Size and build cost of a query index.
+ * @param memoryBytes approximate heap footprint of the index
+ * @param buildNanos wall-clock time of the last full build
+ * @param entries number of top-level entries (components, labels, ...) in the index
+ */
+public record IndexStats(long memoryBytes, long buildNanos, int entries) {
+}
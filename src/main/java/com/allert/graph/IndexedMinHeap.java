@@ -0,0 +1,95 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Binary min-heap of node ids keyed by double priorities, with a position index so a queued
+ * node's priority can be lowered in place. Replaces a {@code PriorityQueue} of boxed entries
+ * and the stale duplicates it would accumulate.
+ */
+final class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final double[] priority;
+    private int size;
+
+    IndexedMinHeap(int nodeCount) {
+        heap = new int[nodeCount];
+        position = new int[nodeCount];
+        priority = new double[nodeCount];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Queues the node, or lowers its priority if it is queued with a higher one.
+     * @return false if the node was already queued with a priority at most the given one
+     */
+    boolean offer(int node, double newPriority) {
+        int index = position[node];
+        if (index < 0) {
+            index = size++;
+        } else if (priority[node] <= newPriority) {
+            return false;
+        }
+        priority[node] = newPriority;
+        siftUp(index, node);
+        return true;
+    }
+
+    /**
+     * Removes and returns the node with the lowest priority.
+     */
+    int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return top;
+    }
+
+    double priorityOf(int node) {
+        return priority[node];
+    }
+
+    private void siftUp(int index, int node) {
+        double key = priority[node];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int above = heap[parent];
+            if (priority[above] <= key) {
+                break;
+            }
+            heap[index] = above;
+            position[above] = index;
+            index = parent;
+        }
+        heap[index] = node;
+        position[node] = index;
+    }
+
+    private void siftDown(int index, int node) {
+        double key = priority[node];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && priority[heap[right]] < priority[heap[child]]) {
+                child = right;
+            }
+            if (key <= priority[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            position[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = node;
+        position[node] = index;
+    }
+}
@@ -0,0 +1,111 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Open-addressing set of primitive longs, used to reject duplicate edges without boxing.
+ */
+final class LongHashSet {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] slots = newSlots(16);
+    private int size;
+
+    LongHashSet() {
+    }
+
+    LongHashSet(LongHashSet other) {
+        slots = other.slots.clone();
+        size = other.size;
+    }
+
+    /**
+     * Grows the table so that {@code expected} keys fit without further rehashing.
+     */
+    void ensureCapacity(int expected) {
+        int capacity = slots.length;
+        while (expected * 2L > capacity) {
+            capacity *= 2;
+        }
+        if (capacity > slots.length) {
+            rehash(capacity);
+        }
+    }
+
+    boolean add(long key) {
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        int mask = slots.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (slots[slot] == EMPTY) {
+                slots[slot] = key;
+                size++;
+                return true;
+            }
+            if (slots[slot] == key) {
+                return false;
+            }
+        }
+    }
+
+    boolean contains(long key) {
+        int mask = slots.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (slots[slot] == EMPTY) {
+                return false;
+            }
+            if (slots[slot] == key) {
+                return true;
+            }
+        }
+    }
+
+    boolean remove(long key) {
+        int mask = slots.length - 1;
+        int slot = mix(key) & mask;
+        while (slots[slot] != key) {
+            if (slots[slot] == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Shift later members of the probe run back so lookups never stop at the hole.
+        for (int next = (slot + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+            int home = mix(slots[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                slots[slot] = slots[next];
+                slot = next;
+            }
+        }
+        slots[slot] = EMPTY;
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        slots = newSlots(capacity);
+        size = 0;
+        for (long key : old) {
+            if (key != EMPTY) {
+                add(key);
+            }
+        }
+    }
+
+    private static long[] newSlots(int capacity) {
+        long[] slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
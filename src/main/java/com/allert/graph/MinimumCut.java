@@ -0,0 +1,180 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Minimum edge cut between one source and a set of targets, computed with Dinic's max-flow
+ * algorithm. Every graph edge has unit capacity and each target is wired to a virtual sink
+ * with unbounded capacity, so the maximum flow equals the smallest number of edges whose
+ * removal disconnects all targets from the source.
+ */
+public final class MinimumCut {
+    private static final int UNBOUNDED = Integer.MAX_VALUE / 2;
+
+    private final int nodeCount;
+    private final int sink;
+    private final int[] start;
+    private final int[] to;
+    private final int[] capacity;
+    private final int[] twin;
+    private final boolean[] original;
+    private final int[] level;
+    private final int[] current;
+    private final int[] queue;
+    private int flow;
+
+    private MinimumCut(GraphSnapshot graph, int[] targets) {
+        Csr successors = graph.forwardCsr();
+        Csr predecessors = graph.reverseCsr();
+        this.nodeCount = graph.nodeCount();
+        this.sink = nodeCount;
+        int residualNodes = nodeCount + 1;
+
+        boolean[] isTarget = new boolean[nodeCount];
+        for (int target : targets) {
+            isTarget[target] = true;
+        }
+        // Each residual row holds a node's outgoing edges, the twins of its incoming edges
+        // and, for targets, the link to the sink.
+        start = new int[residualNodes + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            int degree = successors.end(node) - successors.start(node)
+                    + predecessors.end(node) - predecessors.start(node);
+            start[node + 1] = start[node] + degree + (isTarget[node] ? 1 : 0);
+        }
+        start[residualNodes] = start[nodeCount] + targets.length;
+        int edges = start[residualNodes];
+        to = new int[edges];
+        capacity = new int[edges];
+        twin = new int[edges];
+        original = new boolean[edges];
+
+        int[] fill = Arrays.copyOf(start, residualNodes);
+        for (int node = 0; node < nodeCount; node++) {
+            for (int edge = successors.start(node); edge < successors.end(node); edge++) {
+                int next = successors.target(edge);
+                connect(fill, node, next, 1);
+                original[fill[node] - 1] = true;
+            }
+            if (isTarget[node]) {
+                connect(fill, node, sink, UNBOUNDED);
+            }
+        }
+
+        level = new int[residualNodes];
+        current = new int[residualNodes];
+        queue = new int[residualNodes];
+    }
+
+    /**
+     * Returns a minimum set of edges separating source from every target, flattened as
+     * {@code [from0, to0, from1, to1, ...]}. Targets unreachable from source need no cut.
+     */
+    public static int[] compute(GraphSnapshot graph, int source, int[] targets) {
+        for (int target : targets) {
+            if (target == source) {
+                throw new IllegalArgumentException("Alert source cannot be one of the protected services");
+            }
+        }
+        MinimumCut cut = new MinimumCut(graph, targets);
+        cut.maxFlow(source);
+        return cut.cutEdges(source);
+    }
+
+    // Adds u -> v with the given capacity and its zero-capacity twin v -> u. Each row was
+    // sized for its outgoing and incoming edges, so one fill cursor per row serves both.
+    private void connect(int[] fill, int from, int target, int edgeCapacity) {
+        int forward = fill[from]++;
+        int backward = fill[target]++;
+        to[forward] = target;
+        capacity[forward] = edgeCapacity;
+        twin[forward] = backward;
+        to[backward] = from;
+        capacity[backward] = 0;
+        twin[backward] = forward;
+    }
+
+    private void maxFlow(int source) {
+        while (buildLevels(source)) {
+            System.arraycopy(start, 0, current, 0, current.length);
+            int pushed;
+            while ((pushed = augment(source)) > 0) {
+                flow += pushed;
+            }
+        }
+    }
+
+    private boolean buildLevels(int source) {
+        Arrays.fill(level, -1);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        level[source] = 0;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int edge = start[node]; edge < start[node + 1]; edge++) {
+                if (capacity[edge] > 0 && level[to[edge]] < 0) {
+                    level[to[edge]] = level[node] + 1;
+                    queue[tail++] = to[edge];
+                }
+            }
+        }
+        return level[sink] >= 0;
+    }
+
+    // Walks one source-sink path in the level graph using current-arc pointers, retreating
+    // from and pruning dead ends, and pushes the bottleneck along it.
+    private int augment(int source) {
+        int[] path = queue;
+        int depth = 0;
+        int node = source;
+        while (node != sink) {
+            boolean advanced = false;
+            for (; current[node] < start[node + 1]; current[node]++) {
+                int edge = current[node];
+                if (capacity[edge] > 0 && level[to[edge]] == level[node] + 1) {
+                    path[depth++] = edge;
+                    node = to[edge];
+                    advanced = true;
+                    break;
+                }
+            }
+            if (!advanced) {
+                if (depth == 0) {
+                    return 0;
+                }
+                level[node] = -1;
+                int edge = path[--depth];
+                node = to[twin[edge]];
+                current[node]++;
+            }
+        }
+        int bottleneck = UNBOUNDED;
+        for (int i = 0; i < depth; i++) {
+            bottleneck = Math.min(bottleneck, capacity[path[i]]);
+        }
+        for (int i = 0; i < depth; i++) {
+            capacity[path[i]] -= bottleneck;
+            capacity[twin[path[i]]] += bottleneck;
+        }
+        return bottleneck;
+    }
+
+    private int[] cutEdges(int source) {
+        buildLevels(source);
+        int[] cut = new int[2 * flow];
+        int size = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (level[node] < 0) {
+                continue;
+            }
+            for (int edge = start[node]; edge < start[node + 1]; edge++) {
+                if (original[edge] && level[to[edge]] < 0) {
+                    cut[size++] = node;
+                    cut[size++] = to[edge];
+                }
+            }
+        }
+        return cut;
+    }
+}
@@ -0,0 +1,140 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Reachability from many sources at once. Each source owns one bit of a per-component
+ * {@code long[]} word vector; a single sweep over the strongly connected components in
+ * topological order ORs every component's bits into its successors, so one O(V + E) pass
+ * answers up to {@link #SOURCES_PER_PASS} sources.
+ */
+public final class MultiSourceReachability {
+    static final int SOURCES_PER_PASS = 512;
+
+    private final int[][] reachable;
+    private final int[] union;
+    private final int[] intersection;
+
+    private MultiSourceReachability(int[][] reachable, int[] union, int[] intersection) {
+        this.reachable = reachable;
+        this.union = union;
+        this.intersection = intersection;
+    }
+
+    public static MultiSourceReachability compute(GraphSnapshot graph, int[] sources) {
+        Csr csr = graph.forwardCsr();
+        int nodeCount = graph.nodeCount();
+        int[] component = StronglyConnectedComponents.of(csr);
+        int componentCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            componentCount = Math.max(componentCount, component[node] + 1);
+        }
+        // Members grouped by component so the sweep can walk components in order.
+        int[] memberStart = new int[componentCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            memberStart[component[node] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            memberStart[c + 1] += memberStart[c];
+        }
+        int[] members = new int[nodeCount];
+        int[] fill = Arrays.copyOf(memberStart, componentCount);
+        for (int node = 0; node < nodeCount; node++) {
+            members[fill[component[node]]++] = node;
+        }
+
+        int[] reachableCount = new int[sources.length];
+        int[][] reachable = new int[sources.length][];
+        BitSet union = new BitSet(nodeCount);
+        BitSet intersection = new BitSet(nodeCount);
+        if (sources.length > 0) {
+            intersection.set(0, nodeCount);
+        }
+
+        for (int first = 0; first < sources.length; first += SOURCES_PER_PASS) {
+            int batch = Math.min(SOURCES_PER_PASS, sources.length - first);
+            int width = (batch + 63) >>> 6;
+            long[] words = new long[componentCount * width];
+            for (int i = 0; i < batch; i++) {
+                words[component[sources[first + i]] * width + (i >>> 6)] |= 1L << i;
+            }
+            for (int c = componentCount - 1; c >= 0; c--) {
+                int from = c * width;
+                for (int m = memberStart[c]; m < memberStart[c + 1]; m++) {
+                    int node = members[m];
+                    for (int edge = csr.start(node); edge < csr.end(node); edge++) {
+                        int to = component[csr.target(edge)] * width;
+                        if (to != from) {
+                            for (int w = 0; w < width; w++) {
+                                words[to + w] |= words[from + w];
+                            }
+                        }
+                    }
+                }
+            }
+            collect(words, width, batch, first, component, nodeCount, reachable, reachableCount, union, intersection);
+        }
+
+        for (int i = 0; i < sources.length; i++) {
+            reachable[i] = Arrays.copyOf(reachable[i], reachableCount[i]);
+        }
+        return new MultiSourceReachability(reachable, union.stream().toArray(), intersection.stream().toArray());
+    }
+
+    /**
+     * Returns the nodes reachable from the i-th source, source included, in ascending order.
+     */
+    public int[] reachable(int sourceIndex) {
+        return reachable[sourceIndex];
+    }
+
+    /**
+     * Returns the nodes reachable from at least one source.
+     */
+    public int[] union() {
+        return union;
+    }
+
+    /**
+     * Returns the nodes reachable from every source.
+     */
+    public int[] intersection() {
+        return intersection;
+    }
+
+    private static void collect(long[] words, int width, int batch, int first, int[] component, int nodeCount,
+                                int[][] reachable, int[] reachableCount, BitSet union, BitSet intersection) {
+        for (int i = 0; i < batch; i++) {
+            if (reachable[first + i] == null) {
+                reachable[first + i] = new int[16];
+            }
+        }
+        long lastWordMask = (batch & 63) == 0 ? -1L : (1L << (batch & 63)) - 1;
+        for (int node = 0; node < nodeCount; node++) {
+            int offset = component[node] * width;
+            boolean any = false;
+            boolean all = true;
+            for (int w = 0; w < width; w++) {
+                long bits = words[offset + w];
+                long full = w == width - 1 ? lastWordMask : -1L;
+                any |= bits != 0;
+                all &= (bits & full) == full;
+                for (; bits != 0; bits &= bits - 1) {
+                    int source = first + (w << 6) + Long.numberOfTrailingZeros(bits);
+                    int[] list = reachable[source];
+                    if (reachableCount[source] == list.length) {
+                        list = Arrays.copyOf(list, list.length * 2);
+                        reachable[source] = list;
+                    }
+                    list[reachableCount[source]++] = node;
+                }
+            }
+            if (any) {
+                union.set(node);
+            }
+            if (!all) {
+                intersection.clear(node);
+            }
+        }
+    }
+}
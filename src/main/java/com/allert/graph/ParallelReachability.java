@@ -0,0 +1,242 @@
+package com.allert.graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Level-synchronous, direction-optimizing breadth-first search on a fork-join pool.
+ * <p>
+ * Small frontiers are expanded top-down: frontier chunks scan their successors in parallel
+ * and claim new nodes with a CAS on an atomic visited bitset. Once the frontier's edges
+ * outnumber a fraction of the unexplored edges, levels are expanded bottom-up instead:
+ * every unvisited node looks for any predecessor in the frontier bitmap and stops at the
+ * first hit, with each task owning a disjoint range of bitset words. The switch thresholds
+ * follow Beamer et al. (alpha = 14, beta = 24): switch to bottom-up while the frontier is
+ * growing, back to top-down once it shrinks below a fraction of the graph.
+ * <p>
+ * Results are grouped by distance from the source, ascending by id within each level, so
+ * they do not depend on the number of threads.
+ */
+public final class ParallelReachability {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int TOP_DOWN_CHUNK = 1 << 11;
+    private static final int BOTTOM_UP_WORDS = 1 << 8;
+
+    private final Csr successors;
+    private final Csr predecessors;
+    private final int nodeCount;
+    private final AtomicLongArray visited;
+    private final int[] order;
+    private int size;
+    private int bottomUpSteps;
+
+    private ParallelReachability(Csr successors, Csr predecessors) {
+        this.successors = successors;
+        this.predecessors = predecessors;
+        this.nodeCount = successors.nodeCount();
+        this.visited = new AtomicLongArray((nodeCount + 63) >>> 6);
+        this.order = new int[nodeCount];
+    }
+
+    /**
+     * Returns every node reachable from source, source included, level by level.
+     */
+    public static int[] reachable(GraphSnapshot graph, int source, ForkJoinPool pool) {
+        return search(graph.forwardCsr(), graph.reverseCsr(), source, pool).result();
+    }
+
+    /**
+     * Returns every node that can reach target, target included, level by level over the
+     * reversed edges.
+     */
+    public static int[] reachableUpstream(GraphSnapshot graph, int target, ForkJoinPool pool) {
+        return search(graph.reverseCsr(), graph.forwardCsr(), target, pool).result();
+    }
+
+    static ParallelReachability search(Csr successors, Csr predecessors, int source, ForkJoinPool pool) {
+        ParallelReachability search = new ParallelReachability(successors, predecessors);
+        search.run(source, pool);
+        return search;
+    }
+
+    int[] result() {
+        return Arrays.copyOf(order, size);
+    }
+
+    int bottomUpSteps() {
+        return bottomUpSteps;
+    }
+
+    private void run(int source, ForkJoinPool pool) {
+        claim(source);
+        order[size++] = source;
+        int levelStart = 0;
+        long frontierEdges = degree(source);
+        long unexploredEdges = successors.edgeCount();
+        int previousSize = 0;
+        boolean bottomUp = false;
+
+        while (levelStart < size) {
+            int frontierSize = size - levelStart;
+            boolean growing = frontierSize > previousSize;
+            if (!bottomUp && growing && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && !growing && frontierSize < nodeCount / BETA) {
+                bottomUp = false;
+            }
+            previousSize = frontierSize;
+            unexploredEdges -= frontierEdges;
+            int levelEnd = size;
+            frontierEdges = bottomUp
+                    ? bottomUpStep(levelStart, levelEnd, pool)
+                    : topDownStep(levelStart, levelEnd, pool);
+            levelStart = levelEnd;
+        }
+    }
+
+    private long topDownStep(int from, int to, ForkJoinPool pool) {
+        int chunks = (to - from + TOP_DOWN_CHUNK - 1) / TOP_DOWN_CHUNK;
+        int[][] found = new int[chunks][];
+        int[] foundCount = new int[chunks];
+        long[] foundEdges = new long[chunks];
+        ChunkAction expand = chunk -> {
+            int start = from + chunk * TOP_DOWN_CHUNK;
+            int end = Math.min(to, start + TOP_DOWN_CHUNK);
+            int[] next = new int[64];
+            int count = 0;
+            long edges = 0;
+            for (int i = start; i < end; i++) {
+                int node = order[i];
+                for (int edge = successors.start(node), last = successors.end(node); edge < last; edge++) {
+                    int target = successors.target(edge);
+                    if (claim(target)) {
+                        if (count == next.length) {
+                            next = Arrays.copyOf(next, count * 2);
+                        }
+                        next[count++] = target;
+                        edges += degree(target);
+                    }
+                }
+            }
+            found[chunk] = next;
+            foundCount[chunk] = count;
+            foundEdges[chunk] = edges;
+        };
+        forEachChunk(expand, chunks, pool);
+
+        int levelStart = size;
+        long edges = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            System.arraycopy(found[chunk], 0, order, size, foundCount[chunk]);
+            size += foundCount[chunk];
+            edges += foundEdges[chunk];
+        }
+        Arrays.sort(order, levelStart, size);
+        return edges;
+    }
+
+    private long bottomUpStep(int from, int to, ForkJoinPool pool) {
+        bottomUpSteps++;
+        int words = visited.length();
+        long[] frontier = new long[words];
+        for (int i = from; i < to; i++) {
+            frontier[order[i] >>> 6] |= 1L << order[i];
+        }
+        long[] next = new long[words];
+        int chunks = (words + BOTTOM_UP_WORDS - 1) / BOTTOM_UP_WORDS;
+        long[] foundEdges = new long[chunks];
+        ChunkAction expand = chunk -> {
+            int start = chunk * BOTTOM_UP_WORDS;
+            int end = Math.min(words, start + BOTTOM_UP_WORDS);
+            long edges = 0;
+            for (int word = start; word < end; word++) {
+                long seen = visited.get(word);
+                long unvisited = ~seen & validBits(word);
+                long found = 0;
+                for (; unvisited != 0; unvisited &= unvisited - 1) {
+                    int node = (word << 6) + Long.numberOfTrailingZeros(unvisited);
+                    for (int edge = predecessors.start(node), last = predecessors.end(node); edge < last; edge++) {
+                        int parent = predecessors.target(edge);
+                        if ((frontier[parent >>> 6] & (1L << parent)) != 0) {
+                            found |= 1L << node;
+                            edges += degree(node);
+                            break;
+                        }
+                    }
+                }
+                if (found != 0) {
+                    next[word] = found;
+                    visited.set(word, seen | found);
+                }
+            }
+            foundEdges[chunk] = edges;
+        };
+        forEachChunk(expand, chunks, pool);
+
+        for (int word = 0; word < words; word++) {
+            for (long bits = next[word]; bits != 0; bits &= bits - 1) {
+                order[size++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return Arrays.stream(foundEdges).sum();
+    }
+
+    private boolean claim(int node) {
+        int word = node >>> 6;
+        long bit = 1L << node;
+        long current = visited.get(word);
+        while ((current & bit) == 0) {
+            if (visited.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+            current = visited.get(word);
+        }
+        return false;
+    }
+
+    private long validBits(int word) {
+        int remaining = nodeCount - (word << 6);
+        return remaining >= 64 ? -1L : (1L << remaining) - 1;
+    }
+
+    private int degree(int node) {
+        return successors.end(node) - successors.start(node);
+    }
+
+    // Runs a single chunk inline and otherwise splits the chunk range recursively on the pool.
+    private static void forEachChunk(ChunkAction action, int chunks, ForkJoinPool pool) {
+        if (chunks == 1) {
+            action.run(0);
+        } else if (chunks > 1) {
+            pool.invoke(new ChunkRange(action, 0, chunks));
+        }
+    }
+
+    private interface ChunkAction {
+        void run(int chunk);
+    }
+
+    private static final class ChunkRange extends RecursiveAction {
+        private final ChunkAction action;
+        private final int from;
+        private final int to;
+
+        ChunkRange(ChunkAction action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.run(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkRange(action, from, middle), new ChunkRange(action, middle, to));
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.allert.graph;
+
+import java.nio.*;
+import java.util.*;
+
+/**
+ * Transitive-closure index over the strongly connected components of a graph. Every
+ * component stores the set of components it can reach as a {@link CompressedBitSet}, so
+ * reachability is a bitset lookup and the reachable set of a node is the members of the
+ * components in its closure.
+ * <p>
+ * The index is kept current by {@link #addNode(int)} and {@link #addEdge(int, int)}: an edge
+ * that adds new reachability unions the target's closure into every component that reaches
+ * the source, and an edge that closes a cycle additionally merges the components on it.
+ * Not thread-safe.
+ */
+public class ReachabilityIndex {
+    private static final int[] NO_MEMBERS = new int[0];
+
+    private int[] componentOf;
+    private int[][] members;
+    private int[] memberCount;
+    private CompressedBitSet[] closure;
+    private int nodeCount;
+    private int componentCount;
+    private int liveComponents;
+    private long buildNanos;
+
+    private ReachabilityIndex() {
+    }
+
+    public static ReachabilityIndex build(GraphSnapshot graph) {
+        long start = System.nanoTime();
+        ReachabilityIndex index = new ReachabilityIndex();
+        Csr csr = graph.forwardCsr();
+        index.nodeCount = graph.nodeCount();
+        index.componentOf = StronglyConnectedComponents.of(csr);
+        index.componentCount = 0;
+        for (int node = 0; node < index.nodeCount; node++) {
+            index.componentCount = Math.max(index.componentCount, index.componentOf[node] + 1);
+        }
+        index.liveComponents = index.componentCount;
+        index.collectMembers();
+        index.computeClosures(csr);
+        index.buildNanos = System.nanoTime() - start;
+        return index;
+    }
+
+    /**
+     * Registers a new node, which must be the next id after the last known node.
+     */
+    public void addNode(int node) {
+        if (node != nodeCount) {
+            throw new IllegalArgumentException("Expected node " + nodeCount + " but got " + node);
+        }
+        if (nodeCount == componentOf.length) {
+            componentOf = Arrays.copyOf(componentOf, Math.max(16, nodeCount * 2));
+        }
+        if (componentCount == members.length) {
+            int capacity = Math.max(16, componentCount * 2);
+            members = Arrays.copyOf(members, capacity);
+            memberCount = Arrays.copyOf(memberCount, capacity);
+            closure = Arrays.copyOf(closure, capacity);
+        }
+        componentOf[node] = componentCount;
+        members[componentCount] = new int[]{node};
+        memberCount[componentCount] = 1;
+        closure[componentCount] = CompressedBitSet.singleton(componentCount);
+        componentCount++;
+        liveComponents++;
+        nodeCount++;
+    }
+
+    public void addEdge(int from, int to) {
+        int source = componentOf[from];
+        int target = componentOf[to];
+        if (closure[source].contains(target)) {
+            return;
+        }
+        CompressedBitSet added = closure[target];
+        for (int component = 0; component < componentCount; component++) {
+            if (memberCount[component] > 0 && closure[component].contains(source)) {
+                closure[component] = closure[component].union(added);
+            }
+        }
+        if (added.contains(source)) {
+            for (int component = 0; component < componentCount; component++) {
+                if (component != source && memberCount[component] > 0
+                        && added.contains(component) && closure[component].contains(source)) {
+                    merge(component, source);
+                }
+            }
+        }
+    }
+
+    public boolean reaches(int from, int to) {
+        return closure[componentOf[from]].contains(componentOf[to]);
+    }
+
+    /**
+     * Returns every node reachable from source, source included, grouped by component.
+     */
+    public int[] reachable(int source) {
+        int[] components = closure[componentOf[source]].toArray();
+        int size = 0;
+        for (int component : components) {
+            size += memberCount[component];
+        }
+        int[] reachable = new int[size];
+        int i = 0;
+        for (int component : components) {
+            System.arraycopy(members[component], 0, reachable, i, memberCount[component]);
+            i += memberCount[component];
+        }
+        return reachable;
+    }
+
+    public int componentOf(int node) {
+        return componentOf[node];
+    }
+
+    public IndexStats stats() {
+        long bytes = 16L + 4L * componentOf.length + 16L + 4L * memberCount.length
+                + 16L + 8L * members.length + 16L + 8L * closure.length;
+        for (int component = 0; component < componentCount; component++) {
+            if (memberCount[component] > 0) {
+                bytes += 16L + 4L * members[component].length + closure[component].memoryBytes();
+            }
+        }
+        return new IndexStats(bytes, buildNanos, liveComponents);
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} produces.
+     */
+    public long serializedBytes() {
+        long bytes = 4L + 4L * nodeCount;
+        for (int component = 0; component < componentCount; component++) {
+            bytes += 4L + 4L * memberCount[component];
+            if (memberCount[component] > 0) {
+                bytes += closure[component].serializedBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the component of every node followed by the members and closure of every
+     * component; components merged away by a cycle are written without members or closure.
+     */
+    public void writeTo(ByteBuffer out) {
+        out.putInt(componentCount);
+        out.asIntBuffer().put(componentOf, 0, nodeCount);
+        out.position(out.position() + 4 * nodeCount);
+        for (int component = 0; component < componentCount; component++) {
+            out.putInt(memberCount[component]);
+            if (memberCount[component] > 0) {
+                out.asIntBuffer().put(members[component], 0, memberCount[component]);
+                out.position(out.position() + 4 * memberCount[component]);
+                closure[component].writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(ByteBuffer)} for a graph of
+     * {@code nodeCount} nodes.
+     */
+    public static ReachabilityIndex readFrom(ByteBuffer in, int nodeCount) {
+        long start = System.nanoTime();
+        ReachabilityIndex index = new ReachabilityIndex();
+        index.nodeCount = nodeCount;
+        index.componentCount = in.getInt();
+        index.componentOf = new int[Math.max(16, nodeCount)];
+        in.asIntBuffer().get(index.componentOf, 0, nodeCount);
+        in.position(in.position() + 4 * nodeCount);
+
+        int capacity = Math.max(16, index.componentCount);
+        index.members = new int[capacity][];
+        index.memberCount = new int[capacity];
+        index.closure = new CompressedBitSet[capacity];
+        for (int component = 0; component < index.componentCount; component++) {
+            int count = in.getInt();
+            index.memberCount[component] = count;
+            index.members[component] = NO_MEMBERS;
+            if (count > 0) {
+                index.members[component] = new int[count];
+                in.asIntBuffer().get(index.members[component]);
+                in.position(in.position() + 4 * count);
+                index.closure[component] = CompressedBitSet.readFrom(in);
+                index.liveComponents++;
+            }
+        }
+        index.buildNanos = System.nanoTime() - start;
+        return index;
+    }
+
+    private void collectMembers() {
+        memberCount = new int[Math.max(16, componentCount)];
+        for (int node = 0; node < nodeCount; node++) {
+            memberCount[componentOf[node]]++;
+        }
+        members = new int[memberCount.length][];
+        for (int component = 0; component < memberCount.length; component++) {
+            members[component] = memberCount[component] == 0 ? NO_MEMBERS : new int[memberCount[component]];
+        }
+        int[] filled = new int[componentCount];
+        for (int node = 0; node < nodeCount; node++) {
+            int component = componentOf[node];
+            members[component][filled[component]++] = node;
+        }
+        componentOf = Arrays.copyOf(componentOf, Math.max(16, nodeCount));
+    }
+
+    // Components are numbered in reverse topological order, so every component a component
+    // points to already has its closure computed.
+    private void computeClosures(Csr csr) {
+        closure = new CompressedBitSet[memberCount.length];
+        BitSet scratch = new BitSet();
+        for (int component = 0; component < componentCount; component++) {
+            scratch.clear();
+            scratch.set(component);
+            for (int member : members[component]) {
+                for (int edge = csr.start(member), end = csr.end(member); edge < end; edge++) {
+                    int next = componentOf[csr.target(edge)];
+                    if (!scratch.get(next)) {
+                        closure[next].addTo(scratch);
+                    }
+                }
+            }
+            closure[component] = CompressedBitSet.of(scratch);
+        }
+    }
+
+    private void merge(int component, int into) {
+        int size = memberCount[into] + memberCount[component];
+        if (size > members[into].length) {
+            members[into] = Arrays.copyOf(members[into], Math.max(size, members[into].length * 2));
+        }
+        for (int i = 0; i < memberCount[component]; i++) {
+            int node = members[component][i];
+            componentOf[node] = into;
+            members[into][memberCount[into]++] = node;
+        }
+        members[component] = NO_MEMBERS;
+        memberCount[component] = 0;
+        closure[component] = null;
+        liveComponents--;
+    }
+}
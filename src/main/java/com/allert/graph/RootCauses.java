@@ -0,0 +1,125 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Attributes a set of alerting nodes to likely root causes in two multi-source
+ * breadth-first passes, independent of how many nodes are alerting.
+ * <p>
+ * The first pass starts from the successors of every alerting node; an alerting node it
+ * reaches is explained by another alerting node. Unexplained nodes are root causes. The
+ * second pass grows all roots at once and labels each node with the root that reaches it
+ * first, so explained nodes go to their nearest root. Alerting nodes that are left
+ * unlabelled only have alerting ancestors on a cycle. For those the strongly connected
+ * components are computed and the unlabelled nodes are visited in topological order of
+ * the condensation, so a cycle that feeds other unlabelled nodes is seeded before them;
+ * the first unlabelled node of each such cycle in input order becomes its root and the pass
+ * resumes from it.
+ */
+public final class RootCauses {
+
+    private RootCauses() {
+    }
+
+    /**
+     * @param alerting distinct alerting nodes; earlier nodes win ties
+     * @return for each alerting node, the index in {@code alerting} of its root cause
+     */
+    public static int[] assign(GraphSnapshot graph, int[] alerting) {
+        int nodeCount = graph.nodeCount();
+        EdgeCursor edges = graph.cursor();
+        int[] queue = new int[nodeCount];
+
+        BitSet explained = new BitSet(nodeCount);
+        int tail = 0;
+        for (int node : alerting) {
+            for (edges.of(node); edges.hasNext(); ) {
+                int next = edges.next();
+                if (!explained.get(next)) {
+                    explained.set(next);
+                    queue[tail++] = next;
+                }
+            }
+        }
+        expand(edges, queue, 0, tail, explained);
+
+        int[] label = new int[nodeCount];
+        Arrays.fill(label, -1);
+        tail = 0;
+        for (int i = 0; i < alerting.length; i++) {
+            if (!explained.get(alerting[i])) {
+                label[alerting[i]] = i;
+                queue[tail++] = alerting[i];
+            }
+        }
+        int head = label(edges, queue, 0, tail, label);
+        tail = head;
+        long[] pending = unlabelled(graph, alerting, label);
+        for (long entry : pending) {
+            int i = (int) entry;
+            if (label[alerting[i]] < 0) {
+                label[alerting[i]] = i;
+                queue[tail++] = alerting[i];
+                head = label(edges, queue, head, tail, label);
+                tail = head;
+            }
+        }
+
+        int[] rootOf = new int[alerting.length];
+        for (int i = 0; i < alerting.length; i++) {
+            rootOf[i] = label[alerting[i]];
+        }
+        return rootOf;
+    }
+
+    // Unlabelled alerting indices, upstream components first and input order within one.
+    private static long[] unlabelled(GraphSnapshot graph, int[] alerting, int[] label) {
+        int count = 0;
+        for (int node : alerting) {
+            if (label[node] < 0) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return new long[0];
+        }
+        // Component ids are reverse topological, so a higher id is never reached by a lower one.
+        int[] component = StronglyConnectedComponents.of(graph.forwardCsr());
+        long[] pending = new long[count];
+        count = 0;
+        for (int i = 0; i < alerting.length; i++) {
+            if (label[alerting[i]] < 0) {
+                pending[count++] = (long) (Integer.MAX_VALUE - component[alerting[i]]) << 32 | i;
+            }
+        }
+        Arrays.sort(pending);
+        return pending;
+    }
+
+    private static void expand(EdgeCursor edges, int[] queue, int head, int tail, BitSet visited) {
+        while (head < tail) {
+            for (edges.of(queue[head++]); edges.hasNext(); ) {
+                int next = edges.next();
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    // Propagates labels breadth-first to unlabelled nodes and returns the new queue tail.
+    private static int label(EdgeCursor edges, int[] queue, int head, int tail, int[] label) {
+        while (head < tail) {
+            int current = queue[head++];
+            for (edges.of(current); edges.hasNext(); ) {
+                int next = edges.next();
+                if (label[next] < 0) {
+                    label[next] = label[current];
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,101 @@
+package com.allert.graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Interns service names to dense int ids, assigned in registration order. Removing a
+ * service retires its id for good: the name stays resolvable by id, so older graph
+ * snapshots keep translating, and registering the name again assigns a fresh id.
+ * <p>
+ * Registration must come from one thread at a time; lookups are safe from any thread.
+ */
+public class ServiceRegistry {
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[16];
+    private volatile int size;
+    private volatile int removed;
+
+    /**
+     * Returns the id of the given service, registering it first if it is unknown.
+     */
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        String[] table = names;
+        if (size == table.length) {
+            table = Arrays.copyOf(table, size * 2);
+        }
+        table[size] = name;
+        names = table;
+        ids.put(name, size);
+        return size++;
+    }
+
+    /**
+     * Returns the id of the given service, or -1 if it is not registered.
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Retires the id of the given service.
+     * @return the retired id, or -1 if the service is not registered
+     */
+    public int remove(String name) {
+        Integer id = ids.remove(name);
+        if (id == null) {
+            return -1;
+        }
+        removed++;
+        return id;
+    }
+
+    /**
+     * Allocates an id that is retired straight away, keeping the ids of a restored
+     * registry aligned with the graph it was saved with.
+     */
+    public int reserve() {
+        String[] table = names;
+        if (size == table.length) {
+            table = Arrays.copyOf(table, size * 2);
+            names = table;
+        }
+        removed++;
+        return size++;
+    }
+
+    /**
+     * Returns whether the id belongs to a registered service rather than a retired one.
+     */
+    public boolean isLive(int id) {
+        String name = names[id];
+        return name != null && ids.getOrDefault(name, -1) == id;
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public boolean contains(String name) {
+        return ids.containsKey(name);
+    }
+
+    /**
+     * Returns the number of ids handed out, retired ones included.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of registered services.
+     */
+    public int liveCount() {
+        return size - removed;
+    }
+}
@@ -0,0 +1,14 @@
+package com.allert.graph;
+
+/**
+ * Callback receiving the services a query visits, in the order the query defines.
+ */
+@FunctionalInterface
+public interface ServiceVisitor {
+    /**
+     * @param service name of the visited service
+     * @param hops number of dependencies between the query's start and this service
+     * @return true to continue, false to end the query early
+     */
+    boolean visit(String service, int hops);
+}
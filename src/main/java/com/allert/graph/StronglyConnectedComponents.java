@@ -0,0 +1,77 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Iterative Tarjan strongly connected components over a {@link Csr}.
+ */
+public final class StronglyConnectedComponents {
+    private StronglyConnectedComponents() {
+    }
+
+    /**
+     * Returns the component id of every node. Ids are dense and assigned in reverse
+     * topological order of the condensation: every edge between two different components
+     * points from a higher id to a lower one.
+     */
+    public static int[] of(Csr csr) {
+        int nodeCount = csr.nodeCount();
+        int[] component = new int[nodeCount];
+        int[] index = new int[nodeCount];
+        int[] low = new int[nodeCount];
+        Arrays.fill(index, -1);
+        BitSet onStack = new BitSet(nodeCount);
+        int[] stack = new int[nodeCount];
+        int[] callNode = new int[nodeCount];
+        int[] callEdge = new int[nodeCount];
+        int stackSize = 0;
+        int counter = 0;
+        int components = 0;
+
+        for (int root = 0; root < nodeCount; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack.set(root);
+            callNode[depth] = root;
+            callEdge[depth++] = csr.start(root);
+
+            while (depth > 0) {
+                int node = callNode[depth - 1];
+                int edge = callEdge[depth - 1];
+                if (edge < csr.end(node)) {
+                    callEdge[depth - 1]++;
+                    int next = csr.target(edge);
+                    if (index[next] < 0) {
+                        index[next] = low[next] = counter++;
+                        stack[stackSize++] = next;
+                        onStack.set(next);
+                        callNode[depth] = next;
+                        callEdge[depth++] = csr.start(next);
+                    } else if (onStack.get(next)) {
+                        low[node] = Math.min(low[node], index[next]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (low[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack.clear(member);
+                        component[member] = components;
+                    } while (member != node);
+                    components++;
+                }
+                if (depth > 0) {
+                    int parent = callNode[depth - 1];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+            }
+        }
+        return component;
+    }
+}
@@ -0,0 +1,136 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Reusable scratch state for allocation-free queries that report services to a
+ * {@link ServiceVisitor} instead of building a result list. Visited marks are cleared by
+ * bumping an epoch rather than by wiping an array, and the queue, parent links and edge
+ * cursors are kept between queries, so once the buffers have grown to the graph size a
+ * query allocates nothing.
+ * <p>
+ * A context may be reused across networks and snapshots but must not be shared between
+ * threads.
+ */
+public final class TraversalContext {
+    private int[] marks = new int[16];
+    private int[] queue = new int[16];
+    private int[] previous = new int[16];
+    private int epoch;
+    private GraphSnapshot cursorGraph;
+    private EdgeCursor forward;
+    private EdgeCursor reverse;
+
+    /**
+     * Visits every service reachable from source in breadth-first order, source first with
+     * zero hops.
+     * @return number of services visited
+     */
+    public int visitReachable(GraphSnapshot graph, ServiceRegistry names, int source, ServiceVisitor visitor) {
+        return visitReachable(graph, names, source, false, visitor);
+    }
+
+    /**
+     * Visits every service that can reach target, nearest first, target first with zero hops.
+     * @return number of services visited
+     */
+    public int visitReachableUpstream(GraphSnapshot graph, ServiceRegistry names, int target,
+                                      ServiceVisitor visitor) {
+        return visitReachable(graph, names, target, true, visitor);
+    }
+
+    /**
+     * Visits the services along a shortest path from source to target, in path order.
+     * @return number of services on the path, or 0 if target is unreachable
+     */
+    public int visitShortestPath(GraphSnapshot graph, ServiceRegistry names, int source, int target,
+                                 ServiceVisitor visitor) {
+        begin(graph);
+        EdgeCursor edges = forward;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        marks[source] = epoch;
+        previous[source] = -1;
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == target) {
+                return visitPath(names, target, visitor);
+            }
+            for (edges.of(current); edges.hasNext(); ) {
+                int next = edges.next();
+                if (marks[next] != epoch) {
+                    marks[next] = epoch;
+                    previous[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private int visitReachable(GraphSnapshot graph, ServiceRegistry names, int source, boolean upstream,
+                               ServiceVisitor visitor) {
+        begin(graph);
+        EdgeCursor edges = upstream ? reverse : forward;
+        int head = 0;
+        int tail = 0;
+        int levelEnd = 1;
+        int hops = 0;
+        queue[tail++] = source;
+        marks[source] = epoch;
+        while (head < tail) {
+            if (head == levelEnd) {
+                hops++;
+                levelEnd = tail;
+            }
+            int current = queue[head++];
+            if (!visitor.visit(names.nameOf(current), hops)) {
+                return head;
+            }
+            for (edges.of(current); edges.hasNext(); ) {
+                int next = edges.next();
+                if (marks[next] != epoch) {
+                    marks[next] = epoch;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return head;
+    }
+
+    // Unwinds the parent links into the queue, which the search no longer needs, then
+    // replays them from the source.
+    private int visitPath(ServiceRegistry names, int target, ServiceVisitor visitor) {
+        int length = 0;
+        for (int current = target; current >= 0; current = previous[current]) {
+            queue[length++] = current;
+        }
+        for (int hops = 0; hops < length; hops++) {
+            if (!visitor.visit(names.nameOf(queue[length - 1 - hops]), hops)) {
+                break;
+            }
+        }
+        return length;
+    }
+
+    private void begin(GraphSnapshot graph) {
+        int nodeCount = graph.nodeCount();
+        if (marks.length < nodeCount) {
+            int capacity = Math.max(nodeCount, marks.length * 2);
+            marks = new int[capacity];
+            queue = new int[capacity];
+            previous = new int[capacity];
+            epoch = 0;
+        }
+        if (++epoch == 0) {
+            Arrays.fill(marks, 0);
+            epoch = 1;
+        }
+        if (graph != cursorGraph) {
+            cursorGraph = graph;
+            forward = graph.cursor();
+            reverse = graph.reverseCursor();
+        }
+    }
+}
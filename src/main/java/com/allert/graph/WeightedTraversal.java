@@ -0,0 +1,94 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Dijkstra searches over {@link EdgeWeights}: earliest impact time by summed latency, and
+ * most probable path by maximal product of probabilities, i.e. minimal sum of
+ * {@code -ln(probability)}.
+ */
+public final class WeightedTraversal {
+    private static final int[] NO_PATH = new int[0];
+
+    /**
+     * Nodes reached from a source, ordered by the time the alert reaches them.
+     * @param nodes reached nodes, source first
+     * @param times arrival time of each node, aligned with {@code nodes}
+     */
+    public record Arrivals(int[] nodes, double[] times) {
+    }
+
+    private WeightedTraversal() {
+    }
+
+    public static Arrivals earliestImpact(GraphSnapshot graph, EdgeWeights weights, int source) {
+        IndexedMinHeap heap = new IndexedMinHeap(graph.nodeCount());
+        BitSet settled = new BitSet(graph.nodeCount());
+        EdgeCursor edges = graph.cursor();
+        int[] nodes = new int[16];
+        double[] times = new double[16];
+        int count = 0;
+
+        heap.offer(source, 0);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            double time = heap.priorityOf(current);
+            settled.set(current);
+            if (count == nodes.length) {
+                nodes = Arrays.copyOf(nodes, count * 2);
+                times = Arrays.copyOf(times, count * 2);
+            }
+            nodes[count] = current;
+            times[count++] = time;
+            for (edges.of(current); edges.hasNext(); ) {
+                int next = edges.next();
+                if (!settled.get(next)) {
+                    heap.offer(next, time + EdgeWeights.latency(weights.get(current, next)));
+                }
+            }
+        }
+        return new Arrivals(Arrays.copyOf(nodes, count), Arrays.copyOf(times, count));
+    }
+
+    /**
+     * Returns the node ids along the path from source to target with the highest product
+     * of edge probabilities, or an empty array if target is unreachable.
+     */
+    public static int[] mostProbablePath(GraphSnapshot graph, EdgeWeights weights, int source, int target) {
+        IndexedMinHeap heap = new IndexedMinHeap(graph.nodeCount());
+        BitSet settled = new BitSet(graph.nodeCount());
+        int[] previous = new int[graph.nodeCount()];
+        EdgeCursor edges = graph.cursor();
+
+        previous[source] = -1;
+        heap.offer(source, 0);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            if (current == target) {
+                return path(previous, target);
+            }
+            double cost = heap.priorityOf(current);
+            settled.set(current);
+            for (edges.of(current); edges.hasNext(); ) {
+                int next = edges.next();
+                if (!settled.get(next)
+                        && heap.offer(next, cost - Math.log(EdgeWeights.probability(weights.get(current, next))))) {
+                    previous[next] = current;
+                }
+            }
+        }
+        return NO_PATH;
+    }
+
+    private static int[] path(int[] previous, int target) {
+        int length = 0;
+        for (int node = target; node >= 0; node = previous[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = target; node >= 0; node = previous[node]) {
+            path[--length] = node;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,107 @@
+package com.allert.io;
+
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * Interns service names straight from byte ranges of a buffer. Bytes are only copied, and
+ * a {@link String} only created, the first time a name is seen.
+ */
+final class ByteNameTable {
+    private byte[] arena = new byte[1 << 12];
+    private int arenaSize;
+    private int[] offsets = new int[64];
+    private int[] lengths = new int[64];
+    private int[] hashes = new int[64];
+    // Each slot packs the name's hash above its id + 1 so most probes never leave the table.
+    private long[] slots = new long[128];
+    private int size;
+
+    /**
+     * Returns the id of the name held in {@code buffer[start, end)}, adding it if unseen.
+     * @param hash {@link #hash(int, byte)} folded over the name's bytes, starting from 1
+     */
+    int intern(ByteBuffer buffer, int start, int end, int hash) {
+        int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            long entry = slots[slot];
+            if (entry == 0) {
+                return add(buffer, start, end, hash, slot);
+            }
+            int id = (int) entry - 1;
+            if ((int) (entry >>> 32) == hash && matches(id, buffer, start, end)) {
+                return id;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    String name(int id) {
+        return new String(arena, offsets[id], lengths[id], StandardCharsets.UTF_8);
+    }
+
+    private boolean matches(int id, ByteBuffer buffer, int start, int end) {
+        if (lengths[id] != end - start) {
+            return false;
+        }
+        int offset = offsets[id];
+        for (int i = start; i < end; i++) {
+            if (arena[offset++] != buffer.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int add(ByteBuffer buffer, int start, int end, int hash, int slot) {
+        int length = end - start;
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+        }
+        buffer.get(start, arena, arenaSize, length);
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        offsets[size] = arenaSize;
+        lengths[size] = length;
+        hashes[size] = hash;
+        arenaSize += length;
+        slots[slot] = entry(hash, size);
+        int id = size++;
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private void rehash() {
+        slots = new long[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry(hashes[id], id);
+        }
+    }
+
+    private static long entry(int hash, int id) {
+        return ((long) hash << 32) | (id + 1);
+    }
+
+    static int hash(int hash, byte b) {
+        return 31 * hash + b;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
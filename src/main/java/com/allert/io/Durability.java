@@ -0,0 +1,23 @@
+package com.allert.io;
+
+/**
+ * How far a journaled mutation has to reach before the call that made it returns.
+ */
+public enum Durability {
+    /**
+     * Written to the operating system but never forced. Survives a crash of the process,
+     * not of the machine.
+     */
+    UNSYNCED,
+    /**
+     * Forced to disk before the call returns. A writer that commits while another force is
+     * in flight waits for it and then forces everything appended in the meantime at once, so
+     * concurrent writers share the cost of one force.
+     */
+    GROUP_COMMIT,
+    /**
+     * Written and forced on its own as it is logged, one force per mutation. The baseline
+     * group commit is measured against.
+     */
+    SYNC_EACH
+}
@@ -0,0 +1,211 @@
+package com.allert.io;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Parses edge-list and simple CSV topology files through memory-mapped chunks.
+ * <p>
+ * Each line holds either {@code from to} (a dependency) or a single service name, with the
+ * tokens separated by commas, spaces or tabs. Blank lines and lines starting with
+ * {@code #} are skipped. The file is split at line boundaries into chunks that are parsed
+ * independently, optionally in parallel, and names are interned from the mapped bytes so a
+ * {@link String} is only created once per distinct name in a chunk.
+ */
+public final class EdgeListParser {
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private EdgeListParser() {
+    }
+
+    public static ParsedTopology parse(Path file, int parallelism) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, Math.max(1, parallelism));
+            List<Chunk> chunks = new ArrayList<>();
+            if (parallelism <= 1 || bounds.length <= 2) {
+                for (int i = 0; i + 1 < bounds.length; i++) {
+                    chunks.add(parseChunk(file, channel, bounds[i], bounds[i + 1]));
+                }
+            } else {
+                chunks.addAll(parseInParallel(file, channel, bounds, parallelism));
+            }
+            return merge(chunks);
+        }
+    }
+
+    private static List<Chunk> parseInParallel(Path file, FileChannel channel, long[] bounds, int parallelism)
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, bounds.length - 1));
+        try {
+            List<Future<Chunk>> futures = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long start = bounds[i];
+                long end = bounds[i + 1];
+                futures.add(executor.submit(() -> parseChunk(file, channel, start, end)));
+            }
+            List<Chunk> chunks = new ArrayList<>();
+            for (Future<Chunk> future : futures) {
+                chunks.add(future.get());
+            }
+            return chunks;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing " + file);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Failed to parse " + file, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Splits the file into roughly equal chunks, moving each boundary forward to the start
+    // of the next line so that no line is split between two chunks.
+    private static long[] chunkBounds(FileChannel channel, int parallelism) throws IOException {
+        long size = channel.size();
+        int chunks = (int) Math.max(parallelism, (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+        if (size == 0) {
+            return new long[]{0};
+        }
+        long[] bounds = new long[chunks + 1];
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        for (int i = 1; i < chunks; i++) {
+            long position = Math.max(bounds[i - 1], size * i / chunks - 1);
+            bounds[i] = lineStartAtOrAfter(channel, probe, position, size);
+        }
+        bounds[chunks] = size;
+        return Arrays.stream(bounds).distinct().toArray();
+    }
+
+    private static long lineStartAtOrAfter(FileChannel channel, ByteBuffer probe, long position, long size)
+            throws IOException {
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static Chunk parseChunk(Path file, FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        Chunk chunk = new Chunk();
+        int malformed = chunk.parse(buffer);
+        if (malformed >= 0) {
+            throw new IllegalArgumentException("Malformed line at byte offset " + (start + malformed) + " in " + file);
+        }
+        return chunk;
+    }
+
+    private static ParsedTopology merge(List<Chunk> chunks) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int edgeCount = chunks.stream().mapToInt(chunk -> chunk.edgeCount).sum();
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int offset = 0;
+        for (Chunk chunk : chunks) {
+            int[] globalIds = new int[chunk.names.size()];
+            for (int local = 0; local < globalIds.length; local++) {
+                String name = chunk.names.name(local);
+                Integer id = ids.putIfAbsent(name, names.size());
+                if (id == null) {
+                    id = names.size();
+                    names.add(name);
+                }
+                globalIds[local] = id;
+            }
+            for (int i = 0; i < chunk.edgeCount; i++) {
+                from[offset] = globalIds[chunk.from[i]];
+                to[offset++] = globalIds[chunk.to[i]];
+            }
+        }
+        return new ParsedTopology(names, from, to, edgeCount);
+    }
+
+    private static final class Chunk {
+        private final ByteNameTable names = new ByteNameTable();
+        private int[] from = new int[1024];
+        private int[] to = new int[1024];
+        private int edgeCount;
+
+        /**
+         * Tokenizes and interns the whole buffer in a single pass, hashing each name while
+         * looking for its end.
+         * @return offset of the first line with more than two tokens, or -1
+         */
+        int parse(ByteBuffer buffer) {
+            int limit = buffer.limit();
+            int position = 0;
+            while (position < limit) {
+                int lineStart = position;
+                int tokens = 0;
+                int source = -1;
+                int target = -1;
+                while (true) {
+                    byte b = 0;
+                    while (position < limit && isSeparator(b = buffer.get(position))) {
+                        position++;
+                    }
+                    if (position == limit || b == '\n') {
+                        break;
+                    }
+                    if (b == '#' && tokens == 0) {
+                        while (position < limit && buffer.get(position) != '\n') {
+                            position++;
+                        }
+                        break;
+                    }
+                    int tokenStart = position;
+                    int hash = 1;
+                    while (position < limit && !isSeparator(b = buffer.get(position)) && b != '\n') {
+                        hash = ByteNameTable.hash(hash, b);
+                        position++;
+                    }
+                    if (++tokens == 1) {
+                        source = names.intern(buffer, tokenStart, position, hash);
+                    } else if (tokens == 2) {
+                        target = names.intern(buffer, tokenStart, position, hash);
+                    } else {
+                        return lineStart;
+                    }
+                }
+                if (tokens == 2) {
+                    addEdge(source, target);
+                }
+                position++;
+            }
+            return -1;
+        }
+
+        private void addEdge(int source, int target) {
+            if (edgeCount == from.length) {
+                from = Arrays.copyOf(from, edgeCount * 2);
+                to = Arrays.copyOf(to, edgeCount * 2);
+            }
+            from[edgeCount] = source;
+            to[edgeCount++] = target;
+        }
+
+        private static boolean isSeparator(byte b) {
+            return b == ',' || b == ' ' || b == '\t' || b == '\r';
+        }
+    }
+}
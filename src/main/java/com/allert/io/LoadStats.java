@@ -0,0 +1,14 @@
+package com.allert.io;
+
+/**
+ * Outcome of a bulk topology load.
+ * @param services number of services that were not yet in the network
+ * @param dependencies number of dependencies that were not yet in the network
+ * @param nanos wall-clock time of the load, parsing included
+ */
+public record LoadStats(int services, int dependencies, long nanos) {
+
+    public double dependenciesPerSecond() {
+        return nanos == 0 ? 0 : dependencies * 1e9 / nanos;
+    }
+}
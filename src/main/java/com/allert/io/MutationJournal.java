@@ -0,0 +1,521 @@
+package com.allert.io;
+
+import com.allert.graph.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+/**
+ * Write-ahead log of topology mutations, kept in a directory next to the snapshot it
+ * extends: generation g consists of {@code snapshot-g.bin}, written by {@link SnapshotFile},
+ * and {@code journal-g.log}, every mutation since. Generation 0 has no snapshot.
+ * <p>
+ * Log layout, little-endian:
+ * <pre>
+ * header   magic, format version, generation (long)
+ * frame    payload length, CRC32C of the payload, records
+ * record   opcode, then name length and UTF-8 bytes (add service), id (remove service),
+ *          from, to (add or remove dependency) or from, to, latency, probability
+ * </pre>
+ * Records refer to services by id, which replay reproduces because ids are assigned in
+ * registration order and never reused. Logging a mutation only appends it to an in-memory
+ * batch; {@link #commit(long)} writes the batch as one frame, forcing it as the
+ * {@link Durability} requires. Replay maps the log and applies consecutive dependency
+ * additions in bulk. A frame cut short by a crash fails its length or checksum check and is
+ * truncated away on replay, together with anything after it.
+ * <p>
+ * {@link #compact} starts generation g + 1 from a fresh snapshot. The snapshot is moved into
+ * place atomically before the new log is created and the old generation deleted, so after
+ * a crash at any point the highest complete snapshot names the generation to recover.
+ * Thread-safe.
+ */
+public final class MutationJournal implements Closeable {
+    static final int MAGIC = 0x4C4A4C41;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    public static final long DEFAULT_COMPACTION_BYTES = 64L << 20;
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final byte ADD_SERVICE = 1;
+    private static final byte ADD_DEPENDENCY = 2;
+    private static final byte ADD_WEIGHTED_DEPENDENCY = 3;
+    private static final byte REMOVE_DEPENDENCY = 4;
+    private static final byte REMOVE_SERVICE = 5;
+
+    private final Path directory;
+    private final Durability durability;
+    private final long compactionBytes;
+    private final Object lock = new Object();
+    private final CRC32C checksum = new CRC32C();
+    private FileChannel channel;
+    private long generation;
+    private ByteBuffer pending = newBatch(4096);
+    private ByteBuffer spare = newBatch(4096);
+    private long appended;
+    private long committed;
+    private boolean flushing;
+    private boolean replayed;
+    private IOException failure;
+    private volatile long logBytes;
+    private volatile long forceCount;
+
+    private MutationJournal(Path directory, Durability durability, long compactionBytes, long generation) {
+        this.directory = directory;
+        this.durability = durability;
+        this.compactionBytes = compactionBytes;
+        this.generation = generation;
+    }
+
+    public static MutationJournal open(Path directory, Durability durability) throws IOException {
+        return open(directory, durability, DEFAULT_COMPACTION_BYTES);
+    }
+
+    /**
+     * Opens the latest generation in the directory, creating the directory and an empty log
+     * if needed, and deletes files left behind by older generations. Call
+     * {@link #readSnapshot()} and {@link #replay} before logging anything.
+     * @param compactionBytes log size beyond which {@link #needsCompaction()} reports true
+     */
+    public static MutationJournal open(Path directory, Durability durability, long compactionBytes)
+            throws IOException {
+        Files.createDirectories(directory);
+        long generation = 0;
+        try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(directory, "snapshot-*.bin")) {
+            for (Path snapshot : snapshots) {
+                generation = Math.max(generation, generationOf(snapshot));
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "{snapshot,journal}-*")) {
+            for (Path file : files) {
+                if (generationOf(file) != generation || file.toString().endsWith(".tmp")) {
+                    Files.delete(file);
+                }
+            }
+        }
+        MutationJournal journal = new MutationJournal(directory, durability, compactionBytes, generation);
+        journal.channel = openLog(journal.logFile(generation), generation);
+        return journal;
+    }
+
+    /**
+     * Returns the snapshot the current generation starts from, or null for generation 0.
+     */
+    public SnapshotFile.Contents readSnapshot() throws IOException {
+        Path snapshot = snapshotFile(generation);
+        return Files.exists(snapshot) ? SnapshotFile.read(snapshot) : null;
+    }
+
+    /**
+     * Applies every complete frame of the log to state restored from {@link #readSnapshot()}
+     * and truncates a torn tail.
+     * @return number of mutations replayed
+     */
+    public int replay(ServiceRegistry registry, CompactGraph graph, EdgeWeights weights) throws IOException {
+        synchronized (lock) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal of " + size + " bytes exceeds the 2 GB replay limit");
+            }
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            Replay replay = new Replay(registry, graph, weights);
+            int end = HEADER_BYTES;
+            while (size - end >= FRAME_HEADER_BYTES) {
+                int length = in.getInt(end);
+                if (length <= 0 || length > size - end - FRAME_HEADER_BYTES) {
+                    break;
+                }
+                ByteBuffer frame = in.slice(end + FRAME_HEADER_BYTES, length).order(ByteOrder.LITTLE_ENDIAN);
+                checksum.reset();
+                checksum.update(frame.duplicate());
+                if ((int) checksum.getValue() != in.getInt(end + 4)) {
+                    break;
+                }
+                replay.apply(frame);
+                end += FRAME_HEADER_BYTES + length;
+            }
+            replay.flushEdges();
+            if (end < size) {
+                channel.truncate(end);
+                channel.force(false);
+            }
+            channel.position(end);
+            logBytes = end;
+            replayed = true;
+            return replay.records;
+        }
+    }
+
+    public long logAddService(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        synchronized (lock) {
+            reserve(5 + bytes.length).put(ADD_SERVICE).putInt(bytes.length).put(bytes);
+            return appended();
+        }
+    }
+
+    public long logAddDependency(int from, int to) {
+        synchronized (lock) {
+            reserve(9).put(ADD_DEPENDENCY).putInt(from).putInt(to);
+            return appended();
+        }
+    }
+
+    public long logAddDependency(int from, int to, float latency, float probability) {
+        synchronized (lock) {
+            reserve(17).put(ADD_WEIGHTED_DEPENDENCY).putInt(from).putInt(to).putFloat(latency).putFloat(probability);
+            return appended();
+        }
+    }
+
+    public long logRemoveDependency(int from, int to) {
+        synchronized (lock) {
+            reserve(9).put(REMOVE_DEPENDENCY).putInt(from).putInt(to);
+            return appended();
+        }
+    }
+
+    public long logRemoveService(int id) {
+        synchronized (lock) {
+            reserve(5).put(REMOVE_SERVICE).putInt(id);
+            return appended();
+        }
+    }
+
+    /**
+     * Returns once the mutation with the given sequence number, and every one logged before
+     * it, is as durable as the journal's {@link Durability} requires. The writer that finds
+     * no write in flight writes the whole pending batch; the others wait for it.
+     * @throws IOException if this or an earlier write failed; the journal is unusable from then on
+     */
+    public void commit(long sequence) throws IOException {
+        while (true) {
+            ByteBuffer batch;
+            long upTo;
+            synchronized (lock) {
+                awaitFlush(sequence);
+                if (failure != null) {
+                    throw new IOException("Journal write failed earlier", failure);
+                }
+                if (committed >= sequence) {
+                    return;
+                }
+                flushing = true;
+                batch = pending;
+                pending = spare;
+                upTo = appended;
+            }
+            IOException error = null;
+            try {
+                writeFrame(batch, durability != Durability.UNSYNCED);
+            } catch (IOException e) {
+                error = e;
+            }
+            synchronized (lock) {
+                flushing = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    committed = Math.max(committed, upTo);
+                }
+                spare = batch.clear().position(FRAME_HEADER_BYTES);
+                lock.notifyAll();
+            }
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    public boolean needsCompaction() {
+        return logBytes > compactionBytes;
+    }
+
+    /**
+     * Starts a new generation from a snapshot of the given state, which must include every
+     * mutation logged so far; callers block their own writers meanwhile. Mutations still
+     * waiting for a commit become durable with the snapshot.
+     */
+    public void compact(ServiceRegistry registry, GraphSnapshot graph, EdgeWeights weights) throws IOException {
+        synchronized (lock) {
+            awaitFlush(Long.MAX_VALUE);
+            if (failure != null) {
+                throw new IOException("Journal write failed earlier", failure);
+            }
+            long next = generation + 1;
+            SnapshotFile.write(snapshotFile(next), registry, graph, weights, null);
+            FileChannel log = openLog(logFile(next), next);
+            log.position(HEADER_BYTES);
+            channel.close();
+            Files.deleteIfExists(logFile(generation));
+            Files.deleteIfExists(snapshotFile(generation));
+            syncDirectory();
+            channel = log;
+            generation = next;
+            logBytes = HEADER_BYTES;
+            pending.clear().position(FRAME_HEADER_BYTES);
+            committed = appended;
+            lock.notifyAll();
+        }
+    }
+
+    public long generation() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    /**
+     * Returns the size of the current log file, header included.
+     */
+    public long logBytes() {
+        return logBytes;
+    }
+
+    /**
+     * Returns the number of times the log has been forced to disk.
+     */
+    public long forceCount() {
+        return forceCount;
+    }
+
+    /**
+     * Commits and forces everything logged so far, then closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            long last;
+            synchronized (lock) {
+                last = appended;
+            }
+            commit(last);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    Path logFile(long generation) {
+        return directory.resolve("journal-" + generation + ".log");
+    }
+
+    Path snapshotFile(long generation) {
+        return directory.resolve("snapshot-" + generation + ".bin");
+    }
+
+    // Under the lock. With SYNC_EACH the record is written and forced right away.
+    private long appended() {
+        long sequence = ++appended;
+        if (durability == Durability.SYNC_EACH && failure == null && committed < sequence) {
+            awaitFlush(Long.MAX_VALUE);
+            try {
+                writeFrame(pending, true);
+                committed = sequence;
+            } catch (IOException e) {
+                failure = e;
+            }
+            pending.clear().position(FRAME_HEADER_BYTES);
+        }
+        return sequence;
+    }
+
+    private void awaitFlush(long sequence) {
+        boolean interrupted = false;
+        while (flushing && committed < sequence) {
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ByteBuffer reserve(int bytes) {
+        if (!replayed) {
+            throw new IllegalStateException("Replay the journal before logging mutations");
+        }
+        if (pending.remaining() < bytes) {
+            ByteBuffer grown = newBatch(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending = grown.put(pending.flip());
+        }
+        return pending;
+    }
+
+    private void writeFrame(ByteBuffer batch, boolean force) throws IOException {
+        int length = batch.position() - FRAME_HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(batch.array(), FRAME_HEADER_BYTES, length);
+        batch.putInt(0, length).putInt(4, (int) crc.getValue()).flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        logBytes += FRAME_HEADER_BYTES + length;
+        if (force) {
+            channel.force(false);
+            forceCount++;
+        }
+    }
+
+    private void syncDirectory() {
+        try (FileChannel handle = FileChannel.open(directory, StandardOpenOption.READ)) {
+            handle.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory; the files themselves are forced.
+        }
+    }
+
+    private static FileChannel openLog(Path file, long generation) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < HEADER_BYTES) {
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(generation).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                channel.force(false);
+                return channel;
+            }
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not an alert network journal");
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported journal format version " + version + " in " + file);
+            }
+            if (header.getLong() != generation) {
+                throw new IOException("Journal " + file + " does not belong to generation " + generation);
+            }
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static ByteBuffer newBatch(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN).position(FRAME_HEADER_BYTES);
+    }
+
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        int start = name.indexOf('-') + 1;
+        int end = name.indexOf('.', start);
+        try {
+            return Long.parseLong(name.substring(start, end < 0 ? name.length() : end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Applies decoded records. Dependency additions are collected and added in one bulk call,
+     * which rebuilds the CSR rows once, until a record of another kind needs the graph to be
+     * current.
+     */
+    private static final class Replay {
+        private final ServiceRegistry registry;
+        private final CompactGraph graph;
+        private final EdgeWeights weights;
+        private int[] from = new int[1024];
+        private int[] to = new int[1024];
+        private int edges;
+        private int records;
+
+        Replay(ServiceRegistry registry, CompactGraph graph, EdgeWeights weights) {
+            this.registry = registry;
+            this.graph = graph;
+            this.weights = weights;
+        }
+
+        void apply(ByteBuffer frame) throws IOException {
+            try {
+                while (frame.hasRemaining()) {
+                    byte opcode = frame.get();
+                    switch (opcode) {
+                        case ADD_SERVICE -> addService(frame);
+                        case ADD_DEPENDENCY -> addEdge(node(frame.getInt()), node(frame.getInt()));
+                        case ADD_WEIGHTED_DEPENDENCY -> {
+                            int source = node(frame.getInt());
+                            int target = node(frame.getInt());
+                            weights.put(source, target, frame.getFloat(), frame.getFloat());
+                            addEdge(source, target);
+                        }
+                        case REMOVE_DEPENDENCY -> {
+                            flushEdges();
+                            int source = node(frame.getInt());
+                            int target = node(frame.getInt());
+                            graph.removeEdge(source, target);
+                            weights.reset(source, target);
+                        }
+                        case REMOVE_SERVICE -> removeService(node(frame.getInt()));
+                        default -> throw new IOException("Corrupt journal: unknown record type " + opcode);
+                    }
+                    records++;
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+                throw new IOException("Corrupt journal: truncated record inside a checksummed frame", e);
+            }
+        }
+
+        void flushEdges() {
+            if (edges > 0) {
+                graph.addEdges(from, to, edges);
+                edges = 0;
+            }
+        }
+
+        private void addService(ByteBuffer frame) throws IOException {
+            byte[] bytes = new byte[frame.getInt()];
+            frame.get(bytes);
+            String name = new String(bytes, StandardCharsets.UTF_8);
+            if (registry.contains(name)) {
+                throw new IOException("Corrupt journal: service " + name + " is added twice");
+            }
+            flushEdges();
+            registry.intern(name);
+            graph.addNode();
+        }
+
+        private void addEdge(int source, int target) {
+            if (edges == from.length) {
+                from = Arrays.copyOf(from, edges * 2);
+                to = Arrays.copyOf(to, edges * 2);
+            }
+            from[edges] = source;
+            to[edges++] = target;
+        }
+
+        private void removeService(int id) throws IOException {
+            flushEdges();
+            if (!registry.isLive(id)) {
+                throw new IOException("Corrupt journal: service " + id + " is removed twice");
+            }
+            GraphSnapshot before = graph.snapshot();
+            for (EdgeCursor cursor = before.cursor().of(id); cursor.hasNext(); ) {
+                weights.reset(id, cursor.next());
+            }
+            for (EdgeCursor cursor = before.reverseCursor().of(id); cursor.hasNext(); ) {
+                weights.reset(cursor.next(), id);
+            }
+            graph.removeNode(id);
+            registry.remove(registry.nameOf(id));
+        }
+
+        private int node(int id) throws IOException {
+            if (id < 0 || id >= graph.nodeCount()) {
+                throw new IOException("Corrupt journal: unknown service id " + id);
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.allert.io;
+
+import java.util.*;
+
+/**
+ * Services and dependencies read from a topology file. Edges refer to services by their
+ * index in {@link #names()}.
+ * @param names distinct service names in order of first appearance
+ * @param from source index of each edge
+ * @param to target index of each edge
+ * @param edgeCount number of valid entries in {@code from} and {@code to}
+ */
+public record ParsedTopology(List<String> names, int[] from, int[] to, int edgeCount) {
+}
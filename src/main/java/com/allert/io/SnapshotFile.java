@@ -0,0 +1,165 @@
+package com.allert.io;
+
+import com.allert.graph.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+/**
+ * Versioned binary image of a network: the interned name table, both CSR adjacencies and,
+ * optionally, {@link EdgeWeights} and a prebuilt {@link ReachabilityIndex}.
+ * <p>
+ * Layout, little-endian:
+ * <pre>
+ * header   magic, format version, flags, node count, edge count, name bytes
+ * names    int[nodeCount + 1] byte offsets, UTF-8 bytes padded to 4; empty for removed services (version 3)
+ * forward  CSR offsets, targets
+ * reverse  CSR offsets, targets
+ * index    reachability index, if flagged
+ * weights  entry count, (from, to, latency, probability) entries, if flagged (version 2)
+ * </pre>
+ * Every section is stored as the raw arrays the graph keeps in memory, so loading is a
+ * memory map followed by bulk copies. Files are limited to 2 GB, the size of one mapping.
+ */
+public final class SnapshotFile {
+    static final int MAGIC = 0x534E4C41;
+    static final int FORMAT_VERSION = 3;
+    private static final int HEADER_BYTES = 24;
+    private static final int HAS_REACHABILITY_INDEX = 1;
+    private static final int HAS_EDGE_WEIGHTS = 2;
+
+    /**
+     * Contents of a snapshot file.
+     * @param names service names indexed by node id, null for removed services
+     * @param successors forward adjacency
+     * @param predecessors reverse adjacency
+     * @param edgeWeights saved edge weights, empty if none were saved
+     * @param reachabilityIndex prebuilt index, or null if none was saved
+     */
+    public record Contents(String[] names, Csr successors, Csr predecessors, EdgeWeights edgeWeights,
+                           ReachabilityIndex reachabilityIndex) {
+    }
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot to a temporary file next to {@code file} and atomically moves it in
+     * place, so readers never observe a partially written snapshot.
+     * @param reachabilityIndex index to include, or null
+     */
+    public static void write(Path file, ServiceRegistry registry, GraphSnapshot graph, EdgeWeights edgeWeights,
+                             ReachabilityIndex reachabilityIndex) throws IOException {
+        int nodeCount = graph.nodeCount();
+        byte[][] encoded = new byte[nodeCount][];
+        int nameBytes = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            encoded[node] = registry.isLive(node)
+                    ? registry.nameOf(node).getBytes(StandardCharsets.UTF_8)
+                    : new byte[0];
+            nameBytes += encoded[node].length;
+        }
+        Csr successors = graph.forwardCsr();
+        Csr predecessors = graph.reverseCsr();
+        long size = HEADER_BYTES + 4L * (nodeCount + 1) + padded(nameBytes)
+                + successors.serializedBytes() + predecessors.serializedBytes()
+                + (reachabilityIndex != null ? reachabilityIndex.serializedBytes() : 0)
+                + (edgeWeights.size() > 0 ? edgeWeights.serializedBytes() : 0);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + size + " bytes exceeds the 2 GB format limit");
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt((reachabilityIndex != null ? HAS_REACHABILITY_INDEX : 0)
+                            | (edgeWeights.size() > 0 ? HAS_EDGE_WEIGHTS : 0))
+                    .putInt(nodeCount)
+                    .putInt(graph.edgeCount())
+                    .putInt(nameBytes);
+            int offset = 0;
+            out.putInt(offset);
+            for (byte[] name : encoded) {
+                offset += name.length;
+                out.putInt(offset);
+            }
+            for (byte[] name : encoded) {
+                out.put(name);
+            }
+            out.position(out.position() + padded(nameBytes) - nameBytes);
+            successors.writeTo(out);
+            predecessors.writeTo(out);
+            if (reachabilityIndex != null) {
+                reachabilityIndex.writeTo(out);
+            }
+            if (edgeWeights.size() > 0) {
+                edgeWeights.writeTo(out);
+            }
+            out.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Contents read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not an alert network snapshot");
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            if (in.getInt() != MAGIC) {
+                throw new IOException(file + " is not an alert network snapshot");
+            }
+            int version = in.getInt();
+            if (version < 1 || version > FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version " + version + " in " + file);
+            }
+            int flags = in.getInt();
+            int nodeCount = in.getInt();
+            int edgeCount = in.getInt();
+            int nameBytes = in.getInt();
+
+            try {
+                int[] offsets = new int[nodeCount + 1];
+                in.asIntBuffer().get(offsets);
+                in.position(in.position() + 4 * offsets.length);
+                byte[] bytes = new byte[nameBytes];
+                in.get(bytes);
+                in.position(in.position() + padded(nameBytes) - nameBytes);
+                String[] names = new String[nodeCount];
+                for (int node = 0; node < nodeCount; node++) {
+                    int length = offsets[node + 1] - offsets[node];
+                    names[node] = length > 0 ? new String(bytes, offsets[node], length, StandardCharsets.UTF_8) : null;
+                }
+
+                Csr successors = Csr.readFrom(in, nodeCount);
+                Csr predecessors = Csr.readFrom(in, nodeCount);
+                if (successors.edgeCount() != edgeCount || predecessors.edgeCount() != edgeCount) {
+                    throw new IOException("Corrupt snapshot " + file + ": edge counts do not match the header");
+                }
+                ReachabilityIndex reachabilityIndex = (flags & HAS_REACHABILITY_INDEX) != 0
+                        ? ReachabilityIndex.readFrom(in, nodeCount)
+                        : null;
+                EdgeWeights edgeWeights = (flags & HAS_EDGE_WEIGHTS) != 0
+                        ? EdgeWeights.readFrom(in)
+                        : new EdgeWeights();
+                return new Contents(names, successors, predecessors, edgeWeights, reachabilityIndex);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                     | NegativeArraySizeException e) {
+                throw new IOException("Corrupt snapshot " + file, e);
+            }
+        }
+    }
+
+    private static int padded(int bytes) {
+        return (bytes + 3) & ~3;
+    }
+}
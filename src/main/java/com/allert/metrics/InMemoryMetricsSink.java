@@ -0,0 +1,46 @@
+package com.allert.metrics;
+
+import java.util.*;
+
+/**
+ * Keeps one {@link OperationMetrics} per operation in memory for direct inspection.
+ */
+public class InMemoryMetricsSink implements MetricsSink {
+    private final Map<Operation, OperationMetrics> metrics = new EnumMap<>(Operation.class);
+    private volatile NetworkStatistics statistics;
+
+    public InMemoryMetricsSink() {
+        for (Operation operation : Operation.values()) {
+            metrics.put(operation, new OperationMetrics());
+        }
+    }
+
+    @Override
+    public void record(Operation operation, long nanos, long nodesVisited, long edgesScanned, int resultSize) {
+        metrics.get(operation).record(nanos, nodesVisited, edgesScanned, resultSize);
+    }
+
+    @Override
+    public void recordFailure(Operation operation) {
+        metrics.get(operation).recordFailure();
+    }
+
+    @Override
+    public void registerGauges(NetworkStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public OperationMetrics metrics(Operation operation) {
+        return metrics.get(operation);
+    }
+
+    public int serviceCount() {
+        NetworkStatistics current = statistics;
+        return current == null ? 0 : current.serviceCount();
+    }
+
+    public int dependencyCount() {
+        NetworkStatistics current = statistics;
+        return current == null ? 0 : current.dependencyCount();
+    }
+}
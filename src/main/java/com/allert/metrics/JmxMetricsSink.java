@@ -0,0 +1,153 @@
+package com.allert.metrics;
+
+import javax.management.*;
+import java.lang.management.*;
+import java.util.*;
+
+/**
+ * Publishes operation metrics and graph size gauges as MXBeans on the platform MBean
+ * server, under {@code com.allert:type=AlertNetwork,network=<name>}. Call {@link #close()}
+ * to unregister them.
+ */
+public class JmxMetricsSink extends InMemoryMetricsSink implements AutoCloseable {
+    private static final String DOMAIN = "com.allert";
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private final List<ObjectName> registered = new ArrayList<>();
+    private final String network;
+
+    public JmxMetricsSink(String network) {
+        this.network = network;
+        for (Operation operation : Operation.values()) {
+            register(objectName(operation), new OperationView(metrics(operation)));
+        }
+    }
+
+    @Override
+    public void registerGauges(NetworkStatistics statistics) {
+        super.registerGauges(statistics);
+        register(gaugesName(), new GaugesView());
+    }
+
+    @Override
+    public void close() {
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException | MBeanRegistrationException ignored) {
+                // Already gone; nothing to clean up.
+            }
+        }
+        registered.clear();
+    }
+
+    public ObjectName objectName(Operation operation) {
+        return objectName("operation", operation.methodName());
+    }
+
+    public ObjectName gaugesName() {
+        return objectName("gauges", "graph");
+    }
+
+    private ObjectName objectName(String key, String value) {
+        try {
+            return new ObjectName(DOMAIN, new Hashtable<>(Map.of(
+                    "type", "AlertNetwork", "network", ObjectName.quote(network), key, value)));
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid network name for JMX: " + network, e);
+        }
+    }
+
+    private void register(ObjectName name, Object bean) {
+        try {
+            server.registerMBean(bean, name);
+            registered.add(name);
+        } catch (InstanceAlreadyExistsException e) {
+            close();
+            throw new IllegalStateException("Metrics for network " + network + " are already registered", e);
+        } catch (MBeanRegistrationException | NotCompliantMBeanException e) {
+            close();
+            throw new IllegalStateException("Could not register " + name, e);
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    private record OperationView(OperationMetrics metrics) implements OperationMetricsMXBean {
+
+        @Override
+        public long getCount() {
+            return metrics.count();
+        }
+
+        @Override
+        public long getFailures() {
+            return metrics.failures();
+        }
+
+        @Override
+        public double getMeanLatencyMicros() {
+            return metrics.latency().mean() / 1_000;
+        }
+
+        @Override
+        public double getP50LatencyMicros() {
+            return micros(metrics.latency().percentile(50));
+        }
+
+        @Override
+        public double getP90LatencyMicros() {
+            return micros(metrics.latency().percentile(90));
+        }
+
+        @Override
+        public double getP99LatencyMicros() {
+            return micros(metrics.latency().percentile(99));
+        }
+
+        @Override
+        public double getP999LatencyMicros() {
+            return micros(metrics.latency().percentile(99.9));
+        }
+
+        @Override
+        public double getMaxLatencyMicros() {
+            return micros(metrics.latency().max());
+        }
+
+        @Override
+        public double getMeanNodesVisited() {
+            return perCall(metrics.nodesVisited());
+        }
+
+        @Override
+        public double getMeanEdgesScanned() {
+            return perCall(metrics.edgesScanned());
+        }
+
+        @Override
+        public double getMeanResultSize() {
+            return perCall(metrics.resultSize());
+        }
+
+        private double perCall(long total) {
+            long count = metrics.count();
+            return count == 0 ? 0 : (double) total / count;
+        }
+    }
+
+    private final class GaugesView implements NetworkGaugesMXBean {
+
+        @Override
+        public int getServices() {
+            return serviceCount();
+        }
+
+        @Override
+        public int getDependencies() {
+            return dependencyCount();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.allert.metrics;
+
+/**
+ * Destination for the measurements taken by
+ * {@link com.allert.InstrumentedAlertNetwork}. Implementations must be thread-safe.
+ */
+public interface MetricsSink {
+
+    /**
+     * Records one successful operation.
+     * @param nanos wall-clock latency
+     * @param nodesVisited nodes visited by graph traversals, 0 if none were involved
+     * @param edgesScanned edges examined by graph traversals, 0 if none were involved
+     * @param resultSize number of elements in the result
+     */
+    void record(Operation operation, long nanos, long nodesVisited, long edgesScanned, int resultSize);
+
+    /**
+     * Records an operation that threw.
+     */
+    void recordFailure(Operation operation);
+
+    /**
+     * Called once with the instrumented network, to publish graph size gauges.
+     */
+    default void registerGauges(NetworkStatistics statistics) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.allert.metrics;
+
+/**
+ * JMX view of the size of an instrumented network.
+ */
+public interface NetworkGaugesMXBean {
+    int getServices();
+
+    int getDependencies();
+}
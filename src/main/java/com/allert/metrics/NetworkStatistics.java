@@ -0,0 +1,20 @@
+package com.allert.metrics;
+
+/**
+ * Counters an {@link com.allert.AlertNetwork} implementation exposes to instrumentation.
+ */
+public interface NetworkStatistics {
+    int serviceCount();
+
+    int dependencyCount();
+
+    /**
+     * Returns the number of nodes visited by traversals issued from the calling thread.
+     */
+    long nodesVisited();
+
+    /**
+     * Returns the number of edges examined by traversals issued from the calling thread.
+     */
+    long edgesScanned();
+}
@@ -0,0 +1,41 @@
+package com.allert.metrics;
+
+/**
+ * The {@link com.allert.AlertNetwork} operations that instrumentation records separately.
+ */
+public enum Operation {
+    ADD_SERVICE("addService"),
+    ADD_DEPENDENCY("addDependency"),
+    REMOVE_DEPENDENCY("removeDependency"),
+    REMOVE_SERVICE("removeService"),
+    WHAT_IF("whatIf"),
+    GET_DEPENDENCIES("getDependencies"),
+    CONTAINS_SERVICE("containsService"),
+    FIND_ALERT_PROPAGATION_PATH("findAlertPropagationPath"),
+    FIND_MOST_PROBABLE_PROPAGATION_PATH("findMostProbablePropagationPath"),
+    FIND_EARLIEST_IMPACT("findEarliestImpact"),
+    GET_AFFECTED_SERVICES("getAffectedServices"),
+    STREAM_AFFECTED_SERVICES("streamAffectedServices"),
+    VISIT_AFFECTED_SERVICES("visitAffectedServices"),
+    VISIT_UPSTREAM_SERVICES("visitUpstreamServices"),
+    VISIT_ALERT_PROPAGATION_PATH("visitAlertPropagationPath"),
+    GET_UPSTREAM_SERVICES("getUpstreamServices"),
+    FIND_UPSTREAM_PATH("findUpstreamPath"),
+    ANALYZE_IMPACT("analyzeImpact"),
+    GROUP_BY_ROOT_CAUSE("groupByRootCause"),
+    SUGGEST_CONTAINMENT_EDGES("suggestContainmentEdges"),
+    RANK_CONTAINMENT_EDGES("rankContainmentEdges"),
+    FIND_MINIMUM_CONTAINMENT_CUT("findMinimumContainmentCut"),
+    RANK_BLAST_RADIUS("rankBlastRadius"),
+    LOAD_TOPOLOGY("loadTopology");
+
+    private final String methodName;
+
+    Operation(String methodName) {
+        this.methodName = methodName;
+    }
+
+    public String methodName() {
+        return methodName;
+    }
+}
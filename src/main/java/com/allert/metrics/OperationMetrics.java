@@ -0,0 +1,52 @@
+package com.allert.metrics;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Aggregated measurements of one {@link Operation}.
+ */
+public final class OperationMetrics {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder nodesVisited = new LongAdder();
+    private final LongAdder edgesScanned = new LongAdder();
+    private final LongAdder resultSize = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    void record(long nanos, long visited, long scanned, int size) {
+        latency.record(nanos);
+        nodesVisited.add(visited);
+        edgesScanned.add(scanned);
+        resultSize.add(size);
+    }
+
+    void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * Returns the latency distribution in nanoseconds.
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public long count() {
+        return latency.count();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long nodesVisited() {
+        return nodesVisited.sum();
+    }
+
+    public long edgesScanned() {
+        return edgesScanned.sum();
+    }
+
+    public long resultSize() {
+        return resultSize.sum();
+    }
+}
@@ -0,0 +1,29 @@
+package com.allert.metrics;
+
+/**
+ * JMX view of one {@link Operation}. Latencies are in microseconds; work and result sizes
+ * are averages over successful calls.
+ */
+public interface OperationMetricsMXBean {
+    long getCount();
+
+    long getFailures();
+
+    double getMeanLatencyMicros();
+
+    double getP50LatencyMicros();
+
+    double getP90LatencyMicros();
+
+    double getP99LatencyMicros();
+
+    double getP999LatencyMicros();
+
+    double getMaxLatencyMicros();
+
+    double getMeanNodesVisited();
+
+    double getMeanEdgesScanned();
+
+    double getMeanResultSize();
+}
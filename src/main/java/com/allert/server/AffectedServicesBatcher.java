@@ -0,0 +1,136 @@
+package com.allert.server;
+
+import com.allert.*;
+
+import java.util.*;
+
+/**
+ * Answers {@link AlertNetwork#getAffectedServices(String)} for many concurrent callers with
+ * shared traversals. While one batch is being computed, arriving sources queue up; the next
+ * caller to find no batch running takes the whole queue and answers it with a single
+ * {@link AlertNetwork#analyzeImpact(Set)} sweep, so the cost of a sweep is shared by every
+ * request that arrived during the previous one. A lone source is answered with a plain
+ * traversal.
+ */
+public final class AffectedServicesBatcher {
+    private final AlertNetwork network;
+    private final Object lock = new Object();
+    private List<Request> queued = new ArrayList<>();
+    private boolean running;
+    private long batches;
+    private long batchedRequests;
+
+    public AffectedServicesBatcher(AlertNetwork network) {
+        this.network = network;
+    }
+
+    /**
+     * Returns the services affected by the source, the source itself included, in no
+     * particular order.
+     * @throws IllegalArgumentException if the service does not exist
+     */
+    public List<String> affectedServices(String source) {
+        Request request = new Request(source);
+        List<Request> batch;
+        synchronized (lock) {
+            queued.add(request);
+            while (running && !request.done) {
+                waitForBatch();
+            }
+            if (request.done) {
+                return request.result();
+            }
+            running = true;
+            batch = queued;
+            queued = new ArrayList<>();
+        }
+        try {
+            answer(batch);
+        } finally {
+            synchronized (lock) {
+                running = false;
+                batches++;
+                batchedRequests += batch.size();
+                batch.forEach(answered -> answered.done = true);
+                lock.notifyAll();
+            }
+        }
+        return request.result();
+    }
+
+    /**
+     * Returns the number of batches computed so far.
+     */
+    public long batchCount() {
+        synchronized (lock) {
+            return batches;
+        }
+    }
+
+    /**
+     * Returns the number of requests answered by those batches.
+     */
+    public long batchedRequestCount() {
+        synchronized (lock) {
+            return batchedRequests;
+        }
+    }
+
+    private void answer(List<Request> batch) {
+        List<Request> known = new ArrayList<>(batch.size());
+        Set<String> sources = new LinkedHashSet<>();
+        for (Request request : batch) {
+            if (network.containsService(request.source)) {
+                known.add(request);
+                sources.add(request.source);
+            } else {
+                answerAlone(request);
+            }
+        }
+        if (sources.size() > 1) {
+            try {
+                Map<String, List<String>> affected = network.analyzeImpact(sources).affectedBySource();
+                known.forEach(request -> request.affected = affected.get(request.source));
+                return;
+            } catch (IllegalArgumentException e) {
+                // A source was removed meanwhile; answer one by one so only its callers fail.
+            }
+        }
+        known.forEach(this::answerAlone);
+    }
+
+    private void answerAlone(Request request) {
+        try {
+            request.affected = network.getAffectedServices(request.source);
+        } catch (RuntimeException e) {
+            request.failure = e;
+        }
+    }
+
+    private void waitForBatch() {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a batch", e);
+        }
+    }
+
+    private static final class Request {
+        final String source;
+        List<String> affected;
+        RuntimeException failure;
+        boolean done;
+
+        Request(String source) {
+            this.source = source;
+        }
+
+        List<String> result() {
+            if (failure != null) {
+                throw failure;
+            }
+            return affected;
+        }
+    }
+}
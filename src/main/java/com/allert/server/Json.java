@@ -0,0 +1,67 @@
+package com.allert.server;
+
+import java.util.*;
+
+/**
+ * Minimal JSON writer for the handful of shapes the query server returns.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    static String string(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    static String strings(Collection<String> values) {
+        StringJoiner out = new StringJoiner(",", "[", "]");
+        values.forEach(value -> out.add(string(value)));
+        return out.toString();
+    }
+
+    /**
+     * Writes an object whose values are already JSON, in the map's iteration order.
+     */
+    static String object(Map<String, String> fields) {
+        StringJoiner out = new StringJoiner(",", "{", "}");
+        fields.forEach((name, value) -> out.add(string(name) + ":" + value));
+        return out.toString();
+    }
+
+    /**
+     * Writes an object from alternating field names and JSON values.
+     */
+    static String object(String... namesAndValues) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            fields.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return object(fields);
+    }
+
+    static String number(double value) {
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            return "null";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value);
+    }
+}
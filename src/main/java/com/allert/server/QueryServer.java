@@ -0,0 +1,261 @@
+package com.allert.server;
+
+import com.allert.*;
+import com.sun.net.httpserver.*;
+import javafx.util.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Local HTTP server answering {@link AlertNetwork} queries from one shared
+ * {@link ConcurrentAlertNetwork}, so that processes query a single copy of the graph instead
+ * of embedding their own.
+ * <p>
+ * Every endpoint takes {@code GET} requests and returns JSON:
+ * <ul>
+ *     <li>{@code /affected?service=} services an alert reaches, in no particular order</li>
+ *     <li>{@code /upstream?service=} services whose alerts reach the service</li>
+ *     <li>{@code /dependencies?service=} direct dependencies</li>
+ *     <li>{@code /path?source=&target=} shortest propagation path</li>
+ *     <li>{@code /upstream-path?target=&upstream=} shortest path from the target back to an
+ *     upstream service</li>
+ *     <li>{@code /probable-path?source=&target=} most probable propagation path</li>
+ *     <li>{@code /earliest-impact?service=} earliest arrival time per affected service</li>
+ *     <li>{@code /impact?services=} affected services per source, their union and intersection</li>
+ *     <li>{@code /root-causes?services=} alerting services grouped by root cause</li>
+ *     <li>{@code /containment?service=} ranked containment edges</li>
+ *     <li>{@code /containment-edges?service=} edges that contain the source's alert</li>
+ *     <li>{@code /minimum-cut?service=&protected=} fewest edges shielding the protected services</li>
+ *     <li>{@code /blast-radius?top=&error=} services with the largest estimated blast radius</li>
+ *     <li>{@code /version} graph version and size, never cached</li>
+ * </ul>
+ * Sets of services are passed as one comma-separated parameter. Mutations and
+ * {@code loadTopology} are left out since the server only reads, {@code whatIf} since its
+ * overlay lives only as long as the caller holds it, and the streaming, visitor and
+ * traversal-mode variants since they return what {@code /affected}, {@code /upstream} and
+ * {@code /path} already do.
+ * <p>
+ * Invalid queries are answered with status 400 and an {@code error} message. Identical
+ * queries that arrive while one is being computed share its result, {@code /affected}
+ * queries are batched into shared traversals by an {@link AffectedServicesBatcher}, and
+ * results are cached per {@link ConcurrentAlertNetwork#version() graph version}. Every
+ * mutation, weight changes included, advances the version, so once it has returned no
+ * request is answered from a result computed before it.
+ * <p>
+ * Requests are served by a fixed pool of platform threads. Callers waiting on a coalesced
+ * query or a batch hold their thread, so the pool should be sized well above the core count.
+ */
+public final class QueryServer implements Closeable {
+    private static final int BACKLOG = 1024;
+
+    private final ConcurrentAlertNetwork network;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final VersionedCache<byte[]> cache;
+    private final RequestCoalescer<String, byte[]> coalescer = new RequestCoalescer<>();
+    private final AffectedServicesBatcher batcher;
+    private final Map<String, Function<Map<String, String>, String>> endpoints = new HashMap<>();
+    private final LongAdder requests = new LongAdder();
+
+    private QueryServer(ConcurrentAlertNetwork network, HttpServer server, ExecutorService executor, int cacheEntries) {
+        this.network = network;
+        this.server = server;
+        this.executor = executor;
+        this.cache = new VersionedCache<>(cacheEntries);
+        this.batcher = new AffectedServicesBatcher(network);
+
+        endpoints.put("/affected", query -> Json.strings(batcher.affectedServices(required(query, "service"))));
+        endpoints.put("/upstream", query -> Json.strings(network.getUpstreamServices(required(query, "service"))));
+        endpoints.put("/dependencies", query -> Json.strings(network.getDependencies(required(query, "service"))));
+        endpoints.put("/path", query -> Json.strings(
+                network.findAlertPropagationPath(required(query, "source"), required(query, "target"))));
+        endpoints.put("/upstream-path", query -> Json.strings(
+                network.findUpstreamPath(required(query, "target"), required(query, "upstream"))));
+        endpoints.put("/probable-path", query -> Json.strings(
+                network.findMostProbablePropagationPath(required(query, "source"), required(query, "target"))));
+        endpoints.put("/earliest-impact", query -> {
+            Map<String, String> arrivals = new LinkedHashMap<>();
+            network.findEarliestImpact(required(query, "service"))
+                    .forEach((service, time) -> arrivals.put(service, Json.number(time)));
+            return Json.object(arrivals);
+        });
+        endpoints.put("/impact", query -> {
+            ImpactAnalysis analysis = network.analyzeImpact(services(query, "services"));
+            Map<String, String> affected = new LinkedHashMap<>();
+            analysis.affectedBySource().forEach((source, services) -> affected.put(source, Json.strings(services)));
+            return Json.object(
+                    "affectedBySource", Json.object(affected),
+                    "union", Json.strings(analysis.union()),
+                    "intersection", Json.strings(analysis.intersection()));
+        });
+        endpoints.put("/root-causes", query -> {
+            Map<String, String> groups = new LinkedHashMap<>();
+            network.groupByRootCause(services(query, "services"))
+                    .forEach((root, services) -> groups.put(root, Json.strings(services)));
+            return Json.object(groups);
+        });
+        endpoints.put("/containment", query -> {
+            StringJoiner out = new StringJoiner(",", "[", "]");
+            for (ContainmentCandidate candidate : network.rankContainmentEdges(required(query, "service"))) {
+                out.add(Json.object(
+                        "fromService", Json.string(candidate.fromService()),
+                        "toService", Json.string(candidate.toService()),
+                        "isolatedServices", Json.number(candidate.isolatedServices())));
+            }
+            return out.toString();
+        });
+        endpoints.put("/containment-edges", query -> edges(network.suggestContainmentEdges(required(query, "service"))));
+        endpoints.put("/minimum-cut", query -> edges(
+                network.findMinimumContainmentCut(required(query, "service"), services(query, "protected"))));
+        endpoints.put("/blast-radius", query -> {
+            StringJoiner out = new StringJoiner(",", "[", "]");
+            int top = Integer.parseInt(query.getOrDefault("top", "10"));
+            double error = Double.parseDouble(query.getOrDefault("error", "0.05"));
+            for (BlastRadius radius : network.rankBlastRadius(top, error)) {
+                out.add(Json.object(
+                        "service", Json.string(radius.service()),
+                        "estimatedServices", Json.number(radius.estimatedServices()),
+                        "lowerBound", Json.number(radius.lowerBound()),
+                        "upperBound", Json.number(radius.upperBound())));
+            }
+            return out.toString();
+        });
+    }
+
+    /**
+     * Starts serving the network.
+     * @param address address to bind; port 0 picks a free port
+     * @param threads number of request threads
+     * @param cacheEntries maximum number of cached results, 0 to disable caching
+     */
+    public static QueryServer start(ConcurrentAlertNetwork network, InetSocketAddress address, int threads,
+                                    int cacheEntries) throws IOException {
+        if (threads <= 0 || cacheEntries < 0) {
+            throw new IllegalArgumentException("Thread count must be positive and cache size non-negative");
+        }
+        AtomicInteger created = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "query-server-" + created.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpServer server = HttpServer.create(address, BACKLOG);
+        QueryServer queryServer = new QueryServer(network, server, executor, cacheEntries);
+        server.createContext("/", queryServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return queryServer;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public ServerStats stats() {
+        return new ServerStats(requests.sum(), cache.hits(), coalescer.coalescedCount(),
+                batcher.batchCount(), batcher.batchedRequestCount());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            Response response;
+            try {
+                response = answer(exchange.getRequestMethod(), exchange.getRequestURI());
+            } catch (IllegalArgumentException e) {
+                response = new Response(400, error(e.getMessage()), -1);
+            } catch (RuntimeException e) {
+                response = new Response(500, error(e.toString()), -1);
+            }
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", "application/json; charset=utf-8");
+            if (response.version() >= 0) {
+                headers.set("X-Graph-Version", Long.toString(response.version()));
+            }
+            exchange.sendResponseHeaders(response.status(), response.body().length);
+            exchange.getResponseBody().write(response.body());
+        }
+    }
+
+    private Response answer(String method, URI uri) {
+        if (!method.equals("GET")) {
+            return new Response(405, error("Only GET is supported"), -1);
+        }
+        String path = uri.getPath();
+        Map<String, String> query = parse(uri.getRawQuery());
+        long version = network.version();
+        if (path.equals("/version")) {
+            return new Response(200, Json.object(
+                    "version", Json.number(version),
+                    "services", Json.number(network.serviceCount()),
+                    "dependencies", Json.number(network.dependencyCount())).getBytes(StandardCharsets.UTF_8), version);
+        }
+        Function<Map<String, String>, String> endpoint = endpoints.get(path);
+        if (endpoint == null) {
+            return new Response(404, error("Unknown endpoint " + path), version);
+        }
+        String key = path + new TreeMap<>(query);
+        byte[] body = cache.get(version, key);
+        if (body == null) {
+            body = coalescer.get(version + " " + key, () -> endpoint.apply(query).getBytes(StandardCharsets.UTF_8));
+            // A mutation may have landed mid-query; only results known to match the version are cached.
+            if (network.version() == version) {
+                cache.put(version, key, body);
+            }
+        }
+        return new Response(200, body, version);
+    }
+
+    private static byte[] error(String message) {
+        return Json.object("error", Json.string(String.valueOf(message))).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> parse(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            String name = separator < 0 ? parameter : parameter.substring(0, separator);
+            String value = separator < 0 ? "" : parameter.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String required(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing query parameter " + name);
+        }
+        return value;
+    }
+
+    private static Set<String> services(Map<String, String> query, String name) {
+        return new LinkedHashSet<>(Arrays.asList(required(query, name).split(",", -1)));
+    }
+
+    private static String edges(List<Pair<String, String>> edges) {
+        StringJoiner out = new StringJoiner(",", "[", "]");
+        for (Pair<String, String> edge : edges) {
+            out.add(Json.object("fromService", Json.string(edge.getKey()), "toService", Json.string(edge.getValue())));
+        }
+        return out.toString();
+    }
+
+    private record Response(int status, byte[] body, long version) {
+    }
+}
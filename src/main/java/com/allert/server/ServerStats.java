@@ -0,0 +1,12 @@
+package com.allert.server;
+
+/**
+ * Counters of a running {@link QueryServer}.
+ * @param requests requests received, failed ones included
+ * @param cacheHits queries answered from the result cache
+ * @param coalesced queries answered by an identical query that was already in flight
+ * @param batches shared traversals run for {@code /affected} queries
+ * @param batchedRequests {@code /affected} queries answered by those traversals
+ */
+public record ServerStats(long requests, long cacheHits, long coalesced, long batches, long batchedRequests) {
+}
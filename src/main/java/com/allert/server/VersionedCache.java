@@ -0,0 +1,62 @@
+package com.allert.server;
+
+import java.util.*;
+
+/**
+ * Bounded least-recently-used cache of query results for one graph version at a time. A
+ * result computed against a newer version evicts everything cached for older ones, and
+ * results of older versions are neither returned nor stored.
+ */
+public final class VersionedCache<V> {
+    private final int capacity;
+    private final LinkedHashMap<String, V> entries;
+    private long version = Long.MIN_VALUE;
+    private long hits;
+    private long misses;
+
+    public VersionedCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > VersionedCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the result cached for the query at the given graph version, or null.
+     */
+    public synchronized V get(long version, String query) {
+        V value = version == this.version ? entries.get(query) : null;
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    public synchronized void put(long version, String query, V value) {
+        if (capacity == 0 || version < this.version) {
+            return;
+        }
+        if (version > this.version) {
+            entries.clear();
+            this.version = version;
+        }
+        entries.put(query, value);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+}
@@ -1,5 +1,7 @@
 package com.allert.validation;
 
+import com.allert.graph.*;
+import javafx.util.*;
 import lombok.*;
 
 import java.util.*;
@@ -9,7 +11,7 @@ import java.util.*;
  */
 @RequiredArgsConstructor
 public class ServiceValidator {
-    private final Map<String, Set<String>> serviceDependencies;
+    private final ServiceRegistry registry;
 
     public void validateServiceName(String serviceName) {
         if (serviceName == null || serviceName.trim().isEmpty()) {
@@ -18,17 +20,82 @@ public class ServiceValidator {
     }
 
     public void validateServiceExists(String serviceName) {
-        if (!serviceDependencies.containsKey(serviceName)) {
+        if (!registry.contains(serviceName)) {
             throw new IllegalArgumentException("Service " + serviceName + " does not exist in the network");
         }
     }
 
+    /**
+     * Resolves the service to its id and checks that id against the snapshot, so that a
+     * concurrent removal and re-registration cannot hand out an id the snapshot lacks.
+     */
+    public int resolveExisting(String serviceName, GraphSnapshot snapshot) {
+        int id = registry.idOf(serviceName);
+        if (id < 0 || id >= snapshot.nodeCount() || snapshot.hidesNode(id)) {
+            throw new IllegalArgumentException("Service " + serviceName + " does not exist in the network");
+        }
+        return id;
+    }
+
+    /**
+     * Resolves every service against the snapshot, in iteration order.
+     */
+    public int[] resolveExisting(Collection<String> serviceNames, GraphSnapshot snapshot) {
+        int[] ids = new int[serviceNames.size()];
+        int i = 0;
+        for (String serviceName : serviceNames) {
+            ids[i++] = resolveExisting(serviceName, snapshot);
+        }
+        return ids;
+    }
+
+    public void validateEdgeWeights(double latency, double probability) {
+        if (!(latency >= 0) || Double.isInfinite(latency)) {
+            throw new IllegalArgumentException("Latency must be a finite non-negative number");
+        }
+        if (!(probability > 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Probability must be in (0, 1]");
+        }
+    }
+
+    public void validateHopLimit(int maxHops) {
+        if (maxHops < 0) {
+            throw new IllegalArgumentException("Hop limit cannot be negative");
+        }
+    }
+
+    public void validateWhatIf(Set<Pair<String, String>> removedDependencies, Set<String> removedServices) {
+        if (removedDependencies == null || removedServices == null) {
+            throw new IllegalArgumentException("Removed dependencies and services cannot be null");
+        }
+        for (Pair<String, String> dependency : removedDependencies) {
+            validateServiceName(dependency.getKey());
+            validateServiceName(dependency.getValue());
+            validateServiceExists(dependency.getKey());
+            validateServiceExists(dependency.getValue());
+        }
+        for (String service : removedServices) {
+            validateServiceName(service);
+            validateServiceExists(service);
+        }
+    }
+
+    public void validateBlastRadiusQuery(int topK, double relativeError) {
+        if (topK <= 0) {
+            throw new IllegalArgumentException("Top K must be positive");
+        }
+        if (!(relativeError > 0 && relativeError < 1)) {
+            throw new IllegalArgumentException("Relative error must be in (0, 1)");
+        }
+    }
+
     public void validateServicesSet(Set<String> services) {
         if (services == null || services.isEmpty()) {
             throw new IllegalArgumentException("Services set cannot be null or empty");
         }
         
         for (String service : services) {
+            validateServiceName(service);
             validateServiceExists(service);
         }
     }
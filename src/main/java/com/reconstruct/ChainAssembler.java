@@ -0,0 +1,213 @@
+package com.reconstruct;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Incremental counterpart of {@link OrderedListReconstructor#reconstructOrder(List)} for
+ * link pairs that arrive one at a time, in any order. Each pair {@code [value, next]} is
+ * merged into a chain fragment straight away: fragments are indexed only by their first and
+ * last values, so a pair extends, prepends to or joins fragments with two map lookups, and
+ * joining copies the shorter fragment into the longer one.
+ * <p>
+ * When the head of the chain is known up front, every value contiguous from the head is
+ * passed to the sink as soon as it is confirmed and then dropped, so memory depends on the
+ * values still waiting in unresolved fragments rather than on the total input. Without a
+ * head, the chain is emitted by {@link #finish()} once all pairs are in.
+ * <p>
+ * Pairs that would close a cycle, give a value a second successor or extend past the end of
+ * the chain are rejected. A value repeated in separate fragments is not detected, since
+ * that would mean remembering every value seen. Not thread-safe.
+ */
+public class ChainAssembler {
+    private final String head;
+    private final Consumer<String> sink;
+    private final Map<String, Fragment> byFirst = new HashMap<>();
+    private final Map<String, Fragment> byLast = new HashMap<>();
+    private long emitted;
+
+    private static final class Fragment {
+        ArrayDeque<String> values = new ArrayDeque<>(4);
+        String first;
+        String last;
+        boolean terminated;
+    }
+
+    /**
+     * Creates an assembler that emits the whole chain from {@link #finish()}.
+     */
+    public ChainAssembler(Consumer<String> sink) {
+        this(null, sink);
+    }
+
+    /**
+     * Creates an assembler that emits values as soon as they are contiguous from head.
+     */
+    public ChainAssembler(String head, Consumer<String> sink) {
+        this.head = head;
+        this.sink = sink;
+    }
+
+    /**
+     * Adds the link {@code value -> next}; a null next marks value as the end of the chain.
+     * @throws IllegalArgumentException if value is null or the link contradicts earlier ones
+     */
+    public void accept(String value, String next) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        if (next == null) {
+            terminate(value);
+        } else {
+            link(value, next);
+        }
+        drainHead();
+    }
+
+    /**
+     * Adds a batch of {@code [value, next]} pairs in order.
+     */
+    public void acceptAll(List<List<String>> pairs) {
+        for (List<String> pair : pairs) {
+            accept(pair.get(0), pair.get(1));
+        }
+    }
+
+    /**
+     * Returns the number of fragments still waiting to be joined, the head fragment included.
+     */
+    public int fragmentCount() {
+        return byFirst.size();
+    }
+
+    /**
+     * Returns the number of values passed to the sink so far.
+     */
+    public long emittedCount() {
+        return emitted;
+    }
+
+    /**
+     * Returns whether every pair received so far forms one chain that starts at the known
+     * head, has been emitted in full and ends with a terminal pair.
+     */
+    public boolean isComplete() {
+        Fragment only = byFirst.size() == 1 ? byFirst.values().iterator().next() : null;
+        return only != null && only.terminated && only.values.isEmpty() && head != null;
+    }
+
+    /**
+     * Ends the stream. Without a known head, emits the chain if the pairs formed exactly one.
+     * @throws IllegalStateException if the pairs do not form a single chain
+     */
+    public void finish() {
+        if (head == null && byFirst.size() == 1) {
+            Fragment only = byFirst.values().iterator().next();
+            only.values.forEach(sink);
+            emitted += only.values.size();
+            only.values = new ArrayDeque<>(4);
+        }
+        if (byFirst.size() > 1) {
+            throw new IllegalStateException(byFirst.size() + " chain fragments were never joined");
+        }
+        if (head != null && emitted == 0 && !byFirst.isEmpty()) {
+            throw new IllegalStateException("No pair starts at head " + head);
+        }
+    }
+
+    private void link(String value, String next) {
+        if (value.equals(next)) {
+            throw new IllegalArgumentException(value + " -> " + next + " closes a cycle");
+        }
+        if (next.equals(head)) {
+            throw new IllegalArgumentException("Head " + head + " cannot have a predecessor");
+        }
+        Fragment left = byLast.get(value);
+        Fragment right = byFirst.get(next);
+        if (left != null && left.terminated) {
+            throw new IllegalArgumentException(value + " already ends the chain");
+        }
+        if (left == null && byFirst.containsKey(value)) {
+            throw new IllegalArgumentException(value + " already has a successor");
+        }
+        if (right == null && byLast.containsKey(next)) {
+            throw new IllegalArgumentException(next + " already has a predecessor");
+        }
+        if (left != null && left == right) {
+            throw new IllegalArgumentException(value + " -> " + next + " closes a cycle");
+        }
+
+        if (left != null && right != null) {
+            join(left, right);
+        } else if (left != null) {
+            byLast.remove(value);
+            left.values.addLast(next);
+            left.last = next;
+            byLast.put(next, left);
+        } else if (right != null) {
+            byFirst.remove(next);
+            right.values.addFirst(value);
+            right.first = value;
+            byFirst.put(value, right);
+        } else {
+            Fragment fragment = new Fragment();
+            fragment.values.add(value);
+            fragment.values.add(next);
+            fragment.first = value;
+            fragment.last = next;
+            byFirst.put(value, fragment);
+            byLast.put(next, fragment);
+        }
+    }
+
+    private void terminate(String value) {
+        Fragment fragment = byLast.get(value);
+        if (fragment == null) {
+            if (byFirst.containsKey(value)) {
+                throw new IllegalArgumentException(value + " already has a successor");
+            }
+            fragment = new Fragment();
+            fragment.values.add(value);
+            fragment.first = value;
+            fragment.last = value;
+            byFirst.put(value, fragment);
+            byLast.put(value, fragment);
+        }
+        fragment.terminated = true;
+    }
+
+    private void join(Fragment left, Fragment right) {
+        byLast.remove(left.last);
+        byFirst.remove(right.first);
+        Fragment kept;
+        if (left.values.size() >= right.values.size()) {
+            left.values.addAll(right.values);
+            kept = left;
+        } else {
+            for (Iterator<String> values = left.values.descendingIterator(); values.hasNext(); ) {
+                right.values.addFirst(values.next());
+            }
+            kept = right;
+        }
+        kept.first = left.first;
+        kept.last = right.last;
+        kept.terminated = right.terminated;
+        byFirst.put(kept.first, kept);
+        byLast.put(kept.last, kept);
+    }
+
+    // The head fragment keeps its first and last values as join points after its contents
+    // have been emitted.
+    private void drainHead() {
+        if (head == null) {
+            return;
+        }
+        Fragment fragment = byFirst.get(head);
+        if (fragment == null || fragment.values.isEmpty()) {
+            return;
+        }
+        fragment.values.forEach(sink);
+        emitted += fragment.values.size();
+        fragment.values = new ArrayDeque<>(4);
+    }
+}
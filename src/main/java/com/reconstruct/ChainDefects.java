@@ -0,0 +1,34 @@
+package com.reconstruct;
+
+import java.util.*;
+
+/**
+ * Reasons a set of link pairs does not form a single chain. Each list holds up to
+ * {@link #SAMPLE_LIMIT} example values, sorted.
+ * @param branches values given two different successors
+ * @param merges values named as the successor of two different values
+ * @param heads values without a predecessor; more than one means the chain has a gap
+ * @param cycleMembers values on a cycle, unreachable from any head
+ */
+public record ChainDefects(List<String> branches, List<String> merges, List<String> heads,
+                           List<String> cycleMembers) {
+    public static final int SAMPLE_LIMIT = 16;
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner("; ");
+        if (!branches.isEmpty()) {
+            joiner.add("values with two successors " + branches);
+        }
+        if (!merges.isEmpty()) {
+            joiner.add("values with two predecessors " + merges);
+        }
+        if (heads.size() > 1) {
+            joiner.add("gap between chains starting at " + heads);
+        }
+        if (!cycleMembers.isEmpty()) {
+            joiner.add("cycle through " + cycleMembers);
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.reconstruct;
+
+/**
+ * Thrown when link pairs contain branches, gaps or cycles and cannot be put in one order.
+ */
+public class MalformedChainException extends IllegalArgumentException {
+    private final transient ChainDefects defects;
+
+    public MalformedChainException(ChainDefects defects) {
+        super("Pairs do not form a single chain: " + defects);
+        this.defects = defects;
+    }
+
+    public ChainDefects getDefects() {
+        return defects;
+    }
+}
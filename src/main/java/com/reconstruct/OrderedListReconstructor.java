@@ -3,6 +3,7 @@ package com.reconstruct;
 import lombok.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 @AllArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 public class OrderedListReconstructor {
@@ -34,6 +35,19 @@ public class OrderedListReconstructor {
         return result;
     }
 
+    /**
+     * Bulk mode for very large inputs, run on the common fork-join pool. Unlike
+     * {@link #reconstructOrder(List)}, it rejects branches, gaps and cycles.
+     * @see ParallelChainRanker
+     */
+    public static List<String> reconstructOrderInParallel(List<List<String>> pairs) {
+        return ParallelChainRanker.reconstructOrder(pairs, ForkJoinPool.commonPool());
+    }
+
+    public static List<String> reconstructOrderInParallel(List<List<String>> pairs, ForkJoinPool pool) {
+        return ParallelChainRanker.reconstructOrder(pairs, pool);
+    }
+
     private static String getFirstElement(Map<String, String> nextMap) {
         java.util.Set<String> nextValues = nextMap.values().stream()
                 .filter(java.util.Objects::nonNull)
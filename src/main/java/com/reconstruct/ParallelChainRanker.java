@@ -0,0 +1,321 @@
+package com.reconstruct;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Bulk counterpart of {@link OrderedListReconstructor#reconstructOrder(List)} for exports too
+ * large for a single-threaded walk over a hash map. Every phase runs in chunks on a fork-join
+ * pool:
+ * <ol>
+ * <li>each value is interned to the index of its pair in an open-addressing table whose
+ * slots, packing the value's hash with the index, are claimed by CAS, so no boxed keys are
+ * created and most probes never touch the string;</li>
+ * <li>successors are resolved to ints, and every value claims its successor's predecessor
+ * slot, which finds values with two predecessors and leaves the heads unclaimed;</li>
+ * <li>positions are computed by Helman–JáJá list ranking: a few hundred splitters per
+ * worker, picked by index plus every head, each walk their sublist up to the next splitter
+ * and record the local rank of every value on the way. A serial pass over the sublists,
+ * following the chain from the head, gives each sublist its offset, and every value is then
+ * written straight to its final position.</li>
+ * </ol>
+ * Unlike the sequential reconstructor, malformed input is rejected with a
+ * {@link MalformedChainException} naming examples of each defect. Heads and cycles are only
+ * checked once there are no branches or merges. A pair repeated exactly is ignored, and as
+ * in the sequential version the last value needs no terminal {@code [value, null]} pair.
+ */
+public final class ParallelChainRanker {
+    private static final int CHUNK = 1 << 14;
+    private static final int SUBLISTS_PER_WORKER = 256;
+    private static final int NONE = -1;
+    private static final int DUPLICATE = -2;
+
+    private final List<List<String>> pairs;
+    private final int pairCount;
+    private final ForkJoinPool pool;
+    private final String[] values;
+    private final AtomicLongArray table;
+    private final int shift;
+    private final Map<String, Integer> tails = new ConcurrentHashMap<>();
+    private final AtomicInteger tailCount = new AtomicInteger();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final Set<String> branches = ConcurrentHashMap.newKeySet();
+    private final Set<String> merges = ConcurrentHashMap.newKeySet();
+    private String[] tailValues = new String[0];
+    private int[] next;
+    private int nodeCount;
+
+    private ParallelChainRanker(List<List<String>> pairs, ForkJoinPool pool) {
+        this.pairs = pairs instanceof RandomAccess ? pairs : new ArrayList<>(pairs);
+        this.pairCount = pairs.size();
+        this.pool = pool;
+        int capacity = Integer.highestOneBit(Math.max(8, pairCount - 1)) << 2;
+        this.values = new String[pairCount];
+        this.table = new AtomicLongArray(capacity);
+        this.shift = Integer.numberOfLeadingZeros(capacity - 1);
+        this.next = new int[pairCount];
+    }
+
+    /**
+     * Puts the values of {@code [value, next]} pairs in chain order.
+     * @throws MalformedChainException if the pairs do not form exactly one chain
+     * @throws IllegalArgumentException if a value is null
+     */
+    public static List<String> reconstructOrder(List<List<String>> pairs, ForkJoinPool pool) {
+        if (pairs == null || pairs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ParallelChainRanker(pairs, pool).run();
+    }
+
+    private List<String> run() {
+        forEachChunk(this::intern, pairCount);
+        forEachChunk(this::link, pairCount);
+        nodeCount = pairCount + tailCount.get();
+        if (nodeCount > pairCount) {
+            tailValues = new String[nodeCount - pairCount];
+            tails.forEach((value, node) -> tailValues[node - pairCount] = value);
+            next = Arrays.copyOf(next, nodeCount);
+            Arrays.fill(next, pairCount, nodeCount, NONE);
+        }
+        int[] heads = claimPredecessors();
+        if (!branches.isEmpty() || !merges.isEmpty()) {
+            throw new MalformedChainException(new ChainDefects(sample(branches), sample(merges), List.of(), List.of()));
+        }
+        return rank(heads);
+    }
+
+    private void intern(int from, int to) {
+        for (int pair = from; pair < to; pair++) {
+            String value = pairs.get(pair).get(0);
+            if (value == null) {
+                throw new IllegalArgumentException("Value cannot be null");
+            }
+            values[pair] = value;
+            int hash = value.hashCode();
+            long entry = (long) hash << 32 | (pair + 1);
+            int slot = slotOf(hash);
+            while (true) {
+                long claimed = table.get(slot);
+                if (claimed == 0 && table.compareAndSet(slot, 0, entry)) {
+                    break;
+                }
+                if (claimed != 0 && (int) (claimed >>> 32) == hash && value.equals(values[(int) claimed - 1])) {
+                    next[pair] = DUPLICATE;
+                    duplicates.incrementAndGet();
+                    if (!Objects.equals(pairs.get(pair).get(1), pairs.get((int) claimed - 1).get(1))) {
+                        addSample(branches, value);
+                    }
+                    break;
+                }
+                if (claimed != 0) {
+                    slot = (slot + 1) & (table.length() - 1);
+                }
+            }
+        }
+    }
+
+    // Values that only ever appear as a successor get ids after the pairs.
+    private void link(int from, int to) {
+        for (int pair = from; pair < to; pair++) {
+            if (next[pair] == DUPLICATE) {
+                continue;
+            }
+            String successor = pairs.get(pair).get(1);
+            if (successor == null) {
+                next[pair] = NONE;
+                continue;
+            }
+            int node = find(successor);
+            next[pair] = node != NONE ? node : tails.computeIfAbsent(successor, value -> pairCount + tailCount.getAndIncrement());
+        }
+    }
+
+    private int[] claimPredecessors() {
+        AtomicIntegerArray predecessor = new AtomicIntegerArray(nodeCount);
+        forEachChunk((from, to) -> {
+            for (int node = from; node < to; node++) {
+                int successor = next[node];
+                if (successor >= 0 && !predecessor.compareAndSet(successor, 0, node + 1)) {
+                    addSample(merges, valueOf(successor));
+                }
+            }
+        }, pairCount);
+
+        int chunks = (nodeCount + CHUNK - 1) / CHUNK;
+        int[][] found = new int[chunks][];
+        forEachChunk((from, to) -> {
+            int[] heads = new int[4];
+            int count = 0;
+            for (int node = from; node < to; node++) {
+                if (next[node] != DUPLICATE && predecessor.get(node) == 0) {
+                    if (count == heads.length) {
+                        heads = Arrays.copyOf(heads, count * 2);
+                    }
+                    heads[count++] = node;
+                }
+            }
+            found[from / CHUNK] = Arrays.copyOf(heads, count);
+        }, nodeCount);
+        return Arrays.stream(found).flatMapToInt(Arrays::stream).toArray();
+    }
+
+    private List<String> rank(int[] heads) {
+        int stride = Math.max(1, nodeCount / (pool.getParallelism() * SUBLISTS_PER_WORKER));
+        int[] sublistOf = new int[nodeCount];
+        forEachChunk((from, to) -> Arrays.fill(sublistOf, from, to, NONE), nodeCount);
+        int[] splitters = Arrays.copyOf(heads, heads.length + nodeCount / stride + 1);
+        int sublists = heads.length;
+        for (int sublist = 0; sublist < heads.length; sublist++) {
+            sublistOf[heads[sublist]] = sublist;
+        }
+        for (int node = 0; node < nodeCount; node += stride) {
+            if (next[node] != DUPLICATE && sublistOf[node] == NONE) {
+                sublistOf[node] = sublists;
+                splitters[sublists++] = node;
+            }
+        }
+
+        int[] localRank = new int[nodeCount];
+        int[] length = new int[sublists];
+        int[] nextSublist = new int[sublists];
+        forEachChunk((from, to) -> {
+            for (int sublist = from; sublist < to; sublist++) {
+                int node = splitters[sublist];
+                int rank = 0;
+                while (true) {
+                    localRank[node] = rank++;
+                    int successor = next[node];
+                    if (successor < 0 || sublistOf[successor] != NONE) {
+                        nextSublist[sublist] = successor < 0 ? NONE : sublistOf[successor];
+                        break;
+                    }
+                    sublistOf[successor] = sublist;
+                    node = successor;
+                }
+                length[sublist] = rank;
+            }
+        }, sublists, Math.max(1, sublists / (pool.getParallelism() * SUBLISTS_PER_WORKER)));
+
+        int[] offset = new int[sublists];
+        Arrays.fill(offset, NONE);
+        int reached = 0;
+        for (int head = 0; head < heads.length; head++) {
+            int position = 0;
+            for (int sublist = head; sublist != NONE; sublist = nextSublist[sublist]) {
+                offset[sublist] = position;
+                position += length[sublist];
+            }
+            reached += position;
+        }
+        int live = nodeCount - duplicates.get();
+        if (heads.length != 1 || reached != live) {
+            throw new MalformedChainException(new ChainDefects(List.of(), List.of(), valuesOf(heads),
+                    cycleMembers(sublistOf, offset)));
+        }
+
+        String[] ordered = new String[live];
+        forEachChunk((from, to) -> {
+            for (int node = from; node < to; node++) {
+                if (next[node] != DUPLICATE) {
+                    ordered[offset[sublistOf[node]] + localRank[node]] = valueOf(node);
+                }
+            }
+        }, nodeCount);
+        return Arrays.asList(ordered);
+    }
+
+    private List<String> cycleMembers(int[] sublistOf, int[] offset) {
+        Set<String> members = new HashSet<>();
+        for (int node = 0; node < nodeCount && members.size() < ChainDefects.SAMPLE_LIMIT; node++) {
+            if (next[node] != DUPLICATE && (sublistOf[node] == NONE || offset[sublistOf[node]] == NONE)) {
+                members.add(valueOf(node));
+            }
+        }
+        return sample(members);
+    }
+
+    private List<String> valuesOf(int[] nodes) {
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < Math.min(nodes.length, ChainDefects.SAMPLE_LIMIT); i++) {
+            values.add(valueOf(nodes[i]));
+        }
+        return sample(values);
+    }
+
+    private int find(String value) {
+        int hash = value.hashCode();
+        for (int slot = slotOf(hash); ; slot = (slot + 1) & (table.length() - 1)) {
+            long claimed = table.get(slot);
+            if (claimed == 0) {
+                return NONE;
+            }
+            if ((int) (claimed >>> 32) == hash && value.equals(values[(int) claimed - 1])) {
+                return (int) claimed - 1;
+            }
+        }
+    }
+
+    private String valueOf(int node) {
+        return node < pairCount ? values[node] : tailValues[node - pairCount];
+    }
+
+    private int slotOf(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    // The bound is checked without locking, so the set may briefly hold a few extra values.
+    private static void addSample(Set<String> samples, String value) {
+        if (samples.size() < ChainDefects.SAMPLE_LIMIT) {
+            samples.add(value);
+        }
+    }
+
+    private static List<String> sample(Set<String> values) {
+        return values.stream().sorted().limit(ChainDefects.SAMPLE_LIMIT).toList();
+    }
+
+    private void forEachChunk(RangeAction action, int size) {
+        forEachChunk(action, size, CHUNK);
+    }
+
+    // Runs a single chunk inline and otherwise splits the index range recursively on the pool.
+    private void forEachChunk(RangeAction action, int size, int chunk) {
+        if (size <= chunk) {
+            action.run(0, size);
+        } else {
+            pool.invoke(new ChunkRange(action, 0, (size + chunk - 1) / chunk, chunk, size));
+        }
+    }
+
+    private interface RangeAction {
+        void run(int from, int to);
+    }
+
+    private static final class ChunkRange extends RecursiveAction {
+        private final RangeAction action;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final int size;
+
+        ChunkRange(RangeAction action, int from, int to, int chunk, int size) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.size = size;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.run(from * chunk, Math.min(size, (from + 1) * chunk));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkRange(action, from, middle, chunk, size), new ChunkRange(action, middle, to, chunk, size));
+        }
+    }
+}
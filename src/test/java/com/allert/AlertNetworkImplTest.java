@@ -1,10 +1,15 @@
 package com.allert;
 
+import com.allert.graph.*;
+import com.allert.io.*;
 import javafx.util.*;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
 import org.junit.jupiter.params.*;
 import org.junit.jupiter.params.provider.*;
 
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
 import java.util.stream.*;
 
@@ -124,6 +129,52 @@ class AlertNetworkImplTest {
             assertEquals(expectedPath, path);
         }
 
+        @ParameterizedTest
+        @DisplayName("Should find the same path from the distance index")
+        @MethodSource("provideGraphConfigurations")
+        void shouldFindSamePathFromDistanceIndex(
+                List<String> services,
+                List<Pair<String, String>> dependencies,
+                String start,
+                String end,
+                List<String> expectedPath) {
+            // Given
+            AlertNetworkImpl indexedNetwork = new AlertNetworkImpl();
+            indexedNetwork.enableDistanceIndex();
+            services.forEach(indexedNetwork::addService);
+            dependencies.forEach(pair ->
+                    indexedNetwork.addDependency(pair.getKey(), pair.getValue()));
+
+            // When
+            List<String> path = indexedNetwork.findAlertPropagationPath(start, end);
+
+            // Then
+            assertEquals(expectedPath, path);
+            assertEquals(OptionalInt.of(expectedPath.size() - 1), indexedNetwork.findPropagationDistance(start, end));
+            assertTrue(indexedNetwork.distanceIndexStats().isPresent());
+        }
+
+        @Test
+        @DisplayName("Should keep the distance index exact after removals")
+        void shouldKeepDistanceIndexExactAfterRemovals() {
+            // Given
+            AlertNetworkImpl indexedNetwork = new AlertNetworkImpl();
+            List.of("A", "B", "C", "D").forEach(indexedNetwork::addService);
+            indexedNetwork.addDependency("A", "B");
+            indexedNetwork.addDependency("B", "C");
+            indexedNetwork.addDependency("C", "D");
+            indexedNetwork.addDependency("A", "D");
+            indexedNetwork.enableDistanceIndex();
+
+            // When
+            indexedNetwork.removeDependency("A", "D");
+
+            // Then
+            assertEquals(List.of("A", "B", "C", "D"), indexedNetwork.findAlertPropagationPath("A", "D"));
+            assertEquals(List.of("D", "C", "B", "A"), indexedNetwork.findUpstreamPath("D", "A"));
+            assertEquals(OptionalInt.empty(), indexedNetwork.findPropagationDistance("D", "A"));
+        }
+
         @Test
         @DisplayName("Should return empty list when no path exists")
         void shouldReturnEmptyListWhenNoPathExists() {
@@ -220,6 +271,59 @@ class AlertNetworkImplTest {
                     () -> alertNetwork.getAffectedServices("B"));
         }
 
+        @ParameterizedTest
+        @DisplayName("Should get the same affected services from the reachability index")
+        @MethodSource("provideGraphConfigurations")
+        void shouldGetSameAffectedServicesFromReachabilityIndex(
+                List<String> services,
+                List<Pair<String, String>> dependencies,
+                String source,
+                List<String> expectedAffected) {
+            // Given
+            AlertNetworkImpl indexedNetwork = new AlertNetworkImpl();
+            indexedNetwork.enableReachabilityIndex();
+            services.forEach(indexedNetwork::addService);
+            dependencies.forEach(pair ->
+                    indexedNetwork.addDependency(pair.getKey(), pair.getValue()));
+
+            // When
+            List<String> affected = indexedNetwork.getAffectedServices(source);
+
+            // Then
+            assertEquals(new HashSet<>(expectedAffected), new HashSet<>(affected));
+            assertEquals(expectedAffected.size(), affected.size());
+            assertTrue(indexedNetwork.reachabilityIndexStats().isPresent());
+        }
+
+        @ParameterizedTest
+        @DisplayName("Should get the same affected services with parallel traversal")
+        @MethodSource("provideGraphConfigurations")
+        void shouldGetSameAffectedServicesWithParallelTraversal(
+                List<String> services,
+                List<Pair<String, String>> dependencies,
+                String source,
+                List<String> expectedAffected) {
+            // Given
+            AlertNetworkImpl parallelNetwork = new AlertNetworkImpl(PathSearchMode.FORWARD, TraversalMode.PARALLEL);
+            services.forEach(service -> {
+                parallelNetwork.addService(service);
+                alertNetwork.addService(service);
+            });
+            dependencies.forEach(pair -> {
+                parallelNetwork.addDependency(pair.getKey(), pair.getValue());
+                alertNetwork.addDependency(pair.getKey(), pair.getValue());
+            });
+
+            // When
+            List<String> byInstance = parallelNetwork.getAffectedServices(source);
+            List<String> byCall = alertNetwork.getAffectedServices(source, TraversalMode.PARALLEL);
+
+            // Then
+            assertEquals(new HashSet<>(expectedAffected), new HashSet<>(byInstance));
+            assertEquals(expectedAffected.size(), byInstance.size());
+            assertEquals(byInstance, byCall);
+        }
+
         @ParameterizedTest
         @DisplayName("Should get affected services in various graph configurations")
         @MethodSource("provideGraphConfigurations")
@@ -241,6 +345,371 @@ class AlertNetworkImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Streaming Impact Query Tests")
+    class StreamingImpactQueryTests {
+
+        @BeforeEach
+        void setUp() {
+            List.of("A", "B", "C", "D", "E").forEach(alertNetwork::addService);
+            alertNetwork.addDependency("A", "B");
+            alertNetwork.addDependency("A", "C");
+            alertNetwork.addDependency("B", "D");
+            alertNetwork.addDependency("C", "D");
+            alertNetwork.addDependency("D", "E");
+        }
+
+        @Test
+        @DisplayName("Should stream affected services in breadth-first order")
+        void shouldStreamAffectedServices() {
+            // When
+            List<String> affected = alertNetwork.streamAffectedServices("A").toList();
+
+            // Then
+            assertEquals(alertNetwork.getAffectedServices("A"), affected);
+        }
+
+        @Test
+        @DisplayName("Should stop at the hop limit, the result limit or the first match")
+        void shouldBoundStreamedServices() {
+            // When & Then
+            assertEquals(List.of("A"), alertNetwork.streamAffectedServices("A", 0).toList());
+            assertEquals(List.of("A", "B", "C", "D"), alertNetwork.streamAffectedServices("A", 2).toList());
+            assertEquals(List.of("A", "B"), alertNetwork.streamAffectedServices("A").limit(2).toList());
+            assertTrue(alertNetwork.streamAffectedServices("B").anyMatch("E"::equals));
+            assertFalse(alertNetwork.streamAffectedServices("D").anyMatch("B"::equals));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown services and negative hop limits")
+        void shouldValidateStreamArguments() {
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.streamAffectedServices("X"));
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.streamAffectedServices("A", -1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Visitor Query Tests")
+    class VisitorQueryTests {
+        private final TraversalContext context = new TraversalContext();
+
+        @BeforeEach
+        void setUp() {
+            for (int i = 0; i < 200; i++) {
+                alertNetwork.addService("service-" + i);
+            }
+            Random random = new Random(11);
+            for (int i = 0; i < 600; i++) {
+                alertNetwork.addDependency("service-" + random.nextInt(200), "service-" + random.nextInt(200));
+            }
+        }
+
+        @Test
+        @DisplayName("Should visit the same services as the list-returning queries")
+        void shouldMatchListQueries() {
+            for (int i = 0; i < 200; i += 9) {
+                // Given
+                String service = "service-" + i;
+                List<String> affected = new ArrayList<>();
+                List<String> upstream = new ArrayList<>();
+                List<String> path = new ArrayList<>();
+
+                // When
+                alertNetwork.visitAffectedServices(service, context, (name, hops) -> affected.add(name));
+                alertNetwork.visitUpstreamServices(service, context, (name, hops) -> upstream.add(name));
+                alertNetwork.visitAlertPropagationPath(service, "service-1", context, (name, hops) -> path.add(name));
+
+                // Then
+                assertEquals(alertNetwork.getAffectedServices(service), affected);
+                assertEquals(alertNetwork.getUpstreamServices(service), upstream);
+                assertEquals(alertNetwork.findAlertPropagationPath(service, "service-1"), path);
+            }
+        }
+
+        @Test
+        @DisplayName("Should not allocate once the context has warmed up")
+        void shouldNotAllocateInSteadyState() {
+            // Given
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+            int[] visited = new int[1];
+            ServiceVisitor counter = (name, hops) -> {
+                visited[0]++;
+                return true;
+            };
+            String[] sources = new String[10];
+            for (int i = 0; i < sources.length; i++) {
+                sources[i] = "service-" + i;
+            }
+            for (int round = 0; round < 50; round++) {
+                for (String source : sources) {
+                    alertNetwork.visitAffectedServices(source, context, counter);
+                    alertNetwork.visitAlertPropagationPath(source, "service-1", context, counter);
+                }
+            }
+
+            // When
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int round = 0; round < 100; round++) {
+                for (String source : sources) {
+                    alertNetwork.visitAffectedServices(source, context, counter);
+                    alertNetwork.visitAlertPropagationPath(source, "service-1", context, counter);
+                }
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            // Then
+            assertTrue(visited[0] > 0);
+            assertTrue(allocated < 1_024, "allocated " + allocated + " bytes");
+        }
+    }
+
+    @Nested
+    @DisplayName("Weighted Query Tests")
+    class WeightedQueryTests {
+
+        @BeforeEach
+        void setUp() {
+            List.of("A", "B", "C", "D").forEach(alertNetwork::addService);
+            alertNetwork.addDependency("A", "B", 5, 0.9);
+            alertNetwork.addDependency("B", "D", 5, 0.9);
+            alertNetwork.addDependency("A", "C", 1, 0.5);
+            alertNetwork.addDependency("C", "D", 2, 0.5);
+        }
+
+        @Test
+        @DisplayName("Should report the earliest time each service is affected")
+        void shouldFindEarliestImpact() {
+            // When
+            Map<String, Double> impact = alertNetwork.findEarliestImpact("A");
+
+            // Then
+            assertEquals(List.of("A", "C", "D", "B"), List.copyOf(impact.keySet()));
+            assertEquals(List.of(0.0, 1.0, 3.0, 5.0), List.copyOf(impact.values()));
+        }
+
+        @Test
+        @DisplayName("Should prefer the most probable path over the fewest hops")
+        void shouldFindMostProbablePath() {
+            // Given
+            alertNetwork.addDependency("A", "D", 1, 0.5);
+
+            // When & Then
+            assertEquals(List.of("A", "B", "D"), alertNetwork.findMostProbablePropagationPath("A", "D"));
+            assertEquals(List.of("A", "D"), alertNetwork.findAlertPropagationPath("A", "D"));
+            assertEquals(List.of(), alertNetwork.findMostProbablePropagationPath("D", "A"));
+        }
+
+        @Test
+        @DisplayName("Should update the weights of an existing dependency")
+        void shouldUpdateWeights() {
+            // When
+            alertNetwork.addDependency("A", "B", 0.5, 0.9);
+
+            // Then
+            assertEquals(List.of("B"), alertNetwork.getDependencies("A").subList(0, 1));
+            assertEquals(0.5, alertNetwork.findEarliestImpact("A").get("B"));
+        }
+
+        @Test
+        @DisplayName("Should reject negative latencies and probabilities outside (0, 1]")
+        void shouldValidateWeights() {
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.addDependency("A", "D", -1, 0.5));
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.addDependency("A", "D", 1, 0));
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.addDependency("A", "D", 1, 1.5));
+            assertThrows(IllegalArgumentException.class,
+                    () -> alertNetwork.addDependency("A", "D", Double.NaN, 0.5));
+        }
+    }
+
+    @Nested
+    @DisplayName("Upstream Query Tests")
+    class UpstreamQueryTests {
+
+        @BeforeEach
+        void setUp() {
+            List.of("A", "B", "C", "D", "E").forEach(alertNetwork::addService);
+            alertNetwork.addDependency("A", "B");
+            alertNetwork.addDependency("A", "C");
+            alertNetwork.addDependency("B", "D");
+            alertNetwork.addDependency("C", "D");
+            alertNetwork.addDependency("D", "E");
+        }
+
+        @Test
+        @DisplayName("Should get every service whose alerts can reach the target, nearest first")
+        void shouldGetUpstreamServices() {
+            // When
+            List<String> upstream = alertNetwork.getUpstreamServices("E");
+
+            // Then
+            assertEquals(List.of("E", "D", "B", "C", "A"), upstream);
+            assertEquals(List.of("A"), alertNetwork.getUpstreamServices("A"));
+        }
+
+        @ParameterizedTest
+        @DisplayName("Should find the reverse of the downstream propagation path")
+        @EnumSource(PathSearchMode.class)
+        void shouldFindUpstreamPath(PathSearchMode mode) {
+            // Given
+            AlertNetworkImpl network = new AlertNetworkImpl(mode);
+            List.of("A", "B", "C", "D", "E").forEach(network::addService);
+            network.addDependency("A", "B");
+            network.addDependency("B", "C");
+            network.addDependency("C", "E");
+            network.addDependency("A", "D");
+            network.addDependency("D", "E");
+
+            // When
+            List<String> path = network.findUpstreamPath("E", "A");
+
+            // Then
+            assertEquals(List.of("E", "D", "A"), path);
+            assertEquals(List.of(), network.findUpstreamPath("A", "E"));
+        }
+
+        @Test
+        @DisplayName("Should throw exception when target does not exist")
+        void shouldThrowExceptionWhenTargetDoesNotExist() {
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.getUpstreamServices("X"));
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.findUpstreamPath("X", "A"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Removal and What-If Tests")
+    class RemovalAndWhatIfTests {
+
+        @BeforeEach
+        void setUp() {
+            List.of("A", "B", "C", "D", "E").forEach(alertNetwork::addService);
+            alertNetwork.addDependency("A", "B");
+            alertNetwork.addDependency("A", "C");
+            alertNetwork.addDependency("B", "D");
+            alertNetwork.addDependency("C", "D");
+            alertNetwork.addDependency("D", "E");
+        }
+
+        @Test
+        @DisplayName("Should stop propagating alerts through a removed dependency")
+        void shouldRemoveDependency() {
+            // When
+            boolean removed = alertNetwork.removeDependency("A", "B");
+            boolean removedAgain = alertNetwork.removeDependency("A", "B");
+
+            // Then
+            assertTrue(removed);
+            assertFalse(removedAgain);
+            assertEquals(List.of("C"), alertNetwork.getDependencies("A"));
+            assertEquals(List.of("A", "C", "D", "E"), alertNetwork.getAffectedServices("A"));
+            assertEquals(List.of(), alertNetwork.findAlertPropagationPath("A", "B"));
+        }
+
+        @Test
+        @DisplayName("Should remove a service with its dependencies and accept it again as a new service")
+        void shouldRemoveService() {
+            // When
+            alertNetwork.removeService("D");
+
+            // Then
+            assertFalse(alertNetwork.containsService("D"));
+            assertEquals(List.of("A", "B", "C"), alertNetwork.getAffectedServices("A"));
+            assertEquals(List.of("E"), alertNetwork.getUpstreamServices("E"));
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.getDependencies("D"));
+
+            alertNetwork.addService("D");
+            alertNetwork.addDependency("D", "A");
+            assertEquals(List.of("D", "A", "B", "C"), alertNetwork.getAffectedServices("D"));
+            assertEquals(List.of("A", "B", "C"), alertNetwork.getAffectedServices("A"));
+        }
+
+        @Test
+        @DisplayName("Should forget the weights of a removed dependency")
+        void shouldResetWeightsOfRemovedDependency() {
+            // Given
+            alertNetwork.addDependency("A", "B", 7, 0.5);
+
+            // When
+            alertNetwork.removeDependency("A", "B");
+            alertNetwork.addDependency("A", "B");
+
+            // Then
+            assertEquals(1.0, alertNetwork.findEarliestImpact("A").get("B"));
+        }
+
+        @Test
+        @DisplayName("Should keep the reachability index consistent with removals")
+        void shouldKeepReachabilityIndexConsistent() {
+            // Given
+            AlertNetworkImpl network = new AlertNetworkImpl();
+            List.of("A", "B", "C").forEach(network::addService);
+            network.addDependency("A", "B");
+            network.addDependency("B", "C");
+            network.enableReachabilityIndex();
+
+            // When
+            network.removeDependency("B", "C");
+
+            // Then
+            assertEquals(Set.of("A", "B"), Set.copyOf(network.getAffectedServices("A")));
+        }
+
+        @Test
+        @DisplayName("Should answer queries on a what-if overlay without changing the network")
+        void shouldQueryWhatIfOverlay() {
+            // When
+            NetworkOverlay overlay = alertNetwork.whatIf(Set.of(new Pair<>("A", "B")), Set.of("C"));
+
+            // Then
+            assertEquals(List.of("A"), overlay.getAffectedServices("A"));
+            assertEquals(List.of("B", "D", "E"), overlay.getAffectedServices("B"));
+            assertEquals(List.of(), overlay.getDependencies("A"));
+            assertEquals(List.of(), overlay.findAlertPropagationPath("A", "E"));
+            assertEquals(2, overlay.dependencyCount());
+            assertThrows(IllegalArgumentException.class, () -> overlay.getAffectedServices("C"));
+            assertEquals(List.of("A", "B", "C", "D", "E"), alertNetwork.getAffectedServices("A"));
+        }
+
+        @Test
+        @DisplayName("Should answer containment queries on a what-if overlay")
+        void shouldRunContainmentOnWhatIfOverlay() {
+            // When
+            NetworkOverlay overlay = alertNetwork.whatIf(Set.of(new Pair<>("A", "C")), Set.of());
+
+            // Then
+            assertEquals(1, overlay.findMinimumContainmentCut("A", Set.of("E")).size());
+            assertEquals(new ContainmentCandidate("A", "B", 3), overlay.rankContainmentEdges("A").get(0));
+            assertEquals(1, alertNetwork.rankContainmentEdges("A").get(0).isolatedServices());
+        }
+
+        @Test
+        @DisplayName("Should not see changes made to the network after the overlay was created")
+        void shouldIsolateOverlayFromLaterChanges() {
+            // Given
+            NetworkOverlay overlay = alertNetwork.whatIf(Set.of(), Set.of());
+
+            // When
+            alertNetwork.removeDependency("D", "E");
+
+            // Then
+            assertEquals(List.of("D", "E"), overlay.getAffectedServices("D"));
+            assertEquals(List.of("D"), alertNetwork.getAffectedServices("D"));
+        }
+
+        @Test
+        @DisplayName("Should reject removals and overlays naming unknown services")
+        void shouldRejectUnknownServices() {
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.removeDependency("A", "X"));
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.removeService("X"));
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.whatIf(Set.of(), Set.of("X")));
+            assertThrows(IllegalArgumentException.class, () -> alertNetwork.whatIf(null, Set.of()));
+        }
+    }
+
     @Test
     @DisplayName("Should suggest containment edges")
     void shouldSuggestContainmentEdges() {
@@ -293,4 +762,193 @@ class AlertNetworkImplTest {
         assertEquals(3, containmentEdges.size());
         assertTrue(containmentEdges.stream().anyMatch(e -> e.getKey().equals("C") && e.getValue().equals("D")));
     }
-} 
+
+    @Test
+    @DisplayName("Should rank containment edges by the number of isolated services")
+    void shouldRankContainmentEdgesByIsolatedServices() {
+        // Given
+        List.of("A", "B", "C", "D", "E", "F", "G").forEach(alertNetwork::addService);
+        alertNetwork.addDependency("A", "B");
+        alertNetwork.addDependency("A", "C");
+        alertNetwork.addDependency("A", "G");
+        alertNetwork.addDependency("B", "C");
+        alertNetwork.addDependency("C", "D");
+        alertNetwork.addDependency("C", "E");
+        alertNetwork.addDependency("D", "F");
+        alertNetwork.addDependency("D", "B");
+
+        // When
+        List<ContainmentCandidate> ranking = alertNetwork.rankContainmentEdges("A");
+
+        // Then
+        assertEquals(new ContainmentCandidate("C", "D", 2), ranking.get(0));
+        assertEquals(4, ranking.size());
+        assertTrue(ranking.subList(1, 4).stream().allMatch(candidate -> candidate.isolatedServices() == 1));
+        assertTrue(ranking.stream().noneMatch(candidate -> candidate.fromService().equals("A")
+                && candidate.toService().equals("B")));
+    }
+
+    @Test
+    @DisplayName("Should find the minimum cut protecting a set of services")
+    void shouldFindMinimumCutProtectingServices() {
+        // Given
+        List.of("A", "B", "C", "D", "E").forEach(alertNetwork::addService);
+        alertNetwork.addDependency("A", "B");
+        alertNetwork.addDependency("A", "C");
+        alertNetwork.addDependency("B", "D");
+        alertNetwork.addDependency("C", "D");
+        alertNetwork.addDependency("D", "E");
+
+        // When
+        List<Pair<String, String>> cut = alertNetwork.findMinimumContainmentCut("A", Set.of("E"));
+
+        // Then
+        assertEquals(List.of(new Pair<>("D", "E")), cut);
+    }
+
+    @Test
+    @DisplayName("Should validate protected services")
+    void shouldValidateProtectedServices() {
+        // Given
+        alertNetwork.addService("A");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> alertNetwork.findMinimumContainmentCut("A", Set.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> alertNetwork.findMinimumContainmentCut("A", Set.of("B")));
+    }
+
+    @Test
+    @DisplayName("Should rank services by exact blast radius on a small network, skipping removed services")
+    void shouldRankBlastRadius() {
+        // Given
+        List.of("A", "B", "C", "D", "E", "F").forEach(alertNetwork::addService);
+        alertNetwork.addDependency("A", "B");
+        alertNetwork.addDependency("B", "C");
+        alertNetwork.addDependency("C", "B");
+        alertNetwork.addDependency("C", "D");
+        alertNetwork.addDependency("E", "D");
+        alertNetwork.addDependency("F", "A");
+        alertNetwork.removeService("F");
+
+        // When
+        List<BlastRadius> ranking = alertNetwork.rankBlastRadius(4, 0.05);
+
+        // Then
+        assertEquals(List.of(
+                new BlastRadius("A", 4, 4, 4),
+                new BlastRadius("B", 3, 3, 3),
+                new BlastRadius("C", 3, 3, 3),
+                new BlastRadius("E", 2, 2, 2)), ranking);
+        assertEquals(5, alertNetwork.rankBlastRadius(10, 0.05).size());
+    }
+
+    @Test
+    @DisplayName("Should bound estimated blast radii around the exact count on a large network")
+    void shouldBoundEstimatedBlastRadius() {
+        // Given
+        for (int i = 0; i < 2_000; i++) {
+            alertNetwork.addService("service-" + i);
+        }
+        for (int i = 1; i < 2_000; i++) {
+            alertNetwork.addDependency("service-" + (i - 1), "service-" + i);
+        }
+
+        // When
+        List<BlastRadius> ranking = alertNetwork.rankBlastRadius(3, 0.1);
+
+        // Then
+        assertEquals(List.of("service-0", "service-1", "service-2"), ranking.stream().map(BlastRadius::service).toList());
+        BlastRadius top = ranking.get(0);
+        assertTrue(top.lowerBound() <= 2_000 && 2_000 <= top.upperBound(), top.toString());
+        assertTrue(top.lowerBound() < top.upperBound());
+    }
+
+    @Test
+    @DisplayName("Should validate blast radius queries")
+    void shouldValidateBlastRadiusQueries() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.rankBlastRadius(0, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.rankBlastRadius(5, 0));
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.rankBlastRadius(5, 1));
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.rankBlastRadius(5, Double.NaN));
+    }
+
+    @Test
+    @DisplayName("Should analyze the impact of several alerting services at once")
+    void shouldAnalyzeImpactOfSeveralServices() {
+        // Given
+        List.of("A", "B", "C", "D").forEach(alertNetwork::addService);
+        alertNetwork.addDependency("A", "C");
+        alertNetwork.addDependency("B", "C");
+        alertNetwork.addDependency("C", "D");
+
+        // When
+        ImpactAnalysis impact = alertNetwork.analyzeImpact(Set.of("A", "B"));
+
+        // Then
+        assertEquals(Set.of("A", "C", "D"), new HashSet<>(impact.affectedBySource().get("A")));
+        assertEquals(Set.of("B", "C", "D"), new HashSet<>(impact.affectedBySource().get("B")));
+        assertEquals(Set.of("A", "B", "C", "D"), new HashSet<>(impact.union()));
+        assertEquals(Set.of("C", "D"), new HashSet<>(impact.intersection()));
+    }
+
+    @Test
+    @DisplayName("Should load a topology file like the equivalent sequence of additions")
+    void shouldLoadTopologyFile(@TempDir Path directory) throws IOException {
+        // Given
+        alertNetwork.addService("A");
+        alertNetwork.addService("B");
+        alertNetwork.addDependency("A", "B");
+        Path file = Files.writeString(directory.resolve("topology.csv"), """
+                # from,to
+                A,B
+                B,C
+                C,D
+                B,C
+                E
+                """);
+
+        // When
+        LoadStats stats = alertNetwork.loadTopology(file);
+
+        // Then
+        assertEquals(3, stats.services());
+        assertEquals(2, stats.dependencies());
+        assertEquals(List.of("A", "B", "C", "D"), alertNetwork.getAffectedServices("A"));
+        assertEquals(List.of("E"), alertNetwork.getAffectedServices("E"));
+        assertEquals(List.of("A", "B", "C", "D"), alertNetwork.findAlertPropagationPath("A", "D"));
+    }
+
+    @Test
+    @DisplayName("Should leave the network untouched when the topology file is malformed")
+    void shouldRejectMalformedTopologyFile(@TempDir Path directory) throws IOException {
+        // Given
+        Path file = Files.writeString(directory.resolve("topology.csv"), "A,B\nA B C\n");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.loadTopology(file));
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.getDependencies("A"));
+    }
+
+    @Test
+    @DisplayName("Should keep registry and graph in step when a topology file has an invalid name")
+    void shouldStayConsistentAfterInvalidTopologyName(@TempDir Path directory) throws IOException {
+        // Given
+        alertNetwork.addService("x");
+        Path file = Files.writeString(directory.resolve("topology.csv"), "a,b\nc,\u000B\n");
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.loadTopology(file));
+        alertNetwork.addService("y");
+        alertNetwork.addDependency("x", "y");
+
+        // Then
+        assertFalse(alertNetwork.containsService("a"));
+        assertEquals(2, ((AlertNetworkImpl) alertNetwork).serviceCount());
+        assertEquals(List.of("x", "y"), alertNetwork.getAffectedServices("x"));
+        assertEquals(List.of(new BlastRadius("x", 2, 2, 2), new BlastRadius("y", 1, 1, 1)),
+                alertNetwork.rankBlastRadius(5, 0.05));
+    }
+}
@@ -0,0 +1,231 @@
+package com.allert;
+
+import com.allert.io.*;
+import javafx.util.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentAlertNetworkTest {
+    private ConcurrentAlertNetwork alertNetwork;
+
+    @BeforeEach
+    void setUp() {
+        alertNetwork = new ConcurrentAlertNetwork();
+    }
+
+    @Test
+    @DisplayName("Should answer queries like the single-threaded implementation")
+    void shouldAnswerQueriesLikeSingleThreadedImplementation() {
+        // Given
+        AlertNetwork reference = new AlertNetworkImpl();
+        for (AlertNetwork network : List.of(alertNetwork, reference)) {
+            List.of("A", "B", "C", "D").forEach(network::addService);
+            network.addDependency("A", "B");
+            network.addDependency("B", "C");
+            network.addDependency("A", "D");
+            network.addDependency("D", "C");
+        }
+
+        // When & Then
+        assertEquals(reference.findAlertPropagationPath("A", "C"), alertNetwork.findAlertPropagationPath("A", "C"));
+        assertEquals(reference.getAffectedServices("A"), alertNetwork.getAffectedServices("A"));
+        assertEquals(reference.getAffectedServices("A", TraversalMode.PARALLEL),
+                alertNetwork.getAffectedServices("A", TraversalMode.PARALLEL));
+        assertEquals(reference.streamAffectedServices("A", 1).toList(),
+                alertNetwork.streamAffectedServices("A", 1).toList());
+        assertEquals(reference.suggestContainmentEdges("A"), alertNetwork.suggestContainmentEdges("A"));
+        assertEquals(reference.getDependencies("A"), alertNetwork.getDependencies("A"));
+        assertEquals(reference.getUpstreamServices("C"), alertNetwork.getUpstreamServices("C"));
+        assertEquals(reference.findUpstreamPath("C", "A"), alertNetwork.findUpstreamPath("C", "A"));
+    }
+
+    @Test
+    @DisplayName("Should remove dependencies and services and evaluate overlays like the single-threaded implementation")
+    void shouldRemoveAndEvaluateOverlaysLikeSingleThreadedImplementation() throws Exception {
+        // Given
+        AlertNetworkImpl reference = new AlertNetworkImpl();
+        for (AlertNetwork network : List.of(alertNetwork, reference)) {
+            for (int i = 0; i < 50; i++) {
+                network.addService("service-" + i);
+            }
+            Random random = new Random(5);
+            for (int i = 0; i < 200; i++) {
+                network.addDependency("service-" + random.nextInt(50), "service-" + random.nextInt(50));
+            }
+            network.removeService("service-7");
+            network.removeDependency("service-0", network.getDependencies("service-0").get(0));
+        }
+
+        // When
+        List<Callable<List<String>>> queries = new ArrayList<>();
+        for (String dependency : reference.getDependencies("service-0")) {
+            Pair<String, String> cut = new Pair<>("service-0", dependency);
+            queries.add(() -> alertNetwork.whatIf(Set.of(cut), Set.of()).getAffectedServices("service-0"));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<String>>> results = executor.invokeAll(queries);
+        executor.shutdown();
+
+        // Then
+        assertEquals(reference.serviceCount(), alertNetwork.serviceCount());
+        assertEquals(reference.getAffectedServices("service-0"), alertNetwork.getAffectedServices("service-0"));
+        List<String> dependencies = reference.getDependencies("service-0");
+        for (int i = 0; i < dependencies.size(); i++) {
+            NetworkOverlay overlay = reference.whatIf(Set.of(new Pair<>("service-0", dependencies.get(i))), Set.of());
+            assertEquals(overlay.getAffectedServices("service-0"), results.get(i).get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw exception when service does not exist")
+    void shouldThrowExceptionWhenServiceDoesNotExist() {
+        // Given
+        alertNetwork.addService("A");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.getAffectedServices("B"));
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.addDependency("A", "B"));
+    }
+
+    @Test
+    @DisplayName("Should rank only live services after a service is removed and added again")
+    void shouldRankOnlyLiveServices() {
+        // Given
+        List.of("a", "b", "c").forEach(alertNetwork::addService);
+        alertNetwork.addDependency("a", "b");
+        alertNetwork.removeService("c");
+        alertNetwork.addService("c");
+
+        // When
+        List<BlastRadius> ranked = alertNetwork.rankBlastRadius(10, 0.05);
+
+        // Then
+        assertEquals(List.of(new BlastRadius("a", 2, 2, 2), new BlastRadius("b", 1, 1, 1),
+                new BlastRadius("c", 1, 1, 1)), ranked);
+    }
+
+    @Test
+    @DisplayName("Should reject null and blank names inside service sets")
+    void shouldRejectInvalidNamesInServiceSets() {
+        // Given
+        alertNetwork.addService("A");
+        Set<String> withNull = new HashSet<>(Arrays.asList("A", null));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.analyzeImpact(withNull));
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.groupByRootCause(withNull));
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.findMinimumContainmentCut("A", withNull));
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.analyzeImpact(Set.of("A", " ")));
+    }
+
+    @Test
+    @DisplayName("Should serve consistent snapshots to readers while writers keep mutating")
+    void shouldServeConsistentSnapshotsUnderConcurrentWrites() throws Exception {
+        // Given
+        int chainLength = 6_000;
+        int readers = 4;
+        alertNetwork.addService("s0");
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> {
+            try {
+                for (int i = 1; i < chainLength; i++) {
+                    alertNetwork.addService("s" + i);
+                    alertNetwork.addDependency("s" + (i - 1), "s" + i);
+                }
+            } finally {
+                writing.set(false);
+            }
+        }));
+        for (int r = 0; r < readers; r++) {
+            futures.add(executor.submit(() -> {
+                long lastVersion = -1;
+                try {
+                    while (writing.get()) {
+                        long version = alertNetwork.version();
+                        assertTrue(version >= lastVersion, "versions must not go backwards");
+                        lastVersion = version;
+
+                        List<String> affected = alertNetwork.getAffectedServices("s0");
+                        for (int i = 0; i < affected.size(); i++) {
+                            assertEquals("s" + i, affected.get(i));
+                        }
+                        String last = affected.get(affected.size() - 1);
+                        assertEquals(affected, alertNetwork.findAlertPropagationPath("s0", last));
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertNull(failure.get(), () -> "reader observed inconsistent state: " + failure.get());
+        assertEquals(chainLength, alertNetwork.getAffectedServices("s0").size());
+    }
+
+    @Test
+    @DisplayName("Should publish a loaded topology as one new snapshot")
+    void shouldPublishLoadedTopology(@TempDir Path directory) throws IOException {
+        // Given
+        Path file = Files.writeString(directory.resolve("topology.csv"), "A,B\nB,C\n");
+        long before = alertNetwork.version();
+
+        // When
+        alertNetwork.loadTopology(file);
+
+        // Then
+        assertTrue(alertNetwork.version() > before);
+        assertEquals(List.of("A", "B", "C"), alertNetwork.getAffectedServices("A"));
+    }
+
+    @Test
+    @DisplayName("Should recover every mutation committed by concurrent writers through group commit")
+    void shouldRecoverConcurrentJournaledWrites(@TempDir Path directory) throws Exception {
+        // Given
+        ConcurrentAlertNetwork journaled = ConcurrentAlertNetwork.openJournaled(directory, Durability.GROUP_COMMIT);
+        journaled.addService("root");
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<?>> done = new ArrayList<>();
+        for (int writer = 0; writer < 4; writer++) {
+            int id = writer;
+            done.add(writers.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    String service = "writer-" + id + "-" + i;
+                    journaled.addService(service);
+                    journaled.addDependency("root", service, i + 1, 0.5);
+                }
+            }));
+        }
+        for (Future<?> writer : done) {
+            writer.get();
+        }
+        writers.shutdown();
+        journaled.closeJournal();
+        ConcurrentAlertNetwork recovered = ConcurrentAlertNetwork.openJournaled(directory, Durability.GROUP_COMMIT);
+
+        // Then
+        assertEquals(401, recovered.serviceCount());
+        assertEquals(400, recovered.dependencyCount());
+        assertEquals(journaled.findEarliestImpact("root"), recovered.findEarliestImpact("root"));
+        recovered.closeJournal();
+    }
+}
@@ -0,0 +1,87 @@
+package com.allert;
+
+import com.allert.metrics.*;
+import org.junit.jupiter.api.*;
+
+import javax.management.*;
+import java.lang.management.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedAlertNetworkTest {
+    private InMemoryMetricsSink sink;
+    private AlertNetwork alertNetwork;
+
+    @BeforeEach
+    void setUp() {
+        sink = new InMemoryMetricsSink();
+        alertNetwork = new InstrumentedAlertNetwork(new AlertNetworkImpl(), sink);
+        List.of("A", "B", "C", "D").forEach(alertNetwork::addService);
+        alertNetwork.addDependency("A", "B");
+        alertNetwork.addDependency("B", "C");
+        alertNetwork.addDependency("A", "C");
+    }
+
+    @Test
+    @DisplayName("Should record latency, traversal work and result size per operation")
+    void shouldRecordOperationMetrics() {
+        // When
+        List<String> affected = alertNetwork.getAffectedServices("A");
+        alertNetwork.findAlertPropagationPath("A", "C");
+
+        // Then
+        OperationMetrics reach = sink.metrics(Operation.GET_AFFECTED_SERVICES);
+        assertEquals(List.of("A", "B", "C"), affected);
+        assertEquals(1, reach.count());
+        assertEquals(3, reach.nodesVisited());
+        assertEquals(3, reach.edgesScanned());
+        assertEquals(3, reach.resultSize());
+        assertTrue(reach.latency().max() > 0);
+        assertEquals(1, sink.metrics(Operation.FIND_ALERT_PROPAGATION_PATH).count());
+        assertEquals(4, sink.metrics(Operation.ADD_SERVICE).count());
+        assertEquals(3, sink.metrics(Operation.ADD_DEPENDENCY).count());
+        assertEquals(4, sink.serviceCount());
+        assertEquals(3, sink.dependencyCount());
+    }
+
+    @Test
+    @DisplayName("Should count failed operations without recording their latency")
+    void shouldRecordFailures() {
+        // When
+        assertThrows(IllegalArgumentException.class, () -> alertNetwork.getAffectedServices("X"));
+
+        // Then
+        OperationMetrics reach = sink.metrics(Operation.GET_AFFECTED_SERVICES);
+        assertEquals(1, reach.failures());
+        assertEquals(0, reach.count());
+    }
+
+    @Test
+    @DisplayName("Should expose metrics through JMX until closed")
+    void shouldPublishMetricsOverJmx() throws Exception {
+        // Given
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        InstrumentedAlertNetwork network = InstrumentedAlertNetwork.withJmx(new ConcurrentAlertNetwork(), "jmx-test");
+        JmxMetricsSink jmx = (JmxMetricsSink) network.sink();
+        network.addService("A");
+        network.addService("B");
+        network.addDependency("A", "B");
+
+        // When
+        network.getAffectedServices("A");
+
+        // Then
+        ObjectName operation = jmx.objectName(Operation.GET_AFFECTED_SERVICES);
+        assertEquals(1L, server.getAttribute(operation, "Count"));
+        assertEquals(2.0, server.getAttribute(operation, "MeanResultSize"));
+        assertTrue((Double) server.getAttribute(operation, "P99LatencyMicros") > 0);
+        assertEquals(2, server.getAttribute(jmx.gaugesName(), "Services"));
+        assertEquals(1, server.getAttribute(jmx.gaugesName(), "Dependencies"));
+        assertThrows(IllegalStateException.class, () -> new JmxMetricsSink("jmx-test"));
+
+        jmx.close();
+        assertFalse(server.isRegistered(operation));
+        assertFalse(server.isRegistered(jmx.gaugesName()));
+    }
+}
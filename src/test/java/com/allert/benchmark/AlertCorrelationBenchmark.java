@@ -0,0 +1,98 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import com.allert.correlation.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Replays a synthetic alert storm through an {@link AlertCorrelator}. {@code replay} reports
+ * events per second end to end, from submission to the last incident; {@code groupWindow}
+ * samples the time to group one window of the storm, so its p0.99 row is the p99 grouping
+ * latency.
+ * <p>
+ * The storm has {@code roots} failing services. Each one alerts together with up to 200
+ * services within three hops downstream of it, every alerting service repeats its alert
+ * {@code repeats} times, and 5% of the events come from random unrelated services. Events
+ * are spread over one minute of event time and correlated in 10-second windows.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertCorrelationBenchmark {
+    private static final int EVENTS = 100_000;
+    private static final int BATCH = 1_000;
+    private static final long STORM_MILLIS = 60_000;
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    @Param({"100000"})
+    private int nodes;
+
+    @Param({"20"})
+    private int roots;
+
+    @Param({"5"})
+    private int repeats;
+
+    private AlertNetwork network;
+    private List<List<AlertEvent>> batches;
+    private IncidentGrouper grouper;
+    private Map<String, Integer> window;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Networks networks = Networks.of(TopologyKind.SCALE_FREE, nodes);
+        network = networks.populate(new ConcurrentAlertNetwork());
+        List<String> alerting = new ArrayList<>();
+        for (String root : networks.sample(roots, 7)) {
+            network.streamAffectedServices(root, 3).limit(200).forEach(alerting::add);
+        }
+
+        Random random = new Random(Networks.SEED);
+        List<AlertEvent> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            String service = random.nextInt(20) == 0
+                    ? networks.services[random.nextInt(networks.services.length)]
+                    : alerting.get(random.nextInt(Math.max(1, alerting.size() / repeats) * repeats) % alerting.size());
+            events.add(new AlertEvent(service, (long) i * STORM_MILLIS / EVENTS));
+        }
+        batches = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i += BATCH) {
+            batches.add(events.subList(i, Math.min(EVENTS, i + BATCH)));
+        }
+
+        grouper = new IncidentGrouper(network);
+        window = new HashMap<>();
+        for (AlertEvent event : events) {
+            if (event.timestamp() < WINDOW.toMillis()) {
+                window.merge(event.service(), 1, Integer::sum);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(EVENTS)
+    public long replay() throws InterruptedException {
+        try (AlertCorrelator correlator = new AlertCorrelator(network, WINDOW, Duration.ofSeconds(1), 10 * BATCH,
+                incident -> { })) {
+            for (List<AlertEvent> batch : batches) {
+                correlator.submit(batch);
+            }
+            correlator.flush();
+            return correlator.emittedIncidents();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Incident> groupWindow() {
+        return grouper.group(0, window);
+    }
+}
@@ -0,0 +1,54 @@
+package com.allert.benchmark;
+
+import com.allert.graph.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Compares bit-parallel multi-source reachability with one traversal per source.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchImpactBenchmark {
+
+    @Param({"SCALE_FREE", "LAYERED"})
+    private TopologyKind topology;
+
+    @Param({"100000"})
+    private int nodes;
+
+    @Param({"16", "256", "2048"})
+    private int sourceCount;
+
+    private GraphSnapshot snapshot;
+    private int[] sources;
+    private final GraphTraversal traversal = new GraphTraversal();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = topology.generate(nodes, Networks.SEED).snapshot();
+        sources = new Random(sourceCount).ints(0, nodes).distinct().limit(sourceCount).toArray();
+    }
+
+    @Benchmark
+    public void separateTraversals(Blackhole blackhole) {
+        for (int source : sources) {
+            blackhole.consume(traversal.reachable(snapshot, source));
+        }
+    }
+
+    @Benchmark
+    public void bitParallel(Blackhole blackhole) {
+        MultiSourceReachability reachability = MultiSourceReachability.compute(snapshot, sources);
+        for (int i = 0; i < sources.length; i++) {
+            blackhole.consume(reachability.reachable(i));
+        }
+    }
+}
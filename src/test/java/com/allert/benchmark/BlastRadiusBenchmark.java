@@ -0,0 +1,68 @@
+package com.allert.benchmark;
+
+import com.allert.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Estimating the blast radius of every service at once on about a million dependencies,
+ * against a single exact traversal. Counting every service exactly costs {@code exactOne}
+ * times the node count, which the sketches beat by orders of magnitude on any topology with
+ * large reachable sets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BlastRadiusBenchmark {
+    private static final int SAMPLE = 16;
+
+    @Param({"SCALE_FREE", "LAYERED", "MESH"})
+    private TopologyKind topology;
+
+    @Param({"330000"})
+    private int nodes;
+
+    @Param({"0.05", "0.02"})
+    private double relativeError;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private GraphSnapshot snapshot;
+    private ForkJoinPool pool;
+    private final GraphTraversal traversal = new GraphTraversal();
+    private final int[] sources = new int[SAMPLE];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = topology.generate(nodes, Networks.SEED).snapshot();
+        snapshot.forwardCsr();
+        pool = new ForkJoinPool(threads);
+        Random random = new Random(5);
+        for (int i = 0; i < SAMPLE; i++) {
+            sources[i] = random.nextInt(snapshot.nodeCount() / 10);
+        }
+        System.out.printf("%nedges: %d%n", snapshot.edgeCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BlastRadiusEstimator.Estimates estimateAll() {
+        return BlastRadiusEstimator.estimate(snapshot, node -> true, relativeError, pool);
+    }
+
+    @Benchmark
+    public int[] exactOne() {
+        return traversal.reachable(snapshot, sources[next++ & (SAMPLE - 1)]);
+    }
+}
@@ -0,0 +1,67 @@
+package com.allert.benchmark;
+
+import com.reconstruct.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Throughput, in pairs per second, of assembling a chain of one million pairs incrementally,
+ * against the batch {@link OrderedListReconstructor}. Pairs arrive either fully shuffled or
+ * nearly in order, with each block of 64 pairs reversed, which is how a partitioned message
+ * stream tends to deliver them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ChainAssemblerBenchmark.SIZE)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChainAssemblerBenchmark {
+    static final int SIZE = 1_000_000;
+    private static final int BLOCK = 64;
+
+    @Param({"SHUFFLED", "NEARLY_ORDERED"})
+    private String arrival;
+
+    private List<List<String>> pairs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pairs = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            pairs.add(Arrays.asList("item-" + i, i + 1 < SIZE ? "item-" + (i + 1) : null));
+        }
+        if (arrival.equals("SHUFFLED")) {
+            Collections.shuffle(pairs, new Random(Networks.SEED));
+        } else {
+            for (int block = 0; block < SIZE; block += BLOCK) {
+                Collections.reverse(pairs.subList(block, Math.min(SIZE, block + BLOCK)));
+            }
+        }
+    }
+
+    @Benchmark
+    public long assembleWithKnownHead(Blackhole blackhole) {
+        ChainAssembler assembler = new ChainAssembler("item-0", blackhole::consume);
+        assembler.acceptAll(pairs);
+        assembler.finish();
+        return assembler.emittedCount();
+    }
+
+    @Benchmark
+    public long assembleWithoutHead(Blackhole blackhole) {
+        ChainAssembler assembler = new ChainAssembler(blackhole::consume);
+        assembler.acceptAll(pairs);
+        assembler.finish();
+        return assembler.emittedCount();
+    }
+
+    @Benchmark
+    public List<String> reconstructOrder() {
+        return OrderedListReconstructor.reconstructOrder(pairs);
+    }
+}
@@ -0,0 +1,76 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import com.allert.io.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+/**
+ * Time to get a populated network: replaying addService/addDependency, bulk-loading an
+ * edge-list file, and mapping a binary snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstructionBenchmark {
+
+    @Param({"SCALE_FREE", "LAYERED", "MESH", "CHAIN"})
+    private TopologyKind topology;
+
+    @Param({"1000", "10000", "100000"})
+    private int nodes;
+
+    private Networks networks;
+    private Path edgeList;
+    private Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        networks = Networks.of(topology, nodes);
+        edgeList = Files.createTempFile("topology", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(edgeList)) {
+            for (String service : networks.services) {
+                writer.write(service);
+                writer.newLine();
+            }
+            for (int i = 0; i < networks.from.length; i++) {
+                writer.write(networks.from[i] + "," + networks.to[i]);
+                writer.newLine();
+            }
+        }
+        snapshot = Files.createTempFile("network", ".snapshot");
+        networks.populate(new AlertNetworkImpl()).save(snapshot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(edgeList);
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public AlertNetwork addServicesAndDependencies() {
+        return networks.populate(new AlertNetworkImpl());
+    }
+
+    @Benchmark
+    public AlertNetwork addServicesAndDependenciesConcurrent() {
+        return networks.populate(new ConcurrentAlertNetwork());
+    }
+
+    @Benchmark
+    public LoadStats loadTopology() throws IOException {
+        return new AlertNetworkImpl().loadTopology(edgeList);
+    }
+
+    @Benchmark
+    public AlertNetwork loadSnapshot() throws IOException {
+        return AlertNetworkImpl.load(snapshot);
+    }
+}
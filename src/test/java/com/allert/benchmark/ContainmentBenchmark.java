@@ -0,0 +1,60 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import javafx.util.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Compares the containment queries: the downstream-reach scan behind
+ * {@code suggestContainmentEdges}, the dominator-tree ranking and the minimum cut that
+ * protects a fixed set of services. The scan is quadratic in the reachable set, hence the
+ * smaller sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainmentBenchmark {
+    private static final int SAMPLE = 64;
+    private static final int PROTECTED = 50;
+
+    @Param({"SCALE_FREE", "LAYERED", "MESH", "CHAIN"})
+    private TopologyKind topology;
+
+    @Param({"1000", "10000"})
+    private int nodes;
+
+    private AlertNetwork network;
+    private String[] sources;
+    private Set<String> protectedServices;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Networks networks = Networks.of(topology, nodes);
+        network = networks.populate(new AlertNetworkImpl());
+        sources = networks.sample(SAMPLE, 1);
+        protectedServices = new HashSet<>(Arrays.asList(networks.sample(PROTECTED, 2)));
+        protectedServices.removeAll(Arrays.asList(sources));
+    }
+
+    @Benchmark
+    public List<Pair<String, String>> suggestContainmentEdges() {
+        return network.suggestContainmentEdges(sources[next++ & (SAMPLE - 1)]);
+    }
+
+    @Benchmark
+    public List<ContainmentCandidate> rankContainmentEdges() {
+        return network.rankContainmentEdges(sources[next++ & (SAMPLE - 1)]);
+    }
+
+    @Benchmark
+    public List<Pair<String, String>> findMinimumContainmentCut() {
+        return network.findMinimumContainmentCut(sources[next++ & (SAMPLE - 1)], protectedServices);
+    }
+}
@@ -0,0 +1,80 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import com.allert.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Compares propagation path and distance queries answered by breadth-first search with the
+ * same queries answered from the pruned-landmark distance index. {@link #buildIndex} times a
+ * full index build; the setup also prints the size of the index it queries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceIndexBenchmark {
+    private static final int SAMPLE = 1_024;
+
+    @Param({"SCALE_FREE", "LAYERED", "MESH"})
+    private TopologyKind topology;
+
+    @Param({"10000", "100000"})
+    private int nodes;
+
+    private AlertNetworkImpl traversing;
+    private AlertNetworkImpl indexed;
+    private String[] sources;
+    private String[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Networks networks = Networks.of(topology, nodes);
+        traversing = networks.populate(new AlertNetworkImpl());
+        indexed = networks.populate(new AlertNetworkImpl());
+        IndexStats stats = indexed.enableDistanceIndex();
+        System.out.printf("%ndistance index: %d labels, %.1f MB, built in %d ms%n", stats.entries(),
+                stats.memoryBytes() / 1e6, TimeUnit.NANOSECONDS.toMillis(stats.buildNanos()));
+        sources = networks.sample(SAMPLE, 1);
+        targets = networks.sample(SAMPLE, 2);
+    }
+
+    @Benchmark
+    public List<String> findAlertPropagationPathByTraversal() {
+        int i = next++ & (SAMPLE - 1);
+        return traversing.findAlertPropagationPath(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public List<String> findAlertPropagationPathByIndex() {
+        int i = next++ & (SAMPLE - 1);
+        return indexed.findAlertPropagationPath(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public OptionalInt findPropagationDistanceByTraversal() {
+        int i = next++ & (SAMPLE - 1);
+        return traversing.findPropagationDistance(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public OptionalInt findPropagationDistanceByIndex() {
+        int i = next++ & (SAMPLE - 1);
+        return indexed.findPropagationDistance(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public IndexStats buildIndex() {
+        return indexed.enableDistanceIndex();
+    }
+}
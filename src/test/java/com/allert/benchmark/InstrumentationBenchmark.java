@@ -0,0 +1,67 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import com.allert.metrics.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Cost of {@link InstrumentedAlertNetwork}: the same queries on a bare network and on one
+ * wrapped with an in-memory metrics sink. The bare variants are what an uninstrumented
+ * deployment runs, so they must match {@link QueryBenchmark}'s figures.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+    private static final int SAMPLE = 1_024;
+
+    @Param({"SCALE_FREE", "CHAIN"})
+    private TopologyKind topology;
+
+    @Param({"1000", "100000"})
+    private int nodes;
+
+    private AlertNetwork bare;
+    private AlertNetwork instrumented;
+    private String[] sources;
+    private String[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Networks networks = Networks.of(topology, nodes);
+        bare = networks.populate(new AlertNetworkImpl());
+        instrumented = new InstrumentedAlertNetwork(networks.populate(new AlertNetworkImpl()),
+                new InMemoryMetricsSink());
+        sources = networks.sample(SAMPLE, 1);
+        targets = networks.sample(SAMPLE, 2);
+    }
+
+    @Benchmark
+    public List<String> findAlertPropagationPathBare() {
+        int i = next++ & (SAMPLE - 1);
+        return bare.findAlertPropagationPath(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public List<String> findAlertPropagationPathInstrumented() {
+        int i = next++ & (SAMPLE - 1);
+        return instrumented.findAlertPropagationPath(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public List<String> getDependenciesBare() {
+        return bare.getDependencies(sources[next++ & (SAMPLE - 1)]);
+    }
+
+    @Benchmark
+    public List<String> getDependenciesInstrumented() {
+        return instrumented.getDependencies(sources[next++ & (SAMPLE - 1)]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import com.allert.io.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Sustained mutation throughput of a {@link ConcurrentAlertNetwork} without a journal and
+ * under each {@link Durability}, with four writers toggling random dependencies (run with
+ * {@code -t} to vary the writer count), and the time to recover a network from a log of one
+ * million dependency additions. Group commit pays off as writers are added; with a single
+ * writer it matches {@code SYNC_EACH}.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JournalBenchmark {
+    private static final int SERVICES = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Mutations {
+        @Param({"NONE", "UNSYNCED", "GROUP_COMMIT", "SYNC_EACH"})
+        private String durability;
+
+        private Path directory;
+        private ConcurrentAlertNetwork network;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("journal");
+            network = durability.equals("NONE")
+                    ? new ConcurrentAlertNetwork()
+                    : ConcurrentAlertNetwork.openJournaled(directory, Durability.valueOf(durability));
+            for (int i = 0; i < SERVICES; i++) {
+                network.addService("service-" + i);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            network.closeJournal();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private final Random random = new Random(ThreadLocalRandom.current().nextLong());
+    }
+
+    @State(Scope.Benchmark)
+    public static class Recovery {
+        private static final int DEPENDENCIES = 1_000_000;
+
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("journal");
+            AlertNetworkImpl network = AlertNetworkImpl.openJournaled(directory, Durability.UNSYNCED);
+            Random random = new Random(Networks.SEED);
+            for (int i = 0; i < SERVICES * 10; i++) {
+                network.addService("service-" + i);
+            }
+            for (int i = 0; i < DEPENDENCIES; i++) {
+                network.addDependency("service-" + random.nextInt(SERVICES * 10),
+                        "service-" + random.nextInt(SERVICES * 10));
+            }
+            network.closeJournal();
+            System.out.printf("%njournal: %.1f MB%n", Files.size(directory.resolve("journal-0.log")) / 1e6);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean toggleDependency(Mutations mutations, Writer writer) {
+        String from = "service-" + writer.random.nextInt(SERVICES);
+        String to = "service-" + writer.random.nextInt(SERVICES);
+        if (mutations.network.removeDependency(from, to)) {
+            return false;
+        }
+        mutations.network.addDependency(from, to);
+        return true;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int recover(Recovery recovery) throws IOException {
+        AlertNetworkImpl network = AlertNetworkImpl.openJournaled(recovery.directory, Durability.UNSYNCED);
+        network.closeJournal();
+        return network.dependencyCount();
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
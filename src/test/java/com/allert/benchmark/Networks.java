@@ -0,0 +1,64 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import com.allert.graph.*;
+
+import java.util.*;
+
+/**
+ * Generated topology expressed as service names, ready to be replayed into an
+ * {@link AlertNetwork}.
+ */
+final class Networks {
+    static final long SEED = 42;
+
+    final String[] services;
+    final String[] from;
+    final String[] to;
+
+    private Networks(String[] services, String[] from, String[] to) {
+        this.services = services;
+        this.from = from;
+        this.to = to;
+    }
+
+    static Networks of(TopologyKind kind, int nodes) {
+        GraphSnapshot snapshot = kind.generate(nodes, SEED).snapshot();
+        String[] services = new String[snapshot.nodeCount()];
+        for (int node = 0; node < services.length; node++) {
+            services[node] = "service-" + node;
+        }
+        String[] from = new String[snapshot.edgeCount()];
+        String[] to = new String[snapshot.edgeCount()];
+        Csr csr = snapshot.forwardCsr();
+        for (int node = 0, edge = 0; node < services.length; node++) {
+            for (int i = csr.start(node); i < csr.end(node); i++, edge++) {
+                from[edge] = services[node];
+                to[edge] = services[csr.target(i)];
+            }
+        }
+        return new Networks(services, from, to);
+    }
+
+    <T extends AlertNetwork> T populate(T network) {
+        for (String service : services) {
+            network.addService(service);
+        }
+        for (int i = 0; i < from.length; i++) {
+            network.addDependency(from[i], to[i]);
+        }
+        return network;
+    }
+
+    /**
+     * Returns {@code count} service names drawn uniformly with a fixed seed.
+     */
+    String[] sample(int count, long seed) {
+        Random random = new Random(seed);
+        String[] sample = new String[count];
+        for (int i = 0; i < count; i++) {
+            sample[i] = services[random.nextInt(services.length)];
+        }
+        return sample;
+    }
+}
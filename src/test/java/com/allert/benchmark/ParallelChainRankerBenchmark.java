@@ -0,0 +1,55 @@
+package com.allert.benchmark;
+
+import com.reconstruct.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Reconstructs a shuffled chain of {@code size} pairs with the sequential reconstructor and
+ * with parallel list ranking on a dedicated pool of {@code threads} workers. Scaling is the
+ * ratio of {@code parallel} times across thread counts at the same size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelChainRankerBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int threads;
+
+    private List<List<String>> pairs;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pairs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pairs.add(Arrays.asList("item-" + i, i + 1 < size ? "item-" + (i + 1) : null));
+        }
+        Collections.shuffle(pairs, new Random(Networks.SEED));
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<String> sequential() {
+        return OrderedListReconstructor.reconstructOrder(pairs);
+    }
+
+    @Benchmark
+    public List<String> parallel() {
+        return ParallelChainRanker.reconstructOrder(pairs, pool);
+    }
+}
@@ -0,0 +1,64 @@
+package com.allert.benchmark;
+
+import com.allert.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Full blast-radius traversal with the sequential breadth-first search versus the parallel
+ * direction-optimizing search on a dedicated pool of {@code threads} workers. Speedup is the
+ * ratio of {@code sequential} to {@code parallel} at the same topology and size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelReachabilityBenchmark {
+    private static final int SAMPLE = 16;
+
+    @Param({"SCALE_FREE", "LAYERED", "MESH"})
+    private TopologyKind topology;
+
+    @Param({"1000000"})
+    private int nodes;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int threads;
+
+    private GraphSnapshot snapshot;
+    private ForkJoinPool pool;
+    private final GraphTraversal traversal = new GraphTraversal();
+    private final int[] sources = new int[SAMPLE];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = topology.generate(nodes, Networks.SEED).snapshot();
+        snapshot.forwardCsr();
+        snapshot.reverseCsr();
+        pool = new ForkJoinPool(threads);
+        Random random = new Random(5);
+        for (int i = 0; i < SAMPLE; i++) {
+            sources[i] = random.nextInt(snapshot.nodeCount() / 10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] sequential() {
+        return traversal.reachable(snapshot, sources[next++ & (SAMPLE - 1)]);
+    }
+
+    @Benchmark
+    public int[] parallel() {
+        return ParallelReachability.reachable(snapshot, sources[next++ & (SAMPLE - 1)], pool);
+    }
+}
@@ -0,0 +1,66 @@
+package com.allert.benchmark;
+
+import com.allert.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Compares forward and bidirectional shortest-path search on large synthetic graphs. The
+ * {@code visited} counter totals the nodes each strategy touched in an iteration; divide by
+ * the operation count for the per-query figure.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathSearchBenchmark {
+    private static final int SAMPLE = 1_024;
+
+    @Param({"SCALE_FREE", "LAYERED", "MESH"})
+    private TopologyKind topology;
+
+    @Param({"200000"})
+    private int nodes;
+
+    private GraphSnapshot snapshot;
+    private final GraphTraversal traversal = new GraphTraversal();
+    private final int[] sources = new int[SAMPLE];
+    private final int[] targets = new int[SAMPLE];
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Visited {
+        public long visited;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = topology.generate(nodes, Networks.SEED).snapshot();
+        Random random = new Random(3);
+        for (int i = 0; i < SAMPLE; i++) {
+            sources[i] = random.nextInt(snapshot.nodeCount());
+            targets[i] = random.nextInt(snapshot.nodeCount());
+        }
+    }
+
+    @Benchmark
+    public int[] forward(Visited counter) {
+        int i = next++ & (SAMPLE - 1);
+        int[] path = traversal.shortestPath(snapshot, sources[i], targets[i]);
+        counter.visited += traversal.lastVisitedCount();
+        return path;
+    }
+
+    @Benchmark
+    public int[] bidirectional(Visited counter) {
+        int i = next++ & (SAMPLE - 1);
+        int[] path = traversal.bidirectionalShortestPath(snapshot, sources[i], targets[i]);
+        counter.visited += traversal.lastVisitedCount();
+        return path;
+    }
+}
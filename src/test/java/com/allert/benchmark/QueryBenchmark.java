@@ -0,0 +1,86 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Latency of the single-source {@link AlertNetwork} queries on each topology shape and size.
+ * Every invocation uses the next pair from a fixed, seeded sample of services.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+    private static final int SAMPLE = 1_024;
+
+    @Param({"SCALE_FREE", "LAYERED", "MESH", "CHAIN"})
+    private TopologyKind topology;
+
+    @Param({"1000", "10000", "100000"})
+    private int nodes;
+
+    private AlertNetwork forward;
+    private AlertNetwork bidirectional;
+    private String[] sources;
+    private String[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Networks networks = Networks.of(topology, nodes);
+        forward = networks.populate(new AlertNetworkImpl(PathSearchMode.FORWARD));
+        bidirectional = networks.populate(new AlertNetworkImpl(PathSearchMode.BIDIRECTIONAL));
+        sources = networks.sample(SAMPLE, 1);
+        targets = networks.sample(SAMPLE, 2);
+    }
+
+    @Benchmark
+    public List<String> findAlertPropagationPath() {
+        int i = next++ & (SAMPLE - 1);
+        return forward.findAlertPropagationPath(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public List<String> findAlertPropagationPathBidirectional() {
+        int i = next++ & (SAMPLE - 1);
+        return bidirectional.findAlertPropagationPath(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public List<String> getAffectedServices() {
+        return forward.getAffectedServices(sources[next++ & (SAMPLE - 1)]);
+    }
+
+    @Benchmark
+    public List<String> streamFirstAffectedServices() {
+        return forward.streamAffectedServices(sources[next++ & (SAMPLE - 1)]).limit(50).toList();
+    }
+
+    @Benchmark
+    public List<String> streamAffectedServicesWithinThreeHops() {
+        return forward.streamAffectedServices(sources[next++ & (SAMPLE - 1)], 3).toList();
+    }
+
+    @Benchmark
+    public boolean streamAffectedServicesUntilMatch() {
+        int i = next++ & (SAMPLE - 1);
+        return forward.streamAffectedServices(sources[i]).anyMatch(targets[i]::equals);
+    }
+
+    @Benchmark
+    public List<String> getUpstreamServices() {
+        return forward.getUpstreamServices(targets[next++ & (SAMPLE - 1)]);
+    }
+
+    @Benchmark
+    public List<String> findUpstreamPath() {
+        int i = next++ & (SAMPLE - 1);
+        return forward.findUpstreamPath(targets[i], sources[i]);
+    }
+}
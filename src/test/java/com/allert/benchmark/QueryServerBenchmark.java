@@ -0,0 +1,95 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import com.allert.server.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.net.*;
+import java.net.http.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Load test of a {@link QueryServer} on localhost: 32 client threads issue blocking HTTP
+ * queries for services drawn from a skewed sample, so that hot services recur. Throughput
+ * mode reports requests per second, sample mode the latency distribution including p99.
+ * {@code cacheEntries=0} disables the result cache, leaving coalescing and batching as the
+ * only sharing between requests. The server's counters are printed after each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(32)
+public class QueryServerBenchmark {
+    private static final int SAMPLE = 1024;
+
+    @Param({"SCALE_FREE", "LAYERED"})
+    private TopologyKind topology;
+
+    @Param({"20000"})
+    private int nodes;
+
+    @Param({"0", "10000"})
+    private int cacheEntries;
+
+    @Param({"64"})
+    private int serverThreads;
+
+    private QueryServer server;
+    private final URI[] affected = new URI[SAMPLE];
+    private final URI[] dependencies = new URI[SAMPLE];
+
+    @State(Scope.Thread)
+    public static class Client {
+        private final HttpClient http = HttpClient.newHttpClient();
+        private final Random random = new Random(ThreadLocalRandom.current().nextLong());
+
+        // Squaring a uniform draw favours the front of the sample.
+        int next() {
+            double uniform = random.nextDouble();
+            return (int) (uniform * uniform * SAMPLE);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Networks networks = Networks.of(topology, nodes);
+        ConcurrentAlertNetwork network = networks.populate(new ConcurrentAlertNetwork());
+        server = QueryServer.start(network, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                serverThreads, cacheEntries);
+        String[] services = networks.sample(SAMPLE, 5);
+        for (int i = 0; i < SAMPLE; i++) {
+            affected[i] = URI.create("http://localhost:" + server.port() + "/affected?service=" + services[i]);
+            dependencies[i] = URI.create("http://localhost:" + server.port() + "/dependencies?service=" + services[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s%n", server.stats());
+        server.close();
+    }
+
+    @Benchmark
+    public int affectedServices(Client client) throws IOException, InterruptedException {
+        return get(client, affected[client.next()]);
+    }
+
+    @Benchmark
+    public int dependencies(Client client) throws IOException, InterruptedException {
+        return get(client, dependencies[client.next()]);
+    }
+
+    private static int get(Client client, URI uri) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.http.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(uri + " answered " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,38 @@
+package com.allert.benchmark;
+
+import com.reconstruct.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Reconstructs a shuffled chain of {@code size} successor pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReconstructOrderBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<List<String>> pairs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pairs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pairs.add(Arrays.asList("item-" + i, i + 1 < size ? "item-" + (i + 1) : null));
+        }
+        Collections.shuffle(pairs, new Random(Networks.SEED));
+    }
+
+    @Benchmark
+    public List<String> reconstructOrder() {
+        return OrderedListReconstructor.reconstructOrder(pairs);
+    }
+}
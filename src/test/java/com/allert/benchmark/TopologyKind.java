@@ -0,0 +1,35 @@
+package com.allert.benchmark;
+
+import com.allert.graph.*;
+
+/**
+ * Topology shapes the benchmarks are parameterized over, all generated from a fixed seed.
+ */
+public enum TopologyKind {
+    SCALE_FREE {
+        @Override
+        CompactGraph generate(int nodes, long seed) {
+            return Topologies.scaleFree(nodes, 3, seed);
+        }
+    },
+    LAYERED {
+        @Override
+        CompactGraph generate(int nodes, long seed) {
+            return Topologies.layered(nodes, 8, 3, seed);
+        }
+    },
+    MESH {
+        @Override
+        CompactGraph generate(int nodes, long seed) {
+            return Topologies.cyclicMesh(nodes, 3, seed);
+        }
+    },
+    CHAIN {
+        @Override
+        CompactGraph generate(int nodes, long seed) {
+            return Topologies.chain(nodes);
+        }
+    };
+
+    abstract CompactGraph generate(int nodes, long seed);
+}
@@ -0,0 +1,73 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import com.allert.graph.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Allocation of the list-returning queries against their visitor counterparts. Run with
+ * {@code -prof gc} and compare {@code gc.alloc.rate.norm}: the visitor variants reuse one
+ * {@link TraversalContext} per thread and should report close to 0 bytes per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisitorQueryBenchmark {
+    private static final int SAMPLE = 1_024;
+
+    @Param({"SCALE_FREE", "LAYERED"})
+    private TopologyKind topology;
+
+    @Param({"10000", "100000"})
+    private int nodes;
+
+    private AlertNetwork network;
+    private String[] sources;
+    private String[] targets;
+    private int next;
+    private final TraversalContext context = new TraversalContext();
+    private Blackhole blackhole;
+    private ServiceVisitor sink;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        Networks networks = Networks.of(topology, nodes);
+        network = networks.populate(new AlertNetworkImpl());
+        sources = networks.sample(SAMPLE, 1);
+        targets = networks.sample(SAMPLE, 2);
+        this.blackhole = blackhole;
+        sink = (service, hops) -> {
+            this.blackhole.consume(service);
+            return true;
+        };
+    }
+
+    @Benchmark
+    public List<String> getAffectedServices() {
+        return network.getAffectedServices(sources[next++ & (SAMPLE - 1)]);
+    }
+
+    @Benchmark
+    public int visitAffectedServices() {
+        return network.visitAffectedServices(sources[next++ & (SAMPLE - 1)], context, sink);
+    }
+
+    @Benchmark
+    public List<String> findAlertPropagationPath() {
+        int i = next++ & (SAMPLE - 1);
+        return network.findAlertPropagationPath(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public int visitAlertPropagationPath() {
+        int i = next++ & (SAMPLE - 1);
+        return network.visitAlertPropagationPath(sources[i], targets[i], context, sink);
+    }
+}
@@ -0,0 +1,68 @@
+package com.allert.benchmark;
+
+import com.allert.graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Dijkstra-based weighted queries on graphs of about 10^6 edges, every edge carrying random
+ * latency and probability weights, next to the unweighted breadth-first traversal they
+ * generalize.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class WeightedQueryBenchmark {
+    private static final int SAMPLE = 64;
+
+    @Param({"SCALE_FREE", "LAYERED", "MESH"})
+    private TopologyKind topology;
+
+    @Param({"250000"})
+    private int nodes;
+
+    private GraphSnapshot snapshot;
+    private EdgeWeights weights;
+    private final GraphTraversal traversal = new GraphTraversal();
+    private final int[] sources = new int[SAMPLE];
+    private final int[] targets = new int[SAMPLE];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = topology.generate(nodes, Networks.SEED).snapshot();
+        weights = new EdgeWeights();
+        Random random = new Random(Networks.SEED);
+        Csr csr = snapshot.forwardCsr();
+        for (int node = 0; node < snapshot.nodeCount(); node++) {
+            for (int edge = csr.start(node); edge < csr.end(node); edge++) {
+                weights.put(node, csr.target(edge), random.nextInt(500), 0.5f + 0.5f * random.nextFloat());
+            }
+        }
+        for (int i = 0; i < SAMPLE; i++) {
+            sources[i] = random.nextInt(snapshot.nodeCount() / 10);
+            targets[i] = random.nextInt(snapshot.nodeCount());
+        }
+    }
+
+    @Benchmark
+    public int[] reachable() {
+        return traversal.reachable(snapshot, sources[next++ & (SAMPLE - 1)]);
+    }
+
+    @Benchmark
+    public WeightedTraversal.Arrivals earliestImpact() {
+        return WeightedTraversal.earliestImpact(snapshot, weights, sources[next++ & (SAMPLE - 1)]);
+    }
+
+    @Benchmark
+    public int[] mostProbablePath() {
+        int i = next++ & (SAMPLE - 1);
+        return WeightedTraversal.mostProbablePath(snapshot, weights, sources[i], targets[i]);
+    }
+}
@@ -0,0 +1,70 @@
+package com.allert.benchmark;
+
+import com.allert.*;
+import javafx.util.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Evaluates a batch of candidate containment cuts by the number of services an alert still
+ * reaches once the cut is applied: once through what-if overlays queried in parallel against
+ * one shared graph, and once by removing each dependency from the network, querying and
+ * adding it back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhatIfBenchmark {
+    private static final int CANDIDATES = 100;
+
+    @Param({"SCALE_FREE", "LAYERED"})
+    private TopologyKind topology;
+
+    @Param({"10000", "100000"})
+    private int nodes;
+
+    private AlertNetworkImpl network;
+    private String source;
+    private List<Pair<String, String>> candidates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Networks networks = Networks.of(topology, nodes);
+        network = networks.populate(new AlertNetworkImpl());
+        source = Arrays.stream(networks.sample(64, 1))
+                .max(Comparator.comparingInt(service -> network.getAffectedServices(service).size()))
+                .orElseThrow();
+        candidates = new ArrayList<>();
+        for (String service : network.getAffectedServices(source)) {
+            for (String dependency : network.getDependencies(service)) {
+                if (candidates.size() < CANDIDATES) {
+                    candidates.add(new Pair<>(service, dependency));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] overlaysInParallel() {
+        return candidates.parallelStream()
+                .mapToInt(cut -> network.whatIf(Set.of(cut), Set.of()).getAffectedServices(source).size())
+                .toArray();
+    }
+
+    @Benchmark
+    public int[] removeAndRestore() {
+        int[] reached = new int[candidates.size()];
+        for (int i = 0; i < reached.length; i++) {
+            Pair<String, String> cut = candidates.get(i);
+            network.removeDependency(cut.getKey(), cut.getValue());
+            reached[i] = network.getAffectedServices(source).size();
+            network.addDependency(cut.getKey(), cut.getValue());
+        }
+        return reached;
+    }
+}
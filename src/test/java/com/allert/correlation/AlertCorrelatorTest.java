@@ -0,0 +1,145 @@
+package com.allert.correlation;
+
+import com.allert.*;
+import org.junit.jupiter.api.*;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertCorrelatorTest {
+    private AlertNetwork network;
+    private List<Incident> incidents;
+
+    @BeforeEach
+    void setUp() {
+        network = new ConcurrentAlertNetwork();
+        List.of("A", "B", "C", "D").forEach(network::addService);
+        network.addDependency("A", "B");
+        network.addDependency("B", "C");
+        incidents = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should deduplicate events per window and emit correlated incidents")
+    void shouldCorrelateWindows() throws InterruptedException {
+        // Given
+        try (AlertCorrelator correlator = new AlertCorrelator(network, Duration.ofSeconds(10), Duration.ZERO,
+                100, incidents::add)) {
+
+            // When
+            correlator.submit(List.of(event("B", 1_000), event("C", 2_000), event("B", 3_000), event("A", 4_000)));
+            correlator.submit(List.of(event("D", 12_000), event("C", 15_000)));
+            correlator.submit(List.of(event("D", 25_000)));
+            correlator.flush();
+
+            // Then
+            assertEquals(List.of(
+                    new Incident("A", List.of("A", "B", "C"), 0, 4),
+                    new Incident("C", List.of("C"), 10_000, 1),
+                    new Incident("D", List.of("D"), 10_000, 1),
+                    new Incident("D", List.of("D"), 20_000, 1)
+            ), incidents);
+            assertEquals(7, correlator.acceptedEvents());
+            assertEquals(1, correlator.duplicateEvents());
+            assertEquals(3, correlator.groupingLatency().count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept late events within the allowed lateness and drop older ones")
+    void shouldHandleLateEvents() throws InterruptedException {
+        // Given
+        try (AlertCorrelator correlator = new AlertCorrelator(network, Duration.ofSeconds(10), Duration.ofSeconds(5),
+                100, incidents::add)) {
+
+            // When
+            correlator.submit(List.of(event("C", 1_000), event("D", 13_000)));
+            correlator.submit(List.of(event("B", 9_000), event("D", 16_000)));
+            correlator.submit(List.of(event("A", 2_000)));
+            correlator.flush();
+
+            // Then
+            assertEquals(new Incident("B", List.of("B", "C"), 0, 2), incidents.get(0));
+            assertEquals(1, correlator.lateEvents());
+            assertEquals(2, correlator.emittedIncidents());
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply backpressure once the queued events reach capacity")
+    void shouldApplyBackpressure() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        try (AlertCorrelator correlator = new AlertCorrelator(network, Duration.ofSeconds(1), Duration.ZERO, 4,
+                incident -> await(release))) {
+            correlator.submit(List.of(event("A", 0), event("A", 5_000)));
+            correlator.submit(List.of(event("B", 5_001), event("B", 5_002)));
+
+            // When
+            boolean accepted = correlator.trySubmit(List.of(event("C", 5_003)), 50, TimeUnit.MILLISECONDS);
+            release.countDown();
+
+            // Then
+            assertFalse(accepted);
+            assertTrue(correlator.trySubmit(List.of(event("C", 5_003)), 5, TimeUnit.SECONDS));
+            assertThrows(IllegalArgumentException.class, () -> correlator.submit(Collections.nCopies(5, event("A", 0))));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report the cause of every window whose incidents are lost")
+    void shouldReportFailedWindows() throws InterruptedException {
+        // Given
+        IllegalStateException failure = new IllegalStateException("listener down");
+        Map<Long, RuntimeException> failures = new ConcurrentHashMap<>();
+        try (AlertCorrelator correlator = new AlertCorrelator(network, Duration.ofSeconds(10), Duration.ZERO, 10,
+                incident -> {
+                    if (incident.rootCause().equals("A")) {
+                        throw failure;
+                    }
+                    incidents.add(incident);
+                }, failures::put)) {
+
+            // When
+            correlator.submit(List.of(event("A", 1_000), event("D", 12_000)));
+            correlator.flush();
+
+            // Then
+            assertEquals(1, correlator.failedWindows());
+            assertSame(failure, correlator.lastFailure());
+            assertEquals(Map.of(0L, failure), failures);
+            assertEquals(List.of(new Incident("D", List.of("D"), 10_000, 1)), incidents);
+        }
+    }
+
+    @Test
+    @DisplayName("Should close open windows on close and reject further batches")
+    void shouldFlushOnClose() throws InterruptedException {
+        // Given
+        AlertCorrelator correlator = new AlertCorrelator(network, Duration.ofMinutes(1), Duration.ZERO, 10,
+                incidents::add);
+        correlator.submit(List.of(event("D", 100)));
+
+        // When
+        correlator.close();
+
+        // Then
+        assertEquals(List.of(new Incident("D", List.of("D"), 0, 1)), incidents);
+        assertThrows(IllegalStateException.class, () -> correlator.submit(List.of(event("D", 200))));
+    }
+
+    private static AlertEvent event(String service, long timestamp) {
+        return new AlertEvent(service, timestamp);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.allert.correlation;
+
+import com.allert.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncidentGrouperTest {
+    private AlertNetwork network;
+    private IncidentGrouper grouper;
+
+    @BeforeEach
+    void setUp() {
+        network = new AlertNetworkImpl();
+        List.of("gateway", "orders", "payments", "db", "cache", "search", "index").forEach(network::addService);
+        network.addDependency("gateway", "orders");
+        network.addDependency("orders", "payments");
+        network.addDependency("payments", "db");
+        network.addDependency("orders", "cache");
+        network.addDependency("search", "index");
+        network.addDependency("index", "search");
+        grouper = new IncidentGrouper(network);
+    }
+
+    @Test
+    @DisplayName("Should suppress alerts explained by an alerting upstream service")
+    void shouldGroupByRootCause() {
+        // Given
+        Map<String, Integer> alerts = Map.of("orders", 3, "payments", 1, "db", 2, "cache", 1);
+
+        // When
+        List<Incident> incidents = grouper.group(1_000, alerts);
+
+        // Then
+        assertEquals(1, incidents.size());
+        Incident incident = incidents.get(0);
+        assertEquals("orders", incident.rootCause());
+        assertEquals(List.of("orders", "cache", "db", "payments"), incident.services());
+        assertEquals(List.of("cache", "db", "payments"), incident.suppressed());
+        assertEquals(7, incident.alertCount());
+        assertEquals(1_000, incident.windowStart());
+    }
+
+    @Test
+    @DisplayName("Should keep unrelated alerts in separate incidents")
+    void shouldSeparateIndependentRootCauses() {
+        // Given
+        Map<String, Integer> alerts = Map.of("payments", 1, "db", 1, "cache", 1);
+
+        // When
+        List<Incident> incidents = grouper.group(0, alerts);
+
+        // Then
+        assertEquals(List.of("cache", "payments"), incidents.stream().map(Incident::rootCause).toList());
+        assertEquals(List.of("payments", "db"), incidents.get(1).services());
+    }
+
+    @Test
+    @DisplayName("Should pick one root cause for services that reach each other")
+    void shouldPickSingleRootInCycle() {
+        // Given
+        Map<String, Integer> alerts = Map.of("search", 1, "index", 4);
+
+        // When
+        List<Incident> incidents = grouper.group(0, alerts);
+
+        // Then
+        assertEquals(1, incidents.size());
+        assertEquals("index", incidents.get(0).rootCause());
+        assertEquals(List.of("index", "search"), incidents.get(0).services());
+    }
+
+    @Test
+    @DisplayName("Should report alerts from unknown services as their own incidents")
+    void shouldIsolateUnknownServices() {
+        // Given
+        Map<String, Integer> alerts = Map.of("ghost", 2, "db", 1);
+
+        // When
+        List<Incident> incidents = grouper.group(0, alerts);
+
+        // Then
+        assertEquals(List.of("db", "ghost"), incidents.stream().map(Incident::rootCause).toList());
+        assertEquals(2, incidents.get(1).alertCount());
+    }
+}
@@ -0,0 +1,128 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlastRadiusEstimatorTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    private static Stream<Arguments> provideGraphs() {
+        return Stream.of(
+                Arguments.of("random", Topologies.random(4_000, 12_000, 5)),
+                Arguments.of("sparse random", Topologies.random(4_000, 4_400, 5)),
+                Arguments.of("scale-free", Topologies.scaleFree(4_000, 3, 5)),
+                Arguments.of("layered", Topologies.layered(4_000, 10, 3, 5)),
+                Arguments.of("mesh", Topologies.cyclicMesh(4_000, 4, 5)),
+                Arguments.of("chain", Topologies.chain(4_000))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Should estimate reach with the requested error, exactly where the sketch stayed exact")
+    @MethodSource("provideGraphs")
+    void shouldEstimateWithinErrorBound(String name, CompactGraph graph) {
+        // Given
+        GraphSnapshot snapshot = graph.snapshot();
+        GraphTraversal traversal = new GraphTraversal();
+
+        // When
+        BlastRadiusEstimator.Estimates estimates = BlastRadiusEstimator.estimate(snapshot, node -> true, 0.05, pool);
+
+        // Then
+        double standardError = estimates.standardError();
+        double squaredErrors = 0;
+        int outside = 0;
+        for (int node = 0; node < snapshot.nodeCount(); node++) {
+            int exact = traversal.reachable(snapshot, node).length;
+            double error = Math.abs(estimates.sizes()[node] - exact) / exact;
+            if (estimates.exact().get(node)) {
+                assertEquals(exact, estimates.sizes()[node], name + " node " + node);
+            }
+            assertTrue(error <= 5 * standardError, name + " node " + node + ": " + estimates.sizes()[node] + " vs " + exact);
+            squaredErrors += error * error;
+            if (exact < estimates.lowerBound(node) || exact > estimates.upperBound(node)) {
+                outside++;
+            }
+        }
+        assertTrue(Math.sqrt(squaredErrors / snapshot.nodeCount()) <= 1.5 * standardError, name);
+        assertTrue(outside <= snapshot.nodeCount() / 10, name + ": " + outside + " counts outside their bounds");
+    }
+
+    @Test
+    @DisplayName("Should count exactly while reach stays below a quarter of the register count")
+    void shouldCountSmallReachExactly() {
+        // Given
+        GraphSnapshot snapshot = Topologies.chain(100).snapshot();
+
+        // When
+        BlastRadiusEstimator.Estimates estimates = BlastRadiusEstimator.estimate(snapshot, node -> true, 0.05, pool);
+
+        // Then
+        for (int node = 0; node < 100; node++) {
+            assertTrue(estimates.exact().get(node));
+            assertEquals(100 - node, estimates.rounded(node));
+            assertEquals(100 - node, estimates.lowerBound(node));
+            assertEquals(100 - node, estimates.upperBound(node));
+        }
+    }
+
+    @Test
+    @DisplayName("Should traverse but not count excluded and hidden nodes")
+    void shouldSkipUncountedNodes() {
+        // Given
+        GraphSnapshot snapshot = Topologies.chain(10).snapshot()
+                .without(new int[0], new int[0], new int[]{9});
+
+        // When
+        BlastRadiusEstimator.Estimates estimates = BlastRadiusEstimator.estimate(snapshot, node -> node % 2 == 0, 0.05, pool);
+
+        // Then
+        assertEquals(0, estimates.sizes()[1]);
+        assertEquals(0, estimates.sizes()[9]);
+        assertEquals(4, estimates.sizes()[2]);
+        assertEquals(5, estimates.countedNodes());
+        assertArrayEquals(new int[]{0, 2, 4}, estimates.top(3));
+    }
+
+    @Test
+    @DisplayName("Should rank the largest estimates first and break ties by id")
+    void shouldRankTopNodes() {
+        // Given
+        CompactGraph graph = Topologies.chain(5);
+        graph.addEdge(4, 0);
+        graph.addNode();
+        graph.addEdge(5, 0);
+
+        // When
+        BlastRadiusEstimator.Estimates estimates = BlastRadiusEstimator.estimate(graph.snapshot(), node -> true, 0.05, pool);
+
+        // Then
+        assertArrayEquals(new int[]{5, 0, 1, 2}, estimates.top(4));
+        assertArrayEquals(new int[]{5, 0, 1, 2, 3, 4}, estimates.top(10));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should size the registers to reach the requested error")
+    @CsvSource({"0.5, 16", "0.1, 128", "0.05, 512", "0.01, 16384", "0.001, 65536"})
+    void shouldSizeRegisters(double relativeError, int registers) {
+        // When & Then
+        assertEquals(registers, BlastRadiusEstimator.registersFor(relativeError));
+    }
+}
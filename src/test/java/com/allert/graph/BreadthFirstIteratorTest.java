@@ -0,0 +1,70 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreadthFirstIteratorTest {
+
+    @Test
+    @DisplayName("Should visit nodes in the same order as the eager traversal")
+    void shouldMatchEagerTraversal() {
+        // Given
+        GraphSnapshot snapshot = Topologies.scaleFree(20_000, 4, 5).snapshot();
+        GraphTraversal traversal = new GraphTraversal();
+
+        for (int source : new int[]{0, 17, 9_999}) {
+            // When
+            int[] lazy = StreamSupport.intStream(Spliterators.spliteratorUnknownSize(
+                    BreadthFirstIterator.downstream(snapshot, source, Integer.MAX_VALUE), 0), false).toArray();
+
+            // Then
+            assertArrayEquals(traversal.reachable(snapshot, source), lazy);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop expanding at the depth limit and report each node's depth")
+    void shouldRespectDepthLimit() {
+        // Given
+        GraphSnapshot snapshot = Topologies.layered(10_000, 10, 3, 2).snapshot();
+        int[] distances = new int[snapshot.nodeCount()];
+        Arrays.fill(distances, -1);
+        BreadthFirstIterator unbounded = BreadthFirstIterator.downstream(snapshot, 0, Integer.MAX_VALUE);
+        while (unbounded.hasNext()) {
+            int node = unbounded.nextInt();
+            distances[node] = unbounded.depth();
+        }
+
+        // When
+        BreadthFirstIterator bounded = BreadthFirstIterator.downstream(snapshot, 0, 3);
+        List<Integer> visited = new ArrayList<>();
+        while (bounded.hasNext()) {
+            int node = bounded.nextInt();
+            assertEquals(distances[node], bounded.depth());
+            visited.add(node);
+        }
+
+        // Then
+        long expected = Arrays.stream(distances).filter(distance -> distance >= 0 && distance <= 3).count();
+        assertEquals(expected, visited.size());
+    }
+
+    @Test
+    @DisplayName("Should return only the start node with a depth limit of zero")
+    void shouldReturnOnlyStartNodeAtDepthZero() {
+        // Given
+        GraphSnapshot snapshot = Topologies.chain(5).snapshot();
+
+        // When
+        BreadthFirstIterator iterator = BreadthFirstIterator.downstream(snapshot, 2, 0);
+
+        // Then
+        assertEquals(2, iterator.nextInt());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+    }
+}
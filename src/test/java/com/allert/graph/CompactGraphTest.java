@@ -0,0 +1,245 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactGraphTest {
+    private CompactGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new CompactGraph();
+    }
+
+    @Test
+    @DisplayName("Should keep successors in insertion order and ignore duplicate edges")
+    void shouldKeepSuccessorsInInsertionOrderAndIgnoreDuplicates() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            graph.addNode();
+        }
+
+        // When
+        graph.addEdge(0, 2);
+        graph.addEdge(0, 1);
+        boolean added = graph.addEdge(0, 2);
+        graph.addEdge(0, 3);
+
+        // Then
+        assertFalse(added);
+        assertEquals(3, graph.edgeCount());
+        assertEquals(List.of(2, 1, 3), successors(0));
+        assertTrue(successors(1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should preserve adjacency across compaction")
+    void shouldPreserveAdjacencyAcrossCompaction() {
+        // Given
+        int nodes = 2_000;
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode();
+        }
+        Random random = new Random(42);
+        Map<Integer, List<Integer>> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            int from = random.nextInt(nodes);
+            int to = random.nextInt(nodes);
+            if (graph.addEdge(from, to)) {
+                expected.computeIfAbsent(from, key -> new ArrayList<>()).add(to);
+            }
+        }
+
+        // When
+        graph.compact();
+        graph.addEdge(nodes - 1, 0);
+        expected.computeIfAbsent(nodes - 1, key -> new ArrayList<>()).add(0);
+
+        // Then
+        for (int node = 0; node < nodes; node++) {
+            assertEquals(expected.getOrDefault(node, List.of()), successors(node));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not expose edges added after a snapshot was taken")
+    void shouldNotExposeEdgesAddedAfterSnapshot() {
+        // Given
+        graph.addNode();
+        graph.addNode();
+        graph.addEdge(0, 1);
+        GraphSnapshot snapshot = graph.snapshot();
+
+        // When
+        graph.addNode();
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 2);
+
+        // Then
+        assertEquals(List.of(1), successors(snapshot, 0));
+        assertTrue(successors(snapshot, 1).isEmpty());
+        assertEquals(2, snapshot.nodeCount());
+        assertEquals(List.of(1, 2), successors(0));
+        assertTrue(graph.snapshot().version() > snapshot.version());
+    }
+
+    @Test
+    @DisplayName("Should hide removed edges from new snapshots but not from older ones")
+    void shouldHideRemovedEdgesFromNewSnapshotsOnly() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 2);
+        GraphSnapshot before = graph.snapshot();
+
+        // When
+        boolean removed = graph.removeEdge(0, 1);
+        boolean removedAgain = graph.removeEdge(0, 1);
+
+        // Then
+        assertTrue(removed);
+        assertFalse(removedAgain);
+        assertFalse(graph.hasEdge(0, 1));
+        assertEquals(2, graph.edgeCount());
+        assertEquals(List.of(2), successors(0));
+        assertEquals(List.of(0, 1), predecessors(graph.snapshot(), 2));
+        assertTrue(predecessors(graph.snapshot(), 1).isEmpty());
+        assertEquals(2, graph.snapshot().forwardCsr().edgeCount());
+        assertEquals(List.of(1, 2), successors(before, 0));
+    }
+
+    @Test
+    @DisplayName("Should restore a removed edge when it is added again")
+    void shouldRestoreRemovedEdgeWhenAddedAgain() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.removeEdge(0, 1);
+        GraphSnapshot withoutEdge = graph.snapshot();
+
+        // When
+        boolean added = graph.addEdge(0, 1);
+
+        // Then
+        assertTrue(added);
+        assertEquals(0, graph.tombstoneCount());
+        assertEquals(List.of(1, 2), successors(0));
+        assertEquals(List.of(2), successors(withoutEdge, 0));
+    }
+
+    @Test
+    @DisplayName("Should remove every edge of a node")
+    void shouldRemoveEveryEdgeOfNode() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(3, 1);
+        graph.addEdge(0, 2);
+
+        // When
+        int removed = graph.removeNode(1);
+
+        // Then
+        assertEquals(3, removed);
+        assertEquals(1, graph.edgeCount());
+        assertEquals(List.of(2), successors(0));
+        assertTrue(successors(1).isEmpty());
+        assertTrue(successors(3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should purge tombstones into a compacted adjacency once enough pile up")
+    void shouldPurgeTombstones() {
+        // Given
+        int nodes = 2_000;
+        graph.addNodes(nodes);
+        Random random = new Random(7);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 40_000; i++) {
+            int from = random.nextInt(nodes);
+            int to = random.nextInt(nodes);
+            if (graph.addEdge(from, to)) {
+                expected.add(CompactGraph.edgeKey(from, to));
+            }
+        }
+
+        // When
+        int removed = 0;
+        for (Iterator<Long> keys = expected.iterator(); keys.hasNext() && removed < 5_000; removed++) {
+            long key = keys.next();
+            assertTrue(graph.removeEdge((int) (key >>> 32), (int) key));
+            keys.remove();
+        }
+
+        // Then
+        assertTrue(graph.tombstoneCount() < 4_096);
+        assertEquals(expected.size(), graph.edgeCount());
+        Set<Long> actual = new HashSet<>();
+        GraphSnapshot snapshot = graph.snapshot();
+        for (int node = 0; node < nodes; node++) {
+            for (int target : successors(snapshot, node)) {
+                actual.add(CompactGraph.edgeKey(node, target));
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should mask edges and nodes in an overlay without changing the snapshot")
+    void shouldMaskEdgesAndNodesInOverlay() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 3);
+        GraphSnapshot snapshot = graph.snapshot();
+
+        // When
+        GraphSnapshot overlay = snapshot.without(new int[]{0}, new int[]{1}, new int[]{2});
+
+        // Then
+        assertTrue(successors(overlay, 0).isEmpty());
+        assertEquals(List.of(3), successors(overlay, 1));
+        assertEquals(List.of(1), predecessors(overlay, 3));
+        assertTrue(overlay.hidesNode(2));
+        assertEquals(1, overlay.edgeCount());
+        assertEquals(1, overlay.reverseCsr().edgeCount());
+        assertEquals(4, snapshot.edgeCount());
+        assertEquals(List.of(1, 2), successors(snapshot, 0));
+    }
+
+    private List<Integer> successors(int node) {
+        return successors(graph.snapshot(), node);
+    }
+
+    private List<Integer> successors(GraphSnapshot snapshot, int node) {
+        List<Integer> successors = new ArrayList<>();
+        for (EdgeCursor edges = snapshot.cursor().of(node); edges.hasNext(); ) {
+            successors.add(edges.next());
+        }
+        return successors;
+    }
+
+    private List<Integer> predecessors(GraphSnapshot snapshot, int node) {
+        List<Integer> predecessors = new ArrayList<>();
+        for (EdgeCursor edges = snapshot.reverseCursor().of(node); edges.hasNext(); ) {
+            predecessors.add(edges.next());
+        }
+        return predecessors;
+    }
+}
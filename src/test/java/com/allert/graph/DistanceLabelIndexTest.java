@@ -0,0 +1,117 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceLabelIndexTest {
+    private final GraphTraversal traversal = new GraphTraversal();
+
+    private static Stream<Arguments> provideTopologies() {
+        return Stream.of(
+                Arguments.of("random", Topologies.random(1_500, 3_000, 3)),
+                Arguments.of("scale-free", Topologies.scaleFree(1_500, 3, 4)),
+                Arguments.of("layered", Topologies.layered(1_500, 8, 3, 5)),
+                Arguments.of("cyclic mesh", Topologies.cyclicMesh(1_500, 3, 6)),
+                Arguments.of("chain", Topologies.chain(300))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Should answer the same hop distances as a breadth-first search")
+    @MethodSource("provideTopologies")
+    void shouldMatchBreadthFirstDistances(String name, CompactGraph graph) {
+        // Given
+        GraphSnapshot snapshot = graph.snapshot();
+
+        // When
+        DistanceLabelIndex index = DistanceLabelIndex.build(snapshot);
+
+        // Then
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            int source = random.nextInt(snapshot.nodeCount());
+            int target = random.nextInt(snapshot.nodeCount());
+            assertEquals(traversal.shortestPath(snapshot, source, target).length - 1, index.distance(source, target));
+        }
+        IndexStats stats = index.stats();
+        assertTrue(stats.memoryBytes() > 0);
+        assertTrue(stats.buildNanos() > 0);
+        assertTrue(stats.entries() >= 2 * snapshot.nodeCount());
+    }
+
+    @Test
+    @DisplayName("Should rebuild a shortest path that follows existing edges")
+    void shouldRebuildShortestPath() {
+        // Given
+        CompactGraph graph = Topologies.random(800, 2_000, 8);
+        GraphSnapshot snapshot = graph.snapshot();
+        DistanceLabelIndex index = DistanceLabelIndex.build(snapshot);
+
+        // When & Then
+        for (int source = 0; source < 800; source += 13) {
+            for (int target = 1; target < 800; target += 29) {
+                int[] path = index.path(snapshot, source, target);
+                assertEquals(traversal.shortestPath(snapshot, source, target).length, path.length);
+                for (int i = 1; i < path.length; i++) {
+                    assertTrue(graph.hasEdge(path[i - 1], path[i]));
+                }
+                if (path.length > 0) {
+                    assertEquals(source, path[0]);
+                    assertEquals(target, path[path.length - 1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay exact while nodes and edges are added incrementally")
+    void shouldStayExactUnderIncrementalUpdates() {
+        // Given
+        CompactGraph graph = Topologies.random(300, 400, 2);
+        DistanceLabelIndex index = DistanceLabelIndex.build(graph.snapshot());
+        Random random = new Random(17);
+
+        // When
+        for (int i = 0; i < 600; i++) {
+            if (i % 6 == 0) {
+                index.addNode(graph.addNode());
+            }
+            int from = random.nextInt(graph.nodeCount());
+            int to = random.nextInt(graph.nodeCount());
+            if (graph.addEdge(from, to)) {
+                index.addEdge(graph.snapshot(), from, to);
+            }
+        }
+
+        // Then
+        GraphSnapshot snapshot = graph.snapshot();
+        for (int source = 0; source < snapshot.nodeCount(); source += 3) {
+            for (int target = 0; target < snapshot.nodeCount(); target += 7) {
+                assertEquals(traversal.shortestPath(snapshot, source, target).length - 1,
+                        index.distance(source, target));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report unreachable targets")
+    void shouldReportUnreachableTargets() {
+        // Given
+        CompactGraph graph = Topologies.chain(5);
+        DistanceLabelIndex index = DistanceLabelIndex.build(graph.snapshot());
+
+        // When & Then
+        assertEquals(4, index.distance(0, 4));
+        assertTrue(index.reaches(1, 3));
+        assertFalse(index.reaches(3, 1));
+        assertEquals(-1, index.distance(4, 0));
+        assertArrayEquals(new int[0], index.path(graph.snapshot(), 4, 0));
+        assertArrayEquals(new int[]{2}, index.path(graph.snapshot(), 2, 2));
+    }
+}
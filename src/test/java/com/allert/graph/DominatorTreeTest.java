@@ -0,0 +1,101 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DominatorTreeTest {
+
+    @ParameterizedTest
+    @DisplayName("Should rank cut edges exactly like cutting each edge and recounting")
+    @ValueSource(longs = {1, 2, 3, 4, 5, 6, 7, 8})
+    void shouldMatchBruteForceCutCounts(long seed) {
+        // Given
+        CompactGraph graph = Topologies.random(60, 90, seed);
+        GraphSnapshot snapshot = graph.snapshot();
+        int source = (int) seed;
+
+        // When
+        int[] ranked = DominatorTree.build(snapshot, source).rankedCutEdges();
+
+        // Then
+        Map<Long, Integer> expected = bruteForceCutCounts(snapshot, source);
+        Map<Long, Integer> actual = new HashMap<>();
+        for (int i = 0; i < ranked.length; i += 3) {
+            actual.put(CompactGraph.edgeKey(ranked[i], ranked[i + 1]), ranked[i + 2]);
+            if (i > 0) {
+                assertTrue(ranked[i - 1] >= ranked[i + 2], "ranking must be non-increasing");
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should compute immediate dominators of a diamond with a tail")
+    void shouldComputeImmediateDominators() {
+        // Given
+        CompactGraph graph = new CompactGraph();
+        for (int i = 0; i < 6; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 4);
+
+        // When
+        DominatorTree tree = DominatorTree.build(graph.snapshot(), 0);
+
+        // Then
+        assertEquals(-1, tree.idom(0));
+        assertEquals(0, tree.idom(1));
+        assertEquals(0, tree.idom(2));
+        assertEquals(0, tree.idom(3));
+        assertEquals(3, tree.idom(4));
+        assertEquals(-1, tree.idom(5));
+        assertEquals(5, tree.reachableCount());
+        assertEquals(2, tree.dominatedCount(3));
+        assertTrue(tree.dominates(3, 4));
+        assertFalse(tree.dominates(1, 3));
+    }
+
+    private static Map<Long, Integer> bruteForceCutCounts(GraphSnapshot snapshot, int source) {
+        int baseline = reachableWithout(snapshot, source, -1, -1);
+        Map<Long, Integer> counts = new HashMap<>();
+        EdgeCursor edges = snapshot.cursor();
+        for (int from = 0; from < snapshot.nodeCount(); from++) {
+            for (edges.of(from); edges.hasNext(); ) {
+                int to = edges.next();
+                int isolated = baseline - reachableWithout(snapshot, source, from, to);
+                if (isolated > 0) {
+                    counts.put(CompactGraph.edgeKey(from, to), isolated);
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static int reachableWithout(GraphSnapshot snapshot, int source, int cutFrom, int cutTo) {
+        BitSet seen = new BitSet();
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(source);
+        seen.set(source);
+        EdgeCursor edges = snapshot.cursor();
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            for (edges.of(node); edges.hasNext(); ) {
+                int next = edges.next();
+                if ((node != cutFrom || next != cutTo) && !seen.get(next)) {
+                    seen.set(next);
+                    stack.push(next);
+                }
+            }
+        }
+        return seen.cardinality();
+    }
+}
@@ -0,0 +1,122 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphTraversalTest {
+    private final GraphTraversal traversal = new GraphTraversal();
+
+    private static Stream<Arguments> provideLargeGraphs() {
+        return Stream.of(
+                Arguments.of("random", Topologies.random(20_000, 100_000, 7)),
+                Arguments.of("scale-free", Topologies.scaleFree(20_000, 4, 7))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Bidirectional search should find shortest paths while visiting fewer nodes")
+    @MethodSource("provideLargeGraphs")
+    void bidirectionalSearchShouldFindShortestPathsVisitingFewerNodes(String name, CompactGraph graph) {
+        // Given
+        GraphSnapshot snapshot = graph.snapshot();
+        Random random = new Random(11);
+        long forwardVisited = 0;
+        long bidirectionalVisited = 0;
+
+        for (int i = 0; i < 200; i++) {
+            int source = random.nextInt(snapshot.nodeCount());
+            int target = random.nextInt(snapshot.nodeCount());
+
+            // When
+            int[] forward = traversal.shortestPath(snapshot, source, target);
+            forwardVisited += traversal.lastVisitedCount();
+            int[] bidirectional = traversal.bidirectionalShortestPath(snapshot, source, target);
+            bidirectionalVisited += traversal.lastVisitedCount();
+
+            // Then
+            assertEquals(forward.length, bidirectional.length);
+            assertValidPath(snapshot, bidirectional, source, target);
+        }
+        assertTrue(bidirectionalVisited * 5 < forwardVisited,
+                name + ": forward visited " + forwardVisited + ", bidirectional " + bidirectionalVisited);
+    }
+
+    @Test
+    @DisplayName("Bidirectional search should handle trivial and unreachable targets")
+    void bidirectionalSearchShouldHandleTrivialAndUnreachableTargets() {
+        // Given
+        CompactGraph graph = new CompactGraph();
+        for (int i = 0; i < 4; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        GraphSnapshot snapshot = graph.snapshot();
+
+        // When & Then
+        assertArrayEquals(new int[]{0}, traversal.bidirectionalShortestPath(snapshot, 0, 0));
+        assertArrayEquals(new int[]{0, 1}, traversal.bidirectionalShortestPath(snapshot, 0, 1));
+        assertArrayEquals(new int[]{0, 1, 2}, traversal.bidirectionalShortestPath(snapshot, 0, 2));
+        assertEquals(0, traversal.bidirectionalShortestPath(snapshot, 2, 0).length);
+        assertEquals(0, traversal.bidirectionalShortestPath(snapshot, 0, 3).length);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Upstream queries should mirror downstream queries")
+    @MethodSource("provideLargeGraphs")
+    void upstreamQueriesShouldMirrorDownstreamQueries(String name, CompactGraph graph) {
+        // Given
+        GraphSnapshot snapshot = graph.snapshot();
+        Random random = new Random(5);
+
+        for (int i = 0; i < 20; i++) {
+            int target = random.nextInt(snapshot.nodeCount());
+            int source = random.nextInt(snapshot.nodeCount());
+
+            // When
+            int[] upstream = traversal.reachableUpstream(snapshot, target);
+            int[] upstreamPath = traversal.shortestPathUpstream(snapshot, target, source);
+            int[] downstreamPath = traversal.shortestPath(snapshot, source, target);
+
+            // Then
+            Set<Integer> expected = new HashSet<>();
+            for (int node = 0; node < snapshot.nodeCount(); node += 97) {
+                if (Arrays.stream(traversal.reachable(snapshot, node)).anyMatch(reached -> reached == target)) {
+                    expected.add(node);
+                }
+            }
+            Set<Integer> sampled = Arrays.stream(upstream).filter(node -> node % 97 == 0).boxed()
+                    .collect(Collectors.toSet());
+            assertEquals(expected, sampled);
+            assertEquals(downstreamPath.length, upstreamPath.length);
+            for (int j = 0; j < upstreamPath.length / 2; j++) {
+                int swap = upstreamPath[j];
+                upstreamPath[j] = upstreamPath[upstreamPath.length - 1 - j];
+                upstreamPath[upstreamPath.length - 1 - j] = swap;
+            }
+            assertValidPath(snapshot, upstreamPath, source, target);
+        }
+    }
+
+    private static void assertValidPath(GraphSnapshot snapshot, int[] path, int source, int target) {
+        if (path.length == 0) {
+            return;
+        }
+        assertEquals(source, path[0]);
+        assertEquals(target, path[path.length - 1]);
+        EdgeCursor edges = snapshot.cursor();
+        for (int i = 0; i + 1 < path.length; i++) {
+            boolean found = false;
+            for (edges.of(path[i]); edges.hasNext(); ) {
+                found |= edges.next() == path[i + 1];
+            }
+            assertTrue(found, "missing edge " + path[i] + " -> " + path[i + 1]);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinimumCutTest {
+
+    @ParameterizedTest
+    @DisplayName("Should find a cut as small as the best exhaustive search")
+    @ValueSource(longs = {1, 2, 3, 4, 5, 6})
+    void shouldFindMinimumCutOnSmallGraphs(long seed) {
+        // Given
+        CompactGraph graph = Topologies.random(8, 14, seed);
+        GraphSnapshot snapshot = graph.snapshot();
+        int[] targets = {6, 7};
+        int[][] edges = edges(snapshot);
+
+        // When
+        int[] cut = MinimumCut.compute(snapshot, 0, targets);
+
+        // Then
+        Set<Long> removed = new HashSet<>();
+        for (int i = 0; i < cut.length; i += 2) {
+            assertTrue(graph.hasEdge(cut[i], cut[i + 1]));
+            removed.add(CompactGraph.edgeKey(cut[i], cut[i + 1]));
+        }
+        assertTrue(separates(snapshot, removed, targets));
+        int best = Integer.MAX_VALUE;
+        for (int mask = 0; mask < 1 << edges.length; mask++) {
+            if (Integer.bitCount(mask) >= best) {
+                continue;
+            }
+            Set<Long> subset = new HashSet<>();
+            for (int i = 0; i < edges.length; i++) {
+                if ((mask & 1 << i) != 0) {
+                    subset.add(CompactGraph.edgeKey(edges[i][0], edges[i][1]));
+                }
+            }
+            if (separates(snapshot, subset, targets)) {
+                best = Integer.bitCount(mask);
+            }
+        }
+        assertEquals(best, removed.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a source that is also protected")
+    void shouldRejectProtectedSource() {
+        // Given
+        CompactGraph graph = Topologies.random(4, 4, 1);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> MinimumCut.compute(graph.snapshot(), 0, new int[]{0, 1}));
+    }
+
+    private static int[][] edges(GraphSnapshot snapshot) {
+        List<int[]> edges = new ArrayList<>();
+        EdgeCursor cursor = snapshot.cursor();
+        for (int from = 0; from < snapshot.nodeCount(); from++) {
+            for (cursor.of(from); cursor.hasNext(); ) {
+                edges.add(new int[]{from, cursor.next()});
+            }
+        }
+        return edges.toArray(new int[0][]);
+    }
+
+    private static boolean separates(GraphSnapshot snapshot, Set<Long> removed, int[] targets) {
+        BitSet seen = new BitSet();
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(0);
+        seen.set(0);
+        EdgeCursor edges = snapshot.cursor();
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            for (edges.of(node); edges.hasNext(); ) {
+                int next = edges.next();
+                if (!removed.contains(CompactGraph.edgeKey(node, next)) && !seen.get(next)) {
+                    seen.set(next);
+                    stack.push(next);
+                }
+            }
+        }
+        return Arrays.stream(targets).noneMatch(seen::get);
+    }
+}
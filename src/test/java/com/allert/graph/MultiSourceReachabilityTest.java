@@ -0,0 +1,62 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiSourceReachabilityTest {
+
+    @Test
+    @DisplayName("Should match one traversal per source across several passes")
+    void shouldMatchPerSourceTraversals() {
+        // Given
+        CompactGraph graph = Topologies.random(3_000, 3_600, 21);
+        GraphSnapshot snapshot = graph.snapshot();
+        int[] sources = IntStream.range(0, 700).map(i -> (i * 7) % 3_000).toArray();
+        GraphTraversal traversal = new GraphTraversal();
+
+        // When
+        MultiSourceReachability result = MultiSourceReachability.compute(snapshot, sources);
+
+        // Then
+        BitSet union = new BitSet();
+        BitSet intersection = new BitSet();
+        intersection.set(0, snapshot.nodeCount());
+        for (int i = 0; i < sources.length; i++) {
+            int[] expected = traversal.reachable(snapshot, sources[i]);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, result.reachable(i));
+            BitSet reached = new BitSet();
+            Arrays.stream(expected).forEach(reached::set);
+            union.or(reached);
+            intersection.and(reached);
+        }
+        assertArrayEquals(union.stream().toArray(), result.union());
+        assertArrayEquals(intersection.stream().toArray(), result.intersection());
+    }
+
+    @Test
+    @DisplayName("Should intersect impact sets of sources on a shared chain")
+    void shouldIntersectImpactSets() {
+        // Given
+        CompactGraph graph = new CompactGraph();
+        for (int i = 0; i < 5; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+
+        // When
+        MultiSourceReachability result = MultiSourceReachability.compute(graph.snapshot(), new int[]{0, 1});
+
+        // Then
+        assertArrayEquals(new int[]{0, 2, 3}, result.reachable(0));
+        assertArrayEquals(new int[]{1, 2, 3}, result.reachable(1));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, result.union());
+        assertArrayEquals(new int[]{2, 3}, result.intersection());
+    }
+}
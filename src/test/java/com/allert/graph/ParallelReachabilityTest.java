@@ -0,0 +1,149 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelReachabilityTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    private static Stream<Arguments> provideGraphs() {
+        return Stream.of(
+                Arguments.of("random", Topologies.random(30_000, 150_000, 3)),
+                Arguments.of("scale-free", Topologies.scaleFree(30_000, 4, 3)),
+                Arguments.of("layered", Topologies.layered(30_000, 12, 4, 3)),
+                Arguments.of("mesh", Topologies.cyclicMesh(30_000, 6, 3)),
+                Arguments.of("chain", Topologies.chain(10_000))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Should reach the same nodes as the sequential traversal, level by level")
+    @MethodSource("provideGraphs")
+    void shouldMatchSequentialTraversal(String name, CompactGraph graph) {
+        // Given
+        GraphSnapshot snapshot = graph.snapshot();
+        GraphTraversal traversal = new GraphTraversal();
+        Random random = new Random(17);
+
+        for (int i = 0; i < 10; i++) {
+            int source = i == 0 ? 0 : random.nextInt(snapshot.nodeCount());
+
+            // When
+            int[] parallel = ParallelReachability.reachable(snapshot, source, pool);
+
+            // Then
+            int[] distances = distances(snapshot.forwardCsr(), source);
+            int[] expected = Arrays.stream(traversal.reachable(snapshot, source)).boxed()
+                    .sorted(Comparator.<Integer>comparingInt(node -> distances[node]).thenComparing(node -> node))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            assertArrayEquals(expected, parallel, name + " from " + source);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Should mirror the sequential upstream traversal")
+    @MethodSource("provideGraphs")
+    void shouldMatchSequentialUpstreamTraversal(String name, CompactGraph graph) {
+        // Given
+        GraphSnapshot snapshot = graph.snapshot();
+        int target = snapshot.nodeCount() - 1;
+
+        // When
+        int[] parallel = ParallelReachability.reachableUpstream(snapshot, target, pool);
+
+        // Then
+        int[] sequential = new GraphTraversal().reachableUpstream(snapshot, target);
+        assertEquals(sequential.length, parallel.length);
+        assertEquals(Arrays.stream(sequential).boxed().collect(Collectors.toSet()),
+                Arrays.stream(parallel).boxed().collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Should switch to bottom-up steps once the frontier covers most of the graph")
+    void shouldSwitchToBottomUpOnDenseFrontiers() {
+        // Given
+        GraphSnapshot scaleFree = Topologies.scaleFree(30_000, 4, 3).snapshot();
+        GraphSnapshot chain = Topologies.chain(10_000).snapshot();
+
+        // When
+        ParallelReachability dense = ParallelReachability.search(
+                scaleFree.forwardCsr(), scaleFree.reverseCsr(), 0, pool);
+        ParallelReachability sparse = ParallelReachability.search(
+                chain.forwardCsr(), chain.reverseCsr(), 0, pool);
+
+        // Then
+        assertTrue(dense.bottomUpSteps() > 0);
+        assertEquals(0, sparse.bottomUpSteps());
+        assertEquals(10_000, sparse.result().length);
+    }
+
+    @Test
+    @DisplayName("Should produce identical results for any pool size")
+    void shouldNotDependOnParallelism() {
+        // Given
+        GraphSnapshot snapshot = Topologies.cyclicMesh(50_000, 8, 9).snapshot();
+        ForkJoinPool single = new ForkJoinPool(1);
+
+        try {
+            // When
+            int[] sequential = ParallelReachability.reachable(snapshot, 42, single);
+            int[] parallel = ParallelReachability.reachable(snapshot, 42, pool);
+
+            // Then
+            assertArrayEquals(sequential, parallel);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return only the source when it has no dependencies")
+    void shouldHandleIsolatedSource() {
+        // Given
+        CompactGraph graph = new CompactGraph();
+        for (int i = 0; i < 3; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(0, 1);
+
+        // When & Then
+        assertArrayEquals(new int[]{2}, ParallelReachability.reachable(graph.snapshot(), 2, pool));
+        assertArrayEquals(new int[]{0, 1}, ParallelReachability.reachable(graph.snapshot(), 0, pool));
+    }
+
+    private static int[] distances(Csr csr, int source) {
+        int[] distances = new int[csr.nodeCount()];
+        Arrays.fill(distances, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(source));
+        distances[source] = 0;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int edge = csr.start(node); edge < csr.end(node); edge++) {
+                int target = csr.target(edge);
+                if (distances[target] < 0) {
+                    distances[target] = distances[node] + 1;
+                    queue.add(target);
+                }
+            }
+        }
+        return distances;
+    }
+}
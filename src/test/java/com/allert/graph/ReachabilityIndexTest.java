@@ -0,0 +1,87 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReachabilityIndexTest {
+    private final GraphTraversal traversal = new GraphTraversal();
+
+    @Test
+    @DisplayName("Should number components in reverse topological order")
+    void shouldNumberComponentsInReverseTopologicalOrder() {
+        // Given
+        CompactGraph graph = Topologies.random(2_000, 3_000, 5);
+        Csr csr = graph.snapshot().forwardCsr();
+
+        // When
+        int[] component = StronglyConnectedComponents.of(csr);
+
+        // Then
+        for (int node = 0; node < csr.nodeCount(); node++) {
+            for (int edge = csr.start(node); edge < csr.end(node); edge++) {
+                assertTrue(component[node] >= component[csr.target(edge)]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match traversal results after a full build")
+    void shouldMatchTraversalAfterFullBuild() {
+        // Given
+        CompactGraph graph = Topologies.random(3_000, 4_500, 9);
+        GraphSnapshot snapshot = graph.snapshot();
+
+        // When
+        ReachabilityIndex index = ReachabilityIndex.build(snapshot);
+
+        // Then
+        for (int node = 0; node < snapshot.nodeCount(); node += 7) {
+            assertArrayEquals(sorted(traversal.reachable(snapshot, node)), sorted(index.reachable(node)));
+        }
+        IndexStats stats = index.stats();
+        assertTrue(stats.memoryBytes() > 0);
+        assertTrue(stats.buildNanos() > 0);
+        assertTrue(stats.entries() <= snapshot.nodeCount());
+    }
+
+    @Test
+    @DisplayName("Should stay exact while nodes and edges are added incrementally")
+    void shouldStayExactUnderIncrementalUpdates() {
+        // Given
+        CompactGraph graph = new CompactGraph();
+        ReachabilityIndex index = ReachabilityIndex.build(graph.snapshot());
+        Random random = new Random(13);
+        int nodes = 400;
+
+        // When
+        for (int i = 0; i < nodes; i++) {
+            index.addNode(graph.addNode());
+        }
+        for (int i = 0; i < 700; i++) {
+            int from = random.nextInt(nodes);
+            int to = random.nextInt(nodes);
+            if (graph.addEdge(from, to)) {
+                index.addEdge(from, to);
+            }
+
+            // Then
+            if (i % 50 == 0) {
+                GraphSnapshot snapshot = graph.snapshot();
+                for (int node = 0; node < nodes; node += 3) {
+                    assertArrayEquals(sorted(traversal.reachable(snapshot, node)), sorted(index.reachable(node)));
+                }
+            }
+        }
+        ReachabilityIndex rebuilt = ReachabilityIndex.build(graph.snapshot());
+        assertEquals(rebuilt.stats().entries(), index.stats().entries());
+    }
+
+    private static int[] sorted(int[] nodes) {
+        int[] copy = nodes.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,84 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RootCausesTest {
+
+    @Test
+    @DisplayName("Should attribute explained nodes to their nearest unexplained ancestor")
+    void shouldAssignNearestRoot() {
+        // Given
+        CompactGraph graph = new CompactGraph();
+        for (int i = 0; i < 6; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(4, 3);
+        graph.addEdge(5, 5);
+
+        // When
+        int[] rootOf = RootCauses.assign(graph.snapshot(), new int[]{0, 2, 3, 4, 5});
+
+        // Then
+        assertArrayEquals(new int[]{0, 0, 3, 3, 4}, rootOf);
+    }
+
+    @Test
+    @DisplayName("Should root alerts downstream of an alerting cycle at the cycle in any input order")
+    void shouldRootDownstreamAlertsAtUpstreamCycle() {
+        // Given
+        CompactGraph graph = new CompactGraph();
+        for (int i = 0; i < 6; i++) {
+            graph.addNode();
+        }
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+        graph.addEdge(2, 0);
+        graph.addEdge(0, 3);
+        graph.addEdge(3, 0);
+        graph.addEdge(3, 4);
+        GraphSnapshot snapshot = graph.snapshot();
+
+        // When
+        int[] downstreamFirst = RootCauses.assign(snapshot, new int[]{4, 0, 3, 2, 1});
+        int[] cycleFirst = RootCauses.assign(snapshot, new int[]{2, 0, 4});
+
+        // Then
+        assertArrayEquals(new int[]{3, 3, 3, 3, 3}, downstreamFirst);
+        assertArrayEquals(new int[]{0, 0, 0}, cycleFirst);
+    }
+
+    @Test
+    @DisplayName("Should agree with pairwise reachability on random graphs")
+    void shouldMatchPairwiseReachability() {
+        // Given
+        GraphSnapshot snapshot = Topologies.random(2_000, 2_600, 13).snapshot();
+        GraphTraversal traversal = new GraphTraversal();
+        Random random = new Random(2);
+        int[] alerting = random.ints(0, 2_000).distinct().limit(60).toArray();
+
+        // When
+        int[] rootOf = RootCauses.assign(snapshot, alerting);
+
+        // Then
+        for (int i = 0; i < alerting.length; i++) {
+            int service = alerting[i];
+            int root = alerting[rootOf[i]];
+            assertTrue(Arrays.stream(traversal.reachable(snapshot, root)).anyMatch(node -> node == service));
+            assertEquals(rootOf[i], rootOf[rootOf[i]], "root of a root must be itself");
+            for (int other : alerting) {
+                boolean otherReachesRoot = other != root
+                        && Arrays.stream(traversal.reachable(snapshot, other)).anyMatch(node -> node == root);
+                boolean rootReachesOther = Arrays.stream(traversal.reachable(snapshot, root))
+                        .anyMatch(node -> node == other);
+                assertFalse(otherReachesRoot && !rootReachesOther, "root " + root + " is explained by " + other);
+            }
+        }
+    }
+}
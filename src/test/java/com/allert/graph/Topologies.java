@@ -0,0 +1,114 @@
+package com.allert.graph;
+
+import java.util.*;
+
+/**
+ * Seeded synthetic topologies for tests and benchmarks.
+ */
+public final class Topologies {
+    private Topologies() {
+    }
+
+    /**
+     * Uniform random directed graph with the given number of distinct edges.
+     */
+    public static CompactGraph random(int nodes, int edges, long seed) {
+        CompactGraph graph = withNodes(nodes);
+        Random random = new Random(seed);
+        while (graph.edgeCount() < edges) {
+            int from = random.nextInt(nodes);
+            int to = random.nextInt(nodes);
+            if (from != to) {
+                graph.addEdge(from, to);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Preferential-attachment graph: each new node links to {@code edgesPerNode} existing
+     * nodes chosen in proportion to their degree, in a random direction, so a few hubs end up
+     * with very high fan-in and fan-out.
+     */
+    public static CompactGraph scaleFree(int nodes, int edgesPerNode, long seed) {
+        CompactGraph graph = withNodes(nodes);
+        Random random = new Random(seed);
+        int[] endpoints = new int[2 * nodes * edgesPerNode + 2];
+        int endpointCount = 0;
+        endpoints[endpointCount++] = 0;
+        for (int node = 1; node < nodes; node++) {
+            for (int i = 0; i < Math.min(edgesPerNode, node); i++) {
+                int other = endpoints[random.nextInt(endpointCount)];
+                boolean added = random.nextBoolean() ? graph.addEdge(node, other) : graph.addEdge(other, node);
+                if (added) {
+                    endpoints[endpointCount++] = other;
+                    endpoints[endpointCount++] = node;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Layered microservice DAG: {@code layers} tiers of equal width, from edge services down
+     * to storage. Every service except those in the last tier depends on {@code fanOut}
+     * services, mostly in the next tier and occasionally in a deeper one.
+     */
+    public static CompactGraph layered(int nodes, int layers, int fanOut, long seed) {
+        CompactGraph graph = withNodes(nodes);
+        Random random = new Random(seed);
+        int width = Math.max(1, nodes / layers);
+        for (int node = 0; node < nodes; node++) {
+            int layer = Math.min(node / width, layers - 1);
+            if (layer == layers - 1) {
+                continue;
+            }
+            for (int i = 0; i < fanOut; i++) {
+                int targetLayer = random.nextInt(5) > 0 ? layer + 1 : layer + 1 + random.nextInt(layers - layer - 1);
+                int first = targetLayer * width;
+                int last = targetLayer == layers - 1 ? nodes : first + width;
+                graph.addEdge(node, first + random.nextInt(last - first));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Ring of services where each one also calls {@code degree - 1} random neighbours within a
+     * small window in either direction, producing many overlapping cycles.
+     */
+    public static CompactGraph cyclicMesh(int nodes, int degree, long seed) {
+        CompactGraph graph = withNodes(nodes);
+        Random random = new Random(seed);
+        int window = Math.min(nodes, 32);
+        for (int node = 0; node < nodes; node++) {
+            graph.addEdge(node, (node + 1) % nodes);
+            for (int i = 1; i < degree; i++) {
+                int neighbour = Math.floorMod(node + random.nextInt(2 * window + 1) - window, nodes);
+                if (neighbour != node) {
+                    graph.addEdge(node, neighbour);
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Single dependency chain {@code 0 -> 1 -> ... -> nodes - 1}.
+     */
+    public static CompactGraph chain(int nodes) {
+        CompactGraph graph = withNodes(nodes);
+        for (int node = 0; node + 1 < nodes; node++) {
+            graph.addEdge(node, node + 1);
+        }
+        return graph;
+    }
+
+    private static CompactGraph withNodes(int nodes) {
+        CompactGraph graph = new CompactGraph();
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode();
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,93 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraversalContextTest {
+    private final GraphTraversal traversal = new GraphTraversal();
+    private final TraversalContext context = new TraversalContext();
+
+    @Test
+    @DisplayName("Should visit the same nodes in the same order as the list-returning traversals")
+    void shouldMatchGraphTraversal() {
+        // Given
+        CompactGraph graph = Topologies.random(2_000, 5_000, 21);
+        GraphSnapshot snapshot = graph.snapshot();
+        ServiceRegistry registry = registry(2_000);
+
+        // When & Then
+        for (int node = 0; node < 2_000; node += 37) {
+            assertEquals(names(registry, traversal.reachable(snapshot, node)), reachable(snapshot, registry, node));
+            List<String> upstream = new ArrayList<>();
+            context.visitReachableUpstream(snapshot, registry, node, (service, hops) -> upstream.add(service));
+            assertEquals(names(registry, traversal.reachableUpstream(snapshot, node)), upstream);
+            List<String> path = new ArrayList<>();
+            int length = context.visitShortestPath(snapshot, registry, node, 0, (service, hops) -> path.add(service));
+            assertEquals(names(registry, traversal.shortestPath(snapshot, node, 0)), path);
+            assertEquals(path.size(), length);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report hop counts and stop when the visitor returns false")
+    void shouldReportHopsAndStopEarly() {
+        // Given
+        CompactGraph graph = Topologies.chain(10);
+        ServiceRegistry registry = registry(10);
+        List<Integer> hops = new ArrayList<>();
+
+        // When
+        int visited = context.visitReachable(graph.snapshot(), registry, 2, (service, hop) -> {
+            hops.add(hop);
+            return hop < 3;
+        });
+
+        // Then
+        assertEquals(4, visited);
+        assertEquals(List.of(0, 1, 2, 3), hops);
+    }
+
+    @Test
+    @DisplayName("Should start every query with clean visited marks as the graph grows")
+    void shouldResetMarksBetweenQueries() {
+        // Given
+        CompactGraph graph = Topologies.chain(4);
+        ServiceRegistry registry = registry(64);
+        reachable(graph.snapshot(), registry, 0);
+
+        // When
+        graph.addNodes(60);
+        for (int node = 3; node < 63; node++) {
+            graph.addEdge(node, node + 1);
+        }
+
+        // Then
+        assertEquals(64, reachable(graph.snapshot(), registry, 0).size());
+        assertEquals(1, reachable(graph.snapshot(), registry, 63).size());
+    }
+
+    private List<String> reachable(GraphSnapshot snapshot, ServiceRegistry registry, int source) {
+        List<String> visited = new ArrayList<>();
+        context.visitReachable(snapshot, registry, source, (service, hops) -> visited.add(service));
+        return visited;
+    }
+
+    private static ServiceRegistry registry(int services) {
+        ServiceRegistry registry = new ServiceRegistry();
+        for (int i = 0; i < services; i++) {
+            registry.intern("service-" + i);
+        }
+        return registry;
+    }
+
+    private static List<String> names(ServiceRegistry registry, int[] ids) {
+        List<String> names = new ArrayList<>();
+        for (int id : ids) {
+            names.add(registry.nameOf(id));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,119 @@
+package com.allert.graph;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedTraversalTest {
+
+    @Test
+    @DisplayName("Should match Bellman-Ford arrival times on a random weighted graph")
+    void shouldMatchBellmanFord() {
+        // Given
+        GraphSnapshot snapshot = Topologies.random(3_000, 12_000, 21).snapshot();
+        EdgeWeights weights = randomWeights(snapshot, 4);
+
+        // When
+        WeightedTraversal.Arrivals arrivals = WeightedTraversal.earliestImpact(snapshot, weights, 0);
+
+        // Then
+        double[] expected = bellmanFord(snapshot, weights, 0, false);
+        assertEquals(Arrays.stream(expected).filter(Double::isFinite).count(), arrivals.nodes().length);
+        for (int i = 0; i < arrivals.nodes().length; i++) {
+            assertEquals(expected[arrivals.nodes()[i]], arrivals.times()[i], 1e-3);
+            if (i > 0) {
+                assertTrue(arrivals.times()[i - 1] <= arrivals.times()[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should count hops when no weights are set")
+    void shouldCountHopsWithoutWeights() {
+        // Given
+        GraphSnapshot snapshot = Topologies.scaleFree(5_000, 3, 8).snapshot();
+
+        // When
+        WeightedTraversal.Arrivals arrivals = WeightedTraversal.earliestImpact(snapshot, new EdgeWeights(), 7);
+
+        // Then
+        BreadthFirstIterator hops = BreadthFirstIterator.downstream(snapshot, 7, Integer.MAX_VALUE);
+        Map<Integer, Integer> depth = new HashMap<>();
+        while (hops.hasNext()) {
+            depth.put(hops.nextInt(), hops.depth());
+        }
+        assertEquals(depth.size(), arrivals.nodes().length);
+        for (int i = 0; i < arrivals.nodes().length; i++) {
+            assertEquals(depth.get(arrivals.nodes()[i]), (int) arrivals.times()[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the path with the highest probability product")
+    void shouldFindMostProbablePath() {
+        // Given
+        GraphSnapshot snapshot = Topologies.random(2_000, 10_000, 5).snapshot();
+        EdgeWeights weights = randomWeights(snapshot, 9);
+        double[] cost = bellmanFord(snapshot, weights, 3, true);
+
+        for (int target = 0; target < 2_000; target += 37) {
+            // When
+            int[] path = WeightedTraversal.mostProbablePath(snapshot, weights, 3, target);
+
+            // Then
+            if (Double.isInfinite(cost[target])) {
+                assertEquals(0, path.length);
+                continue;
+            }
+            double pathCost = 0;
+            for (int i = 0; i + 1 < path.length; i++) {
+                pathCost -= Math.log(EdgeWeights.probability(weights.get(path[i], path[i + 1])));
+            }
+            assertEquals(3, path[0]);
+            assertEquals(target, path[path.length - 1]);
+            assertEquals(cost[target], pathCost, 1e-6);
+        }
+    }
+
+    private static EdgeWeights randomWeights(GraphSnapshot snapshot, long seed) {
+        Random random = new Random(seed);
+        EdgeWeights weights = new EdgeWeights();
+        Csr csr = snapshot.forwardCsr();
+        for (int node = 0; node < snapshot.nodeCount(); node++) {
+            for (int edge = csr.start(node); edge < csr.end(node); edge++) {
+                if (random.nextInt(4) > 0) {
+                    weights.put(node, csr.target(edge), random.nextInt(1_000), 0.05f + 0.95f * random.nextFloat());
+                }
+            }
+        }
+        return weights;
+    }
+
+    private static double[] bellmanFord(GraphSnapshot snapshot, EdgeWeights weights, int source, boolean logProbability) {
+        double[] distance = new double[snapshot.nodeCount()];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0;
+        Csr csr = snapshot.forwardCsr();
+        for (boolean changed = true; changed; ) {
+            changed = false;
+            for (int node = 0; node < snapshot.nodeCount(); node++) {
+                if (Double.isInfinite(distance[node])) {
+                    continue;
+                }
+                for (int edge = csr.start(node); edge < csr.end(node); edge++) {
+                    long packed = weights.get(node, csr.target(edge));
+                    double weight = logProbability
+                            ? -Math.log(EdgeWeights.probability(packed))
+                            : EdgeWeights.latency(packed);
+                    if (distance[node] + weight < distance[csr.target(edge)] - 1e-12) {
+                        distance[csr.target(edge)] = distance[node] + weight;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return distance;
+    }
+}
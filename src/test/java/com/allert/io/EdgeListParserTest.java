@@ -0,0 +1,94 @@
+package com.allert.io;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeListParserTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should parse edges, lone services, comments and mixed separators")
+    void shouldParseMixedFormat() throws IOException {
+        // Given
+        Path file = write("""
+                # services
+                A,B
+                B\tC
+                  C   D\r
+                E
+
+                """);
+
+        // When
+        ParsedTopology topology = EdgeListParser.parse(file, 1);
+
+        // Then
+        assertEquals(List.of("A", "B", "C", "D", "E"), topology.names());
+        assertEquals(3, topology.edgeCount());
+        assertArrayEquals(new int[]{0, 1, 2}, Arrays.copyOf(topology.from(), 3));
+        assertArrayEquals(new int[]{1, 2, 3}, Arrays.copyOf(topology.to(), 3));
+    }
+
+    @Test
+    @DisplayName("Should produce the same topology regardless of chunk count")
+    void shouldMatchSingleChunkParse() throws IOException {
+        // Given
+        StringBuilder content = new StringBuilder();
+        Random random = new Random(8);
+        for (int i = 0; i < 5_000; i++) {
+            content.append("service-").append(random.nextInt(700))
+                    .append(',').append("service-").append(random.nextInt(700)).append('\n');
+        }
+        Path file = write(content.toString());
+
+        // When
+        ParsedTopology sequential = EdgeListParser.parse(file, 1);
+        ParsedTopology chunked = EdgeListParser.parse(file, 7);
+
+        // Then
+        assertEquals(sequential.edgeCount(), chunked.edgeCount());
+        for (int i = 0; i < sequential.edgeCount(); i++) {
+            assertEquals(sequential.names().get(sequential.from()[i]), chunked.names().get(chunked.from()[i]));
+            assertEquals(sequential.names().get(sequential.to()[i]), chunked.names().get(chunked.to()[i]));
+        }
+        assertEquals(new HashSet<>(sequential.names()), new HashSet<>(chunked.names()));
+    }
+
+    @Test
+    @DisplayName("Should report the byte offset of a malformed line")
+    void shouldRejectLineWithTooManyTokens() throws IOException {
+        // Given
+        Path file = write("A,B\nA,B,C\n");
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> EdgeListParser.parse(file, 1));
+        assertTrue(exception.getMessage().contains("byte offset 4"));
+    }
+
+    @Test
+    @DisplayName("Should return an empty topology for an empty file")
+    void shouldParseEmptyFile() throws IOException {
+        // Given
+        Path file = write("");
+
+        // When
+        ParsedTopology topology = EdgeListParser.parse(file, 4);
+
+        // Then
+        assertTrue(topology.names().isEmpty());
+        assertEquals(0, topology.edgeCount());
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("topology.csv"), content);
+    }
+}
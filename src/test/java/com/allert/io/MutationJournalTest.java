@@ -0,0 +1,214 @@
+package com.allert.io;
+
+import com.allert.*;
+import com.allert.graph.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutationJournalTest {
+    private static final int SERVICES = 40;
+
+    @TempDir
+    Path directory;
+
+    // Applies one random mutation; removed services may be registered again under a new id.
+    private static void mutate(AlertNetworkImpl network, Random random) {
+        String from = "service-" + random.nextInt(SERVICES);
+        String to = "service-" + random.nextInt(SERVICES);
+        int operation = random.nextInt(10);
+        if (!network.containsService(from) || operation == 0) {
+            network.addService(from);
+        } else if (!network.containsService(to)) {
+            network.addService(to);
+        } else if (operation < 5) {
+            network.addDependency(from, to);
+        } else if (operation < 7) {
+            network.addDependency(from, to, 1 + random.nextInt(20), random.nextInt(10) / 10.0 + 0.05);
+        } else if (operation < 9) {
+            network.removeDependency(from, to);
+        } else {
+            network.removeService(from);
+        }
+    }
+
+    // Dependencies and weighted arrival times of every live service.
+    private static Map<String, Object> describe(AlertNetworkImpl network) {
+        Map<String, Object> description = new TreeMap<>();
+        for (int i = 0; i < SERVICES; i++) {
+            String service = "service-" + i;
+            if (network.containsService(service)) {
+                description.put(service, List.of(new TreeSet<>(network.getDependencies(service)),
+                        network.findEarliestImpact(service)));
+            }
+        }
+        description.put("#", List.of(network.serviceCount(), network.dependencyCount()));
+        return description;
+    }
+
+    private static Path copyOf(Path source, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(source)) {
+            for (Path file : files) {
+                Files.copy(file, target.resolve(file.getFileName()));
+            }
+        }
+        return target;
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should recover every committed mutation, across a compaction, under each durability")
+    @EnumSource(Durability.class)
+    void shouldRecoverCommittedMutations(Durability durability) throws IOException {
+        // Given
+        Path journal = directory.resolve(durability.name());
+        AlertNetworkImpl network = AlertNetworkImpl.openJournaled(journal, durability);
+        Random random = new Random(7);
+
+        // When
+        for (int i = 0; i < 600; i++) {
+            mutate(network, random);
+            if (i == 300) {
+                network.compactJournal();
+            }
+        }
+        Map<String, Object> expected = describe(network);
+        network.closeJournal();
+        AlertNetworkImpl recovered = AlertNetworkImpl.openJournaled(journal, durability);
+
+        // Then
+        assertEquals(expected, describe(recovered));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(journal)) {
+            Set<String> names = new TreeSet<>();
+            files.forEach(file -> names.add(file.getFileName().toString()));
+            assertEquals(Set.of("journal-1.log", "snapshot-1.bin"), names);
+        }
+        recovered.closeJournal();
+    }
+
+    @Test
+    @DisplayName("Should recover the longest intact prefix when the log is truncated at random offsets")
+    void shouldRecoverTruncatedLog() throws IOException {
+        // Given
+        Path journal = directory.resolve("journal");
+        Path log = journal.resolve("journal-0.log");
+        AlertNetworkImpl network = AlertNetworkImpl.openJournaled(journal, Durability.UNSYNCED);
+        Random random = new Random(11);
+        List<Long> sizes = new ArrayList<>(List.of(Files.size(log)));
+        List<Map<String, Object>> states = new ArrayList<>(List.of(describe(network)));
+        for (int i = 0; i < 400; i++) {
+            mutate(network, random);
+            sizes.add(Files.size(log));
+            states.add(describe(network));
+        }
+        network.closeJournal();
+
+        for (int trial = 0; trial < 30; trial++) {
+            // When
+            long offset = random.nextLong(sizes.get(sizes.size() - 1) + 1);
+            Path crashed = copyOf(journal, directory.resolve("crash-" + trial));
+            try (FileChannel channel = FileChannel.open(crashed.resolve("journal-0.log"), StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+            }
+            AlertNetworkImpl recovered = AlertNetworkImpl.openJournaled(crashed, Durability.GROUP_COMMIT);
+
+            // Then
+            int intact = 0;
+            while (intact + 1 < sizes.size() && sizes.get(intact + 1) <= offset) {
+                intact++;
+            }
+            assertEquals(states.get(intact), describe(recovered), "truncated at " + offset);
+            recovered.addService("after-crash");
+            recovered.closeJournal();
+            AlertNetworkImpl resumed = AlertNetworkImpl.openJournaled(crashed, Durability.UNSYNCED);
+            assertTrue(resumed.containsService("after-crash"));
+            resumed.closeJournal();
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore a frame whose checksum does not match")
+    void shouldTruncateAtCorruptFrame() throws IOException {
+        // Given
+        Path journal = directory.resolve("journal");
+        AlertNetworkImpl network = AlertNetworkImpl.openJournaled(journal, Durability.GROUP_COMMIT);
+        network.addService("A");
+        network.addService("B");
+        long intact = Files.size(journal.resolve("journal-0.log"));
+        network.addDependency("A", "B");
+        network.closeJournal();
+
+        // When
+        try (FileChannel channel = FileChannel.open(journal.resolve("journal-0.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), intact + 9);
+        }
+        AlertNetworkImpl recovered = AlertNetworkImpl.openJournaled(journal, Durability.GROUP_COMMIT);
+
+        // Then
+        assertTrue(recovered.containsService("B"));
+        assertEquals(List.of(), recovered.getDependencies("A"));
+        assertEquals(intact, Files.size(journal.resolve("journal-0.log")));
+        recovered.closeJournal();
+    }
+
+    @Test
+    @DisplayName("Should resume from the newest snapshot when a compaction was cut short")
+    void shouldResumeInterruptedCompaction() throws IOException {
+        // Given
+        Path journal = directory.resolve("journal");
+        AlertNetworkImpl network = AlertNetworkImpl.openJournaled(journal, Durability.GROUP_COMMIT);
+        network.addService("A");
+        network.addService("B");
+        network.addDependency("A", "B");
+        network.closeJournal();
+        Path stale = copyOf(journal, directory.resolve("stale"));
+        network = AlertNetworkImpl.openJournaled(journal, Durability.GROUP_COMMIT);
+        network.compactJournal();
+        network.closeJournal();
+
+        // When
+        Files.copy(stale.resolve("journal-0.log"), journal.resolve("journal-0.log"));
+        Files.delete(journal.resolve("journal-1.log"));
+        Files.writeString(journal.resolve("snapshot-2.bin.tmp"), "partial");
+        AlertNetworkImpl recovered = AlertNetworkImpl.openJournaled(journal, Durability.GROUP_COMMIT);
+
+        // Then
+        assertEquals(List.of("B"), recovered.getDependencies("A"));
+        assertTrue(Files.exists(journal.resolve("journal-1.log")));
+        assertFalse(Files.exists(journal.resolve("journal-0.log")));
+        assertFalse(Files.exists(journal.resolve("snapshot-2.bin.tmp")));
+        recovered.closeJournal();
+    }
+
+    @Test
+    @DisplayName("Should report compaction once the log outgrows its limit")
+    void shouldReportCompactionThreshold() throws IOException {
+        // Given
+        try (MutationJournal journal = MutationJournal.open(directory.resolve("journal"), Durability.UNSYNCED, 256)) {
+            journal.replay(new ServiceRegistry(), new CompactGraph(), new EdgeWeights());
+
+            // When
+            long sequence = 0;
+            for (int i = 0; i < 30; i++) {
+                sequence = journal.logAddDependency(i, i + 1);
+            }
+            boolean before = journal.needsCompaction();
+            journal.commit(sequence);
+
+            // Then
+            assertFalse(before);
+            assertTrue(journal.needsCompaction());
+            assertEquals(MutationJournal.HEADER_BYTES + 8 + 30 * 9, journal.logBytes());
+            assertEquals(0, journal.forceCount());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.allert.io;
+
+import com.allert.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should answer every query like the network it was saved from")
+    void shouldRoundTripNetwork() throws IOException {
+        // Given
+        AlertNetworkImpl original = randomNetwork(400, 1_200, 9);
+        Path file = directory.resolve("network.snapshot");
+
+        // When
+        original.save(file);
+        AlertNetworkImpl loaded = AlertNetworkImpl.load(file);
+
+        // Then
+        assertTrue(loaded.reachabilityIndexStats().isEmpty());
+        for (int i = 0; i < 400; i++) {
+            String service = "service-" + i;
+            assertEquals(original.getDependencies(service), loaded.getDependencies(service));
+            assertEquals(original.getAffectedServices(service), loaded.getAffectedServices(service));
+            assertEquals(original.findAlertPropagationPath(service, "service-0"),
+                    loaded.findAlertPropagationPath(service, "service-0"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore a saved reachability index without rebuilding it")
+    void shouldRoundTripReachabilityIndex() throws IOException {
+        // Given
+        AlertNetworkImpl original = randomNetwork(300, 600, 4);
+        original.enableReachabilityIndex();
+        original.addService("late");
+        original.addDependency("service-7", "late");
+        original.addDependency("late", "service-3");
+        Path file = directory.resolve("network.snapshot");
+
+        // When
+        original.save(file);
+        AlertNetworkImpl loaded = AlertNetworkImpl.load(file);
+
+        // Then
+        assertEquals(original.reachabilityIndexStats().orElseThrow().entries(),
+                loaded.reachabilityIndexStats().orElseThrow().entries());
+        for (int i = 0; i < 300; i++) {
+            String service = "service-" + i;
+            assertEquals(original.getAffectedServices(service), loaded.getAffectedServices(service));
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore edge weights")
+    void shouldRoundTripEdgeWeights() throws IOException {
+        // Given
+        AlertNetworkImpl original = randomNetwork(200, 800, 6);
+        Random random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            original.addDependency("service-" + random.nextInt(200), "service-" + random.nextInt(200),
+                    random.nextInt(100), 0.1 + 0.9 * random.nextDouble());
+        }
+        Path file = directory.resolve("network.snapshot");
+
+        // When
+        original.save(file);
+        AlertNetworkImpl loaded = AlertNetworkImpl.load(file);
+
+        // Then
+        for (int i = 0; i < 200; i += 7) {
+            String service = "service-" + i;
+            assertEquals(original.findEarliestImpact(service), loaded.findEarliestImpact(service));
+            assertEquals(original.findMostProbablePropagationPath(service, "service-1"),
+                    loaded.findMostProbablePropagationPath(service, "service-1"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not bring back removed services or dependencies")
+    void shouldRoundTripRemovals() throws IOException {
+        // Given
+        AlertNetworkImpl original = randomNetwork(100, 400, 8);
+        original.removeService("service-3");
+        original.removeService("service-50");
+        original.removeDependency("service-0", original.getDependencies("service-0").get(0));
+        Path file = directory.resolve("network.snapshot");
+
+        // When
+        original.save(file);
+        AlertNetworkImpl loaded = AlertNetworkImpl.load(file);
+        loaded.addService("service-3");
+
+        // Then
+        assertEquals(original.serviceCount() + 1, loaded.serviceCount());
+        assertEquals(original.dependencyCount(), loaded.dependencyCount());
+        assertFalse(loaded.containsService("service-50"));
+        assertEquals(List.of("service-3"), loaded.getAffectedServices("service-3"));
+        for (int i = 0; i < 100; i += 3) {
+            String service = "service-" + i;
+            if (original.containsService(service)) {
+                assertEquals(original.getDependencies(service), loaded.getDependencies(service));
+                assertEquals(original.getAffectedServices(service), loaded.getAffectedServices(service));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep accepting additions and rejecting duplicates after loading")
+    void shouldMutateLoadedNetwork() throws IOException {
+        // Given
+        AlertNetworkImpl original = new AlertNetworkImpl();
+        List.of("A", "B", "C").forEach(original::addService);
+        original.addDependency("A", "B");
+        Path file = directory.resolve("network.snapshot");
+        original.save(file);
+        AlertNetworkImpl loaded = AlertNetworkImpl.load(file);
+
+        // When
+        loaded.addDependency("A", "B");
+        loaded.addDependency("B", "C");
+        loaded.addService("D");
+
+        // Then
+        assertEquals(List.of("B"), loaded.getDependencies("A"));
+        assertEquals(List.of("A", "B", "C"), loaded.getAffectedServices("A"));
+        assertEquals(List.of("D"), loaded.getAffectedServices("D"));
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not snapshots or use another format version")
+    void shouldRejectForeignFiles() throws IOException {
+        // Given
+        Path foreign = Files.writeString(directory.resolve("foreign"), "A,B\nB,C\nC,D\nD,E\nE,F\n");
+        ByteBuffer header = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(SnapshotFile.MAGIC).putInt(SnapshotFile.FORMAT_VERSION + 1);
+        Path future = Files.write(directory.resolve("future"), header.array());
+
+        // When & Then
+        assertThrows(IOException.class, () -> AlertNetworkImpl.load(foreign));
+        IOException exception = assertThrows(IOException.class, () -> AlertNetworkImpl.load(future));
+        assertTrue(exception.getMessage().contains("Unsupported snapshot format version"));
+    }
+
+    private static AlertNetworkImpl randomNetwork(int services, int dependencies, long seed) {
+        AlertNetworkImpl network = new AlertNetworkImpl();
+        for (int i = 0; i < services; i++) {
+            network.addService("service-" + i);
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < dependencies; i++) {
+            network.addDependency("service-" + random.nextInt(services), "service-" + random.nextInt(services));
+        }
+        return network;
+    }
+}
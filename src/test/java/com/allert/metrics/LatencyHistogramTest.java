@@ -0,0 +1,61 @@
+package com.allert.metrics;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should map every value to a bucket whose range contains it")
+    void shouldCoverValuesWithContiguousBuckets() {
+        // Given
+        Random random = new Random(3);
+
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(1L << random.nextInt(41));
+
+            // When
+            int index = LatencyHistogram.indexOf(value);
+
+            // Then
+            assertTrue(value <= LatencyHistogram.highestEquivalentValue(index));
+            assertTrue(index == 0 || value > LatencyHistogram.highestEquivalentValue(index - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket precision")
+    void shouldReportPercentilesWithinPrecision() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        // When & Then
+        assertEquals(1_000_000, histogram.count());
+        assertEquals(1_000_000_000L, histogram.max());
+        assertEquals(500_000_500.0, histogram.mean(), 1e-3);
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            double expected = percentile * 10_000_000;
+            assertEquals(expected, histogram.percentile(percentile), expected * 0.035);
+        }
+        assertEquals(1_000_000_000L, histogram.percentile(100));
+    }
+
+    @Test
+    @DisplayName("Should report zero for an empty histogram and clamp negative values")
+    void shouldHandleEmptyAndNegativeValues() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // When & Then
+        assertEquals(0, histogram.percentile(99));
+        histogram.record(-5);
+        assertEquals(0, histogram.max());
+        assertEquals(1, histogram.count());
+    }
+}
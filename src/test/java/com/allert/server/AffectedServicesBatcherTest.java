@@ -0,0 +1,79 @@
+package com.allert.server;
+
+import com.allert.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AffectedServicesBatcherTest {
+
+    // Blocks the first traversal so that the requests arriving meanwhile queue up.
+    private static final class BlockingNetwork extends ConcurrentAlertNetwork {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger sweeps = new AtomicInteger();
+
+        @Override
+        public ImpactAnalysis analyzeImpact(Set<String> sources) {
+            sweeps.incrementAndGet();
+            return super.analyzeImpact(sources);
+        }
+
+        @Override
+        public List<String> getAffectedServices(String source) {
+            if (started.getCount() > 0) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return super.getAffectedServices(source);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer the requests queued behind a running traversal with one shared sweep")
+    void shouldBatchQueuedRequests() throws Exception {
+        // Given
+        BlockingNetwork network = new BlockingNetwork();
+        for (int i = 0; i < 10; i++) {
+            network.addService("service-" + i);
+        }
+        for (int i = 1; i < 10; i++) {
+            network.addDependency("service-" + (i - 1), "service-" + i);
+        }
+        AffectedServicesBatcher batcher = new AffectedServicesBatcher(network);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // When
+        Future<List<String>> first = executor.submit(() -> batcher.affectedServices("service-0"));
+        network.started.await();
+        List<Future<List<String>>> queued = new ArrayList<>();
+        for (int i = 1; i < 10; i++) {
+            String source = "service-" + i;
+            queued.add(executor.submit(() -> batcher.affectedServices(source)));
+        }
+        Future<List<String>> missing = executor.submit(() -> batcher.affectedServices("missing"));
+        Thread.sleep(200);
+        network.release.countDown();
+
+        // Then
+        assertEquals(10, first.get(5, TimeUnit.SECONDS).size());
+        for (int i = 1; i < 10; i++) {
+            assertEquals(new HashSet<>(network.getAffectedServices("service-" + i)),
+                    new HashSet<>(queued.get(i - 1).get(5, TimeUnit.SECONDS)));
+        }
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        assertEquals(11, batcher.batchedRequestCount());
+        assertTrue(batcher.batchCount() <= 3, "batches: " + batcher.batchCount());
+        assertEquals(1, network.sweeps.get());
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,147 @@
+package com.allert.server;
+
+import com.allert.*;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.net.*;
+import java.net.http.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ConcurrentAlertNetwork network;
+    private QueryServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        network = new ConcurrentAlertNetwork();
+        List.of("A", "B", "C", "D").forEach(network::addService);
+        network.addDependency("A", "B", 5, 0.5);
+        network.addDependency("B", "C");
+        network.addDependency("A", "D");
+        server = QueryServer.start(network, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 8, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> get(String pathAndQuery) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + pathAndQuery)).GET().build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @DisplayName("Should answer every query endpoint with JSON")
+    void shouldAnswerQueries() throws Exception {
+        // When & Then
+        assertEquals("[\"B\",\"D\"]", get("/dependencies?service=A").body());
+        assertEquals("[\"C\",\"B\",\"A\"]", get("/upstream?service=C").body());
+        assertEquals("[\"A\",\"B\",\"C\"]", get("/path?source=A&target=C").body());
+        assertEquals("[\"A\",\"B\",\"C\"]", get("/probable-path?target=C&source=A").body());
+        assertEquals(Set.of("\"A\"", "\"B\"", "\"C\"", "\"D\""),
+                Set.of(get("/affected?service=A").body().replaceAll("[\\[\\]]", "").split(",")));
+        assertEquals("{\"A\":0,\"D\":1,\"B\":5,\"C\":6}", get("/earliest-impact?service=A").body());
+        assertEquals("[{\"service\":\"A\",\"estimatedServices\":4,\"lowerBound\":4,\"upperBound\":4}]",
+                get("/blast-radius?top=1").body());
+        assertTrue(get("/containment?service=A").body().startsWith("[{\"fromService\":\"A\",\"toService\":\"B\","));
+        assertEquals("[\"C\",\"B\",\"A\"]", get("/upstream-path?target=C&upstream=A").body());
+        assertEquals("{\"affectedBySource\":{\"B\":[\"B\",\"C\"],\"D\":[\"D\"]},\"union\":[\"B\",\"C\",\"D\"],"
+                + "\"intersection\":[]}", get("/impact?services=B,D").body());
+        assertEquals("{\"A\":[\"A\",\"C\"]}", get("/root-causes?services=C,A").body());
+        assertEquals("[{\"fromService\":\"B\",\"toService\":\"C\"}]", get("/containment-edges?service=A").body());
+        assertEquals("[{\"fromService\":\"A\",\"toService\":\"B\"}]", get("/minimum-cut?service=A&protected=C").body());
+        HttpResponse<String> version = get("/version");
+        assertEquals("{\"version\":" + network.version() + ",\"services\":4,\"dependencies\":3}", version.body());
+        assertEquals(Optional.of(Long.toString(network.version())), version.headers().firstValue("X-Graph-Version"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid queries, unknown endpoints and other methods")
+    void shouldRejectInvalidRequests() throws Exception {
+        // When & Then
+        HttpResponse<String> unknownService = get("/affected?service=X");
+        assertEquals(400, unknownService.statusCode());
+        assertEquals("{\"error\":\"Service X does not exist in the network\"}", unknownService.body());
+        assertEquals(400, get("/path?source=A").statusCode());
+        assertEquals(400, get("/blast-radius?top=none").statusCode());
+        assertEquals(400, get("/impact?services=A,,B").statusCode());
+        assertEquals(400, get("/minimum-cut?service=A").statusCode());
+        assertEquals(404, get("/services").statusCode());
+        assertEquals(405, send(HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + "/version"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build()).statusCode());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated queries from the cache until the graph changes")
+    void shouldCacheResultsPerGraphVersion() throws Exception {
+        // Given
+        get("/dependencies?service=B");
+
+        // When
+        String cached = get("/dependencies?service=B").body();
+        long hitsBefore = server.stats().cacheHits();
+        network.addDependency("B", "D");
+        String updated = get("/dependencies?service=B").body();
+
+        // Then
+        assertEquals("[\"C\"]", cached);
+        assertEquals(1, hitsBefore);
+        assertEquals("[\"C\",\"D\"]", updated);
+        assertEquals(1, server.stats().cacheHits());
+    }
+
+    @Test
+    @DisplayName("Should stop serving cached weighted results once a dependency is re-weighted")
+    void shouldInvalidateCacheOnWeightChange() throws Exception {
+        // Given
+        get("/earliest-impact?service=A");
+        long before = network.version();
+
+        // When
+        network.addDependency("A", "B", 2, 0.5);
+        String updated = get("/earliest-impact?service=A").body();
+
+        // Then
+        assertTrue(network.version() > before);
+        assertEquals("{\"A\":0,\"D\":1,\"B\":2,\"C\":3}", updated);
+        assertEquals(0, server.stats().cacheHits());
+    }
+
+    @Test
+    @DisplayName("Should answer concurrent clients like the network itself")
+    void shouldAnswerConcurrentClients() throws Exception {
+        // Given
+        for (int i = 0; i < 50; i++) {
+            network.addService("service-" + i);
+            network.addDependency(i == 0 ? "A" : "service-" + (i - 1), "service-" + i);
+        }
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 400; i++) {
+            String service = "service-" + (i % 50);
+            responses.add(clients.submit(() -> get("/affected?service=" + service)));
+        }
+
+        // Then
+        for (int i = 0; i < 400; i++) {
+            HttpResponse<String> response = responses.get(i).get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.statusCode());
+            assertEquals(50 - i % 50, response.body().split(",").length);
+        }
+        ServerStats stats = server.stats();
+        assertEquals(400, stats.requests());
+        assertEquals(400, stats.cacheHits() + stats.coalesced() + stats.batchedRequests());
+        clients.shutdown();
+    }
+}
@@ -0,0 +1,84 @@
+package com.allert.server;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    @Test
+    @DisplayName("Should run one computation for identical concurrent requests")
+    void shouldCoalesceConcurrentRequests() throws Exception {
+        // Given
+        RequestCoalescer<String, Integer> coalescer = new RequestCoalescer<>();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        Future<Integer> first = executor.submit(() -> coalescer.get("key", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 42;
+        }));
+        started.await();
+        Future<Integer> second = executor.submit(() -> coalescer.get("key", computations::incrementAndGet));
+        Future<Integer> other = executor.submit(() -> coalescer.get("other", () -> 7));
+        assertEquals(7, other.get(5, TimeUnit.SECONDS));
+        while (coalescer.coalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        assertEquals(42, first.get(5, TimeUnit.SECONDS));
+        assertEquals(42, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals(2, coalescer.get("key", () -> 2));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failed computation to every waiting caller and forget it")
+    void shouldPropagateFailures() throws Exception {
+        // Given
+        RequestCoalescer<String, Integer> coalescer = new RequestCoalescer<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<Integer> first = executor.submit(() -> coalescer.get("key", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalArgumentException("unknown service");
+        }));
+        started.await();
+        Future<Integer> second = executor.submit(() -> coalescer.get("key", () -> 1));
+        while (coalescer.coalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        for (Future<Integer> result : new Future[]{first, second}) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        }
+        assertEquals(1, coalescer.get("key", () -> 1));
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.reconstruct;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChainAssemblerTest {
+
+    @Test
+    @DisplayName("Should emit values as soon as they are contiguous from the head")
+    void shouldEmitConfirmedPrefix() {
+        // Given
+        List<String> emitted = new ArrayList<>();
+        ChainAssembler assembler = new ChainAssembler("A", emitted::add);
+
+        // When & Then
+        assembler.accept("C", "D");
+        assertEquals(List.of(), emitted);
+        assembler.accept("A", "B");
+        assertEquals(List.of("A", "B"), emitted);
+        assembler.accept("D", null);
+        assertEquals(List.of("A", "B"), emitted);
+        assertFalse(assembler.isComplete());
+        assembler.accept("B", "C");
+        assertEquals(List.of("A", "B", "C", "D"), emitted);
+        assertTrue(assembler.isComplete());
+        assertEquals(1, assembler.fragmentCount());
+        assembler.finish();
+    }
+
+    @Test
+    @DisplayName("Should reconstruct a shuffled chain like the batch reconstructor")
+    void shouldMatchBatchReconstructor() {
+        // Given
+        List<List<String>> pairs = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            pairs.add(Arrays.asList("item-" + i, i + 1 < 5_000 ? "item-" + (i + 1) : null));
+        }
+        Collections.shuffle(pairs, new Random(3));
+        List<String> withHead = new ArrayList<>();
+        List<String> withoutHead = new ArrayList<>();
+        ChainAssembler anchored = new ChainAssembler("item-0", withHead::add);
+        ChainAssembler unanchored = new ChainAssembler(withoutHead::add);
+
+        // When
+        anchored.acceptAll(pairs);
+        unanchored.acceptAll(pairs);
+        unanchored.finish();
+
+        // Then
+        List<String> expected = OrderedListReconstructor.reconstructOrder(pairs);
+        assertEquals(expected, withHead);
+        assertEquals(expected, withoutHead);
+        assertEquals(5_000, anchored.emittedCount());
+    }
+
+    @Test
+    @DisplayName("Should keep only unresolved fragments when pairs arrive nearly in order")
+    void shouldKeepFewFragmentsForNearlyOrderedInput() {
+        // Given
+        List<String> emitted = new ArrayList<>();
+        ChainAssembler assembler = new ChainAssembler("item-0", emitted::add);
+        int maxFragments = 0;
+
+        // When
+        for (int block = 0; block < 1_000; block += 10) {
+            for (int i = block + 9; i >= block; i--) {
+                assembler.accept("item-" + i, "item-" + (i + 1));
+                maxFragments = Math.max(maxFragments, assembler.fragmentCount());
+            }
+        }
+
+        // Then
+        assertEquals(1_001, emitted.size());
+        assertTrue(maxFragments <= 3, "max fragments " + maxFragments);
+    }
+
+    @Test
+    @DisplayName("Should reject cycles, second successors and links past the end")
+    void shouldRejectContradictoryLinks() {
+        // Given
+        ChainAssembler assembler = new ChainAssembler(value -> { });
+        assembler.accept("A", "B");
+        assembler.accept("B", "C");
+        assembler.accept("X", null);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> assembler.accept("C", "A"));
+        assertThrows(IllegalArgumentException.class, () -> assembler.accept("A", "D"));
+        assertThrows(IllegalArgumentException.class, () -> assembler.accept("D", "C"));
+        assertThrows(IllegalArgumentException.class, () -> assembler.accept("X", "Y"));
+        assertThrows(IllegalArgumentException.class, () -> assembler.accept(null, "Y"));
+    }
+
+    @Test
+    @DisplayName("Should reject a value linked to itself")
+    void shouldRejectSelfLoop() {
+        // Given
+        List<String> emitted = new ArrayList<>();
+        ChainAssembler assembler = new ChainAssembler(emitted::add);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> assembler.accept("A", "A"));
+        assertEquals(0, assembler.fragmentCount());
+        assembler.accept("A", "B");
+        assertThrows(IllegalArgumentException.class, () -> assembler.accept("B", "B"));
+        assembler.finish();
+        assertEquals(List.of("A", "B"), emitted);
+    }
+
+    @Test
+    @DisplayName("Should fail to finish while fragments remain unjoined")
+    void shouldReportGapsOnFinish() {
+        // Given
+        ChainAssembler assembler = new ChainAssembler(value -> { });
+        assembler.accept("A", "B");
+        assembler.accept("C", "D");
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, assembler::finish);
+        assertTrue(exception.getMessage().contains("2 chain fragments"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.reconstruct;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelChainRankerTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    static void tearDown() {
+        POOL.shutdown();
+    }
+
+    private static List<List<String>> shuffledChain(int size, int seed) {
+        List<List<String>> pairs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pairs.add(Arrays.asList("item-" + i, i + 1 < size ? "item-" + (i + 1) : null));
+        }
+        Collections.shuffle(pairs, new Random(seed));
+        return pairs;
+    }
+
+    private static Stream<Arguments> provideChains() {
+        return Stream.of(
+                Arguments.of(1, 1),
+                Arguments.of(2, 1),
+                Arguments.of(1_000, 1),
+                Arguments.of(1_000, 4),
+                Arguments.of(200_000, 1),
+                Arguments.of(200_000, 4)
+        );
+    }
+
+    private static ChainDefects defectsOf(List<List<String>> pairs) {
+        return assertThrows(MalformedChainException.class,
+                () -> ParallelChainRanker.reconstructOrder(pairs, POOL)).getDefects();
+    }
+
+    @ParameterizedTest(name = "{0} values on {1} workers")
+    @DisplayName("Should reconstruct the same order as the sequential reconstructor")
+    @MethodSource("provideChains")
+    void shouldMatchSequentialReconstructor(int size, int workers) {
+        // Given
+        List<List<String>> pairs = shuffledChain(size, size);
+        ForkJoinPool pool = new ForkJoinPool(workers);
+
+        // When
+        List<String> order = ParallelChainRanker.reconstructOrder(pairs, pool);
+
+        // Then
+        assertEquals(OrderedListReconstructor.reconstructOrder(pairs), order);
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should accept a missing terminal pair, repeated pairs and empty input")
+    void shouldAcceptLenientInput() {
+        // Given
+        List<List<String>> pairs = List.of(
+                Arrays.asList("B", "C"),
+                Arrays.asList("A", "B"),
+                Arrays.asList("B", "C")
+        );
+
+        // When & Then
+        assertEquals(List.of("A", "B", "C"), OrderedListReconstructor.reconstructOrderInParallel(pairs, POOL));
+        assertEquals(List.of(), OrderedListReconstructor.reconstructOrderInParallel(List.of()));
+    }
+
+    @Test
+    @DisplayName("Should report values with two successors or two predecessors")
+    void shouldReportBranchesAndMerges() {
+        // Given
+        List<List<String>> branching = List.of(
+                Arrays.asList("A", "B"),
+                Arrays.asList("A", "C"),
+                Arrays.asList("B", null)
+        );
+        List<List<String>> merging = List.of(
+                Arrays.asList("A", "C"),
+                Arrays.asList("B", "C"),
+                Arrays.asList("C", null)
+        );
+
+        // When
+        ChainDefects branches = defectsOf(branching);
+        ChainDefects merges = defectsOf(merging);
+
+        // Then
+        assertEquals(List.of("A"), branches.branches());
+        assertEquals(List.of("C"), merges.merges());
+        assertEquals(List.of(), merges.branches());
+    }
+
+    @Test
+    @DisplayName("Should report a gap as more than one head")
+    void shouldReportGaps() {
+        // Given
+        List<List<String>> pairs = new ArrayList<>(shuffledChain(50_000, 2));
+        pairs.removeIf(pair -> pair.get(0).equals("item-20000"));
+
+        // When
+        ChainDefects defects = defectsOf(pairs);
+
+        // Then
+        assertEquals(List.of("item-0", "item-20001"), defects.heads());
+        assertEquals(List.of(), defects.cycleMembers());
+    }
+
+    @Test
+    @DisplayName("Should report cycles, alone or next to a valid chain")
+    void shouldReportCycles() {
+        // Given
+        List<List<String>> closed = new ArrayList<>(shuffledChain(30_000, 3));
+        closed.replaceAll(pair -> pair.get(1) == null ? Arrays.asList(pair.get(0), "item-0") : pair);
+        List<List<String>> detached = new ArrayList<>(List.of(
+                Arrays.asList("A", "B"),
+                Arrays.asList("X", "Y"),
+                Arrays.asList("Y", "X"),
+                Arrays.asList("Z", "Z")
+        ));
+
+        // When
+        ChainDefects whole = defectsOf(closed);
+        ChainDefects partial = defectsOf(detached);
+
+        // Then
+        assertEquals(List.of(), whole.heads());
+        assertEquals(ChainDefects.SAMPLE_LIMIT, whole.cycleMembers().size());
+        assertEquals(List.of("A"), partial.heads());
+        assertEquals(List.of("X", "Y", "Z"), partial.cycleMembers());
+    }
+
+    @Test
+    @DisplayName("Should reject null values")
+    void shouldRejectNullValues() {
+        // Given
+        List<List<String>> pairs = List.of(Arrays.asList("A", null), Arrays.asList(null, "A"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> ParallelChainRanker.reconstructOrder(pairs, POOL));
+    }
+}